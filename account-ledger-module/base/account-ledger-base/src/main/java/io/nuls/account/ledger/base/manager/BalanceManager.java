@@ -9,10 +9,12 @@ import io.nuls.account.model.Balance;
 import io.nuls.account.service.AccountService;
 import io.nuls.core.tools.crypto.Base58;
 import io.nuls.core.tools.log.Log;
+import io.nuls.core.tools.map.OpenHashMap;
 import io.nuls.db.model.Entry;
 import io.nuls.kernel.exception.NulsException;
 import io.nuls.kernel.lite.annotation.Autowired;
 import io.nuls.kernel.lite.annotation.Component;
+import io.nuls.kernel.model.AddressKey;
 import io.nuls.kernel.model.Coin;
 import io.nuls.kernel.model.Na;
 import io.nuls.kernel.model.Result;
@@ -34,7 +36,7 @@ public class BalanceManager {
     @Autowired
     private AccountService accountService;
 
-    private Map<String, Balance> balanceMap = new HashMap<>();
+    private OpenHashMap<AddressKey, Balance> balanceMap = new OpenHashMap<>();
 
     Lock lock = new ReentrantLock();
 
@@ -42,7 +44,12 @@ public class BalanceManager {
      * 初始化缓存本地所有账户的余额信息
      */
     public void initAccountBalance() {
-        balanceMap.clear();
+        lock.lock();
+        try {
+            balanceMap.clear();
+        } finally {
+            lock.unlock();
+        }
 
         List<Account> accounts = accountService.getAccountList().getData();
         if (accounts == null) {
@@ -85,8 +92,7 @@ public class BalanceManager {
                 return Result.getFailed(accountResult.getErrorCode());
             }
 
-            String addressKey = new String(address);
-            Balance balance = balanceMap.get(addressKey);
+            Balance balance = balanceMap.get(new AddressKey(address));
             if (balance == null) {
                 try {
                     balance = calBalanceByAddress(address);
@@ -109,7 +115,7 @@ public class BalanceManager {
         lock.lock();
         try {
             if (address != null) {
-                balanceMap.remove(new String(address));
+                balanceMap.remove(new AddressKey(address));
             }
         } finally {
             lock.unlock();
@@ -133,22 +139,22 @@ public class BalanceManager {
             List<Coin> coinList = getCoinListByAddress(address);
             Collections.sort(coinList, CoinComparator.getInstance());
 
-            Na usable = Na.ZERO;
-            Na locked = Na.ZERO;
+            long usable = 0;
+            long locked = 0;
             for (Coin coin : coinList) {
                 if (coin.usable()) {
-                    usable = usable.add(coin.getNa());
+                    usable = Na.safeAdd(usable, coin.getNa().getValue());
                 } else {
-                    locked = locked.add(coin.getNa());
+                    locked = Na.safeAdd(locked, coin.getNa().getValue());
                 }
             }
 
             Balance balance = new Balance();
-            balance.setUsable(usable);
-            balance.setLocked(locked);
-            balance.setBalance(usable.add(locked));
+            balance.setUsable(Na.valueOf(usable));
+            balance.setLocked(Na.valueOf(locked));
+            balance.setBalance(Na.valueOf(Na.safeAdd(usable, locked)));
 
-            balanceMap.put(new String(address), balance);
+            balanceMap.put(new AddressKey(address), balance);
             return balance;
         } finally {
             lock.unlock();
@@ -157,24 +163,20 @@ public class BalanceManager {
 
     public List<Coin> getCoinListByAddress(byte[] address) {
         List<Coin> coinList = new ArrayList<>();
-        List<Entry<byte[], byte[]>> rawList = localUtxoStorageService.loadAllCoinList();
-        byte[] addressOwner = new byte[AddressTool.HASH_LENGTH];
+        List<Entry<byte[], byte[]>> rawList = localUtxoStorageService.loadCoinListByAddress(address);
         for (Entry<byte[], byte[]> coinEntry : rawList) {
             byte[] key = coinEntry.getKey();
-            System.arraycopy(key, 0, addressOwner, 0, AddressTool.HASH_LENGTH);
-            if (java.util.Arrays.equals(addressOwner, address)) {
-                Coin coin = new Coin();
-                try {
-                    coin.parse(coinEntry.getValue());
-                } catch (NulsException e) {
-                    Log.info("parse coin form db error");
-                    continue;
-                }
-                byte[] fromOwner = new byte[key.length - AddressTool.HASH_LENGTH];
-                System.arraycopy(key, AddressTool.HASH_LENGTH, fromOwner, 0, key.length - AddressTool.HASH_LENGTH);
-                coin.setOwner(fromOwner);
-                coinList.add(coin);
+            Coin coin = new Coin();
+            try {
+                coin.parse(coinEntry.getValue());
+            } catch (NulsException e) {
+                Log.info("parse coin form db error");
+                continue;
             }
+            byte[] fromOwner = new byte[key.length - AddressTool.HASH_LENGTH];
+            System.arraycopy(key, AddressTool.HASH_LENGTH, fromOwner, 0, key.length - AddressTool.HASH_LENGTH);
+            coin.setOwner(fromOwner);
+            coinList.add(coin);
         }
         return coinList;
     }
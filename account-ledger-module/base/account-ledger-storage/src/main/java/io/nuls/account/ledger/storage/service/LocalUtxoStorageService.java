@@ -51,4 +51,10 @@ public interface LocalUtxoStorageService {
     Result batchDeleteUTXO(Set<byte[]> utxos);
 
     List<Entry<byte[],byte[]>> loadAllCoinList();
+
+    /**
+     * 只读取指定地址下的UTXO，key以地址开头
+     * Load only the UTXOs of the address, keys are prefixed by the address.
+     */
+    List<Entry<byte[],byte[]>> loadCoinListByAddress(byte[] address);
 }
@@ -34,8 +34,10 @@ import io.nuls.kernel.lite.annotation.Autowired;
 import io.nuls.kernel.lite.annotation.Component;
 import io.nuls.kernel.lite.core.bean.InitializingBean;
 import io.nuls.kernel.model.Result;
+import io.nuls.kernel.utils.AddressTool;
 import io.nuls.ledger.service.LedgerService;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -71,6 +73,18 @@ public class LocalUtxoStorageServiceImpl implements LocalUtxoStorageService, Ini
         return coinList;
     }
 
+    @Override
+    public List<Entry<byte[],byte[]>> loadCoinListByAddress(byte[] address){
+        if (address == null || address.length != AddressTool.HASH_LENGTH) {
+            return new ArrayList<>();
+        }
+        List<Entry<byte[],byte[]>> coinList = dbService.prefixEntryList(AccountLedgerStorageConstant.DB_NAME_ACCOUNT_LEDGER_COINDATA, address, 0);
+        if (coinList == null) {
+            return new ArrayList<>();
+        }
+        return coinList;
+    }
+
     @Override
     public Result saveUTXO(byte[] key, byte[] value) {
         return dbService.put(AccountLedgerStorageConstant.DB_NAME_ACCOUNT_LEDGER_COINDATA, key, value);
@@ -30,6 +30,7 @@ import io.nuls.account.ledger.storage.po.TransactionInfoPo;
 import io.nuls.account.ledger.storage.service.TransactionInfoStorageService;
 import io.nuls.core.tools.array.ArraysTool;
 import io.nuls.core.tools.log.Log;
+import io.nuls.db.model.Entry;
 import io.nuls.db.service.DBService;
 import io.nuls.kernel.constant.KernelErrorCode;
 import io.nuls.kernel.exception.NulsException;
@@ -43,7 +44,6 @@ import javax.naming.PartialResultException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * author Facjas
@@ -75,20 +75,19 @@ public class TransactionInfoStorageServiceImpl implements TransactionInfoStorage
     @Override
     public List<TransactionInfoPo> getTransactionInfoListByAddress(byte[] address) throws NulsException {
         List<TransactionInfoPo> infoPoList = new ArrayList<>();
-        Set<byte[]> keySet = dbService.keySet(AccountLedgerStorageConstant.DB_NAME_ACCOUNT_LEDGER_TX_INDEX);
-        if (keySet == null || keySet.isEmpty()) {
+        if (address == null || address.length != AddressTool.HASH_LENGTH) {
+            return infoPoList;
+        }
+        // key = address + txHash, 只扫描该地址前缀下的数据
+        List<Entry<byte[], byte[]>> entryList = dbService.prefixEntryList(AccountLedgerStorageConstant.DB_NAME_ACCOUNT_LEDGER_TX_INDEX, address, 0);
+        if (entryList == null || entryList.isEmpty()) {
             return infoPoList;
         }
 
-        byte[] addressKey = new byte[AddressTool.HASH_LENGTH];
-        for (byte[] key : keySet) {
-            System.arraycopy(key, 0, addressKey, 0, AddressTool.HASH_LENGTH);
-            if (java.util.Arrays.equals(addressKey, address)) {
-                byte[] values = dbService.get(AccountLedgerStorageConstant.DB_NAME_ACCOUNT_LEDGER_TX_INDEX, key);
-                TransactionInfoPo transactionInfoPo = new TransactionInfoPo();
-                transactionInfoPo.parse(values);
-                infoPoList.add(transactionInfoPo);
-            }
+        for (Entry<byte[], byte[]> entry : entryList) {
+            TransactionInfoPo transactionInfoPo = new TransactionInfoPo();
+            transactionInfoPo.parse(entry.getValue());
+            infoPoList.add(transactionInfoPo);
         }
         return infoPoList;
     }
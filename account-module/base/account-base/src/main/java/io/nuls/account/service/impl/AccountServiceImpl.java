@@ -569,13 +569,16 @@ public class AccountServiceImpl implements AccountService {
     }
 
     private NulsSignData signDigest(byte[] digest, byte[] priKey) {
-        ECKey ecKey = ECKey.fromPrivate(new BigInteger(priKey));
-        return signDigest(digest, ecKey);
+        // 签名不需要公钥，不通过fromPrivate创建ECKey
+        return createSignData(ECKey.signWithPrivKey(digest, new BigInteger(priKey)));
     }
 
     @Override
     public NulsSignData signDigest(byte[] digest, ECKey ecKey) {
-        byte[] signbytes = ecKey.sign(digest);
+        return createSignData(ecKey.sign(digest));
+    }
+
+    private NulsSignData createSignData(byte[] signbytes) {
         NulsSignData nulsSignData = new NulsSignData();
         nulsSignData.setSignAlgType(NulsSignData.SIGN_ALG_ECC);
         nulsSignData.setSignBytes(signbytes);
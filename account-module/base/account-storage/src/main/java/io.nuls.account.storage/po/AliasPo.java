@@ -5,6 +5,7 @@ import io.nuls.kernel.exception.NulsException;
 import io.nuls.kernel.model.BaseNulsData;
 import io.nuls.kernel.utils.NulsByteBuffer;
 import io.nuls.kernel.utils.NulsOutputStreamBuffer;
+import io.nuls.kernel.utils.SerializeUtils;
 
 import java.io.IOException;
 
@@ -49,16 +50,21 @@ public class AliasPo extends BaseNulsData {
 
     @Override
     protected void serializeToStream(NulsOutputStreamBuffer stream) throws IOException {
-
+        stream.writeBytesWithLength(address);
+        stream.writeString(alias);
     }
 
     @Override
     protected void parse(NulsByteBuffer byteBuffer) throws NulsException {
-
+        this.address = byteBuffer.readByLengthByte();
+        this.alias = byteBuffer.readString();
     }
 
     @Override
     public int size() {
-        return 0;
+        int s = 0;
+        s += SerializeUtils.sizeOfBytes(address);
+        s += SerializeUtils.sizeOfString(alias);
+        return s;
     }
 }
\ No newline at end of file
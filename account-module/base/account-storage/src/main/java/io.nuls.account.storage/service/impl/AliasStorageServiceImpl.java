@@ -4,6 +4,8 @@ import io.nuls.account.storage.constant.AccountStorageConstant;
 import io.nuls.account.storage.po.AliasPo;
 import io.nuls.account.storage.service.AliasStorageService;
 import io.nuls.core.tools.log.Log;
+import io.nuls.db.codec.ModelCodecRegistry;
+import io.nuls.db.codec.NulsDataCodec;
 import io.nuls.db.constant.DBErrorCode;
 import io.nuls.db.service.DBService;
 import io.nuls.kernel.cfg.NulsConfig;
@@ -31,6 +33,10 @@ public class AliasStorageServiceImpl implements AliasStorageService, Initializin
     @Autowired
     private DBService dbService;
 
+    static {
+        ModelCodecRegistry.register(AliasPo.class, new NulsDataCodec<>(AliasPo.class));
+    }
+
     @Override
     public void afterPropertiesSet() throws NulsException {
         Result result = this.dbService.createArea(AccountStorageConstant.DB_NAME_ACCOUNT_ALIAS);
@@ -0,0 +1,205 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.benchmark;
+
+import io.nuls.consensus.poc.protocol.entity.Deposit;
+import io.nuls.consensus.poc.protocol.tx.DepositTransaction;
+import io.nuls.core.tools.crypto.ECKey;
+import io.nuls.kernel.model.*;
+import io.nuls.kernel.script.P2PKHScriptSig;
+import io.nuls.kernel.utils.AddressTool;
+import io.nuls.kernel.utils.TransactionManager;
+import io.nuls.kernel.utils.VarInt;
+import io.nuls.protocol.model.tx.CoinBaseTransaction;
+import io.nuls.protocol.model.tx.TransferTransaction;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试使用的固定数据：与钱包生成的结构一致的转账、共识奖励和委托交易，以及由它们组成的区块
+ * 私钥和随机数都是固定的，每次运行得到相同的字节，方便比较不同版本的结果
+ * Fixtures for the benchmarks: transfer, coinbase and deposit transactions with the same structure as those created by the wallet,
+ * and blocks made of them. Private keys and random seeds are fixed, so every run produces the same bytes and results of different versions are comparable.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/12
+ */
+public final class BenchmarkFixtures {
+
+    public static final long TIME = 1531353600000L;
+
+    private static final int KEY_COUNT = 16;
+
+    private static final ECKey[] KEYS = new ECKey[KEY_COUNT];
+
+    static {
+        for (int i = 0; i < KEY_COUNT; i++) {
+            KEYS[i] = ECKey.fromPrivate(BigInteger.valueOf(1000003L * (i + 1)));
+        }
+        TransactionManager.putTx(TransferTransaction.class, null);
+        TransactionManager.putTx(CoinBaseTransaction.class, null);
+        TransactionManager.putTx(DepositTransaction.class, null);
+    }
+
+    private BenchmarkFixtures() {
+    }
+
+    public static ECKey key(int index) {
+        return KEYS[index % KEY_COUNT];
+    }
+
+    public static byte[] address(int index) {
+        return AddressTool.getAddress(key(index).getPubKey());
+    }
+
+    /**
+     * 花费inputs个前序输出，转给outputs个地址（最后一个是找零）的转账交易
+     * A transfer spending inputs previous outputs to outputs addresses (the last one is the change).
+     */
+    public static TransferTransaction transfer(int seed, int inputs, int outputs) throws IOException {
+        Random random = new Random(seed);
+        TransferTransaction tx = new TransferTransaction();
+        tx.setTime(TIME + seed);
+        tx.setRemark("transfer".getBytes());
+        CoinData coinData = new CoinData();
+        long total = 0;
+        for (int i = 0; i < inputs; i++) {
+            long value = Na.NA_VALUE + random.nextInt(1000000000);
+            coinData.getFrom().add(new Coin(outPoint(random), Na.valueOf(value), 0));
+            total += value;
+        }
+        long fee = Na.NA_VALUE / 1000;
+        long each = (total - fee) / outputs;
+        for (int i = 0; i < outputs; i++) {
+            long value = i == outputs - 1 ? total - fee - each * (outputs - 1) : each;
+            coinData.getTo().add(new Coin(address(seed + i + 1), Na.valueOf(value), 0));
+        }
+        tx.setCoinData(coinData);
+        sign(tx, key(seed));
+        return tx;
+    }
+
+    /**
+     * 向outputs个地址发放出块奖励的共识奖励交易，没有签名
+     * A coinbase paying the block rewards to outputs addresses, without a signature.
+     */
+    public static CoinBaseTransaction coinBase(int seed, int outputs) {
+        CoinBaseTransaction tx = new CoinBaseTransaction();
+        tx.setTime(TIME + seed);
+        CoinData coinData = new CoinData();
+        for (int i = 0; i < outputs; i++) {
+            coinData.getTo().add(new Coin(address(i), Na.valueOf(Na.NA_VALUE * 5 + i), 1000L + seed));
+        }
+        tx.setCoinData(coinData);
+        return tx;
+    }
+
+    /**
+     * 锁定2000 NULS委托给一个节点的共识交易
+     * A consensus transaction locking 2000 NULS to join an agent.
+     */
+    public static DepositTransaction deposit(int seed) throws IOException {
+        Random random = new Random(seed);
+        DepositTransaction tx = new DepositTransaction();
+        tx.setTime(TIME + seed);
+        Deposit deposit = new Deposit();
+        deposit.setAddress(address(seed));
+        deposit.setDeposit(Na.parseNuls(2000));
+        deposit.setAgentHash(randomHash(random));
+        tx.setTxData(deposit);
+        CoinData coinData = new CoinData();
+        long value = Na.parseNuls(2100).getValue();
+        coinData.getFrom().add(new Coin(outPoint(random), Na.valueOf(value), 0));
+        coinData.getTo().add(new Coin(address(seed), Na.parseNuls(2000), -1));
+        coinData.getTo().add(new Coin(address(seed), Na.valueOf(value - Na.parseNuls(2000).getValue() - Na.NA_VALUE / 1000), 0));
+        tx.setCoinData(coinData);
+        sign(tx, key(seed));
+        return tx;
+    }
+
+    /**
+     * 一个共识奖励交易加上txCount - 1个交易的已签名区块，每10个交易中有一个委托交易，其余是转账
+     * A signed block with a coinbase plus txCount - 1 transactions, one in every 10 is a deposit and the rest are transfers.
+     */
+    public static Block block(int txCount) throws IOException {
+        List<Transaction> txs = new ArrayList<>();
+        txs.add(coinBase(txCount, 10));
+        for (int i = 1; i < txCount; i++) {
+            txs.add(i % 10 == 0 ? deposit(i) : transfer(i, 1 + i % 3, 2));
+        }
+        List<NulsDigestData> hashes = new ArrayList<>();
+        for (Transaction tx : txs) {
+            hashes.add(tx.getHash());
+        }
+        Random random = new Random(txCount);
+        BlockHeader header = new BlockHeader();
+        header.setPreHash(randomHash(random));
+        header.setMerkleHash(NulsDigestData.calcMerkleDigestData(hashes));
+        header.setTime(TIME);
+        header.setHeight(1000000);
+        header.setTxCount(txs.size());
+        byte[] extend = new byte[14];
+        random.nextBytes(extend);
+        header.setExtend(extend);
+        header.setScriptSig(scriptSig(key(0), header.getHash()));
+        Block block = new Block();
+        block.setHeader(header);
+        block.setTxs(txs);
+        return block;
+    }
+
+    public static NulsDigestData randomHash(Random random) {
+        byte[] data = new byte[32];
+        random.nextBytes(data);
+        return NulsDigestData.calcDigestData(data);
+    }
+
+    private static byte[] outPoint(Random random) throws IOException {
+        byte[] hash = randomHash(random).serialize();
+        byte[] index = new VarInt(random.nextInt(4)).encode();
+        byte[] owner = new byte[hash.length + index.length];
+        System.arraycopy(hash, 0, owner, 0, hash.length);
+        System.arraycopy(index, 0, owner, hash.length, index.length);
+        return owner;
+    }
+
+    private static void sign(Transaction tx, ECKey key) throws IOException {
+        tx.setScriptSig(scriptSig(key, tx.getHash()).serialize());
+    }
+
+    private static P2PKHScriptSig scriptSig(ECKey key, NulsDigestData hash) throws IOException {
+        NulsSignData signData = new NulsSignData();
+        signData.setSignAlgType(NulsSignData.SIGN_ALG_ECC);
+        signData.setSignBytes(key.sign(hash.serialize()));
+        P2PKHScriptSig scriptSig = new P2PKHScriptSig();
+        scriptSig.setPublicKey(key.getPubKey());
+        scriptSig.setSignData(signData);
+        return scriptSig;
+    }
+}
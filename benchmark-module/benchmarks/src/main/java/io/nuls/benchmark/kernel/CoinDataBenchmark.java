@@ -0,0 +1,77 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.benchmark.kernel;
+
+import io.nuls.benchmark.BenchmarkFixtures;
+import io.nuls.kernel.model.CoinData;
+import io.nuls.kernel.model.Na;
+import io.nuls.kernel.utils.NulsByteBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CoinData的解析、序列化和手续费计算，coins为输入和输出各自的数量
+ * Parse, serialize and fee calculation of CoinData, coins is the number of inputs and of outputs each.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CoinDataBenchmark {
+
+    @Param({"2", "50"})
+    private int coins;
+
+    private CoinData coinData;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() throws Exception {
+        coinData = BenchmarkFixtures.transfer(1, coins, coins).getCoinData();
+        bytes = coinData.serialize();
+    }
+
+    @Benchmark
+    public CoinData parse() throws Exception {
+        return new NulsByteBuffer(bytes).readNulsData(new CoinData());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return coinData.serialize();
+    }
+
+    @Benchmark
+    public Na fee() {
+        return coinData.getFee();
+    }
+}
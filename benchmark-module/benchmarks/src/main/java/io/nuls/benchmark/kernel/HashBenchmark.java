@@ -0,0 +1,68 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.benchmark.kernel;
+
+import io.nuls.kernel.model.NulsDigestData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NulsDigestData.calcDigestData对不同长度数据的双重SHA-256
+ * Double SHA-256 of NulsDigestData.calcDigestData over data of different lengths.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashBenchmark {
+
+    @Param({"64", "300", "4096"})
+    private int dataSize;
+
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+        data = new byte[dataSize];
+        new Random(dataSize).nextBytes(data);
+    }
+
+    @Benchmark
+    public NulsDigestData calcDigestData() {
+        return NulsDigestData.calcDigestData(data);
+    }
+
+    @Benchmark
+    public NulsDigestData calcDigestDataOfRange() {
+        return NulsDigestData.calcDigestData(data, 0, dataSize / 2, data, dataSize / 2, dataSize - dataSize / 2);
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.benchmark.kernel;
+
+import io.nuls.benchmark.BenchmarkFixtures;
+import io.nuls.kernel.model.NulsDigestData;
+import io.nuls.kernel.utils.MerkleTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * merkle根的计算：一次性计算和打包时逐个追加交易
+ * Merkle root calculation: all at once and appending txs one by one as packing does.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MerkleTreeBenchmark {
+
+    @Param({"16", "1000", "10000"})
+    private int leaves;
+
+    private List<NulsDigestData> hashes;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(leaves);
+        hashes = new ArrayList<>(leaves);
+        for (int i = 0; i < leaves; i++) {
+            hashes.add(BenchmarkFixtures.randomHash(random));
+        }
+    }
+
+    @Benchmark
+    public NulsDigestData calcRoot() {
+        return MerkleTree.calcRoot(hashes);
+    }
+
+    @Benchmark
+    public NulsDigestData incremental() {
+        MerkleTree tree = new MerkleTree();
+        for (NulsDigestData hash : hashes) {
+            tree.add(hash);
+        }
+        return tree.getRoot();
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.benchmark.kernel;
+
+import io.nuls.core.tools.crypto.Hex;
+import io.nuls.kernel.model.NulsDigestData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NulsDigestData作为HashMap key的性能：交易池的插入/查找、区块内交易去重和十六进制编码
+ * legacy开头的方法使用修改前的equals/hashCode/getDigestHex实现（每次比较都序列化两个对象）作为对比
+ * 查找使用重新解析出的对象，和从网络收到的摘要一样不是同一个实例
+ * Performance of NulsDigestData as a HashMap key: tx pool insert / lookup, tx de-duplication within a block and hex encoding.
+ * The methods starting with legacy use the previous equals/hashCode/getDigestHex (serializing both objects on every comparison) for comparison.
+ * Lookups use re-parsed objects, which are not the same instances, just like digests received from the network.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/5
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NulsDigestDataBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private NulsDigestData[] hashes;
+
+    private NulsDigestData[] lookups;
+
+    private LegacyKey[] legacyHashes;
+
+    private LegacyKey[] legacyLookups;
+
+    private Map<NulsDigestData, Object> pool;
+
+    private Map<LegacyKey, Object> legacyPool;
+
+    @Setup
+    public void setup() throws Exception {
+        Random random = new Random(1);
+        hashes = new NulsDigestData[size];
+        lookups = new NulsDigestData[size];
+        legacyHashes = new LegacyKey[size];
+        legacyLookups = new LegacyKey[size];
+        pool = new HashMap<>();
+        legacyPool = new HashMap<>();
+        byte[] data = new byte[200];
+        for (int i = 0; i < size; i++) {
+            random.nextBytes(data);
+            hashes[i] = NulsDigestData.calcDigestData(data);
+            lookups[i] = NulsDigestData.fromDigestHex(Hex.encode(hashes[i].serialize()));
+            legacyHashes[i] = new LegacyKey(hashes[i]);
+            legacyLookups[i] = new LegacyKey(NulsDigestData.fromDigestHex(Hex.encode(hashes[i].serialize())));
+            pool.put(hashes[i], data);
+            legacyPool.put(legacyHashes[i], data);
+        }
+    }
+
+    @Benchmark
+    public Map<NulsDigestData, Object> poolInsert() {
+        Map<NulsDigestData, Object> map = new HashMap<>();
+        for (NulsDigestData hash : lookups) {
+            map.put(hash, hash);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<LegacyKey, Object> legacyPoolInsert() {
+        Map<LegacyKey, Object> map = new HashMap<>();
+        for (LegacyKey hash : legacyLookups) {
+            map.put(hash, hash);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void poolLookup(Blackhole blackhole) {
+        for (NulsDigestData hash : lookups) {
+            blackhole.consume(pool.get(hash));
+        }
+    }
+
+    @Benchmark
+    public void legacyPoolLookup(Blackhole blackhole) {
+        for (LegacyKey hash : legacyLookups) {
+            blackhole.consume(legacyPool.get(hash));
+        }
+    }
+
+    /**
+     * 和区块验证中检查重复交易一样，把所有交易摘要放入HashSet
+     * Put all tx digests into a HashSet, the same as checking repeated txs when verifying a block.
+     */
+    @Benchmark
+    public boolean txDeduplicate() {
+        Set<NulsDigestData> set = new HashSet<>();
+        boolean repeated = false;
+        for (NulsDigestData hash : lookups) {
+            repeated |= !set.add(hash);
+        }
+        return repeated;
+    }
+
+    @Benchmark
+    public boolean legacyTxDeduplicate() {
+        Set<LegacyKey> set = new HashSet<>();
+        boolean repeated = false;
+        for (LegacyKey hash : legacyLookups) {
+            repeated |= !set.add(hash);
+        }
+        return repeated;
+    }
+
+    @Benchmark
+    public void digestHex(Blackhole blackhole) {
+        for (NulsDigestData hash : hashes) {
+            blackhole.consume(hash.getDigestHex());
+        }
+    }
+
+    @Benchmark
+    public void legacyDigestHex(Blackhole blackhole) throws IOException {
+        for (NulsDigestData hash : hashes) {
+            blackhole.consume(Hex.encode(hash.serialize()));
+        }
+    }
+
+    /**
+     * 修改前的NulsDigestData.equals/hashCode
+     * The previous NulsDigestData.equals/hashCode.
+     */
+    static final class LegacyKey {
+
+        private final NulsDigestData digest;
+
+        LegacyKey(NulsDigestData digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof LegacyKey)) {
+                return false;
+            }
+            NulsDigestData other = ((LegacyKey) obj).digest;
+            try {
+                if (digest.serialize() == null || other.serialize() == null) {
+                    return false;
+                }
+                if (digest.serialize().length != other.serialize().length) {
+                    return false;
+                }
+            } catch (Exception e) {
+                return false;
+            }
+            return Arrays.equals(digest.getDigestBytes(), other.getDigestBytes());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(digest.getDigestBytes());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.benchmark.kernel;
+
+import io.nuls.benchmark.BenchmarkFixtures;
+import io.nuls.core.tools.map.OpenHashMap;
+import io.nuls.kernel.model.OutPointKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 以Base64字符串和OutPointKey作为key，建立并查询一个区块规模的UTXO引用表
+ * Build and query a block sized table of UTXO references keyed by Base64 strings and by OutPointKey.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/23
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutPointKeyBenchmark {
+
+    @Param({"100", "5000"})
+    private int count;
+
+    private byte[][] owners;
+
+    @Setup
+    public void setup() throws Exception {
+        Random random = new Random(1);
+        owners = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            owners[i] = OutPointKey.of(BenchmarkFixtures.randomHash(random).serialize(), i & 3).getOutPoint();
+        }
+    }
+
+    @Benchmark
+    public int base64HashMap() {
+        HashMap<String, byte[]> map = new HashMap<>(count << 1);
+        for (byte[] owner : owners) {
+            map.put(Base64.getEncoder().encodeToString(owner), owner);
+        }
+        int hits = 0;
+        for (byte[] owner : owners) {
+            if (map.get(Base64.getEncoder().encodeToString(owner)) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int outPointKeyOpenHashMap() {
+        OpenHashMap<OutPointKey, byte[]> map = new OpenHashMap<>(count);
+        for (byte[] owner : owners) {
+            map.put(new OutPointKey(owner), owner);
+        }
+        int hits = 0;
+        for (byte[] owner : owners) {
+            if (map.get(new OutPointKey(owner)) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.benchmark.kernel;
+
+import io.nuls.benchmark.BenchmarkFixtures;
+import io.nuls.kernel.model.NulsDigestData;
+import io.nuls.kernel.model.Transaction;
+import io.nuls.kernel.utils.NulsByteBuffer;
+import io.nuls.kernel.utils.TransactionManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个交易的解析、序列化和计算hash，lazy开头的方法和转发、存储时一样延迟解码coinData和签名
+ * Parse, serialize and hash a single transaction, the methods starting with lazy defer decoding the coinData and signature
+ * like relaying and storage do.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionBenchmark {
+
+    @Param({"transfer", "coinbase", "deposit"})
+    private String type;
+
+    private Transaction tx;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() throws Exception {
+        if ("transfer".equals(type)) {
+            tx = BenchmarkFixtures.transfer(1, 2, 2);
+        } else if ("coinbase".equals(type)) {
+            tx = BenchmarkFixtures.coinBase(1, 10);
+        } else {
+            tx = BenchmarkFixtures.deposit(1);
+        }
+        bytes = tx.serialize();
+    }
+
+    @Benchmark
+    public Transaction parse() throws Exception {
+        return TransactionManager.getInstance(new NulsByteBuffer(bytes));
+    }
+
+    @Benchmark
+    public Transaction lazyParse() throws Exception {
+        return TransactionManager.getInstance(new NulsByteBuffer(bytes), true);
+    }
+
+    @Benchmark
+    public Object lazyParseAndGetCoinData() throws Exception {
+        return TransactionManager.getInstance(new NulsByteBuffer(bytes), true).getCoinData();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return tx.serialize();
+    }
+
+    @Benchmark
+    public NulsDigestData hash() throws Exception {
+        return NulsDigestData.calcDigestData(tx.serializeForHash());
+    }
+}
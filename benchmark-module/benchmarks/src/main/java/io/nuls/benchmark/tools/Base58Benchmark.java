@@ -0,0 +1,73 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.benchmark.tools;
+
+import io.nuls.benchmark.BenchmarkFixtures;
+import io.nuls.core.tools.crypto.Base58;
+import io.nuls.kernel.utils.AddressTool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 地址的Base58编码和解码，和RPC接口、钱包显示地址时一样
+ * Base58 encode and decode of addresses, as the RPC interface and the wallet do to display addresses.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base58Benchmark {
+
+    private byte[] address;
+
+    private String base58;
+
+    @Setup
+    public void setup() {
+        address = BenchmarkFixtures.address(1);
+        base58 = Base58.encode(address);
+    }
+
+    @Benchmark
+    public String encode() {
+        return Base58.encode(address);
+    }
+
+    @Benchmark
+    public byte[] decode() throws Exception {
+        return Base58.decode(base58);
+    }
+
+    @Benchmark
+    public byte[] getAddress() {
+        return AddressTool.getAddress(base58);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.benchmark.tools;
+
+import io.nuls.benchmark.BenchmarkFixtures;
+import io.nuls.core.tools.crypto.ECKey;
+import io.nuls.kernel.model.NulsDigestData;
+import org.openjdk.jmh.annotations.*;
+import org.spongycastle.crypto.params.ECPublicKeyParameters;
+import org.spongycastle.crypto.signers.ECDSASigner;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ECKey对交易hash的签名和验证，verify和区块验证中检查交易签名的方式相同
+ * legacy开头的方法每次都重新解码公钥、先由私钥计算公钥再签名，作为公钥点缓存和直接用私钥签名的对比
+ * ECKey sign and verify of a tx hash, verify is the same as checking tx signatures when verifying a block.
+ * The methods starting with legacy decode the public key on every call and derive the public key before signing,
+ * for comparison with the public point cache and signing directly with the private key.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/12
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ECKeyBenchmark {
+
+    private ECKey key;
+
+    private byte[] hash;
+
+    private byte[] signature;
+
+    private byte[] pubKey;
+
+    private BigInteger privKey;
+
+    @Setup
+    public void setup() throws Exception {
+        key = BenchmarkFixtures.key(1);
+        hash = BenchmarkFixtures.randomHash(new Random(1)).serialize();
+        signature = key.sign(hash);
+        pubKey = key.getPubKey();
+        privKey = key.getPrivKey();
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return key.sign(hash);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return ECKey.verify(hash, signature, pubKey);
+    }
+
+    @Benchmark
+    public boolean legacyVerify() {
+        ECDSASigner signer = new ECDSASigner();
+        signer.init(false, new ECPublicKeyParameters(ECKey.CURVE.getCurve().decodePoint(pubKey), ECKey.CURVE));
+        ECKey.ECDSASignature sig = ECKey.ECDSASignature.decodeFromDER(signature);
+        return signer.verifySignature(hash, sig.r, sig.s);
+    }
+
+    @Benchmark
+    public byte[] signWithPrivKey() {
+        return ECKey.signWithPrivKey(hash, privKey);
+    }
+
+    @Benchmark
+    public byte[] legacySignWithPrivKey() {
+        return ECKey.fromPrivate(privKey).sign(hash);
+    }
+
+    @Benchmark
+    public ECKey fromPublicOnly() {
+        return ECKey.fromPublicOnly(pubKey);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.client;
+
+import io.nuls.core.tools.log.Log;
+import io.nuls.kernel.MicroKernelBootstrap;
+import io.nuls.kernel.cfg.NulsConfig;
+import io.nuls.kernel.constant.NulsConstant;
+import io.nuls.kernel.model.Result;
+import io.nuls.kernel.module.BaseModuleBootstrap;
+import io.nuls.network.constant.NetworkConstant;
+import io.nuls.protocol.base.bulk.ChainDataExporter;
+import io.nuls.protocol.base.bulk.ChainDataImporter;
+
+import java.io.File;
+/**
+ * 离线的链数据导出/导入工具，运行时节点不能同时启动（共用同一个数据目录）
+ * 只初始化存储相关的模块，不启动网络、共识和区块下载
+ * Offline chain data export / import tool, the node must not be running at the same time (they share the same data directory).
+ * Only the storage related modules are initialized, the network, consensus and block download are not started.
+ * <p>
+ * export &lt;file&gt; [startHeight] [endHeight]
+ * import &lt;file&gt; [trustedHeight] [threads]
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/2
+ */
+public class ChainDataTool {
+
+    private static final String CMD_EXPORT = "export";
+
+    private static final String CMD_IMPORT = "import";
+
+    private static final String DB_SECTION = "db";
+
+    public static void main(String[] args) {
+        Thread.currentThread().setName("Nuls-chain-data");
+        if (args.length < 2 || !(CMD_EXPORT.equals(args[0]) || CMD_IMPORT.equals(args[0]))) {
+            System.out.println("usage: export <file> [startHeight] [endHeight]");
+            System.out.println("       import <file> [trustedHeight] [threads]");
+            System.exit(-1);
+        }
+        BaseModuleBootstrap dbModule = null;
+        Result<Long> result;
+        try {
+            MicroKernelBootstrap mk = MicroKernelBootstrap.getInstance();
+            mk.init();
+            mk.start();
+            dbModule = initModules();
+            File file = new File(args[1]);
+            if (CMD_EXPORT.equals(args[0])) {
+                long start = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+                long end = args.length > 3 ? Long.parseLong(args[3]) : -1L;
+                result = new ChainDataExporter().export(file, start, end);
+            } else {
+                long trustedHeight = args.length > 2 ? Long.parseLong(args[2]) : -1L;
+                int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+                result = new ChainDataImporter(threads).importFile(file, trustedHeight);
+            }
+        } catch (Exception e) {
+            Log.error(e);
+            result = Result.getFailed(e.getMessage());
+        } finally {
+            if (null != dbModule) {
+                dbModule.destroy();
+            }
+        }
+        if (result.isFailed()) {
+            Log.error(args[0] + " failed: " + result.getMsg());
+            System.exit(-1);
+        }
+        Log.info(args[0] + " finished, blocks: " + result.getData());
+        System.exit(0);
+    }
+
+    /**
+     * 只调用模块的init方法，返回存储模块以便结束时关闭数据库
+     * Only the init method of the modules is called, the db module is returned so the database can be closed at the end.
+     */
+    private static BaseModuleBootstrap initModules() throws Exception {
+        BaseModuleBootstrap dbModule = null;
+        for (String moduleName : NulsConfig.MODULES_CONFIG.getSectionList()) {
+            if (NetworkConstant.NETWORK_SECTION.equals(moduleName)) {
+                continue;
+            }
+            String className;
+            try {
+                className = NulsConfig.MODULES_CONFIG.getCfgValue(moduleName, NulsConstant.MODULE_BOOTSTRAP_KEY);
+            } catch (Exception e) {
+                continue;
+            }
+            BaseModuleBootstrap module = (BaseModuleBootstrap) Class.forName(className).newInstance();
+            module.setModuleName(moduleName);
+            module.init();
+            if (DB_SECTION.equals(moduleName)) {
+                dbModule = module;
+            }
+        }
+        return dbModule;
+    }
+}
@@ -0,0 +1,23 @@
+#!/bin/sh
+# stop the node first, then:
+#   ./chain-data.sh export <file> [startHeight] [endHeight]
+#   ./chain-data.sh import <file> [trustedHeight] [threads]
+
+rootdir=$PWD
+export logdir="$rootdir/logs"
+
+LIBS=$rootdir/libs
+PUB_LIB=""
+MAIN_CLASS=io.nuls.client.ChainDataTool
+
+for jar in `find $LIBS -name "*.jar"`
+do
+     PUB_LIB="$PUB_LIB:""$jar"
+done
+
+CONF_PATH=$rootdir/conf
+CLASSPATH=$rootdir:$CLASSPATH:$CONF_PATH:$PUB_LIB
+if [ ! -d "$logdir" ]; then
+  mkdir "$logdir"
+fi
+java -Xms1024m -Xmx4096m -XX:NewSize=256m -XX:MaxNewSize=256m -classpath $CLASSPATH $MAIN_CLASS "$@"
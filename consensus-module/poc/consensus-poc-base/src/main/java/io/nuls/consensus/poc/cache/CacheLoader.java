@@ -122,7 +122,7 @@ public class CacheLoader {
         if (null == blockHeader) {
             return blockHeaderList;
         }
-        BlockRoundData roundData = new BlockRoundData(blockHeader.getExtend());
+        BlockRoundData roundData = blockHeader.getExtendData(BlockRoundData.class);
         long breakRoundIndex = roundData.getRoundIndex() - size;
         while (true) {
             if (blockHeader == null) {
@@ -137,7 +137,7 @@ public class CacheLoader {
 
             NulsDigestData preHash = blockHeader.getPreHash();
             blockHeader = blockService.getBlockHeader(preHash).getData();
-            BlockRoundData blockRoundData = new BlockRoundData(blockHeader.getExtend());
+            BlockRoundData blockRoundData = blockHeader.getExtendData(BlockRoundData.class);
             if (blockRoundData.getRoundIndex() <= breakRoundIndex) {
                 break;
             }
@@ -175,7 +175,7 @@ public class CacheLoader {
         if (null == blockHeader) {
             return list;
         }
-        BlockRoundData roundData = new BlockRoundData(blockHeader.getExtend());
+        BlockRoundData roundData = blockHeader.getExtendData(BlockRoundData.class);
         long breakRoundIndex = roundData.getRoundIndex() - roundSize;
         for (PunishLogPo po : allPunishList) {
             if (po.getType() == PunishType.RED.getCode()) {
@@ -29,6 +29,8 @@ import io.nuls.kernel.cfg.NulsConfig;
 import io.nuls.kernel.context.NulsContext;
 import io.nuls.kernel.model.Block;
 import io.nuls.kernel.utils.AddressTool;
+import io.nuls.kernel.validate.BatchSignatureVerifier;
+import io.nuls.kernel.validate.SignatureCache;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -44,6 +46,8 @@ public class ConsensusConfig {
     private final static String CFG_CONSENSUS_SECTION = "consensus";
     private final static String PROPERTY_PARTAKE_PACKING = "partake.packing";
     private final static String PROPERTY_SEED_NODES = "seed.nodes";
+    private final static String PROPERTY_SIGN_VERIFY_THREADS = "sign.verify.threads";
+    private final static String PROPERTY_SIGN_CACHE_SIZE = "sign.cache.size";
     private final static String SEED_NODES_DELIMITER = ",";
 
     private static boolean partakePacking = false;
@@ -56,6 +60,10 @@ public class ConsensusConfig {
         NulsContext.getInstance().setGenesisBlock(genesisBlock);
 
         partakePacking = NulsConfig.MODULES_CONFIG.getCfgValue(CFG_CONSENSUS_SECTION, PROPERTY_PARTAKE_PACKING, false);
+        BatchSignatureVerifier.setParallelism(NulsConfig.MODULES_CONFIG.getCfgValue(CFG_CONSENSUS_SECTION,
+                PROPERTY_SIGN_VERIFY_THREADS, Runtime.getRuntime().availableProcessors()));
+        SignatureCache.setCapacity(NulsConfig.MODULES_CONFIG.getCfgValue(CFG_CONSENSUS_SECTION,
+                PROPERTY_SIGN_CACHE_SIZE, SignatureCache.getCapacity()));
         Set<String> seedAddressSet = new HashSet<>();
         String addresses = NulsConfig.MODULES_CONFIG.getCfgValue(CFG_CONSENSUS_SECTION, PROPERTY_SEED_NODES, "");
         if (StringUtils.isBlank(addresses)) {
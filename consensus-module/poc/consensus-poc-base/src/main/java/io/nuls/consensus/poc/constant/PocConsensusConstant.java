@@ -98,4 +98,10 @@ public interface PocConsensusConstant {
     int RESET_SYSTEM_TIME_INTERVAL = 5;
     long CONSENSUS_LOCK_TIME = -1;
     long STOP_AGENT_LOCK_TIME = 3 * 24 * 3600000L;
+
+    /**
+     * Default unlock time of the packing key session, unit seconds
+     * 出块账户私钥会话默认的解锁时长，单位秒
+     */
+    int PACKING_KEY_UNLOCK_TIME = 3600;
 }
@@ -87,7 +87,7 @@ public class ChainContainer implements Cloneable {
         List<PunishLogPo> redList = chain.getRedPunishList();
 
         long height = block.getHeader().getHeight();
-        BlockRoundData roundData = new BlockRoundData(block.getHeader().getExtend());
+        BlockRoundData roundData = block.getHeader().getExtendData(BlockRoundData.class);
         List<Transaction> txs = block.getTxs();
         for (Transaction tx : txs) {
             int txType = tx.getType();
@@ -232,9 +232,9 @@ public class ChainContainer implements Cloneable {
             return false;
         }
 
-        BlockRoundData bestBlcokRoundData = new BlockRoundData(bestBlockHeader.getExtend());
+        BlockRoundData bestBlcokRoundData = bestBlockHeader.getExtendData(BlockRoundData.class);
 
-        BlockRoundData roundData = new BlockRoundData(blockHeader.getExtend());
+        BlockRoundData roundData = blockHeader.getExtendData(BlockRoundData.class);
 
         if (roundData.getRoundIndex() < bestBlcokRoundData.getRoundIndex() ||
                 (roundData.getRoundIndex() == bestBlcokRoundData.getRoundIndex() && roundData.getPackingIndexOfRound() <= bestBlcokRoundData.getPackingIndexOfRound())) {
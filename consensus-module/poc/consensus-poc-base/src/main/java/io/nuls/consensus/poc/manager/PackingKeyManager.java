@@ -0,0 +1,247 @@
+/*
+ * *
+ *  * MIT License
+ *  *
+ *  * Copyright (c) 2017-2018 nuls.io
+ *  *
+ *  * Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  * of this software and associated documentation files (the "Software"), to deal
+ *  * in the Software without restriction, including without limitation the rights
+ *  * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  * copies of the Software, and to permit persons to whom the Software is
+ *  * furnished to do so, subject to the following conditions:
+ *  *
+ *  * The above copyright notice and this permission notice shall be included in all
+ *  * copies or substantial portions of the Software.
+ *  *
+ *  * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  * SOFTWARE.
+ *
+ */
+
+package io.nuls.consensus.poc.manager;
+
+import io.nuls.account.constant.AccountErrorCode;
+import io.nuls.account.model.Account;
+import io.nuls.consensus.constant.ConsensusConstant;
+import io.nuls.consensus.poc.constant.PocConsensusConstant;
+import io.nuls.core.tools.crypto.AESEncrypt;
+import io.nuls.core.tools.crypto.ECKey;
+import io.nuls.core.tools.log.Log;
+import io.nuls.kernel.model.NulsSignData;
+import io.nuls.kernel.model.Result;
+import io.nuls.kernel.thread.manager.NulsThreadFactory;
+import io.nuls.kernel.thread.manager.TaskManager;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 出块账户的私钥解锁会话
+ * 加密的出块账户通过密码解锁一次后，在会话有效期内直接使用内存中的私钥对区块签名，
+ * 打包时不再需要AES解密和从存储中读取账户；会话到期或主动锁定时清零私钥
+ * Unlocked private key sessions of the packing accounts.
+ * Once an encrypted packing account is unlocked with its password, blocks are signed with the in-memory private key
+ * until the session expires, so packing no longer needs AES decryption or account storage reads;
+ * the private key is zeroed when the session expires or is locked.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/2
+ */
+public class PackingKeyManager {
+
+    private static final Map<String, PackingKey> SESSIONS = new ConcurrentHashMap<>();
+
+    private static ScheduledThreadPoolExecutor scheduler;
+
+    private PackingKeyManager() {
+    }
+
+    /**
+     * 用密码解锁加密的出块账户，解锁时长小于等于0时使用默认值，重复解锁会替换之前的会话
+     * Unlock an encrypted packing account with the password, the default unlock time is used when it is less than or equal to 0,
+     * unlocking again replaces the previous session.
+     *
+     * @param account    加密的账户/The encrypted account.
+     * @param password   账户密码/The password of the account.
+     * @param unlockTime 解锁时长，单位秒/The unlock time in seconds.
+     * @return
+     */
+    public static Result unlock(Account account, String password, int unlockTime) {
+        if (null == account) {
+            return Result.getFailed(AccountErrorCode.ACCOUNT_NOT_EXIST);
+        }
+        // 未加密的账户直接使用明文私钥出块，不需要会话
+        // Unencrypted accounts pack with their plaintext private key and need no session
+        if (!account.isEncrypted()) {
+            return Result.getSuccess();
+        }
+        if (null == password) {
+            return Result.getFailed(AccountErrorCode.PASSWORD_IS_WRONG);
+        }
+        byte[] priKey;
+        try {
+            priKey = AESEncrypt.decrypt(account.getEncryptedPriKey(), password);
+        } catch (Exception e) {
+            return Result.getFailed(AccountErrorCode.PASSWORD_IS_WRONG);
+        }
+        if (!Arrays.equals(ECKey.fromPrivate(new BigInteger(1, priKey)).getPubKey(), account.getPubKey())) {
+            Arrays.fill(priKey, (byte) 0);
+            return Result.getFailed(AccountErrorCode.PASSWORD_IS_WRONG);
+        }
+        if (unlockTime <= 0) {
+            unlockTime = PocConsensusConstant.PACKING_KEY_UNLOCK_TIME;
+        }
+        String address = account.getAddress().getBase58();
+        PackingKey session = new PackingKey(account, priKey, System.currentTimeMillis() + unlockTime * 1000L);
+        PackingKey old = SESSIONS.put(address, session);
+        if (null != old) {
+            old.destroy();
+        }
+        getScheduler().schedule(() -> lock(address, session), unlockTime, TimeUnit.SECONDS);
+        return Result.getSuccess();
+    }
+
+    /**
+     * 锁定出块账户，清零内存中的私钥
+     * Lock the packing account and zero the private key in memory.
+     *
+     * @param address
+     */
+    public static void lock(String address) {
+        PackingKey session = SESSIONS.remove(address);
+        if (null != session) {
+            session.destroy();
+        }
+    }
+
+    private static void lock(String address, PackingKey session) {
+        if (SESSIONS.remove(address, session)) {
+            session.destroy();
+            Log.info("packing key session expired: " + address);
+        }
+    }
+
+    /**
+     * 锁定所有出块账户
+     * Lock all packing accounts.
+     */
+    public static void lockAll() {
+        for (String address : new ArrayList<>(SESSIONS.keySet())) {
+            lock(address);
+        }
+    }
+
+    /**
+     * 出块账户是否处于有效的解锁会话中
+     * Whether the packing account has a valid unlocked session.
+     *
+     * @param address
+     * @return
+     */
+    public static boolean isUnlocked(String address) {
+        return null != getSession(address);
+    }
+
+    /**
+     * 获取所有处于解锁会话中的账户，不读取存储
+     * Gets all accounts with an unlocked session, without reading the storage.
+     *
+     * @return
+     */
+    public static List<Account> getAccountList() {
+        List<Account> list = new ArrayList<>();
+        for (Map.Entry<String, PackingKey> entry : SESSIONS.entrySet()) {
+            if (null != getSession(entry.getKey())) {
+                list.add(entry.getValue().account);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 使用会话中的私钥对摘要签名，账户没有有效会话时返回null
+     * Sign the digest with the private key of the session, null if the account has no valid session.
+     *
+     * @param address
+     * @param digest
+     * @return
+     */
+    public static NulsSignData signDigest(String address, byte[] digest) {
+        PackingKey session = getSession(address);
+        if (null == session) {
+            return null;
+        }
+        byte[] signBytes = session.sign(digest);
+        if (null == signBytes) {
+            return null;
+        }
+        NulsSignData signData = new NulsSignData();
+        signData.setSignAlgType(NulsSignData.SIGN_ALG_ECC);
+        signData.setSignBytes(signBytes);
+        return signData;
+    }
+
+    private static PackingKey getSession(String address) {
+        PackingKey session = SESSIONS.get(address);
+        if (null == session) {
+            return null;
+        }
+        if (session.expireTime <= System.currentTimeMillis()) {
+            lock(address, session);
+            return null;
+        }
+        return session;
+    }
+
+    private static synchronized ScheduledThreadPoolExecutor getScheduler() {
+        if (null == scheduler) {
+            scheduler = TaskManager.createScheduledThreadPool(new NulsThreadFactory(ConsensusConstant.MODULE_ID_CONSENSUS, "packing-key-lock"));
+        }
+        return scheduler;
+    }
+
+    /**
+     * 私钥以字节数组保存，BigInteger不可变无法清零，只在签名时临时创建
+     * The private key is held as bytes, since an immutable BigInteger cannot be zeroed it is only created while signing.
+     */
+    private static final class PackingKey {
+
+        private final Account account;
+
+        private final byte[] priKey;
+
+        private final long expireTime;
+
+        private boolean destroyed;
+
+        private PackingKey(Account account, byte[] priKey, long expireTime) {
+            this.account = account;
+            this.priKey = priKey;
+            this.expireTime = expireTime;
+        }
+
+        private synchronized byte[] sign(byte[] digest) {
+            if (destroyed) {
+                return null;
+            }
+            return ECKey.signWithPrivKey(digest, new BigInteger(1, priKey));
+        }
+
+        private synchronized void destroy() {
+            destroyed = true;
+            Arrays.fill(priKey, (byte) 0);
+        }
+    }
+}
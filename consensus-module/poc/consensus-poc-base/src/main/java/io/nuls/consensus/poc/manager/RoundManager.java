@@ -46,6 +46,7 @@ import io.nuls.kernel.func.TimeService;
 import io.nuls.kernel.model.Block;
 import io.nuls.kernel.model.BlockHeader;
 import io.nuls.kernel.model.NulsDigestData;
+import io.nuls.kernel.model.Na;
 import io.nuls.protocol.constant.ProtocolConstant;
 
 import java.io.IOException;
@@ -88,7 +89,7 @@ public class RoundManager {
         } else {
             MeetingRound lastRound = roundList.get(roundList.size() - 1);
             Block bestBlcok = chain.getBestBlock();
-            BlockRoundData blockRoundData = new BlockRoundData(bestBlcok.getHeader().getExtend());
+            BlockRoundData blockRoundData = bestBlcok.getHeader().getExtendData(BlockRoundData.class);
             if (blockRoundData.getRoundIndex() < lastRound.getIndex()) {
                 roundList.clear();
                 initRound();
@@ -130,7 +131,7 @@ public class RoundManager {
             List<BlockHeader> blockHeaderList = chain.getBlockHeaderList();
             for (int i = blockHeaderList.size() - 1; i >= 0; i--) {
                 BlockHeader blockHeader = blockHeaderList.get(i);
-                roundData = new BlockRoundData(blockHeader.getExtend());
+                roundData = blockHeader.getExtendData(BlockRoundData.class);
                 if (roundData.getRoundIndex() < currentRound.getIndex()) {
                     break;
                 }
@@ -158,7 +159,7 @@ public class RoundManager {
                 return round;
             }
 
-            BlockRoundData roundData = new BlockRoundData(chain.getEndBlockHeader().getExtend());
+            BlockRoundData roundData = chain.getEndBlockHeader().getExtendData(BlockRoundData.class);
 
             if (round != null && roundData.getRoundIndex() == round.getIndex() && roundData.getPackingIndexOfRound() != roundData.getConsensusMemberCount()) {
                 return round;
@@ -197,7 +198,7 @@ public class RoundManager {
 
         BlockHeader startBlockHeader = bestBlockHeader;
 
-        BlockRoundData bestRoundData = new BlockRoundData(bestBlockHeader.getExtend());
+        BlockRoundData bestRoundData = bestBlockHeader.getExtendData(BlockRoundData.class);
 
         if (startBlockHeader.getHeight() != 0L) {
             long roundIndex = bestRoundData.getRoundIndex();
@@ -225,6 +226,8 @@ public class RoundManager {
 
     private MeetingRound getNextRoundByNotRealTime() {
         BlockHeader bestBlockHeader = chain.getEndBlockHeader();
+        // 下面会修改roundData，不能使用区块头上共享的缓存对象
+        // roundData is modified below, so it must not be the shared object cached on the header
         BlockRoundData roundData = new BlockRoundData(bestBlockHeader.getExtend());
         roundData.setRoundStartTime(roundData.getRoundEndTime());
         roundData.setRoundIndex(roundData.getRoundIndex() + 1);
@@ -256,7 +259,12 @@ public class RoundManager {
 
         setMemberList(round, startBlockHeader);
 
-        round.calcLocalPacker(getAccountService().getAccountList().getData());
+        // 优先从已解锁的出块账户中查找，找不到时才从存储中读取账户列表
+        // Look up the unlocked packing accounts first, the account list is only read from the storage when none matches
+        round.calcLocalPacker(PackingKeyManager.getAccountList());
+        if (null == round.getLocalPacker()) {
+            round.calcLocalPacker(getAccountService().getAccountList().getData());
+        }
 
         ConsensusLog.debug("calculation||index:{},startTime:{},startHeight:{},hash:{}\n" + round.toString() + "\n\n", index, startTime, startBlockHeader.getHeight(), startBlockHeader.getHash());
         return round;
@@ -294,10 +302,12 @@ public class RoundManager {
             member.setRoundStartTime(round.getStartTime());
 
             List<Deposit> cdlist = getDepositListByAgentId(agent.getTxHash(), startBlockHeader.getHeight());
+            long totalDeposit = member.getTotalDeposit().getValue();
             for (Deposit dtx : cdlist) {
-                member.setTotalDeposit(member.getTotalDeposit().add(dtx.getDeposit()));
+                totalDeposit = Na.safeAdd(totalDeposit, dtx.getDeposit().getValue());
                 depositTempList.add(dtx);
             }
+            member.setTotalDeposit(Na.valueOf(totalDeposit));
             member.setDepositList(cdlist);
             agent.setTotalDeposit(member.getTotalDeposit().getValue());
             boolean isItIn = member.getTotalDeposit().isGreaterOrEquals(PocConsensusProtocolConstant.SUM_OF_DEPOSIT_OF_AGENT_LOWER_LIMIT);
@@ -367,7 +377,7 @@ public class RoundManager {
 
     private double calcCreditVal(MeetingMember member, BlockHeader blockHeader) {
 
-        BlockRoundData roundData = new BlockRoundData(blockHeader.getExtend());
+        BlockRoundData roundData = blockHeader.getExtendData(BlockRoundData.class);
 
         long roundStart = roundData.getRoundIndex() - PocConsensusProtocolConstant.RANGE_OF_CAPACITY_COEFFICIENT;
         if (roundStart < 0) {
@@ -413,7 +423,7 @@ public class RoundManager {
 
         for (int i = blockHeaderList.size() - 1; i >= 0; i--) {
             BlockHeader blockHeader = blockHeaderList.get(i);
-            BlockRoundData roundData = new BlockRoundData(blockHeader.getExtend());
+            BlockRoundData roundData = blockHeader.getExtendData(BlockRoundData.class);
 
             if (roundData.getRoundIndex() > roundEnd) {
                 continue;
@@ -434,14 +444,14 @@ public class RoundManager {
         List<BlockHeader> blockHeaderList = chain.getBlockHeaderList();
         for (int i = blockHeaderList.size() - 1; i >= 0; i--) {
             BlockHeader blockHeader = blockHeaderList.get(i);
-            long currentRoundIndex = new BlockRoundData(blockHeader.getExtend()).getRoundIndex();
+            long currentRoundIndex = blockHeader.getExtendData(BlockRoundData.class).getRoundIndex();
             if (roundIndex > currentRoundIndex) {
                 if (startRoundIndex == 0L) {
                     startRoundIndex = currentRoundIndex;
                 }
                 if (currentRoundIndex < startRoundIndex) {
                     firstBlockHeader = blockHeaderList.get(i + 1);
-                    BlockRoundData roundData = new BlockRoundData(firstBlockHeader.getExtend());
+                    BlockRoundData roundData = firstBlockHeader.getExtendData(BlockRoundData.class);
                     if (roundData.getPackingIndexOfRound() > 1) {
                         firstBlockHeader = blockHeader;
                     }
@@ -28,6 +28,7 @@ package io.nuls.consensus.poc.model;
 import io.nuls.account.model.Account;
 import io.nuls.account.model.Address;
 import io.nuls.consensus.constant.ConsensusConstant;
+import io.nuls.consensus.poc.manager.PackingKeyManager;
 import io.nuls.core.tools.calc.DoubleUtils;
 import io.nuls.kernel.constant.KernelErrorCode;
 import io.nuls.kernel.exception.NulsRuntimeException;
@@ -147,7 +148,7 @@ public class MeetingRound {
 
     public void calcLocalPacker(List<Account> accountList) {
         for (Account account : accountList) {
-            if(account.isEncrypted()) {
+            if (account.isEncrypted() && !PackingKeyManager.isUnlocked(account.getAddress().getBase58())) {
                 continue;
             }
             MeetingMember member = getMember(account.getAddress().getBase58Bytes());
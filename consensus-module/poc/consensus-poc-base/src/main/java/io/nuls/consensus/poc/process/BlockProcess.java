@@ -44,6 +44,7 @@ import io.nuls.core.tools.log.Log;
 import io.nuls.kernel.context.NulsContext;
 import io.nuls.kernel.func.TimeService;
 import io.nuls.kernel.model.*;
+import io.nuls.kernel.validate.BatchSignatureVerifier;
 import io.nuls.kernel.validate.ValidateResult;
 import io.nuls.ledger.constant.LedgerErrorCode;
 import io.nuls.ledger.service.LedgerService;
@@ -151,6 +152,14 @@ public class BlockProcess {
                     // Verify that the block transaction is valid, save the block if the verification passes, and discard the block if it fails
                     // 验证区块交易是否合法，如果验证通过则保存区块，如果失败则丢弃该块
                     block.verifyWithException();
+                    // 先并行验证所有交易的签名，下面tx.verify()中不再重复验证
+                    // Verify all tx signatures in parallel first, tx.verify() below does not verify them again
+                    ValidateResult signResult = BatchSignatureVerifier.verify(block.getTxs());
+                    if (signResult.isFailed()) {
+                        success = false;
+                        Log.info("failed message:" + signResult.getMsg());
+                        break;
+                    }
                     List<Transaction> verifiedList = new ArrayList<>();
                     for (Transaction tx : block.getTxs()) {
                         if (tx.getType() == ConsensusConstant.TX_TYPE_YELLOW_PUNISH || tx.getType() == ProtocolConstant.TX_TYPE_COINBASE || tx.getType() == ConsensusConstant.TX_TYPE_RED_PUNISH) {
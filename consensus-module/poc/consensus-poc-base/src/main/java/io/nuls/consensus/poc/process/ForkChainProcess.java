@@ -47,6 +47,7 @@ import io.nuls.kernel.model.Block;
 import io.nuls.kernel.model.BlockHeader;
 import io.nuls.kernel.model.Result;
 import io.nuls.kernel.model.Transaction;
+import io.nuls.kernel.validate.BatchSignatureVerifier;
 import io.nuls.kernel.validate.ValidateResult;
 import io.nuls.ledger.service.LedgerService;
 import io.nuls.protocol.constant.ProtocolConstant;
@@ -400,6 +401,14 @@ public class ForkChainProcess {
         //需要升序排列，默认就是
         for (Block newBlock : addBlockList) {
             newBlock.verifyWithException();
+            // 先并行验证所有交易的签名，下面tx.verify()中不再重复验证
+            // Verify all tx signatures in parallel first, tx.verify() below does not verify them again
+            ValidateResult signResult = BatchSignatureVerifier.verify(newBlock.getTxs());
+            if (signResult.isFailed()) {
+                Log.info("failed message:" + signResult.getMsg());
+                changeSuccess = false;
+                break;
+            }
             List<Transaction> verifiedList = new ArrayList<>();
             for (Transaction tx : newBlock.getTxs()) {
                 if (tx.getType() == ConsensusConstant.TX_TYPE_YELLOW_PUNISH || tx.getType() == ProtocolConstant.TX_TYPE_COINBASE || tx.getType() == ConsensusConstant.TX_TYPE_RED_PUNISH) {
@@ -597,7 +606,7 @@ public class ForkChainProcess {
             }
         }
 
-        BlockRoundData roundData = new BlockRoundData(chainManager.getBestBlock().getHeader().getExtend());
+        BlockRoundData roundData = chainManager.getBestBlock().getHeader().getExtendData(BlockRoundData.class);
 
         List<PunishLogPo> yellowList = masterChain.getYellowPunishList();
         Iterator<PunishLogPo> yit = yellowList.iterator();
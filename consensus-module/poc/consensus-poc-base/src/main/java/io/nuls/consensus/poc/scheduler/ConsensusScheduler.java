@@ -31,6 +31,7 @@ import io.nuls.consensus.poc.context.ConsensusStatusContext;
 import io.nuls.consensus.poc.context.PocConsensusContext;
 import io.nuls.consensus.poc.manager.CacheManager;
 import io.nuls.consensus.poc.manager.ChainManager;
+import io.nuls.consensus.poc.manager.PackingKeyManager;
 import io.nuls.consensus.poc.process.*;
 import io.nuls.consensus.constant.ConsensusConstant;
 import io.nuls.consensus.poc.provider.OrphanBlockProvider;
@@ -117,6 +118,7 @@ public class ConsensusScheduler {
 
         orphanBlockProcess.stop();
         threadPool.shutdown();
+        PackingKeyManager.lockAll();
 
         return true;
     }
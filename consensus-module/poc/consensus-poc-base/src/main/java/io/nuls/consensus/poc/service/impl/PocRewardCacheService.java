@@ -32,13 +32,12 @@ import io.nuls.account.service.AccountService;
 import io.nuls.consensus.poc.constant.PocConsensusConstant;
 import io.nuls.consensus.poc.context.PocConsensusContext;
 import io.nuls.consensus.poc.model.RewardItem;
-import io.nuls.core.tools.crypto.Base58;
-import io.nuls.core.tools.log.Log;
 import io.nuls.kernel.constant.NulsConstant;
 import io.nuls.kernel.context.NulsContext;
 import io.nuls.kernel.func.TimeService;
 import io.nuls.kernel.lite.annotation.Autowired;
 import io.nuls.kernel.lite.annotation.Component;
+import io.nuls.kernel.model.AddressKey;
 import io.nuls.kernel.model.Block;
 import io.nuls.kernel.model.Coin;
 import io.nuls.kernel.model.Na;
@@ -60,12 +59,12 @@ public class PocRewardCacheService {
     private long endHeight;
     private long totalRewardHeight = Long.MAX_VALUE;
     private Na totalReward = Na.ZERO;
-    private Map<String, Na> totalMap = new HashMap<>();
+    private Map<AddressKey, Na> totalMap = new HashMap<>();
 
     private Na todayReward = Na.ZERO;
-    private Map<String, Na> todayMap = new HashMap<>();
+    private Map<AddressKey, Na> todayMap = new HashMap<>();
 
-    private Map<String, Map<Long, RewardItem>> todayRewardMap = new HashMap<>();
+    private Map<AddressKey, Map<Long, RewardItem>> todayRewardMap = new HashMap<>();
 
     @Autowired
     private AccountLedgerService accountLedgerService;
@@ -108,7 +107,7 @@ public class PocRewardCacheService {
             if (list == null || list.isEmpty()) {
                 continue;
             }
-            calcRewardHistory(account.getAddress().getBase58(), list, startHeight);
+            calcRewardHistory(account.getAddress().getBase58Bytes(), list, startHeight);
         }
 
         long totalValue = ledgerService.getWholeUTXO();
@@ -116,14 +115,8 @@ public class PocRewardCacheService {
         this.totalReward = Na.valueOf(totalValue - Na.MAX_NA_VALUE);
     }
 
-    private void calcRewardHistory(String address, List<TransactionInfo> list, long startHeight) {
-        byte[] addressByte = new byte[0];
-        try {
-            addressByte = Base58.decode(address);
-        } catch (Exception e) {
-            Log.error(e);
-            return;
-        }
+    private void calcRewardHistory(byte[] addressByte, List<TransactionInfo> list, long startHeight) {
+        AddressKey address = new AddressKey(addressByte);
         for (TransactionInfo info : list) {
             if (info.getTxType() != ProtocolConstant.TX_TYPE_COINBASE) {
                 continue;
@@ -165,8 +158,28 @@ public class PocRewardCacheService {
     private void calcReward(long height, CoinBaseTransaction tx) {
         if (null != tx.getCoinData().getTo() && !tx.getCoinData().getTo().isEmpty()) {
             long startTime = TimeService.currentTimeMillis() - 24 * 3600000L;
+            // 奖励先按地址用long累加，每个地址和总奖励最后只创建一次Na
+            // The rewards are summed per address as long values, Na is created only once per address and for the total at the end
+            Map<AddressKey, long[]> rewardMap = new HashMap<>();
+            long blockReward = 0;
             for (Coin coin : tx.getCoinData().getTo()) {
-                addRewardItem(height, tx.getTime(), coin, startTime);
+                AddressKey address = new AddressKey(coin.getOwner());
+                addRewardItem(height, tx.getTime(), address, coin, startTime);
+                long value = coin.getNa().getValue();
+                long[] sum = rewardMap.computeIfAbsent(address, key -> new long[1]);
+                sum[0] = Na.safeAdd(sum[0], value);
+                blockReward = Na.safeAdd(blockReward, value);
+            }
+            for (Map.Entry<AddressKey, long[]> entry : rewardMap.entrySet()) {
+                AddressKey address = entry.getKey();
+                long value = entry.getValue()[0];
+                Na tna = todayMap.get(address);
+                todayMap.put(address, Na.valueOf(Na.safeAdd(tna == null ? 0 : tna.getValue(), value)));
+                Na na = totalMap.get(address);
+                totalMap.put(address, Na.valueOf(Na.safeAdd(na == null ? 0 : na.getValue(), value)));
+            }
+            if (height > totalRewardHeight) {
+                totalReward = Na.valueOf(Na.safeAdd(totalReward.getValue(), blockReward));
             }
         }
         if (height > endHeight) {
@@ -176,8 +189,7 @@ public class PocRewardCacheService {
     }
 
 
-    private void addRewardItem(long height, long time, Coin coin, long startTime) {
-        String address = Base58.encode(coin.getOwner());
+    private void addRewardItem(long height, long time, AddressKey address, Coin coin, long startTime) {
         Map<Long, RewardItem> map = todayRewardMap.get(address);
         if (null == map) {
             map = new HashMap<>();
@@ -186,22 +198,6 @@ public class PocRewardCacheService {
         if (time > startTime) {
             map.put(height, new RewardItem(time, coin.getNa()));
         }
-
-        Na tna = todayMap.get(address);
-        if (tna == null) {
-            tna = Na.ZERO;
-        }
-        tna = tna.add(coin.getNa());
-        todayMap.put(address, tna);
-        Na na = totalMap.get(address);
-        if (na == null) {
-            na = Na.ZERO;
-        }
-        na = na.add(coin.getNa());
-        totalMap.put(address, na);
-        if (height > totalRewardHeight) {
-            totalReward = totalReward.add(coin.getNa());
-        }
     }
 
     public void rollback(Block block) {
@@ -212,7 +208,7 @@ public class PocRewardCacheService {
         CoinBaseTransaction tx = (CoinBaseTransaction) block.getTxs().get(0);
         if (null != tx.getCoinData().getTo() && !tx.getCoinData().getTo().isEmpty()) {
             for (Coin coin : tx.getCoinData().getTo()) {
-                String address = Base58.encode(coin.getOwner());
+                AddressKey address = new AddressKey(coin.getOwner());
                 Map<Long, RewardItem> map = todayRewardMap.get(address);
                 if (null == map) {
                     continue;
@@ -233,7 +229,7 @@ public class PocRewardCacheService {
     }
 
     public Na getReward(String address) {
-        Na na = totalMap.get(address);
+        Na na = totalMap.get(AddressKey.fromBase58(address));
         if (null == na) {
             na = Na.ZERO;
         }
@@ -250,7 +246,7 @@ public class PocRewardCacheService {
     }
 
     public Na getRewardToday(String address) {
-        Na na = todayMap.get(address);
+        Na na = todayMap.get(AddressKey.fromBase58(address));
         if (null == na) {
             na = Na.ZERO;
         }
@@ -258,23 +254,22 @@ public class PocRewardCacheService {
     }
 
     public void calcRewards() {
-        List<String> list = new ArrayList<>(todayRewardMap.keySet());
-        Na na = Na.ZERO;
-        Map<String, Na> resultMap = new HashMap<>();
+        List<AddressKey> list = new ArrayList<>(todayRewardMap.keySet());
+        long na = 0;
+        Map<AddressKey, Na> resultMap = new HashMap<>();
         long startTime = TimeService.currentTimeMillis() - 24 * 3600000L;
-        for (String address : list) {
-            Na reward = Na.ZERO;
-            List<RewardItem> rewardItems = new ArrayList<>(todayRewardMap.get(address).values());
-            for (RewardItem item : rewardItems) {
+        for (AddressKey address : list) {
+            long reward = 0;
+            for (RewardItem item : todayRewardMap.get(address).values()) {
                 if (item.getTime() < startTime) {
                     continue;
                 }
-                reward = reward.add(item.getNa());
+                reward = Na.safeAdd(reward, item.getNa().getValue());
             }
-            na = na.add(reward);
-            resultMap.put(address, reward);
+            na = Na.safeAdd(na, reward);
+            resultMap.put(address, Na.valueOf(reward));
         }
-        this.todayReward = na;
+        this.todayReward = Na.valueOf(na);
         this.todayMap = resultMap;
     }
 }
@@ -162,7 +162,7 @@ public class RedPunishTxProcessor implements TransactionProcessor<RedPunishTrans
     public Result onCommit(RedPunishTransaction tx, Object secondaryData) {
         RedPunishData punishData = tx.getTxData();
         BlockHeader header = (BlockHeader) secondaryData;
-        BlockRoundData roundData = new BlockRoundData(header.getExtend());
+        BlockRoundData roundData = header.getExtendData(BlockRoundData.class);
         PunishLogPo punishLogPo = new PunishLogPo();
         punishLogPo.setAddress(punishData.getAddress());
         punishLogPo.setHeight(tx.getBlockHeight());
@@ -41,7 +41,7 @@ public class YellowPunishTxProcessor implements TransactionProcessor<YellowPunis
             boolean result = punishLogStorageService.delete(this.getPoKey(address, PunishType.YELLOW.getCode(), tx.getBlockHeight(), deleteIndex++));
             if (!result) {
                 BlockHeader header = (BlockHeader) secondaryData;
-                BlockRoundData roundData = new BlockRoundData(header.getExtend());
+                BlockRoundData roundData = header.getExtendData(BlockRoundData.class);
                 int index = 1;
                 for (byte[] bytes : deletedList) {
                     PunishLogPo po = new PunishLogPo();
@@ -65,7 +65,7 @@ public class YellowPunishTxProcessor implements TransactionProcessor<YellowPunis
     public Result onCommit(YellowPunishTransaction tx, Object secondaryData) {
         YellowPunishData punishData = tx.getTxData();
         BlockHeader header = (BlockHeader) secondaryData;
-        BlockRoundData roundData = new BlockRoundData(header.getExtend());
+        BlockRoundData roundData = header.getExtendData(BlockRoundData.class);
         List<PunishLogPo> savedList = new ArrayList<>();
         int index = 1;
         for (byte[] address : punishData.getAddressList()) {
@@ -30,6 +30,7 @@ import io.nuls.account.model.Account;
 import io.nuls.account.service.AccountService;
 import io.nuls.consensus.constant.ConsensusConstant;
 import io.nuls.consensus.poc.constant.PocConsensusConstant;
+import io.nuls.consensus.poc.manager.PackingKeyManager;
 import io.nuls.consensus.poc.model.BlockData;
 import io.nuls.consensus.poc.model.BlockRoundData;
 import io.nuls.consensus.poc.model.MeetingMember;
@@ -83,13 +84,6 @@ public class ConsensusTool {
             throw new NulsRuntimeException(AccountErrorCode.ACCOUNT_NOT_EXIST);
         }
 
-        // Account cannot be encrypted, otherwise it will be wrong
-        // 账户不能加密，否则抛错
-        Result result = accountService.isEncrypted(account);
-        if (result.isSuccess()) {
-            throw new NulsRuntimeException(AccountErrorCode.ACCOUNT_IS_ALREADY_ENCRYPTED);
-        }
-
         Block block = new Block();
         block.setTxs(blockData.getTxList());
         BlockHeader header = new BlockHeader();
@@ -115,7 +109,18 @@ public class ConsensusTool {
 
         P2PKHScriptSig scriptSig = new P2PKHScriptSig();
 
-        NulsSignData signData = accountService.signDigest(header.getHash().getDigestBytes(), account.getEcKey());
+        NulsSignData signData;
+        // Encrypted accounts can only sign with an unlocked packing key session, otherwise it will be wrong
+        // 加密的账户只能使用已解锁的出块私钥会话签名，否则抛错
+        Result result = accountService.isEncrypted(account);
+        if (result.isSuccess()) {
+            signData = PackingKeyManager.signDigest(account.getAddress().getBase58(), header.getHash().getDigestBytes());
+            if (null == signData) {
+                throw new NulsRuntimeException(AccountErrorCode.ACCOUNT_IS_ALREADY_ENCRYPTED);
+            }
+        } else {
+            signData = accountService.signDigest(header.getHash().getDigestBytes(), account.getEcKey());
+        }
         scriptSig.setSignData(signData);
         scriptSig.setPublicKey(account.getPubKey());
         header.setScriptSig(scriptSig);
@@ -217,7 +222,7 @@ public class ConsensusTool {
 
 
     public static YellowPunishTransaction createYellowPunishTx(Block preBlock, MeetingMember self, MeetingRound round) throws NulsException, IOException {
-        BlockRoundData preBlockRoundData = new BlockRoundData(preBlock.getHeader().getExtend());
+        BlockRoundData preBlockRoundData = preBlock.getHeader().getExtendData(BlockRoundData.class);
         if (self.getRoundIndex() - preBlockRoundData.getRoundIndex() > 1) {
             return null;
         }
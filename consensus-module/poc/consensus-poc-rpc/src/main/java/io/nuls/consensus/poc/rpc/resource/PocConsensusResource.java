@@ -8,6 +8,7 @@ import io.nuls.account.model.Address;
 import io.nuls.account.service.AccountService;
 import io.nuls.consensus.poc.constant.PocConsensusConstant;
 import io.nuls.consensus.poc.context.PocConsensusContext;
+import io.nuls.consensus.poc.manager.PackingKeyManager;
 import io.nuls.consensus.poc.model.MeetingMember;
 import io.nuls.consensus.poc.model.MeetingRound;
 import io.nuls.consensus.poc.protocol.entity.Agent;
@@ -1024,4 +1025,38 @@ public class PocConsensusResource {
         }
         return Result.getSuccess().setData(tx.getHash().getDigestHex()).toRpcClientResult();
     }
+
+    @POST
+    @Path("/packing/unlock/{address}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "解锁加密的出块账户，会话有效期内出块不再需要解密私钥",
+            notes = "Unlock an encrypted packing account, blocks are signed without decrypting the private key until the session expires.")
+    public RpcClientResult unlockPackingKey(@ApiParam(name = "address", value = "出块账户地址", required = true)
+                                            @PathParam("address") String address,
+                                            @ApiParam(name = "password", value = "账户密码", required = true)
+                                            @QueryParam("password") String password,
+                                            @ApiParam(name = "unlockTime", value = "解锁时间默认3600秒(单位:秒)")
+                                            @QueryParam("unlockTime") Integer unlockTime) {
+        if (!Address.validAddress(address)) {
+            return Result.getFailed(AccountErrorCode.ADDRESS_ERROR).toRpcClientResult();
+        }
+        Account account = accountService.getAccount(address).getData();
+        if (null == account) {
+            return Result.getFailed(AccountErrorCode.ACCOUNT_NOT_EXIST).toRpcClientResult();
+        }
+        return PackingKeyManager.unlock(account, password, null == unlockTime ? 0 : unlockTime).toRpcClientResult();
+    }
+
+    @POST
+    @Path("/packing/lock/{address}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "锁定出块账户，清除内存中的私钥", notes = "Lock the packing account and clear the private key in memory.")
+    public RpcClientResult lockPackingKey(@ApiParam(name = "address", value = "出块账户地址", required = true)
+                                          @PathParam("address") String address) {
+        if (!Address.validAddress(address)) {
+            return Result.getFailed(AccountErrorCode.ADDRESS_ERROR).toRpcClientResult();
+        }
+        PackingKeyManager.lock(address);
+        return Result.getSuccess().toRpcClientResult();
+    }
 }
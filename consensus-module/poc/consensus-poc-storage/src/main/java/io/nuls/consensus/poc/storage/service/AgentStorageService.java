@@ -44,5 +44,10 @@ public interface AgentStorageService {
 
     List<AgentPo> getList();
 
+    /**
+     * 已保存的节点数量，来自DBService.approximateCount，是估算值（RocksDB上尤其如此），需要精确数量时使用getList().size()
+     * The number of stored agents, from DBService.approximateCount, so it is an estimate (especially on RocksDB),
+     * use getList().size() when an exact count is required.
+     */
     int size();
 }
@@ -43,7 +43,6 @@ import io.nuls.kernel.model.Result;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Created by ln on 2018/5/10.
@@ -144,11 +143,11 @@ public class AgentStorageServiceImpl implements AgentStorageService, Initializin
 
     @Override
     public int size() {
-        Set<byte[]> list = dbService.keySet(ConsensusStorageConstant.DB_NAME_CONSENSUS_AGENT);
-        if (list == null) {
+        long count = dbService.approximateCount(ConsensusStorageConstant.DB_NAME_CONSENSUS_AGENT);
+        if (count < 0) {
             return 0;
         }
-        return list.size();
+        return (int) count;
     }
 
     @Override
@@ -42,7 +42,6 @@ import io.nuls.kernel.model.Result;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 /**
  * @author: Niels Wang
@@ -144,11 +143,11 @@ public class DepositStorageServiceImpl implements DepositStorageService, Initial
 
     @Override
     public int size() {
-        Set<byte[]> list = dbService.keySet(ConsensusStorageConstant.DB_NAME_CONSENSUS_DEPOSIT);
-        if (list == null) {
+        long count = dbService.approximateCount(ConsensusStorageConstant.DB_NAME_CONSENSUS_DEPOSIT);
+        if (count < 0) {
             return 0;
         }
-        return list.size();
+        return (int) count;
     }
 
     @Override
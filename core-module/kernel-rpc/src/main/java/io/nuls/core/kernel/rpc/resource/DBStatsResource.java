@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.core.kernel.rpc.resource;
+
+import io.nuls.core.tools.str.StringUtils;
+import io.nuls.db.model.AreaStats;
+import io.nuls.db.model.CacheStats;
+import io.nuls.db.service.DBService;
+import io.nuls.kernel.lite.annotation.Autowired;
+import io.nuls.kernel.lite.annotation.Component;
+import io.nuls.kernel.model.Result;
+import io.nuls.kernel.model.RpcClientResult;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 存储层的运行统计：各数据区域的读写耗时直方图、字节数、批量大小和存储引擎的属性统计
+ * Runtime statistics of the storage layer: per-area latency histograms, bytes, batch sizes and storage engine property stats.
+ *
+ * @author: PierreLuo
+ * @date: 2018/6/26
+ */
+@Path("/db")
+@Api(value = "/db", description = "Storage statistics")
+@Component
+public class DBStatsResource {
+
+    @Autowired
+    private DBService dbService;
+
+    @GET
+    @Path("/stats")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "查询数据区域的统计信息，耗时单位为微秒")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "success", response = AreaStats.class)
+    })
+    public RpcClientResult getStats(@ApiParam(name = "area", value = "数据区域名称，为空时返回所有区域")
+                                    @QueryParam("area") String area) {
+        List<AreaStats> areaStats = dbService.getAreaStats();
+        if (StringUtils.isNotBlank(area)) {
+            List<AreaStats> filtered = new ArrayList<>();
+            for (AreaStats stats : areaStats) {
+                if (area.equals(stats.getArea())) {
+                    filtered.add(stats);
+                }
+            }
+            areaStats = filtered;
+        }
+        Map<String, Object> map = new HashMap<>();
+        map.put("engine", dbService.getEngineName());
+        map.put("areas", areaStats);
+        return Result.getSuccess().setData(map).toRpcClientResult();
+    }
+
+    @GET
+    @Path("/cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "查询数据区域读缓存的统计信息")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "success", response = CacheStats.class)
+    })
+    public RpcClientResult getCacheStats() {
+        return Result.getSuccess().setData(dbService.getCacheStats()).toRpcClientResult();
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.kernel.model;
+
+import io.nuls.core.tools.crypto.Base58;
+import io.nuls.kernel.constant.KernelErrorCode;
+import io.nuls.kernel.exception.NulsRuntimeException;
+import io.nuls.kernel.utils.AddressTool;
+
+import java.util.Arrays;
+
+/**
+ * 地址的不可变二进制key，用于替代以Base58字符串作为key的Map/Set，hash值在创建时计算并缓存
+ * Immutable binary key of an address, replaces Base58 strings as Map/Set keys, the hash code is computed once on creation.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/23
+ */
+public final class AddressKey {
+
+    private final byte[] address;
+
+    private final int hash;
+
+    /**
+     * @param address 地址字节，会被复制/The address bytes, which are copied.
+     */
+    public AddressKey(byte[] address) {
+        if (null == address) {
+            throw new NulsRuntimeException(KernelErrorCode.NULL_PARAMETER);
+        }
+        this.address = address.clone();
+        this.hash = Arrays.hashCode(this.address);
+    }
+
+    public static AddressKey fromBase58(String address) {
+        return new AddressKey(AddressTool.getAddress(address));
+    }
+
+    public byte[] getAddress() {
+        return address.clone();
+    }
+
+    public boolean equalsAddress(byte[] other) {
+        return Arrays.equals(address, other);
+    }
+
+    public String getBase58() {
+        return Base58.encode(address);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof AddressKey)) {
+            return false;
+        }
+        AddressKey other = (AddressKey) obj;
+        return hash == other.hash && Arrays.equals(address, other.address);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return getBase58();
+    }
+}
@@ -24,7 +24,6 @@
  */
 package io.nuls.kernel.model;
 
-import io.nuls.core.tools.crypto.UnsafeByteArrayOutputStream;
 import io.nuls.kernel.constant.KernelErrorCode;
 import io.nuls.kernel.constant.NulsConstant;
 import io.nuls.kernel.exception.NulsException;
@@ -32,12 +31,14 @@ import io.nuls.kernel.exception.NulsRuntimeException;
 import io.nuls.kernel.exception.NulsVerificationException;
 import io.nuls.kernel.utils.NulsByteBuffer;
 import io.nuls.kernel.utils.NulsOutputStreamBuffer;
+import io.nuls.kernel.utils.PooledOutputStream;
 import io.nuls.kernel.validate.ValidateResult;
 import io.nuls.kernel.validate.ValidatorManager;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
@@ -46,34 +47,92 @@ import java.util.Arrays;
  */
 public abstract class BaseNulsData implements NulsData, Serializable, Cloneable {
 
+    /**
+     * 密封后缓存的序列化结果，为null表示未密封
+     * The serialized form cached after sealing, null if not sealed.
+     */
+    private transient byte[] sealedBytes;
+
     /**
      * First, serialize the version field
+     * 对象已密封时直接返回缓存的字节，调用方不能修改返回的数组
+     * 嵌套的对象直接写入同一个线程复用的缓冲区，只在最后复制一次
+     * When the object is sealed the cached bytes are returned directly, the caller must not modify the returned array.
+     * Nested objects are written into the same per-thread buffer, which is copied only once at the end.
      */
     @Override
     public final byte[] serialize() throws IOException {
-        ByteArrayOutputStream bos = null;
+        byte[] sealed = sealedBytes;
+        if (sealed != null) {
+            return sealed;
+        }
+        PooledOutputStream bos = PooledOutputStream.acquire();
         try {
             int size = size();
-            bos = new UnsafeByteArrayOutputStream(size);
-            NulsOutputStreamBuffer buffer = new NulsOutputStreamBuffer(bos);
             if (size == 0) {
                 bos.write(NulsConstant.PLACE_HOLDER);
             } else {
-                serializeToStream(buffer);
+                serializeToStream(new NulsOutputStreamBuffer(bos));
             }
             byte[] bytes = bos.toByteArray();
-            if (bytes.length != this.size()) {
+            if (bytes.length != size) {
                 throw new NulsRuntimeException(KernelErrorCode.FAILED, "data serialize error：" + this.getClass());
             }
             return bytes;
         } finally {
-            if (bos != null) {
-                try {
-                    bos.close();
-                } catch (IOException e) {
-                    throw e;
-                }
+            bos.release();
+        }
+    }
+
+    /**
+     * 序列化到已有的流中，不生成中间数组，用于嵌套对象和直接写入Netty的ByteBuf（ByteBufOutputStream）
+     * 与serialize()不同，这里无法校验写入的长度，需要时由调用方在写完后对比size()
+     * Serialize into an existing stream without an intermediate array, used for nested objects
+     * and for writing straight into a Netty ByteBuf (through ByteBufOutputStream).
+     * Unlike serialize(), the written length can not be checked here, callers that need it compare with size() afterwards.
+     *
+     * @param stream
+     * @throws IOException
+     */
+    public final void serializeTo(NulsOutputStreamBuffer stream) throws IOException {
+        byte[] sealed = sealedBytes;
+        if (sealed != null) {
+            stream.write(sealed);
+        } else if (size() == 0) {
+            stream.write(NulsConstant.PLACE_HOLDER);
+        } else {
+            serializeToStream(stream);
+        }
+    }
+
+    public final void serializeTo(OutputStream out) throws IOException {
+        serializeTo(new NulsOutputStreamBuffer(out));
+    }
+
+    /**
+     * 序列化到ByteBuffer的当前位置，空间不足时抛出BufferOverflowException，需要的容量为size()，写入的长度与size()不符时失败
+     * Serialize at the current position of the ByteBuffer, a BufferOverflowException is thrown when it is too small,
+     * the capacity needed is size(). Fails when the bytes written differ from size().
+     *
+     * @param buffer
+     * @throws IOException
+     */
+    public final void serializeTo(ByteBuffer buffer) throws IOException {
+        int size = size();
+        int start = buffer.position();
+        serializeTo(new OutputStream() {
+            @Override
+            public void write(int b) {
+                buffer.put((byte) b);
             }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                buffer.put(b, off, len);
+            }
+        });
+        if (buffer.position() - start != size) {
+            throw new NulsRuntimeException(KernelErrorCode.FAILED, "data serialize error：" + this.getClass());
         }
     }
 
@@ -91,8 +150,70 @@ public abstract class BaseNulsData implements NulsData, Serializable, Cloneable
         this.parse(new NulsByteBuffer(bytes));
     }
 
+    /**
+     * 从字节数组的[offset, offset + length)范围解析，与调用方共享数组，不复制数据
+     * Parse from the range [offset, offset + length) of the byte array, sharing the array with the caller without copying.
+     *
+     * @param bytes
+     * @param offset
+     * @param length
+     * @throws NulsException
+     */
+    public final void parse(byte[] bytes, int offset, int length) throws NulsException {
+        if (bytes == null || length <= 0 || (length == 4 && NulsByteBuffer.isPlaceHolder(bytes, offset))) {
+            return;
+        }
+        this.parse(new NulsByteBuffer(bytes, offset, length));
+    }
+
     protected abstract void parse(NulsByteBuffer byteBuffer) throws NulsException;
 
+    /**
+     * 密封对象：序列化一次并缓存结果，之后serialize()直接返回缓存的字节，直到子类的setter调用unseal()
+     * 只有在setter中调用了unseal()的类才应该密封，通过getter修改内部对象不会使缓存失效
+     * Seal the object: serialize once and cache the result, serialize() returns the cached bytes afterwards until a setter of the subclass calls unseal().
+     * Only classes whose setters call unseal() should be sealed, modifying inner objects through getters does not invalidate the cache.
+     *
+     * @throws IOException
+     */
+    public final void seal() throws IOException {
+        this.sealedBytes = null;
+        this.sealedBytes = serialize();
+    }
+
+    /**
+     * 用解析时读取的原始字节密封对象，bytes必须正好是该对象的序列化结果
+     * Seal the object with the original bytes read while parsing, bytes must be exactly the serialized form of this object.
+     *
+     * @param bytes
+     */
+    protected final void seal(byte[] bytes) {
+        this.sealedBytes = bytes;
+    }
+
+    /**
+     * 修改了参与序列化的字段后使缓存失效
+     * Invalidate the cache after a serialized field is modified.
+     */
+    protected final void unseal() {
+        this.sealedBytes = null;
+    }
+
+    public final boolean isSealed() {
+        return sealedBytes != null;
+    }
+
+    /**
+     * 密封时缓存的序列化长度，未密封时返回-1
+     * The serialized length cached when sealed, -1 if not sealed.
+     *
+     * @return
+     */
+    protected final int sealedSize() {
+        byte[] sealed = sealedBytes;
+        return sealed == null ? -1 : sealed.length;
+    }
+
     /**
      * @throws NulsException
      */
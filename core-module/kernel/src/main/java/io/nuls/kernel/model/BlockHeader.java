@@ -25,6 +25,7 @@
 package io.nuls.kernel.model;
 
 import io.nuls.core.tools.log.Log;
+import io.nuls.kernel.constant.NulsConstant;
 import io.nuls.kernel.exception.NulsException;
 import io.nuls.kernel.exception.NulsRuntimeException;
 import io.nuls.kernel.script.P2PKHScriptSig;
@@ -52,6 +53,11 @@ public class BlockHeader extends BaseNulsData {
 
     private transient int size;
     private transient byte[] packingAddress;
+    /**
+     * extend解码后的对象缓存，setExtend时失效
+     * The decoded object of extend, invalidated by setExtend.
+     */
+    private transient volatile BaseNulsData extendData;
 
     public BlockHeader() {
     }
@@ -89,16 +95,26 @@ public class BlockHeader extends BaseNulsData {
 
     @Override
     protected void parse(NulsByteBuffer byteBuffer) throws NulsException {
+        int start = byteBuffer.getCursor();
         this.preHash = byteBuffer.readHash();
         this.merkleHash = byteBuffer.readHash();
         this.time = byteBuffer.readUint48();
         this.height = byteBuffer.readUint32();
         this.txCount = byteBuffer.readUint32();
         this.extend = byteBuffer.readByLengthByte();
-        try {
-            this.hash = NulsDigestData.calcDigestData(this.serialize());
-        } catch (IOException e) {
-            Log.error(e);
+        int end = byteBuffer.getCursor();
+        // 签名之前的字节加上签名的占位符就是hash原文，长度与规范编码一致时直接使用解析过的字节
+        // The bytes before the signature plus the place holder of the signature are the preimage,
+        // hash the parsed bytes directly when their length matches the canonical encoding.
+        if (this.scriptSign == null && this.size() == end - start + NulsConstant.PLACE_HOLDER.length) {
+            this.hash = NulsDigestData.calcDigestData(byteBuffer.getPayload(), start, end - start,
+                    NulsConstant.PLACE_HOLDER, 0, NulsConstant.PLACE_HOLDER.length);
+        } else {
+            try {
+                this.hash = NulsDigestData.calcDigestData(this.serialize());
+            } catch (IOException e) {
+                Log.error(e);
+            }
         }
         this.scriptSign = byteBuffer.readNulsData(new P2PKHScriptSig());
     }
@@ -186,6 +202,39 @@ public class BlockHeader extends BaseNulsData {
 
     public void setExtend(byte[] extend) {
         this.extend = extend;
+        this.extendData = null;
+    }
+
+    /**
+     * 获取extend解码后的对象，第一次调用时解码并缓存在区块头上，extend被替换后重新解码
+     * 返回的对象在所有调用方之间共享，不要修改它，需要修改时请自行解码一份
+     * Gets the decoded object of extend, decoded on the first call and cached on the header, decoded again after extend is replaced.
+     * The returned object is shared by all callers, do not modify it, decode your own copy when it needs to be changed.
+     *
+     * @param clazz extend的数据类型，需要有无参构造方法/The type of the extend data, which needs a no-arg constructor.
+     * @return 解码失败时返回未赋值的对象，与直接解析的行为一致/An unassigned object when decoding fails, the same as parsing directly.
+     */
+    public <T extends BaseNulsData> T getExtendData(Class<T> clazz) {
+        BaseNulsData data = this.extendData;
+        if (clazz.isInstance(data)) {
+            return clazz.cast(data);
+        }
+        byte[] bytes = this.extend;
+        T result;
+        try {
+            result = clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new NulsRuntimeException(e);
+        }
+        try {
+            result.parse(bytes);
+        } catch (NulsException e) {
+            Log.error(e);
+        }
+        if (bytes == this.extend) {
+            this.extendData = result;
+        }
+        return result;
     }
 
     public int getSize() {
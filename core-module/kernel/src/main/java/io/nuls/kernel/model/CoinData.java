@@ -133,15 +133,41 @@ public class CoinData extends BaseNulsData {
      * @return tx fee
      */
     public Na getFee() {
-        Na toNa = Na.ZERO;
-        for (Coin coin : to) {
-            toNa = toNa.add(coin.getNa());
-        }
-        Na fromNa = Na.ZERO;
-        for (Coin coin : from) {
-            fromNa = fromNa.add(coin.getNa());
+        return Na.valueOf(getFeeValue());
+    }
+
+    /**
+     * 手续费的long值，与getFee()相同但不创建Na对象
+     * The fee as a long value, the same as getFee() without creating Na objects.
+     *
+     * @return tx fee
+     */
+    public long getFeeValue() {
+        return Na.safeSubtract(getTotalFrom(), getTotalTo());
+    }
+
+    /**
+     * 所有输入的金额之和
+     * The total amount of all inputs.
+     */
+    public long getTotalFrom() {
+        return sum(from);
+    }
+
+    /**
+     * 所有输出的金额之和
+     * The total amount of all outputs.
+     */
+    public long getTotalTo() {
+        return sum(to);
+    }
+
+    private static long sum(List<Coin> coins) {
+        long total = 0;
+        for (Coin coin : coins) {
+            total = Na.safeAdd(total, coin.getNa().getValue());
         }
-        return fromNa.subtract(toNa);
+        return total;
     }
 
     public void addTo(Coin coin) {
@@ -54,6 +54,27 @@ public final class Na implements Comparable<Na>, Serializable {
     public static final long TOTAL_VALUE = 100000000L;
     public static final long MAX_NA_VALUE = LongUtils.mul(TOTAL_VALUE, ((long) Math.pow(10, SMALLEST_UNIT_EXPONENT)));
 
+    /**
+     * 常用数值的缓存：[0, SMALL_CACHE_SIZE)的小额和1到WHOLE_CACHE_SIZE个NULS的整数金额
+     * Cache of commonly used values: small amounts in [0, SMALL_CACHE_SIZE) and whole amounts of 1 to WHOLE_CACHE_SIZE NULS.
+     */
+    private static final int SMALL_CACHE_SIZE = 1024;
+
+    private static final int WHOLE_CACHE_SIZE = 1000;
+
+    private static final Na[] SMALL_CACHE = new Na[SMALL_CACHE_SIZE];
+
+    private static final Na[] WHOLE_CACHE = new Na[WHOLE_CACHE_SIZE];
+
+    static {
+        for (int i = 0; i < SMALL_CACHE_SIZE; i++) {
+            SMALL_CACHE[i] = new Na(i);
+        }
+        for (int i = 0; i < WHOLE_CACHE_SIZE; i++) {
+            WHOLE_CACHE[i] = new Na((i + 1) * NA_VALUE);
+        }
+    }
+
     /**
      * Total amount of token
      */
@@ -100,9 +121,53 @@ public final class Na implements Comparable<Na>, Serializable {
         if (MAX_NA_VALUE < na) {
             throw new NulsRuntimeException(KernelErrorCode.DATA_ERROR);
         }
+        if (na >= 0 && na < SMALL_CACHE_SIZE) {
+            return SMALL_CACHE[(int) na];
+        }
+        if (na % NA_VALUE == 0 && na > 0 && na <= WHOLE_CACHE_SIZE * NA_VALUE) {
+            return WHOLE_CACHE[(int) (na / NA_VALUE) - 1];
+        }
         return new Na(na);
     }
 
+    /**
+     * 以long计算的加法，检查溢出和最大值，与add(Na)的校验相同，用于循环累加时不创建中间的Na对象
+     * Addition on long values with overflow and maximum checks, the same as add(Na),
+     * for accumulating in loops without creating intermediate Na objects.
+     *
+     * @throws NulsRuntimeException 溢出或超过MAX_NA_VALUE时/on overflow or above MAX_NA_VALUE
+     */
+    public static long safeAdd(final long a, final long b) {
+        try {
+            return checkValue(Math.addExact(a, b));
+        } catch (ArithmeticException e) {
+            throw new NulsRuntimeException(KernelErrorCode.DATA_ERROR);
+        }
+    }
+
+    public static long safeSubtract(final long a, final long b) {
+        try {
+            return checkValue(Math.subtractExact(a, b));
+        } catch (ArithmeticException e) {
+            throw new NulsRuntimeException(KernelErrorCode.DATA_ERROR);
+        }
+    }
+
+    public static long safeMultiply(final long a, final long b) {
+        try {
+            return checkValue(Math.multiplyExact(a, b));
+        } catch (ArithmeticException e) {
+            throw new NulsRuntimeException(KernelErrorCode.DATA_ERROR);
+        }
+    }
+
+    private static long checkValue(final long na) {
+        if (MAX_NA_VALUE < na) {
+            throw new NulsRuntimeException(KernelErrorCode.DATA_ERROR);
+        }
+        return na;
+    }
+
     public int smallestUnitExponent() {
         return SMALLEST_UNIT_EXPONENT;
     }
@@ -134,7 +199,7 @@ public final class Na implements Comparable<Na>, Serializable {
     }
 
     public Na add(final Na value) {
-        return new Na(LongUtils.add(this.value, value.value));
+        return valueOf(safeAdd(this.value, value.value));
     }
 
     /**
@@ -145,7 +210,7 @@ public final class Na implements Comparable<Na>, Serializable {
     }
 
     public Na subtract(final Na value) {
-        return new Na(LongUtils.sub(this.value, value.value));
+        return valueOf(safeSubtract(this.value, value.value));
     }
 
     /**
@@ -156,7 +221,7 @@ public final class Na implements Comparable<Na>, Serializable {
     }
 
     public Na multiply(final long factor) {
-        return new Na(LongUtils.mul(this.value, factor));
+        return valueOf(safeMultiply(this.value, factor));
     }
 
     /**
@@ -174,7 +239,7 @@ public final class Na implements Comparable<Na>, Serializable {
     }
 
     public Na divide(final long divisor) {
-        return new Na(LongUtils.div(this.value, divisor));
+        return valueOf(LongUtils.div(this.value, divisor));
     }
 
     /**
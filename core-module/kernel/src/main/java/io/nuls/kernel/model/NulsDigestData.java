@@ -29,6 +29,7 @@ import io.nuls.core.tools.crypto.Hex;
 import io.nuls.core.tools.crypto.Sha256Hash;
 import io.nuls.core.tools.log.Log;
 import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.utils.MerkleTree;
 import io.nuls.kernel.utils.NulsByteBuffer;
 import io.nuls.kernel.utils.NulsOutputStreamBuffer;
 import io.nuls.kernel.utils.SerializeUtils;
@@ -39,6 +40,13 @@ import java.util.HashMap;
 import java.util.List;
 
 /**
+ * 摘要数据，作为交易、区块等的key大量用于HashMap中
+ * hash值和十六进制字符串在第一次使用时计算并缓存，equals只比较摘要字节，不会序列化对象
+ * 摘要字节创建后不应再修改
+ * The digest data, widely used as the key of transactions, blocks and so on in HashMaps.
+ * The hash code and the hex string are computed on first use and cached, equals only compares the digest bytes without serializing.
+ * The digest bytes should not be modified after creation.
+ *
  * @author facjas
  * @date 2017/11/20
  */
@@ -50,6 +58,14 @@ public class NulsDigestData extends BaseNulsData {
 
     protected byte[] digestBytes;
 
+    /**
+     * 缓存的hash值，0表示还没有计算
+     * The cached hash code, 0 means not computed yet.
+     */
+    private transient int hash;
+
+    private transient String digestHex;
+
     public static byte DIGEST_ALG_SHA256 = 0;
     public static byte DIGEST_ALG_SHA160 = 1;
 
@@ -80,6 +96,8 @@ public class NulsDigestData extends BaseNulsData {
         } catch (Exception e) {
             Log.error(e);
         }
+        this.hash = 0;
+        this.digestHex = null;
     }
 
     public byte getDigestAlgType() {
@@ -88,16 +106,23 @@ public class NulsDigestData extends BaseNulsData {
 
     public void setDigestAlgType(byte digestAlgType) {
         this.digestAlgType = digestAlgType;
+        this.digestHex = null;
     }
 
 
     public String getDigestHex() {
+        String hex = digestHex;
+        if (hex != null) {
+            return hex;
+        }
         try {
-            return Hex.encode(serialize());
+            hex = Hex.encode(serialize());
         } catch (IOException e) {
             Log.error(e);
             return null;
         }
+        digestHex = hex;
+        return hex;
     }
 
     public static NulsDigestData fromDigestHex(String hex) throws NulsException {
@@ -145,26 +170,22 @@ public class NulsDigestData extends BaseNulsData {
         return null;
     }
 
+    /**
+     * 计算两段字节拼接后的SHA256摘要，不需要先把它们复制到同一个数组中
+     * Calculate the SHA256 digest of the concatenation of two byte ranges without copying them into one array first.
+     */
+    public static NulsDigestData calcDigestData(byte[] input1, int offset1, int length1,
+                                                byte[] input2, int offset2, int length2) {
+        byte[] content = Sha256Hash.hashTwice(input1, offset1, length1, input2, offset2, length2);
+        return new NulsDigestData(DIGEST_ALG_SHA256, content);
+    }
+
+    /**
+     * 计算Merkle根，见MerkleTree.calcRoot，不会修改传入的列表
+     * Calculate the merkle root, see MerkleTree.calcRoot, the list passed in is not modified.
+     */
     public static NulsDigestData calcMerkleDigestData(List<NulsDigestData> ddList) {
-        int levelOffset = 0;
-        for (int levelSize = ddList.size(); levelSize > 1; levelSize = (levelSize + 1) / 2) {
-            for (int left = 0; left < levelSize; left += 2) {
-                int right = Math.min(left + 1, levelSize - 1);
-                byte[] leftBytes = SerializeUtils.reverseBytes(ddList.get(levelOffset + left).getDigestBytes());
-                byte[] rightBytes = SerializeUtils.reverseBytes(ddList.get(levelOffset + right).getDigestBytes());
-                byte[] whole = new byte[leftBytes.length + rightBytes.length];
-                System.arraycopy(leftBytes, 0, whole, 0, leftBytes.length);
-                System.arraycopy(rightBytes, 0, whole, leftBytes.length, rightBytes.length);
-                NulsDigestData digest = NulsDigestData.calcDigestData(whole);
-                ddList.add(digest);
-            }
-            levelOffset += levelSize;
-        }
-        byte[] bytes = ddList.get(ddList.size() - 1).getDigestBytes();
-        Sha256Hash merkleHash = Sha256Hash.wrap(bytes);
-        NulsDigestData digestData = new NulsDigestData();
-        digestData.digestBytes = merkleHash.getBytes();
-        return digestData;
+        return MerkleTree.calcRoot(ddList);
     }
 
     /**
@@ -215,25 +236,19 @@ public class NulsDigestData extends BaseNulsData {
      */
     @Override
     public boolean equals(Object obj) {
-
-        if (obj == null) {
-            return false;
+        if (this == obj) {
+            return true;
         }
         if (!(obj instanceof NulsDigestData)) {
             return false;
         }
-        try {
-            if (this.serialize() == null || ((NulsDigestData) obj).serialize() == null) {
-                return false;
-            }
-
-            if (this.serialize().length != ((NulsDigestData) obj).serialize().length) {
-                return false;
-            }
-        }catch (Exception e){
+        NulsDigestData other = (NulsDigestData) obj;
+        // 两边的hash值都已经缓存时先比较hash值
+        // Compare the hash codes first when both are cached.
+        if (this.hash != 0 && other.hash != 0 && this.hash != other.hash) {
             return false;
         }
-        return Arrays.equals(this.getDigestBytes(), ((NulsDigestData) obj).getDigestBytes());
+        return Arrays.equals(this.digestBytes, other.digestBytes);
     }
 
     @Override
@@ -278,6 +293,11 @@ public class NulsDigestData extends BaseNulsData {
      */
     @Override
     public int hashCode() {
-        return Arrays.hashCode(this.getDigestBytes());
+        int h = hash;
+        if (h == 0 && digestBytes != null) {
+            h = Arrays.hashCode(digestBytes);
+            hash = h;
+        }
+        return h;
     }
 }
@@ -0,0 +1,101 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.kernel.model;
+
+import io.nuls.core.tools.array.ArraysTool;
+import io.nuls.core.tools.crypto.Hex;
+import io.nuls.kernel.constant.KernelErrorCode;
+import io.nuls.kernel.exception.NulsRuntimeException;
+import io.nuls.kernel.utils.VarInt;
+
+import java.util.Arrays;
+
+/**
+ * 交易输出(UTXO)的不可变二进制key，内容与Coin.owner中的输出引用相同：交易hash序列化字节 + VarInt编码的输出序号
+ * 用于替代以Base64/Hex字符串作为key的Map/Set，hash值在创建时计算并缓存
+ * Immutable binary key of a transaction output (UTXO), the content is the same as the output reference in Coin.owner:
+ * the serialized tx hash followed by the VarInt encoded output index.
+ * Replaces Base64/Hex strings as Map/Set keys, the hash code is computed once on creation.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/23
+ */
+public final class OutPointKey {
+
+    private final byte[] outPoint;
+
+    private final int hash;
+
+    /**
+     * @param outPoint 输出引用字节，会被复制/The output reference bytes, which are copied.
+     */
+    public OutPointKey(byte[] outPoint) {
+        if (null == outPoint) {
+            throw new NulsRuntimeException(KernelErrorCode.NULL_PARAMETER);
+        }
+        this.outPoint = outPoint.clone();
+        this.hash = Arrays.hashCode(this.outPoint);
+    }
+
+    /**
+     * 由交易hash序列化字节和输出序号创建key
+     * Create a key from the serialized tx hash and the output index.
+     *
+     * @param txHashBytes 交易hash序列化字节/The serialized tx hash.
+     * @param index       输出序号/The output index.
+     * @return
+     */
+    public static OutPointKey of(byte[] txHashBytes, int index) {
+        if (null == txHashBytes) {
+            throw new NulsRuntimeException(KernelErrorCode.NULL_PARAMETER);
+        }
+        return new OutPointKey(ArraysTool.joinintTogether(txHashBytes, new VarInt(index).encode()));
+    }
+
+    public byte[] getOutPoint() {
+        return outPoint.clone();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof OutPointKey)) {
+            return false;
+        }
+        OutPointKey other = (OutPointKey) obj;
+        return hash == other.hash && Arrays.equals(outPoint, other.outPoint);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Hex.encode(outPoint);
+    }
+}
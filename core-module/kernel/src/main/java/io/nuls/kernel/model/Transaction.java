@@ -26,9 +26,11 @@ package io.nuls.kernel.model;
 
 import io.nuls.core.tools.crypto.UnsafeByteArrayOutputStream;
 import io.nuls.core.tools.log.Log;
+import io.nuls.kernel.constant.KernelErrorCode;
 import io.nuls.kernel.constant.NulsConstant;
 import io.nuls.kernel.constant.TxStatusEnum;
 import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.exception.NulsRuntimeException;
 import io.nuls.kernel.func.TimeService;
 import io.nuls.kernel.script.P2PKHScriptSig;
 import io.nuls.kernel.utils.*;
@@ -45,6 +47,10 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
 
     protected int type;
 
+    /**
+     * 延迟解码的交易在第一次调用getCoinData()之前为null，子类应通过getCoinData()访问
+     * Null until the first getCoinData() call on a lazily decoded transaction, subclasses should use getCoinData().
+     */
     protected CoinData coinData;
 
     protected T txData;
@@ -63,8 +69,37 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
 
     protected transient int size;
 
+    /**
+     * 为true时，下一次解析不解码coinData和scriptSig，只校验其结构并记录位置，第一次访问时再从密封的字节中解码
+     * When true, the next parse does not decode coinData and scriptSig, it only checks their structure and records
+     * their position, they are decoded from the sealed bytes on first access.
+     */
+    private transient boolean lazyDecode;
+
+    /**
+     * coinData和scriptSig是否还未解码
+     * Whether coinData and scriptSig are still not decoded.
+     */
+    private transient volatile boolean lazy;
+
+    /**
+     * 未解码的coinData在密封字节中的起始位置
+     * The start of the undecoded coinData within the sealed bytes.
+     */
+    private transient int lazyOffset;
+
+    /**
+     * 签名是否已经对当前的hash和scriptSig验证通过，修改任何字段或hash后失效
+     * Whether the signature has been verified against the current hash and scriptSig, reset when any field or the hash is changed.
+     */
+    private transient volatile boolean signVerified;
+
     @Override
     public int size() {
+        int sealedSize = sealedSize();
+        if (sealedSize >= 0) {
+            return sealedSize;
+        }
         int size = 0;
         size += SerializeUtils.sizeOfUint16(); // type
         size += SerializeUtils.sizeOfUint48(); // time
@@ -87,17 +122,202 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
 
     @Override
     protected void parse(NulsByteBuffer byteBuffer) throws NulsException {
+        lazy = false;
+        unseal();
+        int start = byteBuffer.getCursor();
         type = byteBuffer.readUint16();
         time = byteBuffer.readUint48();
+        int hashStart = byteBuffer.getCursor();
         this.remark = byteBuffer.readByLengthByte();
         txData = this.parseTxData(byteBuffer);
-        this.coinData = byteBuffer.readNulsData(new CoinData());
+        int coinDataStart = byteBuffer.getCursor();
+        boolean skipped = lazyDecode && skipCoinData(byteBuffer);
+        if (skipped) {
+            this.coinData = null;
+        } else {
+            this.coinData = byteBuffer.readNulsData(new CoinData());
+        }
+        // 跳过的coinData已经确认是规范编码，直接使用原始长度
+        // A skipped coinData has been checked to be canonical, so its original length is used.
+        int coinDataLength = skipped ? byteBuffer.getCursor() - coinDataStart : SerializeUtils.sizeOfNulsData(coinData);
+        hash = calcHashFromRange(byteBuffer.getPayload(), hashStart, byteBuffer.getCursor(), coinDataLength);
+        int scriptSigSize;
+        if (skipped) {
+            scriptSig = null;
+            long length = byteBuffer.readVarInt();
+            if (length < 0 || length > byteBuffer.remaining()) {
+                throw new NulsException(KernelErrorCode.DATA_PARSE_ERROR);
+            }
+            byteBuffer.skip((int) length);
+            scriptSigSize = SerializeUtils.sizeOfVarInt(length) + (int) length;
+        } else {
+            scriptSig = byteBuffer.readByLengthByte();
+            scriptSigSize = SerializeUtils.sizeOfBytes(scriptSig);
+        }
+        byte[] payload = byteBuffer.getPayload();
+        int end = byteBuffer.getCursor();
+        int canonicalSize = SerializeUtils.sizeOfUint16() + SerializeUtils.sizeOfUint48() + SerializeUtils.sizeOfBytes(remark)
+                + SerializeUtils.sizeOfNulsData(txData) + coinDataLength + scriptSigSize;
+        if (canonicalSize != end - start) {
+            // 原始字节不是规范编码(如非最短的VarInt)，不能密封，否则size()和serialize()会与其他节点重新序列化的结果不同
+            // The original bytes are not canonical (a non-minimal VarInt, ...) and must not be sealed,
+            // otherwise size() and serialize() would differ from the re-serialization computed by other nodes.
+            if (skipped) {
+                NulsByteBuffer rest = new NulsByteBuffer(payload, coinDataStart, end - coinDataStart);
+                this.coinData = rest.readNulsData(new CoinData());
+                scriptSig = rest.readByLengthByte();
+            }
+            return;
+        }
+        // 保留解析时的原始字节，转发和存储时不再重新序列化
+        // Keep the original bytes from parsing, relaying and storing do not serialize again.
+        if (start == 0 && end == payload.length) {
+            seal(payload);
+        } else {
+            seal(Arrays.copyOfRange(payload, start, end));
+        }
+        if (skipped) {
+            lazyOffset = coinDataStart - start;
+            lazy = true;
+        }
+    }
+
+    /**
+     * 只校验coinData的结构并跳过，不创建对象，所有VarInt都是最短编码时才能跳过
+     * 出现占位符、非最短的VarInt等与规范编码不一致的情况时不移动游标并返回false，由调用方正常解码
+     * Check the structure of the coinData and skip it without creating objects, only when every VarInt is minimally encoded.
+     * When anything differs from the canonical encoding (a place holder, a non-minimal VarInt, ...),
+     * the cursor is not moved and false is returned so the caller decodes it normally.
+     */
+    private boolean skipCoinData(NulsByteBuffer byteBuffer) throws NulsException {
+        byte[] payload = byteBuffer.getPayload();
+        int start = byteBuffer.getCursor();
+        if (byteBuffer.remaining() <= 0 || NulsByteBuffer.isPlaceHolder(payload, start)) {
+            return false;
+        }
+        NulsByteBuffer scan = new NulsByteBuffer(payload, start, byteBuffer.remaining());
         try {
-            hash = NulsDigestData.calcDigestData(this.serializeForHash());
-        } catch (IOException e) {
-            Log.error(e);
+            for (int list = 0; list < 2; list++) {
+                long count = readCanonicalVarInt(scan);
+                if (count < 0 || count > scan.remaining()) {
+                    return false;
+                }
+                for (long i = 0; i < count; i++) {
+                    if (NulsByteBuffer.isPlaceHolder(payload, scan.getCursor())) {
+                        return false;
+                    }
+                    long ownerLength = readCanonicalVarInt(scan);
+                    // na(int64) + lockTime(uint48)
+                    if (ownerLength < 0 || ownerLength + 14 > scan.remaining()) {
+                        return false;
+                    }
+                    scan.skip((int) ownerLength + 8);
+                    if (scan.readUint48() == -1L) {
+                        return false;
+                    }
+                }
+            }
+        } catch (NulsException e) {
+            return false;
+        }
+        byteBuffer.skip(scan.getCursor() - start);
+        return true;
+    }
+
+    private static long readCanonicalVarInt(NulsByteBuffer byteBuffer) throws NulsException {
+        int start = byteBuffer.getCursor();
+        long value = byteBuffer.readVarInt();
+        if (byteBuffer.getCursor() - start != VarInt.sizeOf(value)) {
+            return -1;
+        }
+        return value;
+    }
+
+    /**
+     * 解析时是否延迟解码coinData和scriptSig，需要在parse之前设置，用于只转发或缓存的交易
+     * Whether parsing defers decoding coinData and scriptSig, set it before parse, for transactions that are only relayed or cached.
+     *
+     * @param lazyDecode
+     */
+    public void setLazyDecode(boolean lazyDecode) {
+        this.lazyDecode = lazyDecode;
+    }
+
+    /**
+     * coinData和scriptSig是否还未解码
+     * Whether coinData and scriptSig are still not decoded.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public boolean isSignVerified() {
+        return signVerified;
+    }
+
+    /**
+     * 标记签名已验证通过，只应由签名验证在验证成功后调用
+     * Mark the signature as verified, should only be called by signature verification after it succeeds.
+     */
+    public void setSignVerified(boolean signVerified) {
+        this.signVerified = signVerified;
+    }
+
+    private void decodeLazyFields() {
+        if (!lazy) {
+            return;
+        }
+        synchronized (this) {
+            if (!lazy) {
+                return;
+            }
+            try {
+                NulsByteBuffer byteBuffer = new NulsByteBuffer(serialize(), lazyOffset);
+                this.coinData = byteBuffer.readNulsData(new CoinData());
+                this.scriptSig = byteBuffer.readByLengthByte();
+            } catch (Exception e) {
+                throw new NulsRuntimeException(e);
+            }
+            lazy = false;
+        }
+    }
+
+    /**
+     * 修改参与序列化的字段前先解码延迟的字段，再使密封的字节失效
+     * Decode the deferred fields before a serialized field is modified, then invalidate the sealed bytes.
+     */
+    private void unsealForUpdate() {
+        decodeLazyFields();
+        unseal();
+        signVerified = false;
+    }
+
+    /**
+     * 用刚解析过的字节计算交易hash，不再重新序列化各个字段
+     * 摘要原文中type和time是VarInt编码，与网络格式不同，只重新编码这两个字段，remark、txData、coinData直接使用原始字节
+     * 原始字节的长度与规范编码的长度不一致时（如非最短的VarInt），退回到serializeForHash()，保证hash与重新序列化的结果相同
+     * Calculate the transaction hash from the bytes just parsed instead of serializing every field again.
+     * Type and time are VarInt encoded in the preimage unlike the wire format, so only those two are encoded again,
+     * remark, txData and coinData are hashed from the original bytes.
+     * When the length of the original bytes differs from the canonical encoding (e.g. a non-minimal VarInt),
+     * fall back to serializeForHash() so the hash stays the same as the one of the serialized form.
+     */
+    private NulsDigestData calcHashFromRange(byte[] payload, int start, int end, int coinDataLength) {
+        int length = SerializeUtils.sizeOfBytes(remark) + SerializeUtils.sizeOfNulsData(txData) + coinDataLength;
+        if (length != end - start) {
+            try {
+                return NulsDigestData.calcDigestData(this.serializeForHash());
+            } catch (IOException e) {
+                Log.error(e);
+                return null;
+            }
         }
-        scriptSig = byteBuffer.readByLengthByte();
+        byte[] typeBytes = new VarInt(type).encode();
+        byte[] timeBytes = new VarInt(time).encode();
+        byte[] prefix = new byte[typeBytes.length + timeBytes.length];
+        System.arraycopy(typeBytes, 0, prefix, 0, typeBytes.length);
+        System.arraycopy(timeBytes, 0, prefix, typeBytes.length, timeBytes.length);
+        return NulsDigestData.calcDigestData(prefix, 0, prefix.length, payload, start, length);
     }
 
     public boolean isFreeOfFee() {
@@ -124,10 +344,12 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
     }
 
     public void setTime(long time) {
+        unsealForUpdate();
         this.time = time;
     }
 
     public void setType(int type) {
+        unsealForUpdate();
         this.type = type;
     }
 
@@ -140,6 +362,7 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
     }
 
     public void setRemark(byte[] remark) {
+        unsealForUpdate();
         this.remark = remark;
     }
 
@@ -156,13 +379,16 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
 
     public void setHash(NulsDigestData hash) {
         this.hash = hash;
+        this.signVerified = false;
     }
 
     public byte[] getScriptSig() {
+        decodeLazyFields();
         return scriptSig;
     }
 
     public void setScriptSig(byte[] scriptSig) {
+        unsealForUpdate();
         this.scriptSig = scriptSig;
     }
 
@@ -171,6 +397,7 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
     }
 
     public void setTxData(T txData) {
+        unsealForUpdate();
         this.txData = txData;
     }
 
@@ -191,10 +418,12 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
     }
 
     public CoinData getCoinData() {
+        decodeLazyFields();
         return coinData;
     }
 
     public void setCoinData(CoinData coinData) {
+        unsealForUpdate();
         this.coinData = coinData;
     }
 
@@ -214,6 +443,7 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
             return Na.ZERO;
         }
         Na fee = Na.ZERO;
+        CoinData coinData = getCoinData();
         if (null != coinData) {
             fee = coinData.getFee();
         }
@@ -221,11 +451,12 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
     }
 
     public byte[] getAddressFromSig() {
-        return AddressTool.getAddress(scriptSig);
+        return AddressTool.getAddress(getScriptSig());
     }
 
     public List<byte[]> getAllRelativeAddress() {
         Set<byte[]> addresses = new HashSet<>();
+        decodeLazyFields();
 
         if (coinData != null) {
             Set<byte[]> coinAddressSet = coinData.getAddresses();
@@ -263,6 +494,7 @@ public abstract class Transaction<T extends TransactionLogicData> extends BaseNu
     }
 
     public byte[] serializeForHash() throws IOException {
+        decodeLazyFields();
         ByteArrayOutputStream bos = null;
         try {
             int size = size() - SerializeUtils.sizeOfBytes(scriptSig);
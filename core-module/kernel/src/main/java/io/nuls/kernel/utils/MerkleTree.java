@@ -0,0 +1,247 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.kernel.utils;
+
+import io.nuls.core.tools.crypto.Sha256Hash;
+import io.nuls.kernel.constant.KernelErrorCode;
+import io.nuls.kernel.exception.NulsRuntimeException;
+import io.nuls.kernel.model.NulsDigestData;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Merkle根的计算，结果与原来逐对拼接的算法完全一致
+ * 一次性计算时所有层都在两个复用的数组中完成，不再为每一对节点分配拼接数组，节点对数量超过阈值的层使用fork-join并行计算
+ * 也可以逐个追加hash，每次追加只重新计算最右侧路径上的节点，适合打包时边追加交易边维护根
+ * Calculation of the merkle root, the result is the same as the original pair-by-pair algorithm.
+ * A one-shot calculation hashes all levels within two reused arrays instead of allocating a concatenation array
+ * for every pair, and levels with more pairs than a threshold are hashed in parallel with fork-join.
+ * Hashes can also be appended one by one, each append only hashes the nodes on the right-most path again,
+ * which suits maintaining the root while transactions are appended during packing.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/10
+ */
+public class MerkleTree {
+
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * 一层中的节点对超过该数量时并行计算
+     * Levels with more pairs than this are hashed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    /**
+     * 每个并行任务最多计算的节点对数量
+     * The maximum number of pairs hashed by one parallel task.
+     */
+    private static final int TASK_PAIRS = 256;
+
+    /**
+     * 追加模式下的各层节点，保存的是字节反转后的摘要，即拼接上一层时使用的形式
+     * The nodes of every level in append mode, stored as reversed digests, the form used when hashing the next level.
+     */
+    private final List<List<byte[]>> levels = new ArrayList<>();
+
+    private final MessageDigest digest = Sha256Hash.newDigest();
+
+    private final byte[] scratch = new byte[HASH_LENGTH];
+
+    /**
+     * 追加一个叶子节点并更新最右侧路径，非线程安全
+     * Append a leaf and update the right-most path, not thread safe.
+     *
+     * @param leaf
+     */
+    public void add(NulsDigestData leaf) {
+        byte[] node = new byte[HASH_LENGTH];
+        reverseCopy(checkLength(leaf.getDigestBytes()), 0, node, 0);
+        if (levels.isEmpty()) {
+            levels.add(new ArrayList<>());
+        }
+        List<byte[]> level = levels.get(0);
+        level.add(node);
+        int index = level.size() - 1;
+        for (int i = 0; level.size() > 1; i++) {
+            int parentIndex = index / 2;
+            byte[] left = level.get(parentIndex * 2);
+            byte[] right = parentIndex * 2 + 1 < level.size() ? level.get(parentIndex * 2 + 1) : left;
+            byte[] parent = new byte[HASH_LENGTH];
+            hashPair(digest, left, 0, right, 0, scratch, parent, 0);
+            if (levels.size() == i + 1) {
+                levels.add(new ArrayList<>());
+            }
+            List<byte[]> upper = levels.get(i + 1);
+            if (parentIndex < upper.size()) {
+                upper.set(parentIndex, parent);
+            } else {
+                upper.add(parent);
+            }
+            level = upper;
+            index = parentIndex;
+        }
+    }
+
+    /**
+     * 已追加的叶子数量
+     * The number of leaves appended.
+     */
+    public int size() {
+        return levels.isEmpty() ? 0 : levels.get(0).size();
+    }
+
+    /**
+     * 当前的Merkle根，没有叶子时返回null
+     * The current merkle root, null if there is no leaf.
+     */
+    public NulsDigestData getRoot() {
+        if (levels.isEmpty()) {
+            return null;
+        }
+        byte[] root = new byte[HASH_LENGTH];
+        reverseCopy(levels.get(levels.size() - 1).get(0), 0, root, 0);
+        return new NulsDigestData(NulsDigestData.DIGEST_ALG_SHA256, root);
+    }
+
+    public void clear() {
+        levels.clear();
+    }
+
+    /**
+     * 一次性计算叶子列表的Merkle根，不会修改传入的列表
+     * Calculate the merkle root of the leaves in one shot, the list passed in is not modified.
+     *
+     * @param leaves
+     * @return
+     */
+    public static NulsDigestData calcRoot(List<NulsDigestData> leaves) {
+        int count = leaves.size();
+        if (count == 0) {
+            throw new NulsRuntimeException(KernelErrorCode.DATA_ERROR, "no hash to calculate the merkle root");
+        }
+        byte[] current = new byte[count * HASH_LENGTH];
+        for (int i = 0; i < count; i++) {
+            reverseCopy(checkLength(leaves.get(i).getDigestBytes()), 0, current, i * HASH_LENGTH);
+        }
+        byte[] next = new byte[(count + 1) / 2 * HASH_LENGTH];
+        MessageDigest digest = null;
+        byte[] scratch = null;
+        while (count > 1) {
+            int pairs = (count + 1) / 2;
+            if (pairs > PARALLEL_THRESHOLD) {
+                ForkJoinPool.commonPool().invoke(new LevelTask(current, count, next, 0, pairs));
+            } else {
+                if (digest == null) {
+                    digest = Sha256Hash.newDigest();
+                    scratch = new byte[HASH_LENGTH];
+                }
+                hashLevel(digest, scratch, current, count, next, 0, pairs);
+            }
+            byte[] temp = current;
+            current = next;
+            next = temp;
+            count = pairs;
+        }
+        byte[] root = new byte[HASH_LENGTH];
+        reverseCopy(current, 0, root, 0);
+        return new NulsDigestData(NulsDigestData.DIGEST_ALG_SHA256, root);
+    }
+
+    /**
+     * 计算一层中[from, to)范围内的节点对，最后一个节点没有配对时与自身拼接
+     * Hash the pairs in the range [from, to) of a level, the last node is paired with itself when it has no sibling.
+     */
+    private static void hashLevel(MessageDigest digest, byte[] scratch, byte[] source, int count, byte[] target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int left = i * 2;
+            int right = Math.min(left + 1, count - 1);
+            hashPair(digest, source, left * HASH_LENGTH, source, right * HASH_LENGTH, scratch, target, i * HASH_LENGTH);
+        }
+    }
+
+    /**
+     * 双重SHA256后把结果反转写入目标位置，过程中不分配数组
+     * Double SHA256 and write the reversed result to the target, without allocating any array.
+     */
+    private static void hashPair(MessageDigest digest, byte[] left, int leftOffset, byte[] right, int rightOffset,
+                                 byte[] scratch, byte[] target, int targetOffset) {
+        try {
+            digest.update(left, leftOffset, HASH_LENGTH);
+            digest.update(right, rightOffset, HASH_LENGTH);
+            digest.digest(scratch, 0, HASH_LENGTH);
+            digest.update(scratch, 0, HASH_LENGTH);
+            digest.digest(scratch, 0, HASH_LENGTH);
+        } catch (DigestException e) {
+            throw new NulsRuntimeException(e);
+        }
+        reverseCopy(scratch, 0, target, targetOffset);
+    }
+
+    private static void reverseCopy(byte[] source, int sourceOffset, byte[] target, int targetOffset) {
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            target[targetOffset + i] = source[sourceOffset + HASH_LENGTH - 1 - i];
+        }
+    }
+
+    private static byte[] checkLength(byte[] hash) {
+        if (hash == null || hash.length != HASH_LENGTH) {
+            throw new NulsRuntimeException(KernelErrorCode.DATA_ERROR, "merkle leaf must be a sha256 digest");
+        }
+        return hash;
+    }
+
+    private static class LevelTask extends RecursiveAction {
+
+        private final byte[] source;
+        private final int count;
+        private final byte[] target;
+        private final int from;
+        private final int to;
+
+        LevelTask(byte[] source, int count, byte[] target, int from, int to) {
+            this.source = source;
+            this.count = count;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TASK_PAIRS) {
+                hashLevel(Sha256Hash.newDigest(), new byte[HASH_LENGTH], source, count, target, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LevelTask(source, count, target, from, middle),
+                    new LevelTask(source, count, target, middle, to));
+        }
+    }
+}
@@ -36,7 +36,7 @@ import io.nuls.kernel.model.NulsSignData;
 import io.nuls.kernel.model.Transaction;
 
 import java.io.UnsupportedEncodingException;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
 
 /**
  * @author Niels
@@ -46,6 +46,14 @@ public class NulsByteBuffer {
 
     private final byte[] payload;
 
+    /**
+     * 可读区域在payload中的起止位置，cursor始终是payload中的绝对下标
+     * Start and end of the readable range in the payload, the cursor is always an absolute index into the payload.
+     */
+    private final int offset;
+
+    private final int limit;
+
     private int cursor;
 
     public NulsByteBuffer(byte[] bytes) {
@@ -57,9 +65,49 @@ public class NulsByteBuffer {
             throw new NulsRuntimeException(KernelErrorCode.FAILED, "create byte buffer faild!");
         }
         this.payload = bytes;
+        this.offset = 0;
+        this.limit = bytes.length;
         this.cursor = cursor;
     }
 
+    /**
+     * 在字节数组的[offset, offset + length)范围上创建视图，不复制数据
+     * Create a view over the range [offset, offset + length) of the byte array without copying it.
+     *
+     * @param bytes
+     * @param offset 起始位置/start position
+     * @param length 可读的长度/readable length
+     */
+    public NulsByteBuffer(byte[] bytes, int offset, int length) {
+        if (null == bytes || offset < 0 || length <= 0 || offset > bytes.length - length) {
+            throw new NulsRuntimeException(KernelErrorCode.FAILED, "create byte buffer faild!");
+        }
+        this.payload = bytes;
+        this.offset = offset;
+        this.limit = offset + length;
+        this.cursor = offset;
+    }
+
+    /**
+     * 读取ByteBuffer中position到limit之间的数据，堆内存的ByteBuffer直接共享底层数组，直接内存或只读的ByteBuffer复制一次
+     * 不会改变ByteBuffer的position
+     * Read the data between position and limit of the ByteBuffer. A heap buffer shares its backing array,
+     * a direct or read-only buffer is copied once. The position of the ByteBuffer is not changed.
+     *
+     * @param buffer
+     */
+    public NulsByteBuffer(ByteBuffer buffer) {
+        this(buffer.hasArray() ? buffer.array() : toArray(buffer),
+                buffer.hasArray() ? buffer.arrayOffset() + buffer.position() : 0,
+                buffer.remaining());
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
     public long readUint32LE() throws NulsException {
         try {
             long u = SerializeUtils.readUint32LE(payload, cursor);
@@ -136,6 +184,9 @@ public class NulsByteBuffer {
     }
 
     public byte[] readBytes(int length) throws NulsException {
+        if (length > limit - cursor) {
+            throw new NulsException(KernelErrorCode.DATA_PARSE_ERROR);
+        }
         try {
             byte[] b = new byte[length];
             System.arraycopy(payload, cursor, b, 0, length);
@@ -164,7 +215,7 @@ public class NulsByteBuffer {
     }
 
     public void resetCursor() {
-        this.cursor = 0;
+        this.cursor = offset;
     }
 
     public short readShort() throws NulsException {
@@ -197,43 +248,102 @@ public class NulsByteBuffer {
         return SerializeUtils.bytes2Double(bytes);
     }
 
+    public int getCursor() {
+        return cursor;
+    }
+
     public boolean isFinished() {
-        return this.payload.length == cursor;
+        return this.limit == cursor;
+    }
+
+    /**
+     * 剩余可读的字节数
+     * The number of bytes remaining to be read.
+     */
+    public int remaining() {
+        return limit - cursor;
+    }
+
+    /**
+     * 从当前位置切出length个字节的视图并跳过这些字节，与当前缓冲区共享同一个数组
+     * Slice a view of length bytes from the current position and skip them, sharing the array with this buffer.
+     *
+     * @param length
+     * @return
+     * @throws NulsException
+     */
+    public NulsByteBuffer slice(int length) throws NulsException {
+        if (length <= 0 || length > limit - cursor) {
+            throw new NulsException(KernelErrorCode.DATA_PARSE_ERROR);
+        }
+        NulsByteBuffer slice = new NulsByteBuffer(payload, cursor, length);
+        cursor += length;
+        return slice;
+    }
+
+    /**
+     * 跳过length个字节
+     * Skip length bytes.
+     */
+    public void skip(int length) throws NulsException {
+        if (length < 0 || length > limit - cursor) {
+            throw new NulsException(KernelErrorCode.DATA_PARSE_ERROR);
+        }
+        cursor += length;
     }
 
     public byte[] getPayloadByCursor() {
-        byte[] bytes = new byte[payload.length - cursor];
+        byte[] bytes = new byte[limit - cursor];
         System.arraycopy(this.payload, cursor, bytes, 0, bytes.length);
         return bytes;
     }
 
+    /**
+     * 返回底层数组，视图的可读范围之外可能还有其他数据，结合getCursor()使用
+     * Returns the backing array, which may contain other data outside the readable range of a view, use with getCursor().
+     */
     public byte[] getPayload() {
         return payload;
     }
 
+    /**
+     * 在当前位置直接解析嵌套对象，不再复制剩余的数据
+     * Parse the nested object in place at the current position instead of copying the remaining data.
+     */
     public <T extends BaseNulsData> T readNulsData(T nulsData) throws NulsException {
         if (payload == null) {
             return null;
         }
-        int length = payload.length - cursor;
+        int length = limit - cursor;
         if (length <= 0) {
             return null;
         }
-        if (length >= 4) {
-            byte[] byte4 = new byte[4];
-            System.arraycopy(payload, cursor, byte4, 0, 4);
-            if (Arrays.equals(NulsConstant.PLACE_HOLDER, byte4)) {
-                cursor += 4;
-                return null;
-            }
+        if (length >= 4 && isPlaceHolder(payload, cursor)) {
+            cursor += 4;
+            return null;
         }
-        byte[] bytes = new byte[length];
-        System.arraycopy(payload, cursor, bytes, 0, length);
-        nulsData.parse(bytes);
+        nulsData.parse(payload, cursor, length);
         cursor += nulsData.size();
         return nulsData;
     }
 
+    /**
+     * 判断从offset开始的4个字节是否为占位符
+     * Whether the 4 bytes starting at offset are the place holder.
+     */
+    public static boolean isPlaceHolder(byte[] bytes, int offset) {
+        byte[] holder = NulsConstant.PLACE_HOLDER;
+        if (offset < 0 || offset > bytes.length - holder.length) {
+            return false;
+        }
+        for (int i = 0; i < holder.length; i++) {
+            if (bytes[offset + i] != holder[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public NulsSignData readSign() throws NulsException {
         return this.readNulsData(new NulsSignData());
     }
@@ -254,8 +364,15 @@ public class NulsByteBuffer {
     }
 
     public Transaction readTransaction() throws NulsException {
+        return readTransaction(false);
+    }
+
+    /**
+     * @param lazy 是否延迟解码coinData和scriptSig/whether to defer decoding coinData and scriptSig
+     */
+    public Transaction readTransaction(boolean lazy) throws NulsException {
         try {
-            return TransactionManager.getInstance(this);
+            return TransactionManager.getInstance(this, lazy);
         } catch (Exception e) {
             Log.error(e);
             throw new NulsException(e);
@@ -118,7 +118,7 @@ public class NulsOutputStreamBuffer {
         if (null == data) {
             write(NulsConstant.PLACE_HOLDER);
         } else {
-            this.write(data.serialize());
+            data.serializeTo(this);
         }
     }
 
@@ -0,0 +1,83 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.kernel.utils;
+
+import io.nuls.core.tools.crypto.UnsafeByteArrayOutputStream;
+
+import java.util.Arrays;
+
+/**
+ * 每个线程复用一个可增长的序列化缓冲区
+ * 取出时从线程变量中移除，序列化过程中嵌套调用serialize()时会得到新的缓冲区，不会互相覆盖
+ * A growable serialization buffer reused per thread.
+ * It is removed from the thread local while in use, so a nested serialize() gets a fresh buffer instead of overwriting it.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/11
+ */
+public final class PooledOutputStream extends UnsafeByteArrayOutputStream {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * 超过该容量的缓冲区用完后不再保留，避免每个线程长期占用一个区块大小的数组
+     * Buffers grown beyond this are not kept after use, so a thread does not hold a block sized array forever.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private static final ThreadLocal<PooledOutputStream> POOL = new ThreadLocal<>();
+
+    private PooledOutputStream() {
+        super(INITIAL_CAPACITY);
+    }
+
+    public static PooledOutputStream acquire() {
+        PooledOutputStream stream = POOL.get();
+        if (stream == null) {
+            return new PooledOutputStream();
+        }
+        POOL.set(null);
+        return stream;
+    }
+
+    /**
+     * 归还到当前线程，归还后不能再使用
+     * Return the buffer to the current thread, it must not be used afterwards.
+     */
+    public void release() {
+        if (buf.length <= MAX_RETAINED_CAPACITY) {
+            reset();
+            POOL.set(this);
+        }
+    }
+
+    /**
+     * 总是复制，底层数组会被复用
+     * Always copies, the backing array is reused.
+     */
+    @Override
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+}
@@ -113,12 +113,22 @@ public class TransactionManager {
     }
 
     public static Transaction getInstance(NulsByteBuffer byteBuffer) throws Exception {
-        int txType = (int) new NulsByteBuffer(byteBuffer.getPayloadByCursor()).readVarInt();
+        return getInstance(byteBuffer, false);
+    }
+
+    /**
+     * 按交易类型创建并解析交易，lazy为true时coinData和scriptSig在第一次访问时才解码
+     * Create and parse a transaction by its type, when lazy is true coinData and scriptSig are decoded on first access.
+     */
+    public static Transaction getInstance(NulsByteBuffer byteBuffer, boolean lazy) throws Exception {
+        int txType = (int) new NulsByteBuffer(byteBuffer.getPayload(), byteBuffer.getCursor()).readVarInt();
         Class<? extends Transaction> txClass = TYPE_TX_MAP.get(txType);
         if (null == txClass) {
             throw new NulsRuntimeException(KernelErrorCode.FAILED, "transaction type not exist!");
         }
-        Transaction tx = byteBuffer.readNulsData(txClass.newInstance());
+        Transaction tx = txClass.newInstance();
+        tx.setLazyDecode(lazy);
+        tx = byteBuffer.readNulsData(tx);
         return tx;
     }
 
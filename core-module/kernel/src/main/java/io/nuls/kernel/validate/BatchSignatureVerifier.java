@@ -0,0 +1,203 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.kernel.validate;
+
+import io.nuls.kernel.constant.KernelErrorCode;
+import io.nuls.kernel.model.NulsDigestData;
+import io.nuls.kernel.model.Transaction;
+import io.nuls.kernel.script.P2PKHScriptSig;
+import io.nuls.kernel.utils.NulsByteBuffer;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 交易签名验证，区块中的交易签名分段后在专用的ForkJoinPool中并行验证，任何一个签名失败后其他任务不再继续验证
+ * 验证通过的交易会被标记，之后tx.verify()中的签名验证直接跳过，验证过的签名还会记录在SignatureCache中，同一签名的其他交易对象也不再重复验证
+ * Transaction signature verification. The signatures of a block are split into ranges and verified in parallel in a dedicated ForkJoinPool,
+ * the other tasks stop as soon as any signature fails.
+ * Transactions that pass are marked, so the signature check in tx.verify() is skipped afterwards, verified signatures are also recorded in
+ * SignatureCache, so other transaction objects with the same signature are not verified again.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/16
+ */
+public final class BatchSignatureVerifier {
+
+    /**
+     * 每个任务至少验证的签名数，签名数少于两个任务时直接在调用线程中验证
+     * The minimum number of signatures per task, fewer than two tasks' worth are verified in the calling thread.
+     */
+    private static final int MIN_TASK_SIZE = 8;
+
+    /**
+     * 每个线程分到的任务数，任务更小时各线程的负载更均衡
+     * Tasks per thread, smaller tasks balance the load better between threads.
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private static int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private static ForkJoinPool pool;
+
+    private BatchSignatureVerifier() {
+    }
+
+    /**
+     * 设置并行验证的线程数，小于等于1时在调用线程中逐个验证
+     * Set the number of threads verifying in parallel, when less than or equal to 1 signatures are verified one by one in the calling thread.
+     */
+    public static synchronized void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            parallelism = 1;
+        }
+        if (null != pool && pool.getParallelism() != parallelism) {
+            pool.shutdown();
+            pool = null;
+        }
+        BatchSignatureVerifier.parallelism = parallelism;
+    }
+
+    public static synchronized int getParallelism() {
+        return parallelism;
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (null == pool) {
+            pool = new ForkJoinPool(parallelism, p -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName("sign-verify-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        }
+        return pool;
+    }
+
+    /**
+     * 验证单个交易的签名，不需要验证或已经验证过的直接返回成功
+     * Verify the signature of a single transaction, success is returned directly when it needs no verification or has been verified.
+     */
+    public static ValidateResult verify(Transaction tx) {
+        if (!tx.needVerifySignature() || tx.isSignVerified()) {
+            return ValidateResult.getSuccessResult();
+        }
+        P2PKHScriptSig scriptSig;
+        try {
+            scriptSig = new NulsByteBuffer(tx.getScriptSig()).readNulsData(new P2PKHScriptSig());
+        } catch (Exception e) {
+            return ValidateResult.getFailedResult(BatchSignatureVerifier.class.getName(), KernelErrorCode.SIGNATURE_ERROR);
+        }
+        if (null == scriptSig) {
+            return ValidateResult.getFailedResult(BatchSignatureVerifier.class.getName(), KernelErrorCode.SIGNATURE_ERROR);
+        }
+        ValidateResult result = verify(scriptSig, tx.getHash());
+        if (result.isSuccess()) {
+            tx.setSignVerified(true);
+        }
+        return result;
+    }
+
+    /**
+     * 验证签名，先查询已验证签名的缓存，验证通过后加入缓存
+     * Verify the signature, the cache of verified signatures is consulted first and the signature is added to it after passing.
+     */
+    public static ValidateResult verify(P2PKHScriptSig scriptSig, NulsDigestData hash) {
+        if (null == scriptSig.getPublicKey() || null == scriptSig.getSignData() || null == scriptSig.getSignData().getSignBytes()) {
+            return ValidateResult.getFailedResult(BatchSignatureVerifier.class.getName(), KernelErrorCode.SIGNATURE_ERROR);
+        }
+        NulsDigestData key = SignatureCache.key(hash, scriptSig.getPublicKey(), scriptSig.getSignData().getSignBytes());
+        if (SignatureCache.contains(key)) {
+            return ValidateResult.getSuccessResult();
+        }
+        ValidateResult result = scriptSig.verifySign(hash);
+        if (result.isSuccess()) {
+            SignatureCache.add(key);
+        }
+        return result;
+    }
+
+    /**
+     * 并行验证一组交易的签名，返回遇到的第一个失败结果，全部通过时返回成功
+     * Verify the signatures of the transactions in parallel, returns the first failure encountered, or success when all pass.
+     */
+    public static ValidateResult verify(List<Transaction> txs) {
+        int size = txs.size();
+        int threads = getParallelism();
+        if (threads <= 1 || size < MIN_TASK_SIZE * 2) {
+            for (Transaction tx : txs) {
+                ValidateResult result = verify(tx);
+                if (result.isFailed()) {
+                    return result;
+                }
+            }
+            return ValidateResult.getSuccessResult();
+        }
+        Transaction[] array = txs.toArray(new Transaction[size]);
+        int taskSize = Math.max(MIN_TASK_SIZE, (size + threads * TASKS_PER_THREAD - 1) / (threads * TASKS_PER_THREAD));
+        AtomicReference<ValidateResult> failure = new AtomicReference<>();
+        getPool().invoke(new VerifyTask(array, 0, size, taskSize, failure));
+        ValidateResult result = failure.get();
+        return null == result ? ValidateResult.getSuccessResult() : result;
+    }
+
+    private static final class VerifyTask extends RecursiveAction {
+
+        private final Transaction[] txs;
+        private final int start;
+        private final int end;
+        private final int taskSize;
+        private final AtomicReference<ValidateResult> failure;
+
+        VerifyTask(Transaction[] txs, int start, int end, int taskSize, AtomicReference<ValidateResult> failure) {
+            this.txs = txs;
+            this.start = start;
+            this.end = end;
+            this.taskSize = taskSize;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > taskSize) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new VerifyTask(txs, start, middle, taskSize, failure),
+                        new VerifyTask(txs, middle, end, taskSize, failure));
+                return;
+            }
+            for (int i = start; i < end; i++) {
+                if (null != failure.get()) {
+                    return;
+                }
+                ValidateResult result = verify(txs[i]);
+                if (result.isFailed()) {
+                    failure.compareAndSet(null, result);
+                    return;
+                }
+            }
+        }
+    }
+}
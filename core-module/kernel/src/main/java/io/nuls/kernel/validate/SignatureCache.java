@@ -0,0 +1,128 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.kernel.validate;
+
+import io.nuls.kernel.model.NulsDigestData;
+import io.nuls.kernel.utils.VarInt;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已验证通过的签名缓存，key为(交易或区块hash, 公钥, 签名)三元组的摘要
+ * 交易进入交易池、打包和收到区块时会多次验证同一个签名，命中缓存时跳过ECDSA验证
+ * 缓存分新旧两代，新一代写满容量的一半后成为旧一代，旧一代整体丢弃，命中旧一代的key会被移到新一代，近似LRU且读写都不加锁
+ * Cache of signatures that passed verification, keyed by the digest of the (tx or block hash, public key, signature) tuple.
+ * The same signature is verified when a tx enters the pool, when packing and when the block arrives, a cache hit skips the ECDSA verification.
+ * The cache has two generations, when the new one is filled to half of the capacity it becomes the old one and the previous old one is dropped as a whole,
+ * keys hit in the old generation are moved to the new one, which approximates LRU without locking reads or writes.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/18
+ */
+public final class SignatureCache {
+
+    private static final int DEFAULT_CAPACITY = 100000;
+
+    private static volatile int capacity = DEFAULT_CAPACITY;
+
+    private static volatile Map<NulsDigestData, Boolean> current = new ConcurrentHashMap<>();
+
+    private static volatile Map<NulsDigestData, Boolean> previous = new ConcurrentHashMap<>();
+
+    private SignatureCache() {
+    }
+
+    /**
+     * 设置缓存的最大条数，小于等于0时关闭缓存
+     * Set the maximum number of entries, the cache is disabled when less than or equal to 0.
+     */
+    public static synchronized void setCapacity(int capacity) {
+        SignatureCache.capacity = Math.max(0, capacity);
+        clear();
+    }
+
+    public static synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 每一部分都带长度前缀，避免不同的(公钥, 签名)拼接出相同的字节
+     * Every part is length prefixed, so that different (public key, signature) pairs can not concatenate to the same bytes.
+     */
+    public static NulsDigestData key(NulsDigestData hash, byte[] publicKey, byte[] signBytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(hash.getDigestBytes().length + publicKey.length + signBytes.length + 9);
+        writeWithLength(out, hash.getDigestBytes());
+        writeWithLength(out, publicKey);
+        writeWithLength(out, signBytes);
+        return NulsDigestData.calcDigestData(out.toByteArray());
+    }
+
+    private static void writeWithLength(ByteArrayOutputStream out, byte[] bytes) {
+        byte[] length = new VarInt(bytes.length).encode();
+        out.write(length, 0, length.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    public static boolean contains(NulsDigestData key) {
+        if (current.containsKey(key)) {
+            return true;
+        }
+        if (previous.containsKey(key)) {
+            add(key);
+            return true;
+        }
+        return false;
+    }
+
+    public static void add(NulsDigestData key) {
+        Map<NulsDigestData, Boolean> map = current;
+        int limit = capacity / 2;
+        if (limit <= 0) {
+            return;
+        }
+        map.put(key, Boolean.TRUE);
+        if (map.size() >= limit) {
+            rotate(map);
+        }
+    }
+
+    private static synchronized void rotate(Map<NulsDigestData, Boolean> full) {
+        if (current != full) {
+            return;
+        }
+        previous = full;
+        current = new ConcurrentHashMap<>();
+    }
+
+    public static int size() {
+        return current.size() + previous.size();
+    }
+
+    public static synchronized void clear() {
+        current = new ConcurrentHashMap<>();
+        previous = new ConcurrentHashMap<>();
+    }
+}
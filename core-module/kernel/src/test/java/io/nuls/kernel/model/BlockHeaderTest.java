@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.kernel.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/6/13
+ */
+public class BlockHeaderTest {
+
+    @Test
+    public void testExtendDataCache() throws Exception {
+        NulsDigestData first = NulsDigestData.calcDigestData(new byte[]{1});
+        NulsDigestData second = NulsDigestData.calcDigestData(new byte[]{2});
+        BlockHeader header = new BlockHeader();
+        header.setExtend(first.serialize());
+
+        NulsDigestData data = header.getExtendData(NulsDigestData.class);
+        assertEquals(first, data);
+        assertSame(data, header.getExtendData(NulsDigestData.class));
+
+        header.setExtend(second.serialize());
+        assertEquals(second, header.getExtendData(NulsDigestData.class));
+        assertNotSame(data, header.getExtendData(NulsDigestData.class));
+    }
+}
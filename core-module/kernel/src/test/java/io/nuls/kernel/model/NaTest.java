@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.kernel.model;
+
+import io.nuls.kernel.exception.NulsRuntimeException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/6/12
+ */
+public class NaTest {
+
+    @Test
+    public void testValueOfCache() {
+        assertSame(Na.valueOf(0), Na.ZERO);
+        assertSame(Na.valueOf(1023), Na.valueOf(1023));
+        assertSame(Na.valueOf(Na.NA_VALUE), Na.NA);
+        assertSame(Na.valueOf(1000 * Na.NA_VALUE), Na.valueOf(1000 * Na.NA_VALUE));
+        assertEquals(Na.valueOf(1024), Na.valueOf(1024));
+        assertEquals(-5L, Na.valueOf(-5).getValue());
+        assertEquals(12345L, Na.valueOf(12300).add(Na.valueOf(45)).getValue());
+    }
+
+    @Test
+    public void testSafeArithmetic() {
+        assertEquals(Na.MAX_NA_VALUE, Na.safeAdd(Na.MAX_NA_VALUE - 1, 1));
+        assertEquals(-1L, Na.safeSubtract(1, 2));
+        assertEquals(Na.MAX, Na.valueOf(Na.TOTAL_VALUE).multiply(Na.NA_VALUE));
+        assertOverflow(() -> Na.safeAdd(Na.MAX_NA_VALUE, 1));
+        assertOverflow(() -> Na.safeMultiply(Long.MAX_VALUE, 2));
+        assertOverflow(() -> Na.safeSubtract(Long.MIN_VALUE, 1));
+        assertOverflow(() -> Na.MAX.add(Na.NA));
+    }
+
+    private void assertOverflow(Runnable runnable) {
+        try {
+            runnable.run();
+            fail();
+        } catch (NulsRuntimeException e) {
+            // expected
+        }
+    }
+}
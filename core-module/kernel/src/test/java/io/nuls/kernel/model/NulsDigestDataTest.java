@@ -41,4 +41,24 @@ public class NulsDigestDataTest {
         System.out.println(hash);
         assertTrue(true);
     }
+
+    @Test
+    public void testEqualsAndHashCode() throws Exception {
+        NulsDigestData hash = NulsDigestData.calcDigestData(new byte[32]);
+        NulsDigestData parsed = NulsDigestData.fromDigestHex(hash.getDigestHex());
+        assertEquals(hash, parsed);
+        assertEquals(hash.hashCode(), parsed.hashCode());
+        assertEquals(hash.getDigestHex(), parsed.getDigestHex());
+
+        NulsDigestData other = NulsDigestData.calcDigestData(new byte[31]);
+        assertNotEquals(hash, other);
+        assertNotEquals(hash, null);
+
+        // 重新解析后缓存的hash值和十六进制字符串随之更新
+        hash.hashCode();
+        hash.parse(other.serialize());
+        assertEquals(other, hash);
+        assertEquals(other.hashCode(), hash.hashCode());
+        assertEquals(other.getDigestHex(), hash.getDigestHex());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.kernel.model;
+
+import io.nuls.core.tools.map.OpenHashMap;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/7/23
+ */
+public class OutPointKeyTest {
+
+    @Test
+    public void testEqualsOwnerBytes() throws IOException {
+        byte[] txHash = NulsDigestData.calcDigestData(new byte[]{1, 2, 3}).serialize();
+        byte[] owner = new byte[txHash.length + 1];
+        System.arraycopy(txHash, 0, owner, 0, txHash.length);
+        // VarInt encodes 7 as a single byte
+        owner[txHash.length] = 7;
+
+        OutPointKey key = new OutPointKey(owner);
+        assertEquals(key, OutPointKey.of(txHash, 7));
+        assertEquals(key.hashCode(), OutPointKey.of(txHash, 7).hashCode());
+        assertNotEquals(key, OutPointKey.of(txHash, 8));
+
+        owner[0] ^= 1;
+        assertEquals(key, OutPointKey.of(txHash, 7));
+    }
+
+    @Test
+    public void testAddressKey() {
+        byte[] address = new byte[23];
+        address[22] = 9;
+        AddressKey key = new AddressKey(address);
+        assertEquals(key, AddressKey.fromBase58(key.getBase58()));
+        assertTrue(key.equalsAddress(address));
+        address[0] = 1;
+        assertFalse(key.equalsAddress(address));
+        assertNotEquals(key, new AddressKey(address));
+    }
+
+    @Test
+    public void testOpenHashMap() {
+        Random random = new Random(1);
+        OpenHashMap<OutPointKey, Integer> map = new OpenHashMap<>(4);
+        Map<OutPointKey, Integer> expected = new HashMap<>();
+        byte[] txHash = new byte[34];
+        for (int i = 0; i < 20000; i++) {
+            random.nextBytes(txHash);
+            OutPointKey key = OutPointKey.of(txHash, random.nextInt(4));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<OutPointKey, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        int[] count = new int[1];
+        map.forEach((k, v) -> count[0]++);
+        assertEquals(expected.size(), count[0]);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.kernel.model;
+
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.utils.NulsByteBuffer;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/7/6
+ */
+public class TransactionTest {
+
+    @Test
+    public void testSealOnParse() throws Exception {
+        TestTransaction tx = new TestTransaction();
+        tx.setRemark("remark".getBytes());
+        CoinData coinData = new CoinData();
+        coinData.addTo(new Coin(new byte[23], Na.valueOf(100L)));
+        tx.setCoinData(coinData);
+        tx.setScriptSig(new byte[10]);
+        assertFalse(tx.isSealed());
+        byte[] bytes = tx.serialize();
+
+        // 前后各多出数据，只保留交易本身的字节
+        byte[] wrapped = new byte[bytes.length + 6];
+        System.arraycopy(bytes, 0, wrapped, 3, bytes.length);
+        NulsByteBuffer buffer = new NulsByteBuffer(wrapped, 3);
+        TestTransaction parsed = new TestTransaction();
+        parsed.parse(buffer);
+        assertTrue(parsed.isSealed());
+        assertEquals(bytes.length, parsed.size());
+        assertArrayEquals(bytes, parsed.serialize());
+        assertSame(parsed.serialize(), parsed.serialize());
+        assertEquals(tx.getHash(), parsed.getHash());
+        assertEquals(3 + bytes.length, buffer.getCursor());
+
+        // setter使缓存失效
+        parsed.setRemark("changed".getBytes());
+        assertFalse(parsed.isSealed());
+        assertNotEquals(bytes.length, parsed.serialize().length);
+
+        parsed.seal();
+        assertTrue(parsed.isSealed());
+        assertEquals(parsed.serialize().length, parsed.size());
+    }
+
+    @Test
+    public void testHashFromParsedRange() throws Exception {
+        TestTransaction tx = new TestTransaction();
+        tx.setRemark("remark".getBytes());
+        CoinData coinData = new CoinData();
+        coinData.addTo(new Coin(new byte[23], Na.valueOf(100L)));
+        tx.setCoinData(coinData);
+        tx.setScriptSig(new byte[10]);
+        byte[] bytes = tx.serialize();
+        NulsDigestData hash = NulsDigestData.calcDigestData(tx.serializeForHash());
+
+        TestTransaction parsed = new TestTransaction();
+        parsed.parse(bytes);
+        assertEquals(hash, parsed.getHash());
+
+        // remark的长度使用非最短的VarInt编码，hash仍与重新序列化的结果一致
+        byte[] loose = new byte[bytes.length + 2];
+        System.arraycopy(bytes, 0, loose, 0, 8);
+        loose[8] = (byte) 0xfd;
+        loose[9] = bytes[8];
+        loose[10] = 0;
+        System.arraycopy(bytes, 9, loose, 11, bytes.length - 9);
+        parsed = new TestTransaction();
+        parsed.parse(loose);
+        assertArrayEquals("remark".getBytes(), parsed.getRemark());
+        assertEquals(hash, parsed.getHash());
+        // 非规范编码的原始字节不会被密封，size()和serialize()使用规范编码
+        assertFalse(parsed.isSealed());
+        assertEquals(bytes.length, parsed.size());
+        assertArrayEquals(bytes, parsed.serialize());
+        parsed = new TestTransaction();
+        parsed.setLazyDecode(true);
+        parsed.parse(loose);
+        assertFalse(parsed.isSealed());
+        assertEquals(coinData.getTo().size(), parsed.getCoinData().getTo().size());
+        assertArrayEquals(bytes, parsed.serialize());
+
+        BlockHeader header = new BlockHeader();
+        header.setPreHash(hash);
+        header.setMerkleHash(hash);
+        header.setTime(1531000000000L);
+        header.setHeight(10);
+        header.setTxCount(1);
+        header.setExtend(new byte[]{1, 2, 3});
+        NulsDigestData headerHash = NulsDigestData.calcDigestData(header.serialize());
+        BlockHeader parsedHeader = new BlockHeader();
+        parsedHeader.parse(header.serialize());
+        assertEquals(headerHash, parsedHeader.getHash());
+    }
+
+    @Test
+    public void testSerializeTo() throws Exception {
+        TestTransaction tx = new TestTransaction();
+        tx.setRemark("remark".getBytes());
+        CoinData coinData = new CoinData();
+        coinData.addTo(new Coin(new byte[23], Na.valueOf(100L)));
+        tx.setCoinData(coinData);
+        tx.setScriptSig(new byte[10]);
+        byte[] bytes = tx.serialize();
+        assertNotSame(bytes, tx.serialize());
+        assertArrayEquals(bytes, tx.serialize());
+
+        ByteBuffer buffer = ByteBuffer.allocate(tx.size() + 2);
+        buffer.put((byte) 1);
+        tx.serializeTo(buffer);
+        assertEquals(1 + bytes.length, buffer.position());
+        assertArrayEquals(bytes, Arrays.copyOfRange(buffer.array(), 1, 1 + bytes.length));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        tx.serializeTo(out);
+        assertArrayEquals(bytes, out.toByteArray());
+    }
+
+    @Test
+    public void testLazyDecode() throws Exception {
+        TestTransaction tx = new TestTransaction();
+        tx.setRemark("remark".getBytes());
+        CoinData coinData = new CoinData();
+        coinData.addFrom(new Coin(new byte[30], Na.valueOf(300L)));
+        coinData.addTo(new Coin(new byte[23], Na.valueOf(100L)));
+        tx.setCoinData(coinData);
+        tx.setScriptSig(new byte[10]);
+        byte[] bytes = tx.serialize();
+
+        TestTransaction parsed = new TestTransaction();
+        parsed.setLazyDecode(true);
+        parsed.parse(new NulsByteBuffer(bytes));
+        assertTrue(parsed.isLazy());
+        assertNull(parsed.coinData);
+        assertEquals(tx.getHash(), parsed.getHash());
+        assertArrayEquals(bytes, parsed.serialize());
+
+        assertArrayEquals(coinData.serialize(), parsed.getCoinData().serialize());
+        assertFalse(parsed.isLazy());
+        assertArrayEquals(new byte[10], parsed.getScriptSig());
+
+        // 修改字段前先解码延迟的字段
+        parsed = new TestTransaction();
+        parsed.setLazyDecode(true);
+        parsed.parse(new NulsByteBuffer(bytes));
+        parsed.setRemark("changed".getBytes());
+        assertFalse(parsed.isSealed());
+        assertArrayEquals(coinData.serialize(), parsed.getCoinData().serialize());
+        assertArrayEquals(new byte[10], parsed.getScriptSig());
+
+        // owner的长度不是最短的VarInt编码时与不延迟时一样正常解码
+        int ownerLength = bytes.length - 10 - 1 - coinData.size() + 1;
+        assertEquals(30, bytes[ownerLength]);
+        byte[] loose = new byte[bytes.length + 2];
+        System.arraycopy(bytes, 0, loose, 0, ownerLength);
+        loose[ownerLength] = (byte) 0xfd;
+        loose[ownerLength + 1] = 30;
+        System.arraycopy(bytes, ownerLength + 1, loose, ownerLength + 3, bytes.length - ownerLength - 1);
+        parsed = new TestTransaction();
+        parsed.setLazyDecode(true);
+        parsed.parse(new NulsByteBuffer(loose));
+        assertFalse(parsed.isLazy());
+        TestTransaction eager = new TestTransaction();
+        eager.parse(new NulsByteBuffer(loose));
+        assertEquals(eager.getHash(), parsed.getHash());
+        assertArrayEquals(eager.getCoinData().serialize(), parsed.getCoinData().serialize());
+    }
+
+    static class TestTransaction extends Transaction {
+
+        TestTransaction() {
+            super(100);
+        }
+
+        @Override
+        protected TransactionLogicData parseTxData(NulsByteBuffer byteBuffer) throws NulsException {
+            byteBuffer.readBytes(4);
+            return null;
+        }
+
+        @Override
+        public String getInfo(byte[] address) {
+            return null;
+        }
+    }
+}
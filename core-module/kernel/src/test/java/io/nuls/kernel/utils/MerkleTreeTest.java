@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.kernel.utils;
+
+import io.nuls.kernel.model.NulsDigestData;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/7/10
+ */
+public class MerkleTreeTest {
+
+    @Test
+    public void testSameAsPairConcatenation() {
+        MerkleTree tree = new MerkleTree();
+        List<NulsDigestData> leaves = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            NulsDigestData leaf = NulsDigestData.calcDigestData(new byte[]{(byte) i});
+            leaves.add(leaf);
+            tree.add(leaf);
+            NulsDigestData expected = concatenationRoot(leaves);
+            assertEquals(expected, MerkleTree.calcRoot(leaves));
+            assertEquals(expected, tree.getRoot());
+        }
+        assertEquals(70, leaves.size());
+        assertEquals(70, tree.size());
+    }
+
+    @Test
+    public void testParallelLevels() {
+        List<NulsDigestData> leaves = new ArrayList<>();
+        for (int i = 0; i < 5001; i++) {
+            leaves.add(NulsDigestData.calcDigestData(SerializeUtils.int32ToBytes(i)));
+        }
+        assertEquals(concatenationRoot(leaves), NulsDigestData.calcMerkleDigestData(leaves));
+        assertEquals(5001, leaves.size());
+    }
+
+    /**
+     * 原来的算法：每一对反转后拼接再计算摘要
+     */
+    private NulsDigestData concatenationRoot(List<NulsDigestData> leaves) {
+        List<NulsDigestData> ddList = new ArrayList<>(leaves);
+        int levelOffset = 0;
+        for (int levelSize = ddList.size(); levelSize > 1; levelSize = (levelSize + 1) / 2) {
+            for (int left = 0; left < levelSize; left += 2) {
+                int right = Math.min(left + 1, levelSize - 1);
+                byte[] leftBytes = SerializeUtils.reverseBytes(ddList.get(levelOffset + left).getDigestBytes());
+                byte[] rightBytes = SerializeUtils.reverseBytes(ddList.get(levelOffset + right).getDigestBytes());
+                byte[] whole = new byte[leftBytes.length + rightBytes.length];
+                System.arraycopy(leftBytes, 0, whole, 0, leftBytes.length);
+                System.arraycopy(rightBytes, 0, whole, leftBytes.length, rightBytes.length);
+                ddList.add(NulsDigestData.calcDigestData(whole));
+            }
+            levelOffset += levelSize;
+        }
+        return ddList.get(ddList.size() - 1);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.kernel.utils;
+
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.model.Coin;
+import io.nuls.kernel.model.CoinData;
+import io.nuls.kernel.model.Na;
+import io.nuls.kernel.model.NulsDigestData;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/7/9
+ */
+public class NulsByteBufferTest {
+
+    @Test
+    public void testViewAndNestedData() throws Exception {
+        CoinData coinData = new CoinData();
+        coinData.addTo(new Coin(new byte[23], Na.valueOf(100L)));
+        NulsDigestData hash = NulsDigestData.calcDigestData("nuls".getBytes());
+        byte[] coinBytes = coinData.serialize();
+        byte[] hashBytes = hash.serialize();
+
+        // 两个对象前后都有无关数据
+        byte[] frame = new byte[2 + coinBytes.length + hashBytes.length + 3];
+        System.arraycopy(coinBytes, 0, frame, 2, coinBytes.length);
+        System.arraycopy(hashBytes, 0, frame, 2 + coinBytes.length, hashBytes.length);
+
+        NulsByteBuffer buffer = new NulsByteBuffer(frame, 2, coinBytes.length + hashBytes.length);
+        CoinData parsedCoinData = buffer.readNulsData(new CoinData());
+        assertArrayEquals(coinBytes, parsedCoinData.serialize());
+        assertEquals(hash, buffer.readHash());
+        assertTrue(buffer.isFinished());
+        assertEquals(0, buffer.remaining());
+        assertSame(frame, buffer.getPayload());
+
+        buffer.resetCursor();
+        assertEquals(2, buffer.getCursor());
+        NulsByteBuffer slice = buffer.slice(coinBytes.length);
+        assertEquals(coinBytes.length, slice.remaining());
+        assertArrayEquals(coinBytes, slice.readBytes(coinBytes.length));
+        assertEquals(hashBytes.length, buffer.remaining());
+        try {
+            buffer.readBytes(hashBytes.length + 1);
+            fail();
+        } catch (NulsException e) {
+            assertEquals(hashBytes.length, buffer.remaining());
+        }
+    }
+
+    @Test
+    public void testByteBuffer() throws Exception {
+        byte[] bytes = new byte[]{9, 1, 2, 3, 4, 9};
+        ByteBuffer heap = ByteBuffer.wrap(bytes, 1, 4);
+        NulsByteBuffer buffer = new NulsByteBuffer(heap);
+        assertSame(bytes, buffer.getPayload());
+        assertEquals(0x04030201, buffer.readInt32());
+        assertTrue(buffer.isFinished());
+        assertEquals(1, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(4);
+        direct.put(new byte[]{1, 2, 3, 4});
+        direct.flip();
+        buffer = new NulsByteBuffer(direct);
+        assertEquals(0x04030201, buffer.readInt32());
+        assertEquals(0, direct.position());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.kernel.validate;
+
+import io.nuls.core.tools.crypto.ECKey;
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.model.NulsSignData;
+import io.nuls.kernel.model.Transaction;
+import io.nuls.kernel.model.TransactionLogicData;
+import io.nuls.kernel.script.P2PKHScriptSig;
+import io.nuls.kernel.utils.NulsByteBuffer;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/7/16
+ */
+public class BatchSignatureVerifierTest {
+
+    @Test
+    public void testVerifyBatch() throws Exception {
+        BatchSignatureVerifier.setParallelism(4);
+        List<Transaction> txs = createTxs(100);
+        assertTrue(BatchSignatureVerifier.verify(txs).isSuccess());
+        for (Transaction tx : txs) {
+            assertTrue(tx.isSignVerified());
+        }
+
+        // 修改字段后标记失效，重新计算hash后签名不再匹配
+        Transaction changed = txs.get(60);
+        changed.setRemark("changed".getBytes());
+        assertFalse(changed.isSignVerified());
+        assertTrue(BatchSignatureVerifier.verify(changed).isSuccess());
+        changed.setHash(null);
+        assertFalse(changed.isSignVerified());
+        assertTrue(BatchSignatureVerifier.verify(txs).isFailed());
+    }
+
+    @Test
+    public void testCachedAcrossObjects() throws Exception {
+        BatchSignatureVerifier.setParallelism(1);
+        SignatureCache.clear();
+        Transaction tx = createTxs(1).get(0);
+        assertTrue(BatchSignatureVerifier.verify(tx).isSuccess());
+
+        // 从网络重新解析出的交易是新对象，签名从缓存中命中
+        TestTransaction parsed = new TestTransaction();
+        parsed.parse(tx.serialize());
+        assertFalse(parsed.isSignVerified());
+        P2PKHScriptSig scriptSig = new NulsByteBuffer(parsed.getScriptSig()).readNulsData(new P2PKHScriptSig());
+        assertTrue(SignatureCache.contains(SignatureCache.key(parsed.getHash(), scriptSig.getPublicKey(), scriptSig.getSignData().getSignBytes())));
+        assertTrue(BatchSignatureVerifier.verify(parsed).isSuccess());
+    }
+
+    @Test
+    public void testBadSignature() throws Exception {
+        for (int parallelism : new int[]{1, 4}) {
+            BatchSignatureVerifier.setParallelism(parallelism);
+            List<Transaction> txs = createTxs(50);
+            txs.get(37).setScriptSig(txs.get(3).getScriptSig());
+            assertTrue(BatchSignatureVerifier.verify(txs).isFailed());
+            assertFalse(txs.get(37).isSignVerified());
+
+            txs = createTxs(3);
+            txs.get(1).setScriptSig(new byte[]{1, 2, 3});
+            assertTrue(BatchSignatureVerifier.verify(txs).isFailed());
+        }
+    }
+
+    private List<Transaction> createTxs(int count) throws Exception {
+        List<Transaction> txs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ECKey key = ECKey.fromPrivate(BigInteger.valueOf(1000L + i));
+            TestTransaction tx = new TestTransaction();
+            tx.setTime(i);
+            tx.setRemark(("tx" + i).getBytes());
+            NulsSignData signData = new NulsSignData();
+            signData.setSignAlgType(NulsSignData.SIGN_ALG_ECC);
+            signData.setSignBytes(key.sign(tx.getHash().getDigestBytes()));
+            P2PKHScriptSig scriptSig = new P2PKHScriptSig();
+            scriptSig.setPublicKey(key.getPubKey());
+            scriptSig.setSignData(signData);
+            tx.setScriptSig(scriptSig.serialize());
+            txs.add(tx);
+        }
+        return txs;
+    }
+
+    static class TestTransaction extends Transaction {
+
+        TestTransaction() {
+            super(100);
+        }
+
+        @Override
+        protected TransactionLogicData parseTxData(NulsByteBuffer byteBuffer) throws NulsException {
+            byteBuffer.readBytes(4);
+            return null;
+        }
+
+        @Override
+        public String getInfo(byte[] address) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.kernel.validate;
+
+import io.nuls.kernel.model.NulsDigestData;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/7/18
+ */
+public class SignatureCacheTest {
+
+    @After
+    public void reset() {
+        SignatureCache.setCapacity(100000);
+    }
+
+    @Test
+    public void testBoundedGenerations() {
+        SignatureCache.setCapacity(100);
+        NulsDigestData first = key(0);
+        SignatureCache.add(first);
+        for (int i = 1; i < 1000; i++) {
+            SignatureCache.add(key(i));
+            // 经常访问的key会被移到新一代，不会被淘汰
+            assertTrue(SignatureCache.contains(first));
+            assertTrue(SignatureCache.size() <= 100);
+        }
+        assertTrue(SignatureCache.contains(key(999)));
+        assertFalse(SignatureCache.contains(key(1)));
+    }
+
+    @Test
+    public void testKey() {
+        byte[] pub = new byte[33];
+        byte[] sign = new byte[70];
+        NulsDigestData hash = NulsDigestData.calcDigestData(new byte[]{1});
+        assertEquals(SignatureCache.key(hash, pub, sign), SignatureCache.key(hash, pub.clone(), sign.clone()));
+        sign[0] = 1;
+        assertNotEquals(SignatureCache.key(hash, pub, new byte[70]), SignatureCache.key(hash, pub, sign));
+        // 公钥和签名的边界不同，拼接后字节相同，key也必须不同
+        assertNotEquals(SignatureCache.key(hash, new byte[]{1, 2}, new byte[]{3}),
+                SignatureCache.key(hash, new byte[]{1}, new byte[]{2, 3}));
+
+        SignatureCache.setCapacity(0);
+        SignatureCache.add(SignatureCache.key(hash, pub, sign));
+        assertFalse(SignatureCache.contains(SignatureCache.key(hash, pub, sign)));
+    }
+
+    private NulsDigestData key(int i) {
+        return NulsDigestData.calcDigestData(new byte[]{(byte) i, (byte) (i >> 8)});
+    }
+}
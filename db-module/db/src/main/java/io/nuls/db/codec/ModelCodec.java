@@ -0,0 +1,61 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.codec;
+
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.utils.NulsByteBuffer;
+import io.nuls.kernel.utils.NulsOutputStreamBuffer;
+
+import java.io.IOException;
+
+/**
+ * putModel/getModel使用的对象编解码器，通过ModelCodecRegistry按类注册
+ * The object codec used by putModel/getModel, registered by class in ModelCodecRegistry.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/29
+ */
+public interface ModelCodec<T> {
+
+    /**
+     * 把对象写入缓冲区
+     * Write the object into the buffer.
+     *
+     * @param value
+     * @param buffer
+     * @throws IOException
+     */
+    void encode(T value, NulsOutputStreamBuffer buffer) throws IOException;
+
+    /**
+     * 从缓冲区读取对象
+     * Read the object from the buffer.
+     *
+     * @param buffer
+     * @return
+     * @throws NulsException
+     */
+    T decode(NulsByteBuffer buffer) throws NulsException;
+}
@@ -0,0 +1,158 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.codec;
+
+import io.nuls.core.tools.log.Log;
+import io.nuls.db.model.ModelWrapper;
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.utils.NulsByteBuffer;
+import io.nuls.kernel.utils.NulsOutputStreamBuffer;
+import io.nuls.core.tools.crypto.UnsafeByteArrayOutputStream;
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtostuffIOUtil;
+import io.protostuff.Schema;
+import io.protostuff.runtime.RuntimeSchema;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * putModel/getModel的编解码器注册表
+ * 注册了编解码器的类型编码为 [CODEC_MARKER][编解码器写入的内容]，不需要反射，也没有ModelWrapper的包装；
+ * 其他类型仍然使用protostuff序列化ModelWrapper。protostuff的编码不会以0开头，所以读取时可以区分两种格式，已有数据不需要迁移。
+ * 编解码器格式不包含类型信息，读取时必须指定class；由保存数据的模块注册自己的类型。
+ * The codec registry of putModel/getModel.
+ * Types with a registered codec are encoded as [CODEC_MARKER][what the codec writes], without reflection and without the ModelWrapper;
+ * other types are still serialized as a ModelWrapper through protostuff. A protostuff encoding never starts with 0,
+ * so both formats can be told apart when reading and existing data needs no migration.
+ * The codec format holds no type information, so the class must be given when reading; modules register the types they store.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/29
+ */
+public class ModelCodecRegistry {
+
+    public static final byte CODEC_MARKER = 0;
+
+    /**
+     * 复用的线程缓冲区超过这个大小后不再保留
+     * Thread-local buffers grown beyond this size are not kept.
+     */
+    private static final int MAX_CACHED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ConcurrentHashMap<Class, ModelCodec> CODECS = new ConcurrentHashMap<>();
+
+    private static final Schema<ModelWrapper> WRAPPER_SCHEMA = RuntimeSchema.getSchema(ModelWrapper.class);
+
+    private static final ThreadLocal<UnsafeByteArrayOutputStream> STREAM = ThreadLocal.withInitial(() -> new UnsafeByteArrayOutputStream(1024));
+
+    private static final ThreadLocal<LinkedBuffer> LINKED_BUFFER = ThreadLocal.withInitial(() -> LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE));
+
+    /**
+     * 注册编解码器，对该类型的子类同样有效
+     * 注意：一旦有数据以编解码器的格式保存，就不能再取消注册
+     * Register a codec, it also applies to the subclasses of the type.
+     * Note: once data has been stored in the codec format, the codec must stay registered.
+     *
+     * @param clazz
+     * @param codec
+     * @param <T>
+     */
+    public static <T> void register(Class<T> clazz, ModelCodec<T> codec) {
+        CODECS.put(clazz, codec);
+    }
+
+    /**
+     * 查找类型或其最近的父类注册的编解码器
+     * Find the codec registered for the type or its nearest superclass.
+     *
+     * @param clazz
+     * @return 没有注册时返回null/null if none is registered.
+     */
+    public static ModelCodec getCodec(Class clazz) {
+        for (Class c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            ModelCodec codec = CODECS.get(c);
+            if (codec != null) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    public static <T> byte[] serialize(T value) throws IOException {
+        ModelCodec codec = getCodec(value.getClass());
+        if (codec == null) {
+            return serializeWrapper(value);
+        }
+        UnsafeByteArrayOutputStream stream = STREAM.get();
+        try {
+            stream.write(CODEC_MARKER);
+            codec.encode(value, new NulsOutputStreamBuffer(stream));
+            return stream.toByteArray();
+        } finally {
+            if (stream.size() > MAX_CACHED_BUFFER_SIZE) {
+                STREAM.remove();
+            } else {
+                stream.reset();
+            }
+        }
+    }
+
+    private static <T> byte[] serializeWrapper(T value) {
+        LinkedBuffer buffer = LINKED_BUFFER.get();
+        try {
+            return ProtostuffIOUtil.toByteArray(new ModelWrapper(value), WRAPPER_SCHEMA, buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 按保存时的格式反序列化
+     * Deserialize according to the format the value was stored in.
+     *
+     * @param bytes
+     * @param clazz 编解码器格式的数据必须指定/required for data in the codec format.
+     * @param <T>
+     * @return
+     * @throws NulsException
+     */
+    public static <T> T deserialize(byte[] bytes, Class<T> clazz) throws NulsException {
+        if (bytes.length > 0 && bytes[0] == CODEC_MARKER) {
+            ModelCodec codec = clazz == null ? null : getCodec(clazz);
+            if (codec == null) {
+                Log.warn("no codec registered for " + clazz);
+                return null;
+            }
+            return (T) codec.decode(new NulsByteBuffer(bytes, 1));
+        }
+        ModelWrapper model = WRAPPER_SCHEMA.newMessage();
+        ProtostuffIOUtil.mergeFrom(bytes, model, WRAPPER_SCHEMA);
+        if (clazz != null && model.getT() != null) {
+            return clazz.cast(model.getT());
+        }
+        return (T) model.getT();
+    }
+}
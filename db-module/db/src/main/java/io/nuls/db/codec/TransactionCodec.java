@@ -0,0 +1,65 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.codec;
+
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.model.Transaction;
+import io.nuls.kernel.utils.NulsByteBuffer;
+import io.nuls.kernel.utils.NulsOutputStreamBuffer;
+import io.nuls.kernel.utils.TransactionManager;
+
+import java.io.IOException;
+
+/**
+ * 交易的编解码器，交易的序列化内容不包含区块高度，所以先单独写入区块高度，解码时按交易类型创建具体的交易对象，coinData和scriptSig延迟解码
+ * The codec of transactions; the serialized form of a transaction does not hold the block height, so the height is written first,
+ * and decoding creates the concrete transaction by its type, with coinData and scriptSig decoded lazily.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/29
+ */
+public class TransactionCodec implements ModelCodec<Transaction> {
+
+    @Override
+    public void encode(Transaction value, NulsOutputStreamBuffer buffer) throws IOException {
+        buffer.writeInt64(value.getBlockHeight());
+        buffer.writeNulsData(value);
+    }
+
+    @Override
+    public Transaction decode(NulsByteBuffer buffer) throws NulsException {
+        long blockHeight = buffer.readInt64();
+        Transaction tx;
+        try {
+            tx = TransactionManager.getInstance(buffer, true);
+        } catch (NulsException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new NulsException(e);
+        }
+        tx.setBlockHeight(blockHeight);
+        return tx;
+    }
+}
@@ -36,4 +36,11 @@ public interface DBConstant extends NulsConstant {
 
     String BASE_AREA_NAME = "base";
 
+    /**
+     * 存储引擎名称
+     * Storage engine names.
+     */
+    String ENGINE_LEVELDB = "leveldb";
+    String ENGINE_ROCKSDB = "rocksdb";
+
 }
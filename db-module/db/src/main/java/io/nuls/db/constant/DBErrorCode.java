@@ -44,4 +44,5 @@ public interface DBErrorCode extends KernelErrorCode {
     ErrorCode DB_AREA_CREATE_PATH_ERROR = ErrorCode.init("DB005", "20013");
     ErrorCode DB_AREA_DESTROY_ERROR = ErrorCode.init("DB006", "20014");
     ErrorCode DB_BATCH_CLOSE = ErrorCode.init("DB007", "20015");
+    ErrorCode DB_BATCH_JOURNAL_ERROR = ErrorCode.init("DB008", "20016");
 }
\ No newline at end of file
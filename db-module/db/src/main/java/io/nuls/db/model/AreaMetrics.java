@@ -0,0 +1,105 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.model;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 数据区域的运行指标：读写删除和批量提交的耗时直方图、批量操作条数、读写字节数
+ * Runtime metrics of a data area: latency histograms of get/put/delete and batch commits, batch sizes and bytes read/written.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/26
+ */
+public class AreaMetrics {
+
+    private final String area;
+    private final Histogram getLatency = new Histogram(Histogram.LATENCY_MICROS_BOUNDS);
+    private final Histogram putLatency = new Histogram(Histogram.LATENCY_MICROS_BOUNDS);
+    private final Histogram deleteLatency = new Histogram(Histogram.LATENCY_MICROS_BOUNDS);
+    private final Histogram batchLatency = new Histogram(Histogram.LATENCY_MICROS_BOUNDS);
+    private final Histogram batchSize = new Histogram(Histogram.BATCH_SIZE_BOUNDS);
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    public AreaMetrics(String area) {
+        this.area = area;
+    }
+
+    private static long micros(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @param startNanos System.nanoTime() before the read
+     * @param value      读到的值，不存在时为null/The value read, null if absent.
+     */
+    public void recordGet(long startNanos, byte[] value) {
+        getLatency.record(micros(startNanos));
+        if (value != null) {
+            bytesRead.add(value.length);
+        }
+    }
+
+    public void recordPut(long startNanos, byte[] key, byte[] value) {
+        putLatency.record(micros(startNanos));
+        bytesWritten.add(key.length + value.length);
+    }
+
+    public void recordDelete(long startNanos, byte[] key) {
+        deleteLatency.record(micros(startNanos));
+        bytesWritten.add(key.length);
+    }
+
+    /**
+     * @param startNanos System.nanoTime() before the commit
+     * @param size       批量中的操作条数/The number of operations in the batch.
+     * @param bytes      批量中写入的key和value字节数/The bytes of keys and values written by the batch.
+     */
+    public void recordBatch(long startNanos, int size, long bytes) {
+        batchLatency.record(micros(startNanos));
+        batchSize.record(size);
+        bytesWritten.add(bytes);
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    /**
+     * 生成当前指标的快照，并附带存储引擎提供的统计
+     * Take a snapshot of the current metrics together with the statistics provided by the storage engine.
+     *
+     * @param approximateSize 区域在磁盘上的估算大小，未知时为-1/The approximate size on disk, -1 if unknown.
+     * @param properties      存储引擎的属性统计/Property statistics of the storage engine.
+     * @return
+     */
+    public AreaStats toStats(long approximateSize, Map<String, String> properties) {
+        return new AreaStats(area, getLatency.copy(), putLatency.copy(), deleteLatency.copy(), batchLatency.copy(),
+                batchSize.copy(), bytesRead.sum(), bytesWritten.sum(), approximateSize, properties);
+    }
+}
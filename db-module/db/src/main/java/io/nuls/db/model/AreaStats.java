@@ -0,0 +1,109 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.model;
+
+import java.util.Map;
+
+/**
+ * 数据区域的统计快照，耗时单位为微秒
+ * A statistics snapshot of a data area, latencies are in microseconds.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/26
+ */
+public class AreaStats {
+
+    private String area;
+    private Histogram getLatency;
+    private Histogram putLatency;
+    private Histogram deleteLatency;
+    private Histogram batchLatency;
+    private Histogram batchSize;
+    private long bytesRead;
+    private long bytesWritten;
+    private long approximateSize;
+    private Map<String, String> properties;
+
+    public AreaStats(String area, Histogram getLatency, Histogram putLatency, Histogram deleteLatency, Histogram batchLatency,
+                     Histogram batchSize, long bytesRead, long bytesWritten, long approximateSize, Map<String, String> properties) {
+        this.area = area;
+        this.getLatency = getLatency;
+        this.putLatency = putLatency;
+        this.deleteLatency = deleteLatency;
+        this.batchLatency = batchLatency;
+        this.batchSize = batchSize;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.approximateSize = approximateSize;
+        this.properties = properties;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public Histogram getGetLatency() {
+        return getLatency;
+    }
+
+    public Histogram getPutLatency() {
+        return putLatency;
+    }
+
+    public Histogram getDeleteLatency() {
+        return deleteLatency;
+    }
+
+    public Histogram getBatchLatency() {
+        return batchLatency;
+    }
+
+    public Histogram getBatchSize() {
+        return batchSize;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public long getApproximateSize() {
+        return approximateSize;
+    }
+
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public String toString() {
+        return "AreaStats{area=" + area + ", get=" + getLatency + ", put=" + putLatency + ", delete=" + deleteLatency
+                + ", batch=" + batchLatency + ", batchSize=" + batchSize + ", bytesRead=" + bytesRead
+                + ", bytesWritten=" + bytesWritten + ", approximateSize=" + approximateSize + "}";
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.model;
+
+/**
+ * 数据区域读缓存的统计信息
+ * Statistics of the read cache of a data area.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/25
+ */
+public class CacheStats {
+
+    private String area;
+    private long maxBytes;
+    private long currentBytes;
+    private int size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public CacheStats(String area, long maxBytes, long currentBytes, int size, long hitCount, long missCount, long evictionCount) {
+        this.area = area;
+        this.maxBytes = maxBytes;
+        this.currentBytes = currentBytes;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    public String getArea() {
+        return area;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 命中率，没有读取时为0
+     * The hit rate, 0 when nothing has been read.
+     */
+    public double getHitRate() {
+        long total = hitCount + missCount;
+        if (total == 0) {
+            return 0;
+        }
+        return (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{area=" + area + ", maxBytes=" + maxBytes + ", currentBytes=" + currentBytes + ", size=" + size
+                + ", hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount + "}";
+    }
+}
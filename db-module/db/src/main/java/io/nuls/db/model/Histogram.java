@@ -0,0 +1,165 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定桶边界的线程安全直方图，记录次数、总和、最大值和落在每个桶内的次数
+ * A thread-safe histogram with fixed bucket bounds, recording the count, sum, max and the count of each bucket.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/26
+ */
+public class Histogram {
+
+    /**
+     * 耗时桶的上界（微秒），最后一个桶为超过最大上界的部分
+     * The upper bounds of the latency buckets (microseconds), the last bucket holds everything above the largest bound.
+     */
+    public static final long[] LATENCY_MICROS_BOUNDS = {10, 50, 100, 500, 1000, 5000, 10000, 50000, 100000, 500000, 1000000};
+
+    /**
+     * 批量操作条数桶的上界
+     * The upper bounds of the batch size buckets.
+     */
+    public static final long[] BATCH_SIZE_BOUNDS = {1, 10, 100, 1000, 10000, 100000};
+
+    private final long[] bounds;
+    private final AtomicLongArray buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public Histogram(long[] bounds) {
+        this.bounds = bounds;
+        this.buckets = new AtomicLongArray(bounds.length + 1);
+    }
+
+    private Histogram(Histogram source) {
+        this.bounds = source.bounds;
+        this.buckets = new AtomicLongArray(bounds.length + 1);
+        for (int i = 0; i < buckets.length(); i++) {
+            this.buckets.set(i, source.buckets.get(i));
+        }
+        this.count.add(source.count.sum());
+        this.sum.add(source.sum.sum());
+        this.max.set(source.max.get());
+    }
+
+    public void record(long value) {
+        int i = 0;
+        while (i < bounds.length && value > bounds[i]) {
+            i++;
+        }
+        buckets.incrementAndGet(i);
+        count.increment();
+        sum.add(value);
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 复制当前的统计值，用于对外展示
+     * Copy the current values, used for reporting.
+     */
+    public Histogram copy() {
+        return new Histogram(this);
+    }
+
+    public long[] getBounds() {
+        return bounds;
+    }
+
+    public long[] getBuckets() {
+        long[] result = new long[buckets.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buckets.get(i);
+        }
+        return result;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long c = count.sum();
+        if (c == 0) {
+            return 0;
+        }
+        return (double) sum.sum() / c;
+    }
+
+    /**
+     * 估算百分位数，返回该百分位所在桶的上界，落在最后一个桶时返回最大值
+     * Estimate a percentile, returns the upper bound of the bucket it falls in, or the max when it falls in the last bucket.
+     *
+     * @param percent 0-100
+     * @return
+     */
+    public long getPercentile(double percent) {
+        long c = count.sum();
+        if (c == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(c * percent / 100);
+        long seen = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return Math.min(bounds[i], max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public long getP50() {
+        return getPercentile(50);
+    }
+
+    public long getP99() {
+        return getPercentile(99);
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram{count=" + getCount() + ", mean=" + getMean() + ", p50=" + getP50() + ", p99=" + getP99() + ", max=" + getMax() + "}";
+    }
+}
@@ -28,6 +28,11 @@ import io.nuls.db.constant.DBConstant;
 import io.nuls.kernel.module.BaseModuleBootstrap;
 
 /**
+ * 存储引擎的扩展点：每个存储引擎模块提供一个继承此类的启动类，以及一个带@Service注解的DBService实现
+ * 运行时classpath中只能有一个存储引擎的jar，启动类在modules.ini的[db]中配置
+ * The extension point of storage engines: each engine module provides a bootstrap extending this class and a DBService implementation annotated with @Service.
+ * Only one engine jar may be on the runtime classpath, and its bootstrap is configured in the [db] section of modules.ini.
+ *
  * @desription:
  * @author: PierreLuo
  * @date: 2018/5/7
@@ -38,4 +43,12 @@ public abstract class AbstractDBModule extends BaseModuleBootstrap {
         super(DBConstant.MODULE_ID_DB);
     }
 
+    /**
+     * 存储引擎名称，见DBConstant.ENGINE_*
+     * The name of the storage engine, see DBConstant.ENGINE_*.
+     *
+     * @return
+     */
+    public abstract String getEngineName();
+
 }
@@ -0,0 +1,72 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.service;
+
+import io.nuls.db.model.Entry;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * 数据区域的流式游标，按key的字节序（LevelDB默认排序）逐条读取，不会把整个区域加载到内存
+ * 使用完毕后必须调用close释放底层迭代器
+ * A streaming cursor over a data area, reading entries one by one in the byte order of the keys (LevelDB's default order),
+ * without loading the whole area into memory.
+ * The cursor must be closed after use to release the underlying iterator.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/20
+ */
+public interface DBCursor extends Iterator<Entry<byte[], byte[]>>, Closeable {
+
+    /**
+     * 定位到数据区域的第一个key
+     * Position the cursor at the first key in the data area.
+     */
+    void seekToFirst();
+
+    /**
+     * 定位到第一个大于或等于指定key的位置
+     * Position the cursor at the first key that is greater than or equal to the specified key.
+     *
+     * @param key
+     */
+    void seek(byte[] key);
+
+    /**
+     * 读取下一条记录但不移动游标
+     * Read the next entry without moving the cursor.
+     *
+     * @return
+     */
+    Entry<byte[], byte[]> peekNext();
+
+    /**
+     * 关闭游标，释放底层迭代器
+     * Close the cursor and release the underlying iterator.
+     */
+    @Override
+    void close();
+}
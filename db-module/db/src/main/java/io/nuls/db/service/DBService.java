@@ -24,6 +24,8 @@
 package io.nuls.db.service;
 
 
+import io.nuls.db.model.AreaStats;
+import io.nuls.db.model.CacheStats;
 import io.nuls.db.model.Entry;
 import io.nuls.db.model.ModelWrapper;
 import io.nuls.kernel.model.BaseNulsData;
@@ -228,6 +230,69 @@ public interface DBService {
      */
     <T> List<T> values(String area, Class<T> clazz);
 
+    /**
+     * 打开数据区域的流式游标，调用方负责关闭
+     * Open a streaming cursor on the data area, the caller is responsible for closing it.
+     *
+     * @param area
+     * @return 区域不存在时返回null / null if the area does not exist.
+     */
+    DBCursor openCursor(String area);
+
+    /**
+     * 获取key以指定前缀开头的key-value有序集合，只读取该前缀范围内的数据
+     * Gets the ordered key-values whose key starts with the specified prefix, reading only that key range.
+     *
+     * @param area
+     * @param prefix key前缀/key prefix.
+     * @param limit  最多返回的条数，小于等于0表示不限制/The maximum number of entries, no limit when less than or equal to 0.
+     * @return
+     */
+    List<Entry<byte[], byte[]>> prefixEntryList(String area, byte[] prefix, int limit);
+
+    /**
+     * 获取[startKey, endKey)范围内的key-value有序集合，按key的字节序排列
+     * Gets the ordered key-values in the range [startKey, endKey), sorted by the byte order of the keys.
+     *
+     * @param area
+     * @param startKey 起始key(包含)，为null时从第一个key开始/The start key (inclusive), from the first key if null.
+     * @param endKey   结束key(不包含)，为null时直到最后一个key/The end key (exclusive), to the last key if null.
+     * @param reverse  是否倒序返回/Whether to return in reverse order.
+     * @param limit    最多返回的条数，小于等于0表示不限制；倒序时返回范围内最后的limit条
+     *                 The maximum number of entries, no limit when less than or equal to 0; in reverse order the last limit entries of the range are returned.
+     * @return
+     */
+    List<Entry<byte[], byte[]>> rangeEntryList(String area, byte[] startKey, byte[] endKey, boolean reverse, int limit);
+
+    /**
+     * 获取数据区域中key的估算数量，不会把数据读入内存集合中，区域不存在时返回-1
+     * 返回值是估算值，不能用于需要精确数量的逻辑，需要精确数量时请遍历区域
+     * LevelDB在第一次查询时遍历一次区域，之后由写入维护计数，第一次遍历期间的并发写入可能使计数产生偏差；
+     * 计数开始后，该区域的每次写入和删除都会多读一次key是否存在
+     * RocksDB使用引擎的rocksdb.estimate-num-keys，覆盖写入和删除在压缩之前都会使其偏离实际数量
+     * Gets the approximate number of keys in the data area without loading the data into a collection, -1 if the area does not exist.
+     * The result is an estimate and must not be used where an exact count is required, scan the area for that.
+     * LevelDB scans the area once on the first query and maintains the count by writes afterwards,
+     * writes concurrent with that first scan can make the count drift; once counting has started,
+     * every put and delete on the area does one extra read to check whether the key exists.
+     * RocksDB uses the rocksdb.estimate-num-keys property of the engine, overwrites and deletes skew it until compaction.
+     *
+     * @param area
+     * @return
+     */
+    long approximateCount(String area);
+
+    /**
+     * 获取[startKey, endKey)范围内数据占用的估算磁盘大小（字节），区域不存在时返回-1
+     * Gets the approximate disk size (bytes) of the data in the range [startKey, endKey), -1 if the area does not exist.
+     *
+     * @param area
+     * @param startKey 起始key(包含)，为null时从第一个key开始/The start key (inclusive), from the first key if null.
+     * @param endKey   结束key(不包含)，为null时直到最后一个key/The end key (exclusive), to the last key if null.
+     * @return
+     */
+    long approximateSize(String area, byte[] startKey, byte[] endKey);
+
     /**
      * 指定数据区域的批量增删改操作
      * Specifies the batch add, delete, update operations in the data area.
@@ -237,4 +302,50 @@ public interface DBService {
      */
     BatchOperation createWriteBatch(String area);
 
+    /**
+     * 跨多个数据区域的批量增删改操作，提交时所有区域的修改原子生效
+     * Batch add, delete, update operations across multiple data areas, the changes of all areas take effect atomically on commit.
+     *
+     * @return
+     */
+    MultiBatchOperation createMultiWriteBatch();
+
+    /**
+     * 创建指定数据区域的一致性只读快照，不指定区域时包含所有区域，调用方负责关闭
+     * 快照在跨区域批量操作之间创建，不会读到只提交了一部分区域的数据
+     * Create a consistent read-only snapshot of the specified data areas, all areas if none is specified, the caller is responsible for closing it.
+     * The snapshot is created between multi-area batches, so it never sees a batch applied to only some of the areas.
+     *
+     * @param areas
+     * @return
+     */
+    DBSnapshot openSnapshot(String... areas);
+
+    /**
+     * 获取所有开启了读缓存的数据区域的缓存统计（命中、未命中、淘汰次数和占用字节数）
+     * 缓存大小通过db_config.properties中的leveldb.cache.bytes.{area}或leveldb.cache.default.bytes配置
+     * Gets the cache statistics (hits, misses, evictions and bytes used) of all data areas with a read cache.
+     * The cache size is configured by leveldb.cache.bytes.{area} or leveldb.cache.default.bytes in db_config.properties.
+     *
+     * @return
+     */
+    List<CacheStats> getCacheStats();
+
+    /**
+     * 获取所有数据区域的统计：读写删除和批量提交的耗时直方图（微秒）、批量操作条数、读写字节数，以及存储引擎提供的估算大小和属性统计
+     * Gets the statistics of all data areas: latency histograms (microseconds) of get/put/delete and batch commits, batch sizes,
+     * bytes read and written, plus the approximate size and property stats provided by the storage engine.
+     *
+     * @return
+     */
+    List<AreaStats> getAreaStats();
+
+    /**
+     * 当前使用的存储引擎名称，见DBConstant.ENGINE_*
+     * The name of the storage engine in use, see DBConstant.ENGINE_*.
+     *
+     * @return
+     */
+    String getEngineName();
+
 }
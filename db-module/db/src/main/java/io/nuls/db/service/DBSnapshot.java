@@ -0,0 +1,99 @@
+/**
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.service;
+
+import io.nuls.db.model.Entry;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * 数据区域的只读快照，读取的是快照创建时刻的数据，不受之后写入的影响
+ * 快照会阻止LevelDB回收旧数据，使用完毕后必须调用close释放，长时间未释放的快照会被记录为泄漏
+ * A read-only snapshot of data areas, reading the data as of the moment the snapshot was created, unaffected by later writes.
+ * A snapshot prevents LevelDB from reclaiming old data, it must be closed after use; snapshots held for a long time are reported as leaks.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/22
+ */
+public interface DBSnapshot extends Closeable {
+
+    /**
+     * 根据key获取快照中的value
+     * Get value from the key in the snapshot.
+     *
+     * @param area
+     * @param key
+     * @return
+     */
+    byte[] get(String area, byte[] key);
+
+    /**
+     * 根据key和对象class获取快照中的指定对象
+     * Gets the specified object in the snapshot from the key and object class.
+     *
+     * @param area
+     * @param key
+     * @param clazz 指定对象的class/Specifies the class of the object.
+     * @param <T>
+     * @return
+     */
+    <T> T getModel(String area, byte[] key, Class<T> clazz);
+
+    /**
+     * 打开快照中数据区域的流式游标，调用方负责关闭
+     * Open a streaming cursor on the data area in the snapshot, the caller is responsible for closing it.
+     *
+     * @param area
+     * @return 区域不在快照中时返回null / null if the area is not in the snapshot.
+     */
+    DBCursor openCursor(String area);
+
+    /**
+     * 获取快照中key以指定前缀开头的key-value有序集合
+     * Gets the ordered key-values in the snapshot whose key starts with the specified prefix.
+     *
+     * @param area
+     * @param prefix
+     * @param limit 小于等于0表示不限制/no limit when less than or equal to 0.
+     * @return
+     */
+    List<Entry<byte[], byte[]>> prefixEntryList(String area, byte[] prefix, int limit);
+
+    /**
+     * 快照的创建时间
+     * The creation time of the snapshot.
+     *
+     * @return
+     */
+    long getCreateTime();
+
+    /**
+     * 释放快照
+     * Release the snapshot.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,155 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.manager;
+
+import io.nuls.db.model.CacheStats;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据区域的读缓存，按LRU淘汰，容量按key和value的字节数计算
+ * 写入、删除和批量提交时使对应的key失效；读取前记录版本号，读取期间发生过失效则不放入缓存，避免缓存旧数据
+ * The read cache of a data area, evicted by LRU, with the capacity counted in bytes of keys and values.
+ * Puts, deletes and committed batches invalidate the keys; a read records the version first and is not cached
+ * if anything was invalidated meanwhile, so stale values never enter the cache.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/25
+ */
+public class AreaCache {
+
+    /**
+     * 每条缓存的估算额外开销
+     * The estimated overhead of each cached entry.
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final String area;
+    private final long maxBytes;
+    private long currentBytes;
+    private final LinkedHashMap<Key, byte[]> map = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong version = new AtomicLong(0);
+    private final AtomicLong hitCount = new AtomicLong(0);
+    private final AtomicLong missCount = new AtomicLong(0);
+    private final AtomicLong evictionCount = new AtomicLong(0);
+
+    public AreaCache(String area, long maxBytes) {
+        this.area = area;
+        this.maxBytes = maxBytes;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public byte[] get(byte[] key) {
+        byte[] value;
+        synchronized (this) {
+            value = map.get(new Key(key));
+        }
+        if (value == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        // 返回副本，调用方修改返回值不会影响缓存
+        return value.clone();
+    }
+
+    /**
+     * 放入从数据库读取的值，readVersion为读取前的版本号
+     * Put the value read from the database, readVersion is the version before the read.
+     */
+    public synchronized void put(byte[] key, byte[] value, long readVersion) {
+        if (readVersion != version.get()) {
+            return;
+        }
+        long entryBytes = key.length + value.length + ENTRY_OVERHEAD;
+        if (entryBytes > maxBytes) {
+            return;
+        }
+        byte[] old = map.put(new Key(key.clone()), value.clone());
+        if (old != null) {
+            currentBytes -= key.length + old.length + ENTRY_OVERHEAD;
+        }
+        currentBytes += entryBytes;
+        Iterator<Map.Entry<Key, byte[]>> iterator = map.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Key, byte[]> eldest = iterator.next();
+            currentBytes -= eldest.getKey().bytes.length + eldest.getValue().length + ENTRY_OVERHEAD;
+            iterator.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    public synchronized void invalidate(byte[] key) {
+        version.incrementAndGet();
+        byte[] old = map.remove(new Key(key));
+        if (old != null) {
+            currentBytes -= key.length + old.length + ENTRY_OVERHEAD;
+        }
+    }
+
+    public synchronized void clear() {
+        version.incrementAndGet();
+        map.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(area, maxBytes, currentBytes, map.size(), hitCount.get(), missCount.get(), evictionCount.get());
+    }
+
+    private static final class Key {
+        private final byte[] bytes;
+        private final int hash;
+
+        private Key(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            return Arrays.equals(bytes, ((Key) obj).bytes);
+        }
+    }
+}
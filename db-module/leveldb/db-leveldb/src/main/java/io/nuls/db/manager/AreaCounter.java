@@ -0,0 +1,161 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.manager;
+
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.DBIterator;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据区域的key数量计数器，第一次查询时流式遍历一次key得到初始值，之后由写入、删除和批量提交维护
+ * 计数开始后，写入和删除前会先读取key是否存在，所以没有查询过数量的区域不会有额外开销
+ * 遍历与并发写入之间没有加锁，结果是估算值
+ * The key counter of a data area, initialized by streaming over the keys once on the first query, then maintained by puts, deletes and committed batches.
+ * Once counting has started, puts and deletes first read whether the key exists, so areas whose count was never queried have no extra cost.
+ * The initial scan is not locked against concurrent writes, so the result is an estimate.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/7/4
+ */
+public class AreaCounter {
+
+    private final AtomicLong count = new AtomicLong(0);
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long get() {
+        return Math.max(0L, count.get());
+    }
+
+    public void add(long delta) {
+        if (ready && delta != 0) {
+            count.addAndGet(delta);
+        }
+    }
+
+    /**
+     * 区域被绕过计数器直接写入后调用（例如重放日志），下次查询时重新计数
+     * Called after the area was written without going through the counter (e.g. a journal replay), it is recounted on the next query.
+     */
+    synchronized void reset() {
+        ready = false;
+        count.set(0);
+    }
+
+    /**
+     * 流式遍历一次区域的key作为初始值，不会把key放入内存集合中
+     * Initialize by streaming over the keys of the area once, without collecting them in memory.
+     *
+     * @param db
+     * @throws IOException
+     */
+    synchronized void init(DB db) throws IOException {
+        if (ready) {
+            return;
+        }
+        // 迭代器读取的是创建时的隐式快照，遍历期间的写入不会被计入
+        // The iterator reads the implicit snapshot taken on creation, writes during the scan are not counted.
+        long total = 0;
+        try (DBIterator iterator = db.iterator()) {
+            for (iterator.seekToFirst(); iterator.hasNext(); iterator.next()) {
+                total++;
+            }
+        }
+        count.set(total);
+        ready = true;
+    }
+
+    /**
+     * 批量操作中的key变化，按key记录最后一次操作，提交前计算数量的变化
+     * The key changes in a batch operation, the last operation of each key is kept and the count delta is computed before the commit.
+     */
+    public static class Changes {
+
+        private final Map<Key, Boolean> changes = new HashMap<>();
+
+        public void put(byte[] key) {
+            changes.put(new Key(key), Boolean.TRUE);
+        }
+
+        public void delete(byte[] key) {
+            changes.put(new Key(key), Boolean.FALSE);
+        }
+
+        /**
+         * 在批量写入之前调用，读取每个key当前是否存在
+         * Called before the batch is written, reads whether each key currently exists.
+         *
+         * @param db
+         * @return 数量的变化/the count delta
+         */
+        public long delta(DB db) {
+            long delta = 0;
+            for (Map.Entry<Key, Boolean> entry : changes.entrySet()) {
+                boolean exists = db.get(entry.getKey().bytes) != null;
+                if (entry.getValue() && !exists) {
+                    delta++;
+                } else if (!entry.getValue() && exists) {
+                    delta--;
+                }
+            }
+            return delta;
+        }
+    }
+
+    private static final class Key {
+        private final byte[] bytes;
+        private final int hash;
+
+        private Key(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            return Arrays.equals(bytes, ((Key) obj).bytes);
+        }
+    }
+}
@@ -23,28 +23,39 @@
  */
 package io.nuls.db.manager;
 
+import io.nuls.core.tools.array.ArraysTool;
 import io.nuls.core.tools.cfg.ConfigLoader;
 import io.nuls.core.tools.log.Log;
 import io.nuls.core.tools.str.StringUtils;
+import io.nuls.db.codec.ModelCodecRegistry;
 import io.nuls.db.constant.DBErrorCode;
+import io.nuls.db.model.AreaMetrics;
+import io.nuls.db.model.AreaStats;
+import io.nuls.db.model.CacheStats;
 import io.nuls.db.model.Entry;
-import io.nuls.db.model.ModelWrapper;
+import io.nuls.db.service.DBSnapshot;
 import io.nuls.kernel.constant.KernelErrorCode;
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.exception.NulsRuntimeException;
 import io.nuls.kernel.model.Result;
-import io.protostuff.LinkedBuffer;
-import io.protostuff.ProtostuffIOUtil;
-import io.protostuff.runtime.RuntimeSchema;
+import io.nuls.kernel.utils.NulsByteBuffer;
 import org.iq80.leveldb.DB;
 import org.iq80.leveldb.DBFactory;
 import org.iq80.leveldb.DBIterator;
 import org.iq80.leveldb.Options;
+import org.iq80.leveldb.Range;
+import org.iq80.leveldb.Snapshot;
+import org.iq80.leveldb.WriteBatch;
+import org.iq80.leveldb.WriteOptions;
 import org.iq80.leveldb.impl.Iq80DBFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static io.nuls.core.tools.str.StringUtils.bytes;
@@ -62,8 +73,6 @@ public class LevelDBManager {
     private static final ConcurrentHashMap<String, DB> AREAS = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<String, Comparator<byte[]>> AREAS_COMPARATOR = new ConcurrentHashMap<>();
 
-    private static final Map<Class, RuntimeSchema> SCHEMA_MAP = new ConcurrentHashMap<>();
-
     private static final String BASE_DB_NAME = "leveldb";
 
     private static volatile boolean isInit = false;
@@ -72,6 +81,94 @@ public class LevelDBManager {
 
     private static String dataPath;
 
+    /**
+     * 跨区域批量操作的日志存放在BASE_AREA中，key为前缀加递增序号
+     * The journal of multi-area batches is stored in BASE_AREA, the key is the prefix plus an increasing sequence.
+     */
+    private static final byte[] JOURNAL_PREFIX = bytes("journal-");
+
+    /**
+     * 日志序号，启动时从已存在的最大序号继续递增，避免覆盖未重放的日志
+     * The journal sequence, continues from the largest existing one on start so that unreplayed journals are never overwritten.
+     */
+    private static final AtomicLong JOURNAL_SEQ = new AtomicLong(0);
+
+    /**
+     * 存在未重放成功的日志时为true，此时拒绝新的跨区域批量操作，直到日志重放成功
+     * True while there are journals that failed to replay, new multi-area batches are refused until they are replayed.
+     */
+    private static volatile boolean journalPending;
+
+    private static final ReentrantLock JOURNAL_LOCK = new ReentrantLock();
+
+    /**
+     * 每提交多少个跨区域批量操作做一次检查点，检查点把相关区域同步落盘后批量删除日志
+     * A checkpoint is made every this many multi-area batches, it syncs the touched areas and then retires the journals in bulk.
+     */
+    private static final int JOURNAL_CHECKPOINT_INTERVAL = 64;
+
+    /**
+     * 检查点时在每个区域同步删除的保留key，删除一个不存在的key会写入日志并触发fsync，但不改变区域中的数据
+     * Reserved key deleted synchronously in each area on a checkpoint, deleting an absent key writes a log record and
+     * triggers an fsync without changing the data of the area.
+     */
+    private static final byte[] JOURNAL_CHECKPOINT_KEY = bytes("journal-checkpoint");
+
+    /**
+     * 日志尚未删除的区域，这些区域的普通写入之前要先做检查点，否则重启时重放的旧日志会覆盖之后的普通写入
+     * Areas with journals not retired yet; a plain write to one of them makes a checkpoint first,
+     * otherwise replaying the old journals on restart would overwrite the later plain write.
+     */
+    private static final Set<String> JOURNAL_AREAS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 上次检查点之后提交的跨区域批量操作数量，由JOURNAL_LOCK保护
+     * Multi-area batches committed since the last checkpoint, guarded by JOURNAL_LOCK.
+     */
+    private static int unretiredJournals;
+
+    /**
+     * 当前未释放的快照，用于泄漏检查和关闭数据库时释放
+     * Snapshots not released yet, used for the leak check and released when the database is closed.
+     */
+    private static final Set<DBSnapshot> OPEN_SNAPSHOTS = ConcurrentHashMap.newKeySet();
+
+    private static long snapshotLeakMillis;
+
+    /**
+     * 各数据区域的读缓存，只有配置了缓存大小的区域才有
+     * The read cache of each data area, only for areas with a configured cache size.
+     */
+    private static final ConcurrentHashMap<String, AreaCache> AREA_CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * 各数据区域的运行指标
+     * The runtime metrics of each data area.
+     */
+    private static final ConcurrentHashMap<String, AreaMetrics> AREA_METRICS = new ConcurrentHashMap<>();
+
+    /**
+     * 各数据区域的key数量计数器
+     * The key counter of each data area.
+     */
+    private static final ConcurrentHashMap<String, AreaCounter> AREA_COUNTERS = new ConcurrentHashMap<>();
+
+    /**
+     * 查询区域统计时读取的LevelDB属性
+     * The LevelDB properties read when querying area statistics.
+     */
+    private static final String[] STATS_PROPERTIES = {"leveldb.stats", "leveldb.sstables", "leveldb.approximate-memory-usage"};
+
+    private static final int STATS_LEVELS = 7;
+
+    /**
+     * 估算区域大小时使用的上界key，大于所有实际使用的key
+     * The upper bound key used to estimate the area size, greater than every key in use.
+     */
+    private static final byte[] MAX_KEY = maxKey(256);
+
+    private static Properties properties;
+
     public static int getMax() {
         return max;
     }
@@ -87,7 +184,6 @@ public class LevelDBManager {
             dataPath = dir.getPath();
             Log.info("LevelDBManager dataPath is " + dataPath);
 
-            initSchema();
             initBaseDB(dataPath);
 
             File[] areaFiles = dir.listFiles();
@@ -105,20 +201,19 @@ public class LevelDBManager {
                     db = initOpenDB(dbPath);
                     if (db != null) {
                         AREAS.put(areaFile.getName(), db);
+                        initAreaCache(areaFile.getName());
+                        AREA_METRICS.put(areaFile.getName(), new AreaMetrics(areaFile.getName()));
+                        AREA_COUNTERS.put(areaFile.getName(), new AreaCounter());
                     }
                 } catch (Exception e) {
                     Log.warn("load area failed, areaName: " + areaFile.getName() + ", dbPath: " + dbPath, e);
                 }
 
             }
+            initJournal();
         }
     }
 
-    private static void initSchema() {
-        RuntimeSchema schema = RuntimeSchema.createFrom(ModelWrapper.class);
-        SCHEMA_MAP.put(ModelWrapper.class, schema);
-    }
-
 
     /**
      * 优先初始化BASE_AREA
@@ -141,6 +236,8 @@ public class LevelDBManager {
             try {
                 DB db = openDB(filePath, true, null, null);
                 AREAS.put(BASE_AREA_NAME, db);
+                AREA_METRICS.put(BASE_AREA_NAME, new AreaMetrics(BASE_AREA_NAME));
+                AREA_COUNTERS.put(BASE_AREA_NAME, new AreaCounter());
             } catch (IOException e) {
                 Log.error(e);
             }
@@ -148,7 +245,7 @@ public class LevelDBManager {
     }
 
     private static File loadDataPath() throws Exception {
-        Properties properties = ConfigLoader.loadProperties("db_config.properties");
+        properties = ConfigLoader.loadProperties("db_config.properties");
         String path = properties.getProperty("leveldb.datapath", "./data/kv");
         String max_str = properties.getProperty("leveldb.area.max", "20");
         try {
@@ -157,6 +254,13 @@ public class LevelDBManager {
             //skip it
             max = 20;
         }
+        String leakSeconds = properties.getProperty("leveldb.snapshot.leak.seconds", "300");
+        try {
+            snapshotLeakMillis = Long.parseLong(leakSeconds) * 1000L;
+        } catch (Exception e) {
+            //skip it
+            snapshotLeakMillis = 300000L;
+        }
         File dir = null;
         String pathSeparator = System.getProperty("path.separator");
         String unixPathSeparator = ":";
@@ -247,6 +351,9 @@ public class LevelDBManager {
                 String filePath = dataPath + File.separator + areaName + File.separator + BASE_DB_NAME;
                 DB db = openDB(filePath, true, cacheSize, comparator);
                 AREAS.put(areaName, db);
+                initAreaCache(areaName);
+                AREA_METRICS.put(areaName, new AreaMetrics(areaName));
+                AREA_COUNTERS.put(areaName, new AreaCounter());
                 result = Result.getSuccess();
             } catch (Exception e) {
                 Log.error("error create area: " + areaName, e);
@@ -279,6 +386,9 @@ public class LevelDBManager {
             destroyDB(filePath);
             AREAS.remove(areaName);
             AREAS_COMPARATOR.remove(areaName);
+            AREA_CACHES.remove(areaName);
+            AREA_METRICS.remove(areaName);
+            AREA_COUNTERS.remove(areaName);
             delete(BASE_AREA_NAME, bytes(areaName + "-comparator"));
             delete(BASE_AREA_NAME, bytes(areaName + "-cacheSize"));
             result = Result.getSuccess();
@@ -301,11 +411,20 @@ public class LevelDBManager {
      * 关闭所有数据区域
      */
     public static void close() {
+        // 正常关闭时先做检查点，下次启动时不需要重放日志
+        // Make a checkpoint on a clean shutdown, so that no journal needs replaying on the next start
+        checkpointJournal();
+        for (DBSnapshot snapshot : OPEN_SNAPSHOTS) {
+            snapshot.close();
+        }
         Set<Map.Entry<String, DB>> entries = AREAS.entrySet();
         for (Map.Entry<String, DB> entry : entries) {
             try {
                 AREAS.remove(entry.getKey());
                 AREAS_COMPARATOR.remove(entry.getKey());
+                AREA_CACHES.remove(entry.getKey());
+                AREA_METRICS.remove(entry.getKey());
+                AREA_COUNTERS.remove(entry.getKey());
                 entry.getValue().close();
             } catch (Exception e) {
                 Log.warn("close leveldb error", e);
@@ -320,6 +439,9 @@ public class LevelDBManager {
     public static void closeArea(String area) {
         try {
             AREAS_COMPARATOR.remove(area);
+            AREA_CACHES.remove(area);
+            AREA_METRICS.remove(area);
+            AREA_COUNTERS.remove(area);
             DB db = AREAS.remove(area);
             db.close();
         } catch (IOException e) {
@@ -434,9 +556,16 @@ public class LevelDBManager {
         if (key == null || value == null) {
             return Result.getFailed(KernelErrorCode.NULL_PARAMETER);
         }
+        checkpointJournal(area);
         try {
             DB db = AREAS.get(area);
+            AreaCounter counter = getReadyCounter(area);
+            boolean exists = counter != null && db.get(key) != null;
             db.put(key, value);
+            if (counter != null && !exists) {
+                counter.add(1);
+            }
+            invalidateCache(area, key);
             return Result.getSuccess();
         } catch (Exception e) {
             Log.error(e);
@@ -459,9 +588,16 @@ public class LevelDBManager {
         if (StringUtils.isBlank(key) || StringUtils.isBlank(value)) {
             return Result.getFailed(KernelErrorCode.NULL_PARAMETER);
         }
+        checkpointJournal(area);
         try {
             DB db = AREAS.get(area);
+            AreaCounter counter = getReadyCounter(area);
+            boolean exists = counter != null && db.get(bytes(key)) != null;
             db.put(bytes(key), bytes(value));
+            if (counter != null && !exists) {
+                counter.add(1);
+            }
+            invalidateCache(area, bytes(key));
             return Result.getSuccess();
         } catch (Exception e) {
             Log.error(e);
@@ -484,9 +620,16 @@ public class LevelDBManager {
         if (key == null || StringUtils.isBlank(value)) {
             return Result.getFailed(KernelErrorCode.NULL_PARAMETER);
         }
+        checkpointJournal(area);
         try {
             DB db = AREAS.get(area);
+            AreaCounter counter = getReadyCounter(area);
+            boolean exists = counter != null && db.get(key) != null;
             db.put(key, bytes(value));
+            if (counter != null && !exists) {
+                counter.add(1);
+            }
+            invalidateCache(area, key);
             return Result.getSuccess();
         } catch (Exception e) {
             Log.error(e);
@@ -524,14 +667,11 @@ public class LevelDBManager {
     }
 
     public static <T> byte[] getModelSerialize(T value) {
-        if (SCHEMA_MAP.get(ModelWrapper.class) == null) {
-            RuntimeSchema schema = RuntimeSchema.createFrom(ModelWrapper.class);
-            SCHEMA_MAP.put(ModelWrapper.class, schema);
+        try {
+            return ModelCodecRegistry.serialize(value);
+        } catch (IOException e) {
+            throw new NulsRuntimeException(e);
         }
-        RuntimeSchema schema = SCHEMA_MAP.get(ModelWrapper.class);
-        ModelWrapper modelWrapper = new ModelWrapper(value);
-        byte[] bytes = ProtostuffIOUtil.toByteArray(modelWrapper, schema, LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE));
-        return bytes;
     }
 
     /**
@@ -548,9 +688,16 @@ public class LevelDBManager {
         if (StringUtils.isBlank(key)) {
             return Result.getFailed(KernelErrorCode.NULL_PARAMETER);
         }
+        checkpointJournal(area);
         try {
             DB db = AREAS.get(area);
+            AreaCounter counter = getReadyCounter(area);
+            boolean exists = counter != null && db.get(bytes(key)) != null;
             db.delete(bytes(key));
+            if (exists) {
+                counter.add(-1);
+            }
+            invalidateCache(area, bytes(key));
             return Result.getSuccess();
         } catch (Exception e) {
             Log.error(e);
@@ -565,9 +712,16 @@ public class LevelDBManager {
         if (key == null) {
             return Result.getFailed(KernelErrorCode.NULL_PARAMETER);
         }
+        checkpointJournal(area);
         try {
             DB db = AREAS.get(area);
+            AreaCounter counter = getReadyCounter(area);
+            boolean exists = counter != null && db.get(key) != null;
             db.delete(key);
+            if (exists) {
+                counter.add(-1);
+            }
+            invalidateCache(area, key);
             return Result.getSuccess();
         } catch (Exception e) {
             Log.error(e);
@@ -589,12 +743,7 @@ public class LevelDBManager {
         if (StringUtils.isBlank(key)) {
             return null;
         }
-        try {
-            DB db = AREAS.get(area);
-            return db.get(bytes(key));
-        } catch (Exception e) {
-            return null;
-        }
+        return get(area, bytes(key));
     }
 
     public static byte[] get(String area, byte[] key) {
@@ -606,7 +755,20 @@ public class LevelDBManager {
         }
         try {
             DB db = AREAS.get(area);
-            return db.get(key);
+            AreaCache cache = AREA_CACHES.get(area);
+            if (cache == null) {
+                return db.get(key);
+            }
+            byte[] value = cache.get(key);
+            if (value != null) {
+                return value;
+            }
+            long readVersion = cache.getVersion();
+            value = db.get(key);
+            if (value != null) {
+                cache.put(key, value, readVersion);
+            }
+            return value;
         } catch (Exception e) {
             return null;
         }
@@ -648,24 +810,25 @@ public class LevelDBManager {
             return null;
         }
         try {
-            DB db = AREAS.get(area);
-            byte[] bytes = db.get(key);
+            byte[] bytes = get(area, key);
             if (bytes == null) {
                 return null;
             }
-            RuntimeSchema schema = SCHEMA_MAP.get(ModelWrapper.class);
-            ModelWrapper model = new ModelWrapper();
-            ProtostuffIOUtil.mergeFrom(bytes, model, schema);
-            if (clazz != null && model.getT() != null) {
-                return clazz.cast(model.getT());
-            }
-            return (T) model.getT();
+            return getModelDeserialize(bytes, clazz);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
         }
     }
 
+    public static <T> T getModelDeserialize(byte[] bytes, Class<T> clazz) {
+        try {
+            return ModelCodecRegistry.deserialize(bytes, clazz);
+        } catch (NulsException e) {
+            throw new NulsRuntimeException(e);
+        }
+    }
+
     public static Set<byte[]> keySet(String area) {
         if (!baseCheckArea(area)) {
             return null;
@@ -960,4 +1123,621 @@ public class LevelDBManager {
             return null;
         }
     }
+
+    /**
+     * 获取key以指定前缀开头的key-value有序集合，通过seek定位到前缀处，遇到第一个不匹配的key即停止
+     * Gets the ordered key-values whose key starts with the prefix; seeks to the prefix and stops at the first key that does not match.
+     *
+     * @param area
+     * @param prefix
+     * @param limit 小于等于0表示不限制/no limit when less than or equal to 0.
+     * @return
+     */
+    public static List<Entry<byte[], byte[]>> prefixEntryList(String area, byte[] prefix, int limit) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        if (prefix == null) {
+            return null;
+        }
+        DBIterator iterator = null;
+        List<Entry<byte[], byte[]>> entryList = null;
+        try {
+            DB db = AREAS.get(area);
+            entryList = new ArrayList<>();
+            iterator = db.iterator();
+            Map.Entry<byte[], byte[]> entry;
+            for (iterator.seek(prefix); iterator.hasNext(); iterator.next()) {
+                entry = iterator.peekNext();
+                if (!ArraysTool.startsWith(entry.getKey(), prefix)) {
+                    break;
+                }
+                entryList.add(new Entry<byte[], byte[]>(entry.getKey(), entry.getValue()));
+                if (limit > 0 && entryList.size() >= limit) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        } finally {
+            // Make sure you close the iterator to avoid resource leaks.
+            if (iterator != null) {
+                try {
+                    iterator.close();
+                } catch (IOException e) {
+                    //skip it
+                }
+            }
+        }
+        return entryList;
+    }
+
+    /**
+     * 获取[startKey, endKey)范围内的key-value有序集合，按key的字节序排列，不使用Area的自定义比较器
+     * Java版LevelDB的迭代器不支持反向遍历，倒序时正向读取范围内的数据，只保留最后limit条，再反转返回
+     * Gets the ordered key-values in the range [startKey, endKey) by the byte order of the keys, ignoring the custom comparator of the Area.
+     * The iterator of LevelDB in Java's version does not support reverse iteration, so in reverse order the range is read forward,
+     * only the last limit entries are kept and then returned reversed.
+     *
+     * @param area
+     * @param startKey 为null时从第一个key开始/from the first key if null.
+     * @param endKey   为null时直到最后一个key/to the last key if null.
+     * @param reverse
+     * @param limit    小于等于0表示不限制/no limit when less than or equal to 0.
+     * @return
+     */
+    public static List<Entry<byte[], byte[]>> rangeEntryList(String area, byte[] startKey, byte[] endKey, boolean reverse, int limit) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        DBIterator iterator = null;
+        LinkedList<Entry<byte[], byte[]>> entryList = null;
+        try {
+            DB db = AREAS.get(area);
+            entryList = new LinkedList<>();
+            iterator = db.iterator();
+            if (startKey == null) {
+                iterator.seekToFirst();
+            } else {
+                iterator.seek(startKey);
+            }
+            Map.Entry<byte[], byte[]> entry;
+            for (; iterator.hasNext(); iterator.next()) {
+                entry = iterator.peekNext();
+                if (endKey != null && ArraysTool.compareUnsigned(entry.getKey(), endKey) >= 0) {
+                    break;
+                }
+                if (reverse) {
+                    entryList.addFirst(new Entry<byte[], byte[]>(entry.getKey(), entry.getValue()));
+                    if (limit > 0 && entryList.size() > limit) {
+                        entryList.removeLast();
+                    }
+                } else {
+                    entryList.add(new Entry<byte[], byte[]>(entry.getKey(), entry.getValue()));
+                    if (limit > 0 && entryList.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        } finally {
+            // Make sure you close the iterator to avoid resource leaks.
+            if (iterator != null) {
+                try {
+                    iterator.close();
+                } catch (IOException e) {
+                    //skip it
+                }
+            }
+        }
+        return new ArrayList<>(entryList);
+    }
+
+    /**
+     * 提交跨区域批量操作
+     * 只涉及一个区域时直接同步写入该区域；涉及多个区域时先把日志同步写入BASE_AREA，再依次写入各区域（不同步），
+     * 提交的持久性由已落盘的日志保证。日志不会立即删除，每JOURNAL_CHECKPOINT_INTERVAL次提交或者这些区域有普通写入时做一次检查点，
+     * 把相关区域同步落盘后批量删除日志，所以一次提交只有日志这一次fsync。
+     * 若写入区域中途失败，日志会被立即重放；仍失败时之后的跨区域批量操作会先重放它，重放成功前一律拒绝，下次启动时也会重放，
+     * 保证日志中的修改最终在所有区域生效，且不会被后续的批量操作越过。
+     * Commit a multi-area batch.
+     * When only one area is involved, it is written to that area directly and synchronously; otherwise the journal is first written
+     * to BASE_AREA synchronously and then each area is written without sync, the synced journal makes the commit durable.
+     * Journals are not deleted at once: every JOURNAL_CHECKPOINT_INTERVAL commits, or before a plain write to one of their areas,
+     * a checkpoint syncs the touched areas and retires the journals in bulk, so a commit pays a single fsync for the journal.
+     * If writing the areas fails halfway the journal is replayed at once; if that still fails later multi-area batches replay it first
+     * and are refused until it succeeds, and it is also replayed on the next start,
+     * so the changes of the journal eventually take effect in all areas and are never overtaken by later batches.
+     *
+     * @param batchMap 各区域的WriteBatch/WriteBatch of each area.
+     * @param journal  按顺序记录的所有操作/all operations recorded in order.
+     * @return
+     */
+    public static Result writeMultiBatch(Map<String, WriteBatch> batchMap, byte[] journal) {
+        for (String area : batchMap.keySet()) {
+            if (!baseCheckArea(area)) {
+                return Result.getFailed(DBErrorCode.DB_AREA_NOT_EXIST);
+            }
+        }
+        if (batchMap.size() == 1) {
+            Map.Entry<String, WriteBatch> entry = batchMap.entrySet().iterator().next();
+            checkpointJournal(entry.getKey());
+            try {
+                AREAS.get(entry.getKey()).write(entry.getValue(), new WriteOptions().sync(true));
+                return Result.getSuccess();
+            } catch (Exception e) {
+                Log.error(e);
+                return Result.getFailed(DBErrorCode.DB_UNKOWN_EXCEPTION, e.getMessage());
+            }
+        }
+        DB baseDB = AREAS.get(BASE_AREA_NAME);
+        if (baseDB == null) {
+            return Result.getFailed(DBErrorCode.DB_AREA_NOT_EXIST);
+        }
+        JOURNAL_LOCK.lock();
+        try {
+            if (journalPending && !replayJournal()) {
+                return Result.getFailed(DBErrorCode.DB_BATCH_JOURNAL_ERROR, "unreplayed db journal exists");
+            }
+            byte[] journalKey = ArraysTool.joinintTogether(JOURNAL_PREFIX,
+                    ByteBuffer.allocate(8).putLong(JOURNAL_SEQ.incrementAndGet()).array());
+            try {
+                baseDB.put(journalKey, journal, new WriteOptions().sync(true));
+            } catch (Exception e) {
+                Log.error(e);
+                return Result.getFailed(DBErrorCode.DB_BATCH_JOURNAL_ERROR, e.getMessage());
+            }
+            JOURNAL_AREAS.addAll(batchMap.keySet());
+            unretiredJournals++;
+            try {
+                for (Map.Entry<String, WriteBatch> entry : batchMap.entrySet()) {
+                    AREAS.get(entry.getKey()).write(entry.getValue());
+                }
+            } catch (Exception e) {
+                Log.error("write multi batch failed, replay the journal", e);
+                if (!replayJournalRecord(journal)) {
+                    // 日志保留，之后的批量操作和下次启动时会重放它
+                    // The journal is kept, it is replayed by later batches and on the next start
+                    journalPending = true;
+                    return Result.getFailed(DBErrorCode.DB_BATCH_JOURNAL_ERROR, e.getMessage());
+                }
+            }
+            if (unretiredJournals >= JOURNAL_CHECKPOINT_INTERVAL) {
+                checkpointJournal();
+            }
+            return Result.getSuccess();
+        } finally {
+            JOURNAL_LOCK.unlock();
+        }
+    }
+
+    /**
+     * 普通写入之前调用，区域还有未删除的日志时先做检查点
+     * Called before a plain write, makes a checkpoint first if the area still has journals not retired.
+     *
+     * @param area
+     */
+    public static void checkpointJournal(String area) {
+        if (!JOURNAL_AREAS.isEmpty() && JOURNAL_AREAS.contains(area)) {
+            checkpointJournal();
+        }
+    }
+
+    /**
+     * 检查点：同步落盘所有有未删除日志的区域，然后用一次同步写入删除这些日志
+     * 日志删除必须同步，否则重启后重放的旧日志会覆盖检查点之后的普通写入
+     * Checkpoint: sync every area with journals not retired yet, then delete those journals in one synced write.
+     * The deletion must be synced, otherwise old journals replayed after a restart would overwrite plain writes made after the checkpoint.
+     *
+     * @return 检查点完成时返回true/true if the checkpoint completed.
+     */
+    private static boolean checkpointJournal() {
+        JOURNAL_LOCK.lock();
+        try {
+            if (JOURNAL_AREAS.isEmpty()) {
+                return true;
+            }
+            if (journalPending) {
+                // 重放时每条日志都同步写入并删除
+                // Replay writes every journal synchronously and deletes it
+                if (!replayJournal()) {
+                    return false;
+                }
+                journalPending = false;
+            } else {
+                WriteOptions syncOptions = new WriteOptions().sync(true);
+                for (String area : JOURNAL_AREAS) {
+                    DB db = AREAS.get(area);
+                    if (db != null) {
+                        db.delete(JOURNAL_CHECKPOINT_KEY, syncOptions);
+                    }
+                }
+                List<Entry<byte[], byte[]>> journalList = prefixEntryList(BASE_AREA_NAME, JOURNAL_PREFIX, 0);
+                if (journalList != null && !journalList.isEmpty()) {
+                    DB baseDB = AREAS.get(BASE_AREA_NAME);
+                    try (WriteBatch batch = baseDB.createWriteBatch()) {
+                        for (Entry<byte[], byte[]> entry : journalList) {
+                            batch.delete(entry.getKey());
+                        }
+                        baseDB.write(batch, syncOptions);
+                    }
+                }
+            }
+            JOURNAL_AREAS.clear();
+            unretiredJournals = 0;
+            return true;
+        } catch (Exception e) {
+            Log.error("db journal checkpoint failed", e);
+            return false;
+        } finally {
+            JOURNAL_LOCK.unlock();
+        }
+    }
+
+    /**
+     * 启动时把日志序号设置为已存在的最大序号，并重放上次未完成的跨区域批量操作
+     * On start, set the journal sequence to the largest existing one and replay the unfinished multi-area batches of the last run.
+     */
+    private static void initJournal() {
+        List<Entry<byte[], byte[]>> journalList = prefixEntryList(BASE_AREA_NAME, JOURNAL_PREFIX, 0);
+        if (journalList == null || journalList.isEmpty()) {
+            return;
+        }
+        long maxSeq = 0;
+        for (Entry<byte[], byte[]> entry : journalList) {
+            maxSeq = Math.max(maxSeq, ByteBuffer.wrap(entry.getKey(), JOURNAL_PREFIX.length, 8).getLong());
+        }
+        JOURNAL_SEQ.set(maxSeq);
+        Log.info("replay " + journalList.size() + " unfinished db journal(s)");
+        journalPending = !replayJournal();
+    }
+
+    /**
+     * 按序号顺序重放所有未删除的日志，遇到失败立即停止，保留该日志及之后的日志
+     * 未到检查点的日志也会被重放，因为这些区域在检查点之前没有普通写入，重放是幂等的
+     * Replay all journals not deleted yet in sequence order, stop at the first failure and keep that journal and the following ones.
+     * Journals waiting for a checkpoint are replayed too, which is idempotent because their areas had no plain writes since.
+     *
+     * @return 全部重放成功时返回true/true if all journals were replayed.
+     */
+    private static boolean replayJournal() {
+        List<Entry<byte[], byte[]>> journalList = prefixEntryList(BASE_AREA_NAME, JOURNAL_PREFIX, 0);
+        if (journalList == null) {
+            return false;
+        }
+        DB baseDB = AREAS.get(BASE_AREA_NAME);
+        for (Entry<byte[], byte[]> entry : journalList) {
+            if (!replayJournalRecord(entry.getValue())) {
+                Log.error("replay db journal failed, multi-area batches are refused until it is replayed");
+                return false;
+            }
+            baseDB.delete(entry.getKey(), new WriteOptions().sync(true));
+        }
+        return true;
+    }
+
+    /**
+     * 重放一条日志，直接写入各区域，所以写入后清空这些区域的读缓存，并让计数器在下次查询时重新计数
+     * Replay one journal straight into the areas, so the read caches of those areas are cleared afterwards
+     * and their counters are recounted on the next query.
+     */
+    private static boolean replayJournalRecord(byte[] journal) {
+        Map<String, WriteBatch> batchMap = new LinkedHashMap<>();
+        try {
+            NulsByteBuffer buffer = new NulsByteBuffer(journal);
+            while (!buffer.isFinished()) {
+                String area = buffer.readString();
+                boolean isPut = buffer.readBoolean();
+                byte[] key = buffer.readByLengthByte();
+                byte[] value = isPut ? buffer.readByLengthByte() : null;
+                WriteBatch batch = batchMap.get(area);
+                if (batch == null) {
+                    DB db = AREAS.get(area);
+                    if (db == null) {
+                        Log.error("replay db journal, area not exist: " + area);
+                        return false;
+                    }
+                    batch = db.createWriteBatch();
+                    batchMap.put(area, batch);
+                }
+                if (isPut) {
+                    batch.put(key, value == null ? new byte[0] : value);
+                } else {
+                    batch.delete(key);
+                }
+            }
+            WriteOptions syncOptions = new WriteOptions().sync(true);
+            try {
+                for (Map.Entry<String, WriteBatch> entry : batchMap.entrySet()) {
+                    AREAS.get(entry.getKey()).write(entry.getValue(), syncOptions);
+                }
+            } finally {
+                for (String area : batchMap.keySet()) {
+                    AreaCache cache = AREA_CACHES.get(area);
+                    if (cache != null) {
+                        cache.clear();
+                    }
+                    AreaCounter counter = AREA_COUNTERS.get(area);
+                    if (counter != null) {
+                        counter.reset();
+                    }
+                }
+            }
+            return true;
+        } catch (NulsException e) {
+            Log.error("parse db journal error", e);
+            return false;
+        } catch (Exception e) {
+            Log.error(e);
+            return false;
+        } finally {
+            for (WriteBatch batch : batchMap.values()) {
+                try {
+                    batch.close();
+                } catch (IOException e) {
+                    //skip it
+                }
+            }
+        }
+    }
+
+    /**
+     * 在跨区域批量操作之间为指定区域创建快照，不指定区域时为所有区域创建
+     * Create snapshots of the specified areas between multi-area batches, all areas if none is specified.
+     *
+     * @param areas
+     * @return 区域名称到快照的映射，有区域不存在时返回null / map of area name to snapshot, null if any area does not exist.
+     */
+    public static Map<String, Snapshot> createSnapshots(String... areas) {
+        if (areas == null || areas.length == 0) {
+            areas = listArea();
+        }
+        Map<String, Snapshot> snapshotMap = new HashMap<>();
+        JOURNAL_LOCK.lock();
+        try {
+            for (String area : areas) {
+                DB db = AREAS.get(area);
+                if (db == null) {
+                    releaseSnapshots(snapshotMap);
+                    return null;
+                }
+                snapshotMap.put(area, db.getSnapshot());
+            }
+            return snapshotMap;
+        } finally {
+            JOURNAL_LOCK.unlock();
+        }
+    }
+
+    public static void releaseSnapshots(Map<String, Snapshot> snapshotMap) {
+        for (Snapshot snapshot : snapshotMap.values()) {
+            try {
+                snapshot.close();
+            } catch (IOException e) {
+                //skip it
+            }
+        }
+    }
+
+    public static void registerSnapshot(DBSnapshot snapshot) {
+        OPEN_SNAPSHOTS.add(snapshot);
+    }
+
+    public static void unregisterSnapshot(DBSnapshot snapshot) {
+        OPEN_SNAPSHOTS.remove(snapshot);
+    }
+
+    public static int getOpenSnapshotCount() {
+        return OPEN_SNAPSHOTS.size();
+    }
+
+    /**
+     * 检查持有时间超过配置(leveldb.snapshot.leak.seconds)的快照，记录其创建位置
+     * Check the snapshots held longer than configured (leveldb.snapshot.leak.seconds) and log where they were created.
+     *
+     * @return 疑似泄漏的快照数量/the number of suspected leaked snapshots.
+     */
+    public static int checkSnapshotLeak() {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (DBSnapshot snapshot : OPEN_SNAPSHOTS) {
+            if (now - snapshot.getCreateTime() > snapshotLeakMillis) {
+                count++;
+                Log.warn("db snapshot has not been released for " + (now - snapshot.getCreateTime()) + " ms: " + snapshot);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 按配置创建区域的读缓存，leveldb.cache.bytes.{area}优先，其次是leveldb.cache.default.bytes，为0时不缓存
+     * Create the read cache of the area from the configuration, leveldb.cache.bytes.{area} first, then leveldb.cache.default.bytes, no cache when 0.
+     *
+     * @param area
+     */
+    private static void initAreaCache(String area) {
+        if (properties == null) {
+            return;
+        }
+        String value = properties.getProperty("leveldb.cache.bytes." + area, properties.getProperty("leveldb.cache.default.bytes", "0"));
+        long maxBytes;
+        try {
+            maxBytes = Long.parseLong(value.trim());
+        } catch (Exception e) {
+            Log.warn("wrong cache size of area: " + area + ", " + value);
+            return;
+        }
+        setAreaCache(area, maxBytes);
+    }
+
+    /**
+     * 设置区域的读缓存大小（字节），小于等于0时关闭缓存
+     * Set the read cache size (bytes) of the area, the cache is disabled when less than or equal to 0.
+     *
+     * @param area
+     * @param maxBytes
+     */
+    public static void setAreaCache(String area, long maxBytes) {
+        if (maxBytes <= 0) {
+            AREA_CACHES.remove(area);
+            return;
+        }
+        AREA_CACHES.put(area, new AreaCache(area, maxBytes));
+    }
+
+    public static boolean hasCache(String area) {
+        return AREA_CACHES.containsKey(area);
+    }
+
+    /**
+     * 写入或删除之后使缓存中的key失效
+     * Invalidate the key in the cache after it is written or deleted.
+     *
+     * @param area
+     * @param key
+     */
+    public static void invalidateCache(String area, byte[] key) {
+        AreaCache cache = AREA_CACHES.get(area);
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    public static List<CacheStats> getCacheStats() {
+        List<CacheStats> list = new ArrayList<>();
+        for (AreaCache cache : AREA_CACHES.values()) {
+            list.add(cache.getStats());
+        }
+        return list;
+    }
+
+    /**
+     * 获取区域的运行指标，区域不存在时返回null
+     * Gets the runtime metrics of the area, null if the area does not exist.
+     *
+     * @param area
+     * @return
+     */
+    public static AreaMetrics getAreaMetrics(String area) {
+        if (area == null) {
+            return null;
+        }
+        return AREA_METRICS.get(area);
+    }
+
+    /**
+     * 获取已经开始计数的区域计数器，没有查询过数量的区域返回null
+     * Gets the counter of the area if counting has started, null if the count of the area was never queried.
+     *
+     * @param area
+     * @return
+     */
+    public static AreaCounter getReadyCounter(String area) {
+        if (area == null) {
+            return null;
+        }
+        AreaCounter counter = AREA_COUNTERS.get(area);
+        if (counter == null || !counter.isReady()) {
+            return null;
+        }
+        return counter;
+    }
+
+    /**
+     * 区域中key的估算数量，第一次查询时遍历一次区域，之后由写入维护，区域不存在时返回-1
+     * 开始计数后该区域的每次写入和删除会多读一次key，第一次遍历期间的并发写入会使结果产生偏差
+     * The approximate number of keys in the area, the area is scanned once on the first query and maintained by writes afterwards, -1 if the area does not exist.
+     * Once counting has started every put and delete on the area does one extra read, writes concurrent with the first scan make the result drift.
+     *
+     * @param area
+     * @return
+     */
+    public static long approximateCount(String area) {
+        if (!baseCheckArea(area)) {
+            return -1;
+        }
+        AreaCounter counter = AREA_COUNTERS.get(area);
+        if (counter == null) {
+            return -1;
+        }
+        if (!counter.isReady()) {
+            try {
+                counter.init(AREAS.get(area));
+            } catch (Exception e) {
+                Log.error(e);
+                return -1;
+            }
+        }
+        return counter.get();
+    }
+
+    /**
+     * [startKey, endKey)范围内数据占用的估算磁盘大小，只统计已经写入文件的数据，区域不存在时返回-1
+     * The approximate disk size of the data in the range [startKey, endKey), only data already written to files is counted, -1 if the area does not exist.
+     *
+     * @param area
+     * @param startKey 为null时从第一个key开始/from the first key if null.
+     * @param endKey   为null时直到最后一个key/to the last key if null.
+     * @return
+     */
+    public static long approximateSize(String area, byte[] startKey, byte[] endKey) {
+        if (!baseCheckArea(area)) {
+            return -1;
+        }
+        try {
+            DB db = AREAS.get(area);
+            Range range = new Range(startKey == null ? new byte[0] : startKey, endKey == null ? MAX_KEY : endKey);
+            return db.getApproximateSizes(range)[0];
+        } catch (Exception e) {
+            Log.error(e);
+            return -1;
+        }
+    }
+
+    /**
+     * 获取所有区域的统计，包括运行指标、估算的磁盘大小和LevelDB的属性统计
+     * Gets the statistics of all areas, including the runtime metrics, the approximate size on disk and the LevelDB property stats.
+     *
+     * @return
+     */
+    public static List<AreaStats> getAreaStats() {
+        List<AreaStats> list = new ArrayList<>();
+        for (AreaMetrics metrics : AREA_METRICS.values()) {
+            DB db = AREAS.get(metrics.getArea());
+            if (db == null) {
+                continue;
+            }
+            long approximateSize = -1;
+            Map<String, String> stats = new LinkedHashMap<>();
+            try {
+                approximateSize = db.getApproximateSizes(new Range(new byte[0], MAX_KEY))[0];
+                for (String property : STATS_PROPERTIES) {
+                    putProperty(stats, db, property);
+                }
+                for (int level = 0; level < STATS_LEVELS; level++) {
+                    putProperty(stats, db, "leveldb.num-files-at-level" + level);
+                }
+            } catch (Exception e) {
+                Log.warn("read leveldb stats error: " + metrics.getArea(), e);
+            }
+            list.add(metrics.toStats(approximateSize, stats));
+        }
+        return list;
+    }
+
+    private static void putProperty(Map<String, String> stats, DB db, String property) {
+        String value = db.getProperty(property);
+        if (value != null) {
+            stats.put(property, value);
+        }
+    }
+
+    private static byte[] maxKey(int length) {
+        byte[] key = new byte[length];
+        Arrays.fill(key, (byte) 0xFF);
+        return key;
+    }
 }
@@ -24,11 +24,17 @@
 package io.nuls.db.module.impl;
 
 import io.nuls.core.tools.log.Log;
+import io.nuls.db.constant.DBConstant;
 import io.nuls.db.manager.LevelDBManager;
 import io.nuls.db.module.AbstractDBModule;
 import io.nuls.db.service.impl.LevelDBServiceImpl;
+import io.nuls.kernel.thread.manager.NulsThreadFactory;
+import io.nuls.kernel.thread.manager.TaskManager;
 import org.iq80.leveldb.DBException;
 
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * @desription:
  * @author: PierreLuo
@@ -52,11 +58,13 @@ public class LevelDbModuleBootstrap extends AbstractDBModule {
 
     @Override
     public void start() {
-
+        ScheduledThreadPoolExecutor executor = TaskManager.createScheduledThreadPool(1, new NulsThreadFactory(this.getModuleId(), "DBSnapshotLeakCheck"));
+        executor.scheduleAtFixedRate(LevelDBManager::checkSnapshotLeak, 60, 60, TimeUnit.SECONDS);
     }
 
     @Override
     public void shutdown() {
+        TaskManager.shutdownByModuleId(this.getModuleId());
         LevelDBManager.close();
     }
 
@@ -65,6 +73,11 @@ public class LevelDbModuleBootstrap extends AbstractDBModule {
         LevelDBManager.close();
     }
 
+    @Override
+    public String getEngineName() {
+        return DBConstant.ENGINE_LEVELDB;
+    }
+
     @Override
     public String getInfo() {
         StringBuilder str = new StringBuilder();
@@ -25,13 +25,17 @@ package io.nuls.db.service.impl;
 
 import io.nuls.core.tools.log.Log;
 import io.nuls.db.constant.DBErrorCode;
+import io.nuls.db.manager.AreaCounter;
 import io.nuls.db.manager.LevelDBManager;
+import io.nuls.db.model.AreaMetrics;
 import io.nuls.db.service.BatchOperation;
 import io.nuls.kernel.model.Result;
 import org.iq80.leveldb.DB;
 import org.iq80.leveldb.WriteBatch;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @desription:
@@ -47,6 +51,18 @@ public class BatchOperationImpl implements BatchOperation {
     private DB db;
     private WriteBatch batch;
     private volatile boolean isClose = false;
+    /**
+     * 区域有读缓存时，记录修改过的key，提交后使其失效
+     * Keys modified in this batch when the area has a read cache, invalidated after commit.
+     */
+    private List<byte[]> cachedKeys;
+    /**
+     * 区域已经开始计数时，记录key的变化，提交时维护区域的key数量
+     * Key changes when the area is being counted, used to maintain the key count of the area on commit.
+     */
+    private AreaCounter.Changes counterChanges;
+    private int size;
+    private long bytes;
 
     BatchOperationImpl(String area) {
         this.area = area;
@@ -54,6 +70,12 @@ public class BatchOperationImpl implements BatchOperation {
         if(db != null) {
             batch = db.createWriteBatch();
         }
+        if(LevelDBManager.hasCache(area)) {
+            cachedKeys = new ArrayList<>();
+        }
+        if(LevelDBManager.getReadyCounter(area) != null) {
+            counterChanges = new AreaCounter.Changes();
+        }
     }
 
     public Result checkBatch() {
@@ -77,6 +99,14 @@ public class BatchOperationImpl implements BatchOperation {
             return FAILED_NULL;
         }
         batch.put(key, value);
+        size++;
+        if(counterChanges != null) {
+            counterChanges.put(key);
+        }
+        bytes += key.length + value.length;
+        if(cachedKeys != null) {
+            cachedKeys.add(key);
+        }
         return SUCCESS;
     }
 
@@ -106,6 +136,14 @@ public class BatchOperationImpl implements BatchOperation {
             return FAILED_NULL;
         }
         batch.delete(key);
+        size++;
+        if(counterChanges != null) {
+            counterChanges.delete(key);
+        }
+        bytes += key.length;
+        if(cachedKeys != null) {
+            cachedKeys.add(key);
+        }
         return SUCCESS;
     }
 
@@ -126,12 +164,28 @@ public class BatchOperationImpl implements BatchOperation {
         if(checkClose()) {
             return FAILED_BATCH_CLOSE;
         }
+        long start = System.nanoTime();
+        LevelDBManager.checkpointJournal(area);
         try {
+            long countDelta = counterChanges == null ? 0 : counterChanges.delta(db);
             db.write(batch);
+            AreaCounter counter = LevelDBManager.getReadyCounter(area);
+            if(counter != null) {
+                counter.add(countDelta);
+            }
+            AreaMetrics metrics = LevelDBManager.getAreaMetrics(area);
+            if(metrics != null) {
+                metrics.recordBatch(start, size, bytes);
+            }
         } catch (Exception e) {
             Log.error(e);
             return Result.getFailed(DBErrorCode.DB_UNKOWN_EXCEPTION, e.getMessage());
         } finally {
+            if(cachedKeys != null) {
+                for(byte[] key : cachedKeys) {
+                    LevelDBManager.invalidateCache(area, key);
+                }
+            }
             // Make sure you close the batch to avoid resource leaks.
             // 貌似LevelDB未实现此close方法, 所以加入一个逻辑关闭
             if(batch != null) {
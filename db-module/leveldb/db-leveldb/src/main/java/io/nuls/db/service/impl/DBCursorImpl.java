@@ -0,0 +1,94 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.service.impl;
+
+import io.nuls.db.model.Entry;
+import io.nuls.db.service.DBCursor;
+import org.iq80.leveldb.DBIterator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/20
+ */
+public class DBCursorImpl implements DBCursor {
+
+    private final DBIterator iterator;
+    private volatile boolean isClose = false;
+
+    DBCursorImpl(DBIterator iterator) {
+        this.iterator = iterator;
+        this.iterator.seekToFirst();
+    }
+
+    @Override
+    public void seekToFirst() {
+        iterator.seekToFirst();
+    }
+
+    @Override
+    public void seek(byte[] key) {
+        iterator.seek(key);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !isClose && iterator.hasNext();
+    }
+
+    @Override
+    public Entry<byte[], byte[]> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map.Entry<byte[], byte[]> entry = iterator.next();
+        return new Entry<>(entry.getKey(), entry.getValue());
+    }
+
+    @Override
+    public Entry<byte[], byte[]> peekNext() {
+        if (!hasNext()) {
+            return null;
+        }
+        Map.Entry<byte[], byte[]> entry = iterator.peekNext();
+        return new Entry<>(entry.getKey(), entry.getValue());
+    }
+
+    @Override
+    public void close() {
+        if (isClose) {
+            return;
+        }
+        isClose = true;
+        try {
+            iterator.close();
+        } catch (IOException e) {
+            //skip it
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.service.impl;
+
+import io.nuls.core.tools.array.ArraysTool;
+import io.nuls.core.tools.log.Log;
+import io.nuls.db.manager.LevelDBManager;
+import io.nuls.db.model.Entry;
+import io.nuls.db.service.DBCursor;
+import io.nuls.db.service.DBSnapshot;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.ReadOptions;
+import org.iq80.leveldb.Snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/22
+ */
+public class DBSnapshotImpl implements DBSnapshot {
+
+    private final Map<String, Snapshot> snapshotMap;
+    private final long createTime;
+    /**
+     * 创建快照的线程和调用位置，用于泄漏检查
+     * The thread and the caller that created the snapshot, used for the leak check.
+     */
+    private final String creator;
+    private volatile boolean isClose = false;
+
+    DBSnapshotImpl(Map<String, Snapshot> snapshotMap) {
+        this.snapshotMap = snapshotMap;
+        this.createTime = System.currentTimeMillis();
+        this.creator = findCreator();
+        LevelDBManager.registerSnapshot(this);
+    }
+
+    private static String findCreator() {
+        Thread thread = Thread.currentThread();
+        for (StackTraceElement element : thread.getStackTrace()) {
+            String className = element.getClassName();
+            if (!className.startsWith("io.nuls.db.") && !className.startsWith("java.")) {
+                return thread.getName() + " at " + element;
+            }
+        }
+        return thread.getName();
+    }
+
+    private ReadOptions readOptions(String area) {
+        if (isClose) {
+            return null;
+        }
+        Snapshot snapshot = snapshotMap.get(area);
+        if (snapshot == null) {
+            return null;
+        }
+        return new ReadOptions().snapshot(snapshot);
+    }
+
+    @Override
+    public byte[] get(String area, byte[] key) {
+        if (area == null || key == null) {
+            return null;
+        }
+        ReadOptions options = readOptions(area);
+        DB db = LevelDBManager.getArea(area);
+        if (options == null || db == null) {
+            return null;
+        }
+        try {
+            return db.get(key, options);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    public <T> T getModel(String area, byte[] key, Class<T> clazz) {
+        byte[] bytes = get(area, key);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return LevelDBManager.getModelDeserialize(bytes, clazz);
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    @Override
+    public DBCursor openCursor(String area) {
+        if (area == null) {
+            return null;
+        }
+        ReadOptions options = readOptions(area);
+        DB db = LevelDBManager.getArea(area);
+        if (options == null || db == null) {
+            return null;
+        }
+        return new DBCursorImpl(db.iterator(options));
+    }
+
+    @Override
+    public List<Entry<byte[], byte[]>> prefixEntryList(String area, byte[] prefix, int limit) {
+        if (prefix == null) {
+            return null;
+        }
+        DBCursor cursor = openCursor(area);
+        if (cursor == null) {
+            return null;
+        }
+        List<Entry<byte[], byte[]>> entryList = new ArrayList<>();
+        try {
+            Entry<byte[], byte[]> entry;
+            for (cursor.seek(prefix); cursor.hasNext(); ) {
+                entry = cursor.next();
+                if (!ArraysTool.startsWith(entry.getKey(), prefix)) {
+                    break;
+                }
+                entryList.add(entry);
+                if (limit > 0 && entryList.size() >= limit) {
+                    break;
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        return entryList;
+    }
+
+    @Override
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    @Override
+    public void close() {
+        if (isClose) {
+            return;
+        }
+        isClose = true;
+        LevelDBManager.releaseSnapshots(snapshotMap);
+        LevelDBManager.unregisterSnapshot(this);
+    }
+
+    @Override
+    public String toString() {
+        return "DBSnapshot{areas=" + snapshotMap.keySet() + ", createTime=" + createTime + ", creator=" + creator + "}";
+    }
+}
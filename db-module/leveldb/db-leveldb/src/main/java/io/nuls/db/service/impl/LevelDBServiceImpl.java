@@ -25,15 +25,25 @@ package io.nuls.db.service.impl;
 
 import io.nuls.core.tools.log.Log;
 import io.nuls.core.tools.str.StringUtils;
+import io.nuls.db.constant.DBConstant;
 import io.nuls.db.manager.LevelDBManager;
+import io.nuls.db.model.AreaMetrics;
+import io.nuls.db.model.AreaStats;
+import io.nuls.db.model.CacheStats;
 import io.nuls.db.model.Entry;
 import io.nuls.db.service.BatchOperation;
+import io.nuls.db.service.DBCursor;
 import io.nuls.db.service.DBService;
+import io.nuls.db.service.DBSnapshot;
+import io.nuls.db.service.MultiBatchOperation;
 import io.nuls.kernel.lite.annotation.Service;
 import io.nuls.kernel.model.Result;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.Snapshot;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -79,32 +89,79 @@ public class LevelDBServiceImpl implements DBService {
 
     @Override
     public Result put(String area, byte[] key, byte[] value) {
-        return LevelDBManager.put(area, key, value);
+        long start = System.nanoTime();
+        Result result = LevelDBManager.put(area, key, value);
+        if (result.isSuccess()) {
+            AreaMetrics metrics = LevelDBManager.getAreaMetrics(area);
+            if (metrics != null) {
+                metrics.recordPut(start, key, value);
+            }
+        }
+        return result;
     }
 
+    /**
+     * 先序列化再调用put，使统计中的耗时和字节数只包含存储本身
+     * Serialize first and then call put, so the recorded latency and bytes cover the storage only.
+     */
     @Override
     public <T> Result putModel(String area, byte[] key, T value) {
-        return LevelDBManager.putModel(area, key, value);
+        if (key == null || value == null) {
+            return LevelDBManager.putModel(area, key, value);
+        }
+        byte[] bytes;
+        try {
+            bytes = LevelDBManager.getModelSerialize(value);
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(e.getMessage());
+        }
+        return put(area, key, bytes);
     }
 
     @Override
     public Result delete(String area, byte[] key) {
-        return LevelDBManager.delete(area, key);
+        long start = System.nanoTime();
+        Result result = LevelDBManager.delete(area, key);
+        if (result.isSuccess()) {
+            AreaMetrics metrics = LevelDBManager.getAreaMetrics(area);
+            if (metrics != null) {
+                metrics.recordDelete(start, key);
+            }
+        }
+        return result;
     }
 
     @Override
     public byte[] get(String area, byte[] key) {
-        return LevelDBManager.get(area, key);
+        long start = System.nanoTime();
+        byte[] value = LevelDBManager.get(area, key);
+        if (key != null) {
+            AreaMetrics metrics = LevelDBManager.getAreaMetrics(area);
+            if (metrics != null) {
+                metrics.recordGet(start, value);
+            }
+        }
+        return value;
     }
 
     @Override
     public <T> T getModel(String area, byte[] key, Class<T> clazz) {
-        return LevelDBManager.getModel(area, key, clazz);
+        byte[] bytes = get(area, key);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return LevelDBManager.getModelDeserialize(bytes, clazz);
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
     }
 
     @Override
     public Object getModel(String area, byte[] key) {
-        return LevelDBManager.getModel(area, key);
+        return getModel(area, key, null);
     }
 
     @Override
@@ -142,6 +199,38 @@ public class LevelDBServiceImpl implements DBService {
         return LevelDBManager.values(area, clazz);
     }
 
+    @Override
+    public DBCursor openCursor(String area) {
+        if(StringUtils.isBlank(area)) {
+            return null;
+        }
+        DB db = LevelDBManager.getArea(area);
+        if(db == null) {
+            return null;
+        }
+        return new DBCursorImpl(db.iterator());
+    }
+
+    @Override
+    public List<Entry<byte[], byte[]>> prefixEntryList(String area, byte[] prefix, int limit) {
+        return LevelDBManager.prefixEntryList(area, prefix, limit);
+    }
+
+    @Override
+    public List<Entry<byte[], byte[]>> rangeEntryList(String area, byte[] startKey, byte[] endKey, boolean reverse, int limit) {
+        return LevelDBManager.rangeEntryList(area, startKey, endKey, reverse, limit);
+    }
+
+    @Override
+    public long approximateCount(String area) {
+        return LevelDBManager.approximateCount(area);
+    }
+
+    @Override
+    public long approximateSize(String area, byte[] startKey, byte[] endKey) {
+        return LevelDBManager.approximateSize(area, startKey, endKey);
+    }
+
     @Override
     public BatchOperation createWriteBatch(String area) {
         if(StringUtils.isBlank(area)) {
@@ -155,4 +244,34 @@ public class LevelDBServiceImpl implements DBService {
         }
         return batchOperation;
     }
+
+    @Override
+    public MultiBatchOperation createMultiWriteBatch() {
+        return new MultiBatchOperationImpl();
+    }
+
+    @Override
+    public DBSnapshot openSnapshot(String... areas) {
+        Map<String, Snapshot> snapshotMap = LevelDBManager.createSnapshots(areas);
+        if(snapshotMap == null) {
+            Log.error("DB snapshot create error: area not exist");
+            return null;
+        }
+        return new DBSnapshotImpl(snapshotMap);
+    }
+
+    @Override
+    public List<CacheStats> getCacheStats() {
+        return LevelDBManager.getCacheStats();
+    }
+
+    @Override
+    public List<AreaStats> getAreaStats() {
+        return LevelDBManager.getAreaStats();
+    }
+
+    @Override
+    public String getEngineName() {
+        return DBConstant.ENGINE_LEVELDB;
+    }
 }
@@ -0,0 +1,234 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.service.impl;
+
+import io.nuls.core.tools.crypto.UnsafeByteArrayOutputStream;
+import io.nuls.core.tools.log.Log;
+import io.nuls.db.constant.DBErrorCode;
+import io.nuls.db.manager.AreaCounter;
+import io.nuls.db.manager.LevelDBManager;
+import io.nuls.db.model.AreaMetrics;
+import io.nuls.db.service.MultiBatchOperation;
+import io.nuls.kernel.model.Result;
+import io.nuls.kernel.utils.NulsOutputStreamBuffer;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.WriteBatch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 跨区域批量操作，每个区域一个WriteBatch，同时把所有操作按顺序记录到日志中，提交时由LevelDBManager先写日志再写各区域
+ * Multi-area batch operation, one WriteBatch per area; all operations are also recorded in order into a journal,
+ * on commit LevelDBManager writes the journal first and then the areas.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/21
+ */
+public class MultiBatchOperationImpl implements MultiBatchOperation {
+
+    private static final Result FAILED_NULL = Result.getFailed(DBErrorCode.NULL_PARAMETER);
+    private static final Result SUCCESS = Result.getSuccess();
+    private static final Result FAILED_BATCH_CLOSE = Result.getFailed(DBErrorCode.DB_BATCH_CLOSE);
+    private static final Result FAILED_AREA_NOT_EXIST = Result.getFailed(DBErrorCode.DB_AREA_NOT_EXIST);
+
+    private final Map<String, WriteBatch> batchMap = new LinkedHashMap<>();
+    private final UnsafeByteArrayOutputStream journalStream = new UnsafeByteArrayOutputStream(1024);
+    private final NulsOutputStreamBuffer journal = new NulsOutputStreamBuffer(journalStream);
+    /**
+     * 有读缓存的区域中修改过的key，提交后使其失效
+     * Keys modified in areas with a read cache, invalidated after commit.
+     */
+    private final Map<String, List<byte[]>> cachedKeyMap = new LinkedHashMap<>();
+    /**
+     * 各区域的操作条数和写入字节数，提交成功后记录到区域的运行指标中
+     * The operation count and bytes written of each area, recorded into the area metrics after a successful commit.
+     */
+    private final Map<String, long[]> countMap = new LinkedHashMap<>();
+    /**
+     * 已经开始计数的区域中key的变化，提交时维护区域的key数量
+     * Key changes in areas being counted, used to maintain the key count of the areas on commit.
+     */
+    private final Map<String, AreaCounter.Changes> counterChangesMap = new LinkedHashMap<>();
+    private volatile boolean isClose = false;
+
+    MultiBatchOperationImpl() {
+    }
+
+    private WriteBatch getBatch(String area) {
+        WriteBatch batch = batchMap.get(area);
+        if (batch == null) {
+            DB db = LevelDBManager.getArea(area);
+            if (db == null) {
+                return null;
+            }
+            batch = db.createWriteBatch();
+            batchMap.put(area, batch);
+            if (LevelDBManager.hasCache(area)) {
+                cachedKeyMap.put(area, new ArrayList<>());
+            }
+            if (LevelDBManager.getReadyCounter(area) != null) {
+                counterChangesMap.put(area, new AreaCounter.Changes());
+            }
+        }
+        return batch;
+    }
+
+    private void recordKey(String area, byte[] key, int bytes) {
+        List<byte[]> keys = cachedKeyMap.get(area);
+        if (keys != null) {
+            keys.add(key);
+        }
+        long[] count = countMap.get(area);
+        if (count == null) {
+            count = new long[2];
+            countMap.put(area, count);
+        }
+        count[0]++;
+        count[1] += bytes;
+    }
+
+    @Override
+    public Result put(String area, byte[] key, byte[] value) {
+        if (area == null || key == null || value == null) {
+            return FAILED_NULL;
+        }
+        if (isClose) {
+            return FAILED_BATCH_CLOSE;
+        }
+        WriteBatch batch = getBatch(area);
+        if (batch == null) {
+            return FAILED_AREA_NOT_EXIST;
+        }
+        try {
+            journal.writeString(area);
+            journal.writeBoolean(true);
+            journal.writeBytesWithLength(key);
+            journal.writeBytesWithLength(value);
+        } catch (IOException e) {
+            Log.error(e);
+            return Result.getFailed(DBErrorCode.DB_BATCH_JOURNAL_ERROR, e.getMessage());
+        }
+        batch.put(key, value);
+        recordKey(area, key, key.length + value.length);
+        AreaCounter.Changes changes = counterChangesMap.get(area);
+        if (changes != null) {
+            changes.put(key);
+        }
+        return SUCCESS;
+    }
+
+    @Override
+    public <T> Result putModel(String area, byte[] key, T value) {
+        if (key == null || value == null) {
+            return FAILED_NULL;
+        }
+        byte[] bytes = LevelDBManager.getModelSerialize(value);
+        return put(area, key, bytes);
+    }
+
+    @Override
+    public Result delete(String area, byte[] key) {
+        if (area == null || key == null) {
+            return FAILED_NULL;
+        }
+        if (isClose) {
+            return FAILED_BATCH_CLOSE;
+        }
+        WriteBatch batch = getBatch(area);
+        if (batch == null) {
+            return FAILED_AREA_NOT_EXIST;
+        }
+        try {
+            journal.writeString(area);
+            journal.writeBoolean(false);
+            journal.writeBytesWithLength(key);
+        } catch (IOException e) {
+            Log.error(e);
+            return Result.getFailed(DBErrorCode.DB_BATCH_JOURNAL_ERROR, e.getMessage());
+        }
+        batch.delete(key);
+        recordKey(area, key, key.length);
+        AreaCounter.Changes changes = counterChangesMap.get(area);
+        if (changes != null) {
+            changes.delete(key);
+        }
+        return SUCCESS;
+    }
+
+    @Override
+    public Result executeBatch() {
+        // 检查逻辑关闭
+        if (isClose) {
+            return FAILED_BATCH_CLOSE;
+        }
+        isClose = true;
+        try {
+            if (batchMap.isEmpty()) {
+                return SUCCESS;
+            }
+            long start = System.nanoTime();
+            Map<String, Long> countDeltaMap = new LinkedHashMap<>();
+            for (Map.Entry<String, AreaCounter.Changes> entry : counterChangesMap.entrySet()) {
+                countDeltaMap.put(entry.getKey(), entry.getValue().delta(LevelDBManager.getArea(entry.getKey())));
+            }
+            Result result = LevelDBManager.writeMultiBatch(batchMap, journalStream.toByteArray());
+            if (result.isSuccess()) {
+                for (Map.Entry<String, Long> entry : countDeltaMap.entrySet()) {
+                    AreaCounter counter = LevelDBManager.getReadyCounter(entry.getKey());
+                    if (counter != null) {
+                        counter.add(entry.getValue());
+                    }
+                }
+                // 每个区域记录的是整个跨区域提交的耗时
+                // Each area records the latency of the whole multi-area commit.
+                for (Map.Entry<String, long[]> entry : countMap.entrySet()) {
+                    AreaMetrics metrics = LevelDBManager.getAreaMetrics(entry.getKey());
+                    if (metrics != null) {
+                        metrics.recordBatch(start, (int) entry.getValue()[0], entry.getValue()[1]);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            for (Map.Entry<String, List<byte[]>> entry : cachedKeyMap.entrySet()) {
+                for (byte[] key : entry.getValue()) {
+                    LevelDBManager.invalidateCache(entry.getKey(), key);
+                }
+            }
+            // Make sure you close the batch to avoid resource leaks.
+            for (WriteBatch batch : batchMap.values()) {
+                try {
+                    batch.close();
+                } catch (IOException e) {
+                    // skip it
+                }
+            }
+        }
+    }
+}
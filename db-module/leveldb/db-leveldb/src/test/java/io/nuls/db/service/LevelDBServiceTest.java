@@ -28,9 +28,13 @@ package io.nuls.db.service;
 
 import io.nuls.core.tools.crypto.ECKey;
 import io.nuls.core.tools.log.Log;
+import io.nuls.db.codec.ModelCodecRegistry;
+import io.nuls.db.codec.NulsDataCodec;
 import io.nuls.db.constant.DBErrorCode;
 import io.nuls.db.entity.DBTestEntity;
 import io.nuls.db.manager.LevelDBManager;
+import io.nuls.db.model.AreaStats;
+import io.nuls.db.model.CacheStats;
 import io.nuls.db.model.Entry;
 import io.nuls.db.service.impl.LevelDBServiceImpl;
 import io.nuls.kernel.exception.NulsException;
@@ -236,4 +240,267 @@ public class LevelDBServiceTest {
         Assert.assertNull(dbService.get(area, bytes("entity5")));
         LevelDBManager.destroyArea(area);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPrefixAndRange() {
+        String area = "testPrefixAndRange";
+        dbService.createArea(area);
+        BatchOperation batch = dbService.createWriteBatch(area);
+        batch.put(bytes("a1"), bytes("va1"));
+        batch.put(bytes("a2"), bytes("va2"));
+        batch.put(bytes("a3"), bytes("va3"));
+        batch.put(bytes("b1"), bytes("vb1"));
+        batch.put(bytes("b2"), bytes("vb2"));
+        batch.put(bytes("c1"), bytes("vc1"));
+        batch.executeBatch();
+
+        List<Entry<byte[], byte[]>> entries = dbService.prefixEntryList(area, bytes("b"), 0);
+        Assert.assertEquals(2, entries.size());
+        Assert.assertEquals("b1", asString(entries.get(0).getKey()));
+        Assert.assertEquals("vb2", asString(entries.get(1).getValue()));
+
+        entries = dbService.prefixEntryList(area, bytes("a"), 2);
+        Assert.assertEquals(2, entries.size());
+        Assert.assertEquals("a2", asString(entries.get(1).getKey()));
+
+        Assert.assertTrue(dbService.prefixEntryList(area, bytes("d"), 0).isEmpty());
+
+        entries = dbService.rangeEntryList(area, bytes("a2"), bytes("b2"), false, 0);
+        Assert.assertEquals(3, entries.size());
+        Assert.assertEquals("a2", asString(entries.get(0).getKey()));
+        Assert.assertEquals("b1", asString(entries.get(2).getKey()));
+
+        entries = dbService.rangeEntryList(area, null, null, true, 2);
+        Assert.assertEquals(2, entries.size());
+        Assert.assertEquals("c1", asString(entries.get(0).getKey()));
+        Assert.assertEquals("b2", asString(entries.get(1).getKey()));
+
+        DBCursor cursor = dbService.openCursor(area);
+        try {
+            cursor.seek(bytes("b"));
+            Assert.assertEquals("b1", asString(cursor.peekNext().getKey()));
+            Assert.assertEquals("b1", asString(cursor.next().getKey()));
+            Assert.assertEquals("b2", asString(cursor.next().getKey()));
+            Assert.assertEquals("c1", asString(cursor.next().getKey()));
+            Assert.assertFalse(cursor.hasNext());
+        } finally {
+            cursor.close();
+        }
+        Assert.assertFalse(cursor.hasNext());
+        Assert.assertNull(dbService.openCursor("notExistArea"));
+        LevelDBManager.destroyArea(area);
+    }
+
+    @Test
+    public void testMultiBatch() {
+        String area1 = "testMultiBatch1";
+        String area2 = "testMultiBatch2";
+        dbService.createArea(area1);
+        dbService.createArea(area2);
+        dbService.put(area2, bytes("old"), bytes("value"));
+
+        MultiBatchOperation batch = dbService.createMultiWriteBatch();
+        batch.put(area1, bytes("k1"), bytes("v1"));
+        batch.put(area2, bytes("k2"), bytes("v2"));
+        batch.delete(area2, bytes("old"));
+        Assert.assertNull(dbService.get(area1, bytes("k1")));
+        Result result = batch.executeBatch();
+        Assert.assertTrue(result.isSuccess());
+
+        Assert.assertEquals("v1", asString(dbService.get(area1, bytes("k1"))));
+        Assert.assertEquals("v2", asString(dbService.get(area2, bytes("k2"))));
+        Assert.assertNull(dbService.get(area2, bytes("old")));
+        // 日志在检查点之前保留，对这些区域的普通写入会先做检查点并删除日志
+        Assert.assertFalse(dbService.prefixEntryList(LevelDBManager.getBaseAreaName(), bytes("journal-"), 0).isEmpty());
+        dbService.put(area1, bytes("k1"), bytes("v1-plain"));
+        Assert.assertTrue(dbService.prefixEntryList(LevelDBManager.getBaseAreaName(), bytes("journal-"), 0).isEmpty());
+        Assert.assertEquals("v1-plain", asString(dbService.get(area1, bytes("k1"))));
+
+        result = batch.executeBatch();
+        Assert.assertTrue(result.isFailed());
+        Assert.assertEquals(DBErrorCode.DB_BATCH_CLOSE.getCode(), result.getErrorCode().getCode());
+
+        batch = dbService.createMultiWriteBatch();
+        Assert.assertTrue(batch.put("notExistArea", bytes("k"), bytes("v")).isFailed());
+        LevelDBManager.destroyArea(area1);
+        LevelDBManager.destroyArea(area2);
+    }
+
+    @Test
+    public void testSnapshot() {
+        String area = "testSnapshot";
+        dbService.createArea(area);
+        dbService.put(area, bytes("k1"), bytes("v1"));
+        dbService.put(area, bytes("k2"), bytes("v2"));
+
+        int openCount = LevelDBManager.getOpenSnapshotCount();
+        DBSnapshot snapshot = dbService.openSnapshot(area);
+        Assert.assertEquals(openCount + 1, LevelDBManager.getOpenSnapshotCount());
+
+        dbService.put(area, bytes("k1"), bytes("v1-new"));
+        dbService.delete(area, bytes("k2"));
+        dbService.put(area, bytes("k3"), bytes("v3"));
+
+        Assert.assertEquals("v1-new", asString(dbService.get(area, bytes("k1"))));
+        Assert.assertEquals("v1", asString(snapshot.get(area, bytes("k1"))));
+        Assert.assertEquals("v2", asString(snapshot.get(area, bytes("k2"))));
+        Assert.assertNull(snapshot.get(area, bytes("k3")));
+        Assert.assertEquals(2, snapshot.prefixEntryList(area, bytes("k"), 0).size());
+        Assert.assertNull(snapshot.openCursor("notExistArea"));
+
+        snapshot.close();
+        Assert.assertEquals(openCount, LevelDBManager.getOpenSnapshotCount());
+        Assert.assertNull(snapshot.get(area, bytes("k1")));
+        Assert.assertNull(dbService.openSnapshot("notExistArea"));
+        LevelDBManager.destroyArea(area);
+    }
+
+    private CacheStats getCacheStats(String area) {
+        for (CacheStats stats : dbService.getCacheStats()) {
+            if (area.equals(stats.getArea())) {
+                return stats;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testAreaCache() {
+        String area = "testAreaCache";
+        dbService.createArea(area);
+        LevelDBManager.setAreaCache(area, 1024);
+        dbService.put(area, bytes("k1"), bytes("v1"));
+
+        Assert.assertEquals("v1", asString(dbService.get(area, bytes("k1"))));
+        Assert.assertEquals("v1", asString(dbService.get(area, bytes("k1"))));
+        CacheStats stats = getCacheStats(area);
+        Assert.assertNotNull(stats);
+        Assert.assertEquals(1, stats.getMissCount());
+        Assert.assertEquals(1, stats.getHitCount());
+        Assert.assertEquals(1, stats.getSize());
+
+        // 写入、删除和批量操作后缓存失效
+        dbService.put(area, bytes("k1"), bytes("v1-new"));
+        Assert.assertEquals("v1-new", asString(dbService.get(area, bytes("k1"))));
+        BatchOperation batch = dbService.createWriteBatch(area);
+        batch.put(bytes("k1"), bytes("v1-batch"));
+        batch.executeBatch();
+        Assert.assertEquals("v1-batch", asString(dbService.get(area, bytes("k1"))));
+        MultiBatchOperation multiBatch = dbService.createMultiWriteBatch();
+        multiBatch.put(area, bytes("k1"), bytes("v1-multi"));
+        multiBatch.executeBatch();
+        Assert.assertEquals("v1-multi", asString(dbService.get(area, bytes("k1"))));
+        dbService.delete(area, bytes("k1"));
+        Assert.assertNull(dbService.get(area, bytes("k1")));
+
+        // 超出容量时淘汰最久未访问的数据
+        for (int i = 0; i < 50; i++) {
+            dbService.put(area, bytes("key" + i), bytes("value" + i));
+            dbService.get(area, bytes("key" + i));
+        }
+        stats = getCacheStats(area);
+        Assert.assertTrue(stats.getEvictionCount() > 0);
+        Assert.assertTrue(stats.getCurrentBytes() <= stats.getMaxBytes());
+        Assert.assertEquals("value0", asString(dbService.get(area, bytes("key0"))));
+
+        LevelDBManager.destroyArea(area);
+        Assert.assertNull(getCacheStats(area));
+    }
+
+    @Test
+    public void testModelCodec() {
+        String area = "testModelCodec";
+        dbService.createArea(area);
+        ModelCodecRegistry.register(NulsDigestData.class, new NulsDataCodec<>(NulsDigestData.class));
+        NulsDigestData digest = NulsDigestData.calcDigestData(bytes("codec"));
+        Assert.assertTrue(dbService.putModel(area, bytes("digest"), digest).isSuccess());
+        byte[] bytes = dbService.get(area, bytes("digest"));
+        Assert.assertEquals(ModelCodecRegistry.CODEC_MARKER, bytes[0]);
+        Assert.assertEquals(digest.size() + 1, bytes.length);
+        Assert.assertEquals(digest, dbService.getModel(area, bytes("digest"), NulsDigestData.class));
+
+        // 没有注册编解码器的类型仍然使用protostuff，已有数据可以继续读取
+        dbService.putModel(area, bytes("long"), 100L);
+        Assert.assertEquals(Long.valueOf(100L), dbService.getModel(area, bytes("long"), Long.class));
+        Assert.assertEquals(100L, dbService.getModel(area, bytes("long")));
+        LevelDBManager.destroyArea(area);
+    }
+
+    @Test
+    public void testAreaStats() {
+        String area = "testAreaStats";
+        dbService.createArea(area);
+        dbService.put(area, bytes("k1"), bytes("v1"));
+        dbService.get(area, bytes("k1"));
+        dbService.get(area, bytes("k2"));
+        dbService.delete(area, bytes("k1"));
+        BatchOperation batch = dbService.createWriteBatch(area);
+        batch.put(bytes("k2"), bytes("v2"));
+        batch.put(bytes("k3"), bytes("v3"));
+        batch.executeBatch();
+        MultiBatchOperation multiBatch = dbService.createMultiWriteBatch();
+        multiBatch.put(area, bytes("k4"), bytes("v4"));
+        multiBatch.executeBatch();
+
+        AreaStats stats = getAreaStats(area);
+        Assert.assertNotNull(stats);
+        Assert.assertEquals(1, stats.getPutLatency().getCount());
+        Assert.assertEquals(2, stats.getGetLatency().getCount());
+        Assert.assertEquals(1, stats.getDeleteLatency().getCount());
+        Assert.assertEquals(2, stats.getBatchLatency().getCount());
+        Assert.assertEquals(3, stats.getBatchSize().getSum());
+        Assert.assertEquals(2, stats.getBytesRead());
+        // put 4 + delete 2 + batch 8 + multi batch 4
+        Assert.assertEquals(18, stats.getBytesWritten());
+        Assert.assertTrue(stats.getApproximateSize() >= 0);
+
+        // 不存在的区域不记录
+        dbService.get("notExistArea", bytes("k1"));
+        Assert.assertNull(getAreaStats("notExistArea"));
+        LevelDBManager.destroyArea(area);
+        Assert.assertNull(getAreaStats(area));
+    }
+
+    @Test
+    public void testApproximateCount() {
+        String area = "testApproximateCount";
+        dbService.createArea(area);
+        dbService.put(area, bytes("k1"), bytes("v1"));
+        dbService.put(area, bytes("k2"), bytes("v2"));
+        // 第一次查询时遍历得到初始值
+        Assert.assertEquals(2, dbService.approximateCount(area));
+
+        // 覆盖写入和删除不存在的key不改变数量
+        dbService.put(area, bytes("k1"), bytes("v1-1"));
+        dbService.delete(area, bytes("k9"));
+        Assert.assertEquals(2, dbService.approximateCount(area));
+
+        BatchOperation batch = dbService.createWriteBatch(area);
+        batch.put(bytes("k3"), bytes("v3"));
+        batch.put(bytes("k3"), bytes("v3-1"));
+        batch.delete(bytes("k1"));
+        batch.executeBatch();
+        Assert.assertEquals(2, dbService.approximateCount(area));
+
+        MultiBatchOperation multiBatch = dbService.createMultiWriteBatch();
+        multiBatch.put(area, bytes("k4"), bytes("v4"));
+        multiBatch.delete(area, bytes("k2"));
+        multiBatch.delete(area, bytes("k3"));
+        multiBatch.executeBatch();
+        Assert.assertEquals(1, dbService.approximateCount(area));
+
+        Assert.assertTrue(dbService.approximateSize(area, null, null) >= 0);
+        Assert.assertTrue(dbService.approximateSize(area, bytes("k1"), bytes("k5")) >= 0);
+        Assert.assertEquals(-1, dbService.approximateCount("notExistArea"));
+        LevelDBManager.destroyArea(area);
+    }
+
+    private AreaStats getAreaStats(String area) {
+        for (AreaStats stats : dbService.getAreaStats()) {
+            if (area.equals(stats.getArea())) {
+                return stats;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,1113 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.manager;
+
+import io.nuls.core.tools.array.ArraysTool;
+import io.nuls.core.tools.cfg.ConfigLoader;
+import io.nuls.core.tools.log.Log;
+import io.nuls.core.tools.str.StringUtils;
+import io.nuls.db.codec.ModelCodecRegistry;
+import io.nuls.db.constant.DBErrorCode;
+import io.nuls.db.model.AreaMetrics;
+import io.nuls.db.model.AreaStats;
+import io.nuls.db.model.CacheStats;
+import io.nuls.db.model.Entry;
+import io.nuls.db.service.DBSnapshot;
+import io.nuls.kernel.constant.KernelErrorCode;
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.exception.NulsRuntimeException;
+import io.nuls.kernel.model.Result;
+import org.rocksdb.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.nuls.core.tools.str.StringUtils.bytes;
+import static io.nuls.db.constant.DBConstant.BASE_AREA_NAME;
+
+/**
+ * RocksDB存储引擎，所有数据区域保存在同一个RocksDB实例中，每个区域对应一个列族(column family)
+ * 所有列族共享一个块缓存(block cache)，每个列族使用布隆过滤器，可按区域配置固定长度的前缀提取器
+ * 与LevelDBManager一致，key按字节序存储，区域的自定义比较器只用于entryList/keyList等结果的排序
+ * RocksDB storage engine, all data areas are kept in one RocksDB instance, one column family per area.
+ * All column families share one block cache, each column family uses a bloom filter, and a fixed length prefix extractor can be configured per area.
+ * Same as LevelDBManager, keys are stored in byte order and the custom comparator of an area is only used to sort the results of entryList/keyList etc.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/27
+ */
+public class RocksDBManager {
+
+    static {
+        RocksDB.loadLibrary();
+    }
+
+    private static int max;
+
+    private static final ConcurrentHashMap<String, ColumnFamilyHandle> AREAS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Comparator<byte[]>> AREAS_COMPARATOR = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, ColumnFamilyOptions> AREAS_OPTIONS = new ConcurrentHashMap<>();
+    /**
+     * 配置了前缀提取器的区域及其前缀长度
+     * Areas with a prefix extractor and their prefix length.
+     */
+    private static final ConcurrentHashMap<String, Integer> AREAS_PREFIX_LENGTH = new ConcurrentHashMap<>();
+
+    /**
+     * 各数据区域的运行指标
+     * The runtime metrics of each data area.
+     */
+    private static final ConcurrentHashMap<String, AreaMetrics> AREA_METRICS = new ConcurrentHashMap<>();
+
+    /**
+     * 查询区域统计时读取的列族属性
+     * The column family properties read when querying area statistics.
+     */
+    private static final String[] STATS_PROPERTIES = {"rocksdb.cfstats", "rocksdb.estimate-num-keys",
+            "rocksdb.estimate-live-data-size", "rocksdb.num-running-compactions", "rocksdb.estimate-pending-compaction-bytes"};
+
+    private static final String BASE_DB_NAME = "rocksdb";
+
+    /**
+     * 共享块缓存的统计名称
+     * The statistics name of the shared block cache.
+     */
+    public static final String BLOCK_CACHE_NAME = "block_cache";
+
+    private static volatile boolean isInit = false;
+
+    private static ReentrantLock lock = new ReentrantLock();
+
+    private static String dataPath;
+
+    private static Properties properties;
+
+    private static RocksDB db;
+    private static DBOptions dbOptions;
+    private static ColumnFamilyHandle defaultHandle;
+    private static Cache blockCache;
+    private static long blockCacheBytes;
+    private static Filter bloomFilter;
+    private static Statistics statistics;
+
+    private static final WriteOptions SYNC_WRITE_OPTIONS = new WriteOptions().setSync(true);
+
+    /**
+     * 未关闭的快照，用于泄漏检查
+     * Snapshots not closed yet, used for the leak check.
+     */
+    private static final Set<DBSnapshot> OPEN_SNAPSHOTS = ConcurrentHashMap.newKeySet();
+
+    private static long snapshotLeakMillis;
+
+    public static int getMax() {
+        return max;
+    }
+
+    public static String getBaseAreaName() {
+        return BASE_AREA_NAME;
+    }
+
+    public static synchronized void init() throws Exception {
+        if (!isInit) {
+            properties = ConfigLoader.loadProperties("db_config.properties");
+            init(loadDataPath().getPath());
+        }
+    }
+
+    /**
+     * 打开指定目录下的数据库，迁移工具直接使用此方法
+     * Open the database in the given directory, used directly by the migration tool.
+     *
+     * @param path
+     * @throws Exception
+     */
+    public static synchronized void init(String path) throws Exception {
+        if (isInit) {
+            return;
+        }
+        isInit = true;
+        if (properties == null) {
+            try {
+                properties = ConfigLoader.loadProperties("db_config.properties");
+            } catch (Exception e) {
+                //skip it
+                properties = new Properties();
+            }
+        }
+        max = getIntProperty("rocksdb.area.max", 20);
+        snapshotLeakMillis = getIntProperty("rocksdb.snapshot.leak.seconds", 300) * 1000L;
+        dataPath = path;
+        Log.info("RocksDBManager dataPath is " + dataPath);
+
+        blockCacheBytes = getLongProperty("rocksdb.block.cache.bytes", 128L * 1024 * 1024);
+        blockCache = new LRUCache(blockCacheBytes);
+        int bloomBits = getIntProperty("rocksdb.bloom.bits", 10);
+        if (bloomBits > 0) {
+            bloomFilter = new BloomFilter(bloomBits, false);
+        }
+        statistics = new Statistics();
+        dbOptions = new DBOptions()
+                .setCreateIfMissing(true)
+                .setCreateMissingColumnFamilies(true)
+                .setIncreaseParallelism(Math.max(2, Runtime.getRuntime().availableProcessors()))
+                .setStatistics(statistics);
+
+        File dir = new File(dataPath + File.separator + BASE_DB_NAME);
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        List<String> areaNames = new ArrayList<>();
+        if (new File(dir, "CURRENT").exists()) {
+            List<byte[]> names = RocksDB.listColumnFamilies(new Options(), dir.getPath());
+            for (byte[] name : names) {
+                if (Arrays.equals(name, RocksDB.DEFAULT_COLUMN_FAMILY)) {
+                    continue;
+                }
+                areaNames.add(new String(name, "UTF-8"));
+            }
+        }
+        if (!areaNames.contains(BASE_AREA_NAME)) {
+            areaNames.add(0, BASE_AREA_NAME);
+        }
+
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+        descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, new ColumnFamilyOptions()));
+        for (String areaName : areaNames) {
+            descriptors.add(new ColumnFamilyDescriptor(bytes(areaName), createAreaOptions(areaName)));
+        }
+        List<ColumnFamilyHandle> handles = new ArrayList<>();
+        db = RocksDB.open(dbOptions, dir.getPath(), descriptors, handles);
+        defaultHandle = handles.get(0);
+        for (int i = 0; i < areaNames.size(); i++) {
+            AREAS.put(areaNames.get(i), handles.get(i + 1));
+            AREA_METRICS.put(areaNames.get(i), new AreaMetrics(areaNames.get(i)));
+        }
+
+        /*
+         * Area的自定义比较器，启动数据库时获取并装载它
+         * Area of custom comparator, you start the database access and loaded it
+         */
+        for (String areaName : areaNames) {
+            Comparator comparator = getModel(BASE_AREA_NAME, bytes(areaName + "-comparator"), Comparator.class);
+            if (comparator != null) {
+                AREAS_COMPARATOR.put(areaName, comparator);
+            }
+        }
+    }
+
+    /**
+     * 创建区域（列族）的配置：共享块缓存、布隆过滤器，以及按配置rocksdb.prefix.length.{area}设置的前缀提取器
+     * Create the options of an area (column family): the shared block cache, the bloom filter,
+     * and the prefix extractor configured by rocksdb.prefix.length.{area}.
+     *
+     * @param areaName
+     * @return
+     */
+    private static ColumnFamilyOptions createAreaOptions(String areaName) {
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+        tableConfig.setBlockCache(blockCache);
+        tableConfig.setCacheIndexAndFilterBlocks(true);
+        tableConfig.setPinL0FilterAndIndexBlocksInCache(true);
+        if (bloomFilter != null) {
+            tableConfig.setFilter(bloomFilter);
+        }
+        ColumnFamilyOptions options = new ColumnFamilyOptions();
+        options.optimizeLevelStyleCompaction();
+        options.setCompressionType(CompressionType.LZ4_COMPRESSION);
+        options.setTableFormatConfig(tableConfig);
+        int prefixLength = getIntProperty("rocksdb.prefix.length." + areaName, 0);
+        if (prefixLength > 0) {
+            options.useFixedLengthPrefixExtractor(prefixLength);
+            AREAS_PREFIX_LENGTH.put(areaName, prefixLength);
+        }
+        AREAS_OPTIONS.put(areaName, options);
+        return options;
+    }
+
+    private static int getIntProperty(String key, int defaultValue) {
+        return (int) getLongProperty(key, defaultValue);
+    }
+
+    private static long getLongProperty(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (Exception e) {
+            //skip it
+            return defaultValue;
+        }
+    }
+
+    private static File loadDataPath() {
+        String path = properties.getProperty("rocksdb.datapath", "./data");
+        File dir = null;
+        String pathSeparator = System.getProperty("path.separator");
+        String unixPathSeparator = ":";
+        String rootPath;
+        if (unixPathSeparator.equals(pathSeparator)) {
+            rootPath = "/";
+            if (path.startsWith(rootPath)) {
+                dir = new File(path);
+            } else {
+                dir = new File(genAbsolutePath(path));
+            }
+        } else {
+            rootPath = "^[c-zC-Z]:.*";
+            if (path.matches(rootPath)) {
+                dir = new File(path);
+            } else {
+                dir = new File(genAbsolutePath(path));
+            }
+        }
+
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        return dir;
+    }
+
+    private static String genAbsolutePath(String path) {
+        String[] paths = path.split("/|\\\\");
+        URL resource = ClassLoader.getSystemClassLoader().getResource(".");
+        String classPath = resource.getPath();
+        File file = new File(classPath);
+        String resultPath = null;
+        boolean isFileName = false;
+        for (String p : paths) {
+            if (StringUtils.isBlank(p)) {
+                continue;
+            }
+            if (!isFileName) {
+                if ("..".equals(p)) {
+                    file = file.getParentFile();
+                } else if (".".equals(p)) {
+                    continue;
+                } else {
+                    isFileName = true;
+                    resultPath = file.getPath() + File.separator + p;
+                }
+            } else {
+                resultPath += File.separator + p;
+            }
+        }
+        return resultPath;
+    }
+
+    public static Result createArea(String areaName) {
+        return createArea(areaName, null, null);
+    }
+
+    /**
+     * 所有区域共享块缓存，cacheSize无效
+     * All areas share the block cache, cacheSize is ignored.
+     */
+    public static Result createArea(String areaName, Long cacheSize) {
+        return createArea(areaName, cacheSize, null);
+    }
+
+    public static Result createArea(String areaName, Comparator<byte[]> comparator) {
+        return createArea(areaName, null, comparator);
+    }
+
+    public static Result createArea(String areaName, Long cacheSize, Comparator<byte[]> comparator) {
+        lock.lock();
+        try {
+            // prevent too many areas
+            if (AREAS.size() > (max - 1)) {
+                return Result.getFailed(DBErrorCode.DB_AREA_CREATE_EXCEED_LIMIT);
+            }
+            if (StringUtils.isBlank(areaName)) {
+                return Result.getFailed(KernelErrorCode.NULL_PARAMETER);
+            }
+            if (AREAS.containsKey(areaName)) {
+                return Result.getFailed(DBErrorCode.DB_AREA_EXIST);
+            }
+            if (db == null || !checkPathLegal(areaName)) {
+                return Result.getFailed(DBErrorCode.DB_AREA_CREATE_PATH_ERROR);
+            }
+            Result result;
+            try {
+                ColumnFamilyHandle handle = db.createColumnFamily(new ColumnFamilyDescriptor(bytes(areaName), createAreaOptions(areaName)));
+                AREAS.put(areaName, handle);
+                AREA_METRICS.put(areaName, new AreaMetrics(areaName));
+                if (comparator != null) {
+                    putModel(BASE_AREA_NAME, bytes(areaName + "-comparator"), comparator);
+                    AREAS_COMPARATOR.put(areaName, comparator);
+                }
+                result = Result.getSuccess();
+            } catch (Exception e) {
+                Log.error("error create area: " + areaName, e);
+                result = Result.getFailed(DBErrorCode.DB_AREA_CREATE_ERROR);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static RocksDB getDB() {
+        return db;
+    }
+
+    public static ColumnFamilyHandle getArea(String areaName) {
+        return AREAS.get(areaName);
+    }
+
+    public static Result destroyArea(String areaName) {
+        if (!baseCheckArea(areaName)) {
+            return Result.getFailed(DBErrorCode.DB_AREA_NOT_EXIST);
+        }
+        if (BASE_AREA_NAME.equals(areaName) || !checkPathLegal(areaName)) {
+            return Result.getFailed(DBErrorCode.DB_AREA_CREATE_PATH_ERROR);
+        }
+        Result result;
+        lock.lock();
+        try {
+            ColumnFamilyHandle handle = AREAS.remove(areaName);
+            db.dropColumnFamily(handle);
+            handle.close();
+            closeAreaOptions(areaName);
+            AREAS_COMPARATOR.remove(areaName);
+            AREA_METRICS.remove(areaName);
+            delete(BASE_AREA_NAME, bytes(areaName + "-comparator"));
+            result = Result.getSuccess();
+        } catch (Exception e) {
+            Log.error("error destroy area: " + areaName, e);
+            result = Result.getFailed(DBErrorCode.DB_AREA_DESTROY_ERROR);
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    private static void closeAreaOptions(String areaName) {
+        AREAS_PREFIX_LENGTH.remove(areaName);
+        ColumnFamilyOptions options = AREAS_OPTIONS.remove(areaName);
+        if (options != null) {
+            options.close();
+        }
+    }
+
+    /**
+     * close all area
+     * 关闭所有数据区域
+     */
+    public static synchronized void close() {
+        if (db == null) {
+            return;
+        }
+        for (DBSnapshot snapshot : OPEN_SNAPSHOTS) {
+            snapshot.close();
+        }
+        for (String area : new ArrayList<>(AREAS.keySet())) {
+            closeArea(area);
+        }
+        try {
+            defaultHandle.close();
+            db.close();
+            dbOptions.close();
+            if (bloomFilter != null) {
+                bloomFilter.close();
+            }
+            blockCache.close();
+            statistics.close();
+        } catch (Exception e) {
+            Log.warn("close rocksdb error", e);
+        }
+        db = null;
+        isInit = false;
+    }
+
+    /**
+     * close a area
+     * 关闭指定数据区域，数据保留在数据库中，下次启动时重新装载
+     * The data stays in the database and is loaded again on the next start.
+     */
+    public static void closeArea(String area) {
+        AREAS_COMPARATOR.remove(area);
+        AREA_METRICS.remove(area);
+        ColumnFamilyHandle handle = AREAS.remove(area);
+        if (handle != null) {
+            handle.close();
+        }
+        closeAreaOptions(area);
+    }
+
+    private static boolean checkPathLegal(String areaName) {
+        if (StringUtils.isBlank(areaName)) {
+            return false;
+        }
+        String regex = "^[a-zA-Z0-9_\\-]+$";
+        return areaName.matches(regex);
+    }
+
+    private static boolean baseCheckArea(String areaName) {
+        if (StringUtils.isBlank(areaName) || !AREAS.containsKey(areaName)) {
+            return false;
+        }
+        return true;
+    }
+
+    public static String[] listArea() {
+        int i = 0;
+        Enumeration<String> keys = AREAS.keys();
+        String[] areas = new String[AREAS.size()];
+        int length = areas.length;
+        while (keys.hasMoreElements()) {
+            areas[i++] = keys.nextElement();
+            // thread safe, prevent java.lang.ArrayIndexOutOfBoundsException
+            if (i == length) {
+                break;
+            }
+        }
+        return areas;
+    }
+
+    public static Result put(String area, byte[] key, byte[] value) {
+        if (!baseCheckArea(area)) {
+            return Result.getFailed(DBErrorCode.DB_AREA_NOT_EXIST);
+        }
+        if (key == null || value == null) {
+            return Result.getFailed(KernelErrorCode.NULL_PARAMETER);
+        }
+        try {
+            db.put(AREAS.get(area), key, value);
+            return Result.getSuccess();
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(e.getMessage());
+        }
+    }
+
+    public static <T> Result putModel(String area, byte[] key, T value) {
+        if (!baseCheckArea(area)) {
+            return Result.getFailed(DBErrorCode.DB_AREA_NOT_EXIST);
+        }
+        if (key == null || value == null) {
+            return Result.getFailed(KernelErrorCode.NULL_PARAMETER);
+        }
+        try {
+            byte[] bytes = getModelSerialize(value);
+            return put(area, key, bytes);
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(e.getMessage());
+        }
+    }
+
+    public static <T> byte[] getModelSerialize(T value) {
+        try {
+            return ModelCodecRegistry.serialize(value);
+        } catch (IOException e) {
+            throw new NulsRuntimeException(e);
+        }
+    }
+
+    public static Result delete(String area, byte[] key) {
+        if (!baseCheckArea(area)) {
+            return Result.getFailed(DBErrorCode.DB_AREA_NOT_EXIST);
+        }
+        if (key == null) {
+            return Result.getFailed(KernelErrorCode.NULL_PARAMETER);
+        }
+        try {
+            db.delete(AREAS.get(area), key);
+            return Result.getSuccess();
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(e.getMessage());
+        }
+    }
+
+    public static byte[] get(String area, byte[] key) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        if (key == null) {
+            return null;
+        }
+        try {
+            return db.get(AREAS.get(area), key);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public static Object getModel(String area, byte[] key) {
+        return getModel(area, key, null);
+    }
+
+    public static <T> T getModel(String area, byte[] key, Class<T> clazz) {
+        try {
+            byte[] bytes = get(area, key);
+            if (bytes == null) {
+                return null;
+            }
+            return getModelDeserialize(bytes, clazz);
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    public static <T> T getModelDeserialize(byte[] bytes, Class<T> clazz) {
+        try {
+            return ModelCodecRegistry.deserialize(bytes, clazz);
+        } catch (NulsException e) {
+            throw new NulsRuntimeException(e);
+        }
+    }
+
+    /**
+     * 创建区域的读取选项；区域配置了前缀提取器时，前缀长度足够的前缀查询使用前缀布隆过滤器，其他查询使用全序遍历
+     * Create the read options of an area; when the area has a prefix extractor, prefix queries with a long enough prefix
+     * use the prefix bloom filter and other queries use total order seek.
+     *
+     * @param area
+     * @param prefix   前缀查询的前缀，其他查询为null/the prefix of a prefix query, null for other queries.
+     * @param snapshot 为null时读取最新数据/reads the latest data if null.
+     * @return
+     */
+    public static ReadOptions createReadOptions(String area, byte[] prefix, Snapshot snapshot) {
+        ReadOptions readOptions = new ReadOptions();
+        Integer prefixLength = AREAS_PREFIX_LENGTH.get(area);
+        if (prefixLength != null) {
+            if (prefix != null && prefix.length >= prefixLength) {
+                readOptions.setPrefixSameAsStart(true);
+            } else {
+                readOptions.setTotalOrderSeek(true);
+            }
+        }
+        if (snapshot != null) {
+            readOptions.setSnapshot(snapshot);
+        }
+        return readOptions;
+    }
+
+    /**
+     * 遍历区域的所有key-value，按key的字节序
+     * Iterate over all key-values of the area, in the byte order of the keys.
+     */
+    private static void forEach(String area, java.util.function.BiConsumer<byte[], byte[]> consumer) {
+        ReadOptions readOptions = createReadOptions(area, null, null);
+        RocksIterator iterator = db.newIterator(AREAS.get(area), readOptions);
+        try {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                consumer.accept(iterator.key(), iterator.value());
+            }
+        } finally {
+            // Make sure you close the iterator to avoid resource leaks.
+            iterator.close();
+            readOptions.close();
+        }
+    }
+
+    public static Set<byte[]> keySet(String area) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        try {
+            Set<byte[]> keySet = new HashSet<>();
+            forEach(area, (key, value) -> keySet.add(key));
+            return keySet;
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    public static List<byte[]> keyList(String area) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        try {
+            List<byte[]> keyList = new ArrayList<>();
+            forEach(area, (key, value) -> keyList.add(key));
+            Comparator<byte[]> comparator = AREAS_COMPARATOR.get(area);
+            if (comparator != null) {
+                keyList.sort(comparator);
+            }
+            return keyList;
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    public static Set<Entry<byte[], byte[]>> entrySet(String area) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        try {
+            Set<Entry<byte[], byte[]>> entrySet = new HashSet<>();
+            forEach(area, (key, value) -> entrySet.add(new Entry<byte[], byte[]>(key, value)));
+            return entrySet;
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    public static List<Entry<byte[], byte[]>> entryList(String area) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        try {
+            List<Entry<byte[], byte[]>> entryList = new ArrayList<>();
+            Comparator<byte[]> comparator = AREAS_COMPARATOR.get(area);
+            forEach(area, (key, value) -> entryList.add(new Entry<byte[], byte[]>(key, value, comparator)));
+            // 如果自定义了比较器，则执行排序
+            if (comparator != null) {
+                entryList.sort((o1, o2) -> o1.compareTo(o2.getKey()));
+            }
+            return entryList;
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    public static <T> List<Entry<byte[], T>> entryList(String area, Class<T> clazz) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        try {
+            List<Entry<byte[], T>> entryList = new ArrayList<>();
+            Comparator<byte[]> comparator = AREAS_COMPARATOR.get(area);
+            forEach(area, (key, value) -> entryList.add(new Entry<byte[], T>(key, getModelDeserialize(value, clazz), comparator)));
+            // 如果自定义了比较器，则执行排序
+            if (comparator != null) {
+                entryList.sort((o1, o2) -> o1.compareTo(o2.getKey()));
+            }
+            return entryList;
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    public static <T> List<T> values(String area, Class<T> clazz) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        try {
+            List<T> list = new ArrayList<>();
+            if (AREAS_COMPARATOR.get(area) == null) {
+                forEach(area, (key, value) -> list.add(getModelDeserialize(value, clazz)));
+            } else {
+                List<Entry<byte[], T>> entryList = entryList(area, clazz);
+                if (entryList != null) {
+                    entryList.forEach(entry -> list.add(entry.getValue()));
+                }
+            }
+            return list;
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    public static List<byte[]> valueList(String area) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        try {
+            List<byte[]> list = new ArrayList<>();
+            if (AREAS_COMPARATOR.get(area) == null) {
+                forEach(area, (key, value) -> list.add(value));
+            } else {
+                List<Entry<byte[], byte[]>> entryList = entryList(area);
+                if (entryList != null) {
+                    entryList.forEach(entry -> list.add(entry.getValue()));
+                }
+            }
+            return list;
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取key以指定前缀开头的key-value有序集合，区域配置了前缀提取器时使用前缀布隆过滤器
+     * Gets the ordered key-values whose key starts with the prefix, using the prefix bloom filter when the area has a prefix extractor.
+     *
+     * @param area
+     * @param prefix
+     * @param snapshot 为null时读取最新数据/reads the latest data if null.
+     * @param limit    小于等于0表示不限制/no limit when less than or equal to 0.
+     * @return
+     */
+    public static List<Entry<byte[], byte[]>> prefixEntryList(String area, byte[] prefix, Snapshot snapshot, int limit) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        if (prefix == null) {
+            return null;
+        }
+        ReadOptions readOptions = null;
+        RocksIterator iterator = null;
+        try {
+            List<Entry<byte[], byte[]>> entryList = new ArrayList<>();
+            readOptions = createReadOptions(area, prefix, snapshot);
+            iterator = db.newIterator(AREAS.get(area), readOptions);
+            byte[] key;
+            for (iterator.seek(prefix); iterator.isValid(); iterator.next()) {
+                key = iterator.key();
+                if (!ArraysTool.startsWith(key, prefix)) {
+                    break;
+                }
+                entryList.add(new Entry<byte[], byte[]>(key, iterator.value()));
+                if (limit > 0 && entryList.size() >= limit) {
+                    break;
+                }
+            }
+            return entryList;
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        } finally {
+            // Make sure you close the iterator to avoid resource leaks.
+            if (iterator != null) {
+                iterator.close();
+            }
+            if (readOptions != null) {
+                readOptions.close();
+            }
+        }
+    }
+
+    /**
+     * 获取[startKey, endKey)范围内的key-value有序集合，按key的字节序排列，不使用Area的自定义比较器
+     * 倒序时从endKey之前的位置向前遍历
+     * Gets the ordered key-values in the range [startKey, endKey) by the byte order of the keys, ignoring the custom comparator of the Area.
+     * In reverse order the range is iterated backwards from just before endKey.
+     *
+     * @param area
+     * @param startKey 为null时从第一个key开始/from the first key if null.
+     * @param endKey   为null时直到最后一个key/to the last key if null.
+     * @param reverse
+     * @param limit    小于等于0表示不限制/no limit when less than or equal to 0.
+     * @return
+     */
+    public static List<Entry<byte[], byte[]>> rangeEntryList(String area, byte[] startKey, byte[] endKey, boolean reverse, int limit) {
+        if (!baseCheckArea(area)) {
+            return null;
+        }
+        ReadOptions readOptions = null;
+        RocksIterator iterator = null;
+        try {
+            List<Entry<byte[], byte[]>> entryList = new ArrayList<>();
+            readOptions = createReadOptions(area, null, null);
+            iterator = db.newIterator(AREAS.get(area), readOptions);
+            byte[] key;
+            if (reverse) {
+                if (endKey == null) {
+                    iterator.seekToLast();
+                } else {
+                    iterator.seekForPrev(endKey);
+                    if (iterator.isValid() && Arrays.equals(iterator.key(), endKey)) {
+                        iterator.prev();
+                    }
+                }
+                for (; iterator.isValid(); iterator.prev()) {
+                    key = iterator.key();
+                    if (startKey != null && ArraysTool.compareUnsigned(key, startKey) < 0) {
+                        break;
+                    }
+                    entryList.add(new Entry<byte[], byte[]>(key, iterator.value()));
+                    if (limit > 0 && entryList.size() >= limit) {
+                        break;
+                    }
+                }
+            } else {
+                if (startKey == null) {
+                    iterator.seekToFirst();
+                } else {
+                    iterator.seek(startKey);
+                }
+                for (; iterator.isValid(); iterator.next()) {
+                    key = iterator.key();
+                    if (endKey != null && ArraysTool.compareUnsigned(key, endKey) >= 0) {
+                        break;
+                    }
+                    entryList.add(new Entry<byte[], byte[]>(key, iterator.value()));
+                    if (limit > 0 && entryList.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            return entryList;
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        } finally {
+            // Make sure you close the iterator to avoid resource leaks.
+            if (iterator != null) {
+                iterator.close();
+            }
+            if (readOptions != null) {
+                readOptions.close();
+            }
+        }
+    }
+
+    /**
+     * 区域中key的估算数量，使用RocksDB的rocksdb.estimate-num-keys属性，区域不存在时返回-1
+     * The approximate number of keys in the area, from the rocksdb.estimate-num-keys property, -1 if the area does not exist.
+     *
+     * @param area
+     * @return
+     */
+    public static long approximateCount(String area) {
+        if (!baseCheckArea(area)) {
+            return -1;
+        }
+        try {
+            return db.getLongProperty(AREAS.get(area), "rocksdb.estimate-num-keys");
+        } catch (Exception e) {
+            Log.error(e);
+            return -1;
+        }
+    }
+
+    /**
+     * [startKey, endKey)范围内数据的估算大小，区域不存在时返回-1
+     * 整个区域时使用SST文件和memtable的大小属性；当前版本的Java接口没有getApproximateSizes，指定范围时流式累加范围内key和value的长度
+     * The approximate size of the data in the range [startKey, endKey), -1 if the area does not exist.
+     * For the whole area the SST file and memtable size properties are used; the Java API of this version has no getApproximateSizes,
+     * so for a given range the lengths of the keys and values in the range are summed by streaming over it.
+     *
+     * @param area
+     * @param startKey 为null时从第一个key开始/from the first key if null.
+     * @param endKey   为null时直到最后一个key/to the last key if null.
+     * @return
+     */
+    public static long approximateSize(String area, byte[] startKey, byte[] endKey) {
+        if (!baseCheckArea(area)) {
+            return -1;
+        }
+        ColumnFamilyHandle handle = AREAS.get(area);
+        if (startKey == null && endKey == null) {
+            try {
+                return db.getLongProperty(handle, "rocksdb.total-sst-files-size") + db.getLongProperty(handle, "rocksdb.size-all-mem-tables");
+            } catch (Exception e) {
+                Log.error(e);
+                return -1;
+            }
+        }
+        ReadOptions readOptions = null;
+        RocksIterator iterator = null;
+        try {
+            readOptions = createReadOptions(area, null, null);
+            iterator = db.newIterator(handle, readOptions);
+            if (startKey == null) {
+                iterator.seekToFirst();
+            } else {
+                iterator.seek(startKey);
+            }
+            long size = 0;
+            byte[] key;
+            for (; iterator.isValid(); iterator.next()) {
+                key = iterator.key();
+                if (endKey != null && ArraysTool.compareUnsigned(key, endKey) >= 0) {
+                    break;
+                }
+                size += key.length + iterator.value().length;
+            }
+            return size;
+        } catch (Exception e) {
+            Log.error(e);
+            return -1;
+        } finally {
+            // Make sure you close the iterator to avoid resource leaks.
+            if (iterator != null) {
+                iterator.close();
+            }
+            if (readOptions != null) {
+                readOptions.close();
+            }
+        }
+    }
+
+    /**
+     * 提交批量操作，RocksDB的WriteBatch可以包含多个列族的修改，因此跨区域批量操作本身就是原子的，不需要LevelDB引擎的日志
+     * Commit a batch; a RocksDB WriteBatch can hold changes of several column families,
+     * so a multi-area batch is atomic by itself and needs no journal as the LevelDB engine does.
+     *
+     * @param batch
+     * @param sync  是否同步刷盘/whether to sync to disk.
+     * @return
+     */
+    public static Result writeBatch(WriteBatch batch, boolean sync) {
+        if (db == null) {
+            return Result.getFailed(DBErrorCode.DB_UNKOWN_EXCEPTION);
+        }
+        try {
+            if (sync) {
+                db.write(SYNC_WRITE_OPTIONS, batch);
+            } else {
+                WriteOptions writeOptions = new WriteOptions();
+                try {
+                    db.write(writeOptions, batch);
+                } finally {
+                    writeOptions.close();
+                }
+            }
+            return Result.getSuccess();
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(DBErrorCode.DB_UNKOWN_EXCEPTION, e.getMessage());
+        }
+    }
+
+    /**
+     * 创建快照，RocksDB的快照覆盖所有列族，天然与跨区域批量操作一致
+     * Create a snapshot; a RocksDB snapshot covers all column families, so it is naturally consistent with multi-area batches.
+     *
+     * @return
+     */
+    public static Snapshot createSnapshot() {
+        if (db == null) {
+            return null;
+        }
+        return db.getSnapshot();
+    }
+
+    public static void releaseSnapshot(Snapshot snapshot) {
+        if (db != null && snapshot != null) {
+            db.releaseSnapshot(snapshot);
+        }
+    }
+
+    public static void registerSnapshot(DBSnapshot snapshot) {
+        OPEN_SNAPSHOTS.add(snapshot);
+    }
+
+    public static void unregisterSnapshot(DBSnapshot snapshot) {
+        OPEN_SNAPSHOTS.remove(snapshot);
+    }
+
+    public static int getOpenSnapshotCount() {
+        return OPEN_SNAPSHOTS.size();
+    }
+
+    /**
+     * 检查持有时间超过配置(rocksdb.snapshot.leak.seconds)的快照，记录其创建位置
+     * Check the snapshots held longer than configured (rocksdb.snapshot.leak.seconds) and log where they were created.
+     *
+     * @return 疑似泄漏的快照数量/the number of suspected leaked snapshots.
+     */
+    public static int checkSnapshotLeak() {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (DBSnapshot snapshot : OPEN_SNAPSHOTS) {
+            if (now - snapshot.getCreateTime() > snapshotLeakMillis) {
+                count++;
+                Log.warn("db snapshot has not been released for " + (now - snapshot.getCreateTime()) + " ms: " + snapshot);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 所有区域共享一个块缓存，返回一条块缓存的统计
+     * All areas share one block cache, so a single entry for the block cache is returned.
+     *
+     * @return
+     */
+    public static List<CacheStats> getCacheStats() {
+        List<CacheStats> list = new ArrayList<>();
+        if (db == null) {
+            return list;
+        }
+        long usage = 0;
+        try {
+            usage = db.getLongProperty("rocksdb.block-cache-usage");
+        } catch (Exception e) {
+            //skip it
+        }
+        list.add(new CacheStats(BLOCK_CACHE_NAME, blockCacheBytes, usage, 0,
+                statistics.getTickerCount(TickerType.BLOCK_CACHE_HIT),
+                statistics.getTickerCount(TickerType.BLOCK_CACHE_MISS), 0));
+        return list;
+    }
+
+    /**
+     * 获取区域的运行指标，区域不存在时返回null
+     * Gets the runtime metrics of the area, null if the area does not exist.
+     *
+     * @param area
+     * @return
+     */
+    public static AreaMetrics getAreaMetrics(String area) {
+        if (area == null) {
+            return null;
+        }
+        return AREA_METRICS.get(area);
+    }
+
+    /**
+     * 获取所有区域的统计，包括运行指标、SST文件大小和列族的属性统计
+     * Gets the statistics of all areas, including the runtime metrics, the SST files size and the column family property stats.
+     *
+     * @return
+     */
+    public static List<AreaStats> getAreaStats() {
+        List<AreaStats> list = new ArrayList<>();
+        if (db == null) {
+            return list;
+        }
+        for (AreaMetrics metrics : AREA_METRICS.values()) {
+            ColumnFamilyHandle handle = AREAS.get(metrics.getArea());
+            if (handle == null) {
+                continue;
+            }
+            long approximateSize = -1;
+            Map<String, String> stats = new LinkedHashMap<>();
+            try {
+                approximateSize = db.getLongProperty(handle, "rocksdb.total-sst-files-size");
+                for (String property : STATS_PROPERTIES) {
+                    String value = db.getProperty(handle, property);
+                    if (value != null) {
+                        stats.put(property, value);
+                    }
+                }
+            } catch (Exception e) {
+                Log.warn("read rocksdb stats error: " + metrics.getArea(), e);
+            }
+            list.add(metrics.toStats(approximateSize, stats));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.migration;
+
+import io.nuls.core.tools.array.ArraysTool;
+import io.nuls.core.tools.log.Log;
+import io.nuls.db.manager.RocksDBManager;
+import io.nuls.kernel.model.Result;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.DBIterator;
+import org.iq80.leveldb.Options;
+import org.iq80.leveldb.impl.Iq80DBFactory;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.WriteBatch;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+
+import static io.nuls.core.tools.str.StringUtils.bytes;
+import static io.nuls.db.constant.DBConstant.BASE_AREA_NAME;
+
+/**
+ * 把LevelDB引擎的数据目录复制到RocksDB引擎，每个区域复制为一个列族，区域的自定义比较器随BASE_AREA一起复制
+ * 迁移前必须停止节点；若LevelDB中还有未完成的跨区域批量操作日志，需先用LevelDB引擎启动一次节点以重放日志
+ * Copy the data directory of the LevelDB engine into the RocksDB engine, each area becomes a column family,
+ * and the custom comparators of the areas are copied along with BASE_AREA.
+ * The node must be stopped first; if LevelDB still has unfinished multi-area batch journals, start the node once with the LevelDB engine to replay them.
+ * <p>
+ * usage: java -cp ... io.nuls.db.migration.LevelDBToRocksDBMigration {leveldb data path} {rocksdb data path}
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/28
+ */
+public class LevelDBToRocksDBMigration {
+
+    private static final String LEVELDB_DB_NAME = "leveldb";
+    private static final byte[] JOURNAL_PREFIX = bytes("journal-");
+    /**
+     * 每批写入的最大条数和字节数
+     * The maximum number of entries and bytes written per batch.
+     */
+    private static final int BATCH_COUNT = 10000;
+    private static final int BATCH_BYTES = 4 * 1024 * 1024;
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("usage: LevelDBToRocksDBMigration {leveldb data path} {rocksdb data path}");
+            System.exit(1);
+        }
+        Result<Long> result = migrate(args[0], args[1]);
+        if (result.isFailed()) {
+            System.out.println("migration failed: " + result.getMsg());
+            System.exit(1);
+        }
+        System.out.println("migration finished, " + result.getData() + " entries copied");
+    }
+
+    /**
+     * 执行迁移
+     * Run the migration.
+     *
+     * @param levelDBPath LevelDB引擎的数据目录(leveldb.datapath)/The data path of the LevelDB engine (leveldb.datapath).
+     * @param rocksDBPath RocksDB引擎的数据目录(rocksdb.datapath)/The data path of the RocksDB engine (rocksdb.datapath).
+     * @return 复制的总条数/the total number of entries copied.
+     */
+    public static Result<Long> migrate(String levelDBPath, String rocksDBPath) {
+        File baseFile = new File(levelDBPath + File.separator + BASE_AREA_NAME + File.separator + LEVELDB_DB_NAME);
+        if (!new File(baseFile, "CURRENT").exists()) {
+            return Result.getFailed("not a leveldb data path: " + levelDBPath);
+        }
+        DB baseDB = null;
+        try {
+            baseDB = openLevelDB(baseFile);
+            if (hasJournal(baseDB)) {
+                return Result.getFailed("unfinished db journals found, start the node once with the leveldb engine to replay them");
+            }
+            RocksDBManager.init(rocksDBPath);
+            if (RocksDBManager.listArea().length > 1) {
+                return Result.getFailed("the rocksdb data path is not empty: " + rocksDBPath);
+            }
+            long total = copyArea(baseDB, BASE_AREA_NAME);
+            baseDB.close();
+            baseDB = null;
+
+            File[] areaFiles = new File(levelDBPath).listFiles();
+            for (File areaFile : areaFiles) {
+                String area = areaFile.getName();
+                File dbFile = new File(areaFile, LEVELDB_DB_NAME);
+                if (BASE_AREA_NAME.equals(area) || !new File(dbFile, "CURRENT").exists()) {
+                    continue;
+                }
+                Comparator<byte[]> comparator = RocksDBManager.getModel(BASE_AREA_NAME, bytes(area + "-comparator"), Comparator.class);
+                Result result = RocksDBManager.createArea(area, comparator);
+                if (result.isFailed()) {
+                    return Result.getFailed("create area failed: " + area + ", " + result.getMsg());
+                }
+                DB db = openLevelDB(dbFile);
+                try {
+                    total += copyArea(db, area);
+                } finally {
+                    db.close();
+                }
+            }
+            return Result.getSuccess().setData(total);
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(e.getMessage());
+        } finally {
+            if (baseDB != null) {
+                try {
+                    baseDB.close();
+                } catch (IOException e) {
+                    //skip it
+                }
+            }
+            RocksDBManager.close();
+        }
+    }
+
+    private static DB openLevelDB(File file) throws IOException {
+        return Iq80DBFactory.factory.open(file, new Options().createIfMissing(false));
+    }
+
+    private static boolean hasJournal(DB baseDB) throws IOException {
+        DBIterator iterator = baseDB.iterator();
+        try {
+            iterator.seek(JOURNAL_PREFIX);
+            return iterator.hasNext() && ArraysTool.startsWith(iterator.peekNext().getKey(), JOURNAL_PREFIX);
+        } finally {
+            iterator.close();
+        }
+    }
+
+    /**
+     * 分批复制一个区域的所有数据，最后一批同步写入
+     * Copy all data of an area in batches, the last batch is written synchronously.
+     */
+    private static long copyArea(DB levelDB, String area) throws IOException {
+        ColumnFamilyHandle handle = RocksDBManager.getArea(area);
+        DBIterator iterator = levelDB.iterator();
+        WriteBatch batch = new WriteBatch();
+        long count = 0;
+        int batchCount = 0;
+        int batchBytes = 0;
+        try {
+            for (iterator.seekToFirst(); iterator.hasNext(); ) {
+                Map.Entry<byte[], byte[]> entry = iterator.next();
+                batch.put(handle, entry.getKey(), entry.getValue());
+                count++;
+                batchCount++;
+                batchBytes += entry.getKey().length + entry.getValue().length;
+                if (batchCount >= BATCH_COUNT || batchBytes >= BATCH_BYTES) {
+                    writeBatch(batch, false);
+                    batch.close();
+                    batch = new WriteBatch();
+                    batchCount = 0;
+                    batchBytes = 0;
+                }
+            }
+            writeBatch(batch, true);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        } finally {
+            batch.close();
+            iterator.close();
+        }
+        Log.info("migrated area " + area + ", " + count + " entries");
+        return count;
+    }
+
+    private static void writeBatch(WriteBatch batch, boolean sync) throws IOException {
+        Result result = RocksDBManager.writeBatch(batch, sync);
+        if (result.isFailed()) {
+            throw new IOException(result.getMsg());
+        }
+    }
+}
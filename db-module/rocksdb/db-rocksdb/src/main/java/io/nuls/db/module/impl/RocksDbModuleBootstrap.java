@@ -0,0 +1,90 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.module.impl;
+
+import io.nuls.core.tools.log.Log;
+import io.nuls.db.constant.DBConstant;
+import io.nuls.db.manager.RocksDBManager;
+import io.nuls.db.module.AbstractDBModule;
+import io.nuls.kernel.exception.NulsRuntimeException;
+import io.nuls.kernel.thread.manager.NulsThreadFactory;
+import io.nuls.kernel.thread.manager.TaskManager;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RocksDB存储引擎的启动类，在modules.ini中配置 [db] bootstrap=io.nuls.db.module.impl.RocksDbModuleBootstrap
+ * The bootstrap of the RocksDB storage engine, configured in modules.ini as [db] bootstrap=io.nuls.db.module.impl.RocksDbModuleBootstrap
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/27
+ */
+public class RocksDbModuleBootstrap extends AbstractDBModule {
+
+    @Override
+    public void init() {
+        try {
+            RocksDBManager.init();
+        } catch (Exception e) {
+            Log.error(e);
+            throw new NulsRuntimeException(e);
+        }
+    }
+
+    @Override
+    public void start() {
+        ScheduledThreadPoolExecutor executor = TaskManager.createScheduledThreadPool(1, new NulsThreadFactory(this.getModuleId(), "DBSnapshotLeakCheck"));
+        executor.scheduleAtFixedRate(RocksDBManager::checkSnapshotLeak, 60, 60, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        TaskManager.shutdownByModuleId(this.getModuleId());
+        RocksDBManager.close();
+    }
+
+    @Override
+    public void destroy() {
+        RocksDBManager.close();
+    }
+
+    @Override
+    public String getEngineName() {
+        return DBConstant.ENGINE_ROCKSDB;
+    }
+
+    @Override
+    public String getInfo() {
+        StringBuilder str = new StringBuilder();
+        str.append("moduleName:");
+        str.append(getModuleName());
+        str.append(",moduleStatus:");
+        str.append(getStatus());
+        str.append(",engine:");
+        str.append(getEngineName());
+        return str.toString();
+    }
+}
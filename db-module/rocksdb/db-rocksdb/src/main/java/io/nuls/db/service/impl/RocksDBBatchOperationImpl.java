@@ -0,0 +1,137 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.service.impl;
+
+import io.nuls.core.tools.log.Log;
+import io.nuls.db.constant.DBErrorCode;
+import io.nuls.db.manager.RocksDBManager;
+import io.nuls.db.model.AreaMetrics;
+import io.nuls.db.service.BatchOperation;
+import io.nuls.kernel.model.Result;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.WriteBatch;
+
+/**
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/27
+ */
+public class RocksDBBatchOperationImpl implements BatchOperation {
+
+    private static final Result FAILED_NULL = Result.getFailed(DBErrorCode.NULL_PARAMETER);
+    private static final Result SUCCESS = Result.getSuccess();
+    private static final Result FAILED_BATCH_CLOSE = Result.getFailed(DBErrorCode.DB_BATCH_CLOSE);
+    private String areaName;
+    private ColumnFamilyHandle area;
+    private WriteBatch batch;
+    private volatile boolean isClose = false;
+    private int size;
+    private long bytes;
+
+    RocksDBBatchOperationImpl(String area) {
+        this.areaName = area;
+        this.area = RocksDBManager.getArea(area);
+        if (this.area != null) {
+            batch = new WriteBatch();
+        }
+    }
+
+    public Result checkBatch() {
+        if (area == null) {
+            return Result.getFailed(DBErrorCode.DB_AREA_NOT_EXIST);
+        }
+        if (batch == null) {
+            return Result.getFailed(DBErrorCode.DB_UNKOWN_EXCEPTION);
+        }
+        return SUCCESS;
+    }
+
+    @Override
+    public Result put(byte[] key, byte[] value) {
+        if (key == null || value == null) {
+            return FAILED_NULL;
+        }
+        if (isClose) {
+            return FAILED_BATCH_CLOSE;
+        }
+        try {
+            batch.put(area, key, value);
+            size++;
+            bytes += key.length + value.length;
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(DBErrorCode.DB_UNKOWN_EXCEPTION, e.getMessage());
+        }
+        return SUCCESS;
+    }
+
+    @Override
+    public <T> Result putModel(byte[] key, T value) {
+        if (key == null || value == null) {
+            return FAILED_NULL;
+        }
+        byte[] bytes = RocksDBManager.getModelSerialize(value);
+        return put(key, bytes);
+    }
+
+    @Override
+    public Result delete(byte[] key) {
+        if (key == null) {
+            return FAILED_NULL;
+        }
+        if (isClose) {
+            return FAILED_BATCH_CLOSE;
+        }
+        try {
+            batch.delete(area, key);
+            size++;
+            bytes += key.length;
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(DBErrorCode.DB_UNKOWN_EXCEPTION, e.getMessage());
+        }
+        return SUCCESS;
+    }
+
+    @Override
+    public Result executeBatch() {
+        // 检查逻辑关闭
+        if (isClose) {
+            return FAILED_BATCH_CLOSE;
+        }
+        isClose = true;
+        try {
+            long start = System.nanoTime();
+            Result result = RocksDBManager.writeBatch(batch, false);
+            AreaMetrics metrics = RocksDBManager.getAreaMetrics(areaName);
+            if (result.isSuccess() && metrics != null) {
+                metrics.recordBatch(start, size, bytes);
+            }
+            return result;
+        } finally {
+            // Make sure you close the batch to avoid resource leaks.
+            batch.close();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.service.impl;
+
+import io.nuls.core.tools.log.Log;
+import io.nuls.db.constant.DBErrorCode;
+import io.nuls.db.manager.RocksDBManager;
+import io.nuls.db.model.AreaMetrics;
+import io.nuls.db.service.MultiBatchOperation;
+import io.nuls.kernel.model.Result;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.WriteBatch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 跨区域批量操作，所有区域的修改放在同一个WriteBatch中，由RocksDB保证原子提交
+ * Multi-area batch operation, the changes of all areas go into one WriteBatch and RocksDB commits it atomically.
+ *
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/27
+ */
+public class RocksDBMultiBatchOperationImpl implements MultiBatchOperation {
+
+    private static final Result FAILED_NULL = Result.getFailed(DBErrorCode.NULL_PARAMETER);
+    private static final Result SUCCESS = Result.getSuccess();
+    private static final Result FAILED_BATCH_CLOSE = Result.getFailed(DBErrorCode.DB_BATCH_CLOSE);
+    private static final Result FAILED_AREA_NOT_EXIST = Result.getFailed(DBErrorCode.DB_AREA_NOT_EXIST);
+
+    private final WriteBatch batch = new WriteBatch();
+    /**
+     * 各区域的操作条数和写入字节数，提交成功后记录到区域的运行指标中
+     * The operation count and bytes written of each area, recorded into the area metrics after a successful commit.
+     */
+    private final Map<String, long[]> countMap = new LinkedHashMap<>();
+    private volatile boolean isClose = false;
+
+    RocksDBMultiBatchOperationImpl() {
+    }
+
+    @Override
+    public Result put(String area, byte[] key, byte[] value) {
+        if (area == null || key == null || value == null) {
+            return FAILED_NULL;
+        }
+        if (isClose) {
+            return FAILED_BATCH_CLOSE;
+        }
+        ColumnFamilyHandle handle = RocksDBManager.getArea(area);
+        if (handle == null) {
+            return FAILED_AREA_NOT_EXIST;
+        }
+        try {
+            batch.put(handle, key, value);
+            count(area, key.length + value.length);
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(DBErrorCode.DB_UNKOWN_EXCEPTION, e.getMessage());
+        }
+        return SUCCESS;
+    }
+
+    @Override
+    public <T> Result putModel(String area, byte[] key, T value) {
+        if (key == null || value == null) {
+            return FAILED_NULL;
+        }
+        byte[] bytes = RocksDBManager.getModelSerialize(value);
+        return put(area, key, bytes);
+    }
+
+    @Override
+    public Result delete(String area, byte[] key) {
+        if (area == null || key == null) {
+            return FAILED_NULL;
+        }
+        if (isClose) {
+            return FAILED_BATCH_CLOSE;
+        }
+        ColumnFamilyHandle handle = RocksDBManager.getArea(area);
+        if (handle == null) {
+            return FAILED_AREA_NOT_EXIST;
+        }
+        try {
+            batch.delete(handle, key);
+            count(area, key.length);
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(DBErrorCode.DB_UNKOWN_EXCEPTION, e.getMessage());
+        }
+        return SUCCESS;
+    }
+
+    private void count(String area, int bytes) {
+        long[] count = countMap.get(area);
+        if (count == null) {
+            count = new long[2];
+            countMap.put(area, count);
+        }
+        count[0]++;
+        count[1] += bytes;
+    }
+
+    @Override
+    public Result executeBatch() {
+        // 检查逻辑关闭
+        if (isClose) {
+            return FAILED_BATCH_CLOSE;
+        }
+        isClose = true;
+        try {
+            if (batch.count() == 0) {
+                return SUCCESS;
+            }
+            long start = System.nanoTime();
+            Result result = RocksDBManager.writeBatch(batch, true);
+            if (result.isSuccess()) {
+                // 每个区域记录的是整个跨区域提交的耗时
+                // Each area records the latency of the whole multi-area commit.
+                for (Map.Entry<String, long[]> entry : countMap.entrySet()) {
+                    AreaMetrics metrics = RocksDBManager.getAreaMetrics(entry.getKey());
+                    if (metrics != null) {
+                        metrics.recordBatch(start, (int) entry.getValue()[0], entry.getValue()[1]);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            // Make sure you close the batch to avoid resource leaks.
+            batch.close();
+        }
+    }
+}
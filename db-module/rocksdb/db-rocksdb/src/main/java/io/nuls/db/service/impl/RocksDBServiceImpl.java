@@ -0,0 +1,288 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.service.impl;
+
+import io.nuls.core.tools.log.Log;
+import io.nuls.core.tools.str.StringUtils;
+import io.nuls.db.constant.DBConstant;
+import io.nuls.db.manager.RocksDBManager;
+import io.nuls.db.model.AreaMetrics;
+import io.nuls.db.model.AreaStats;
+import io.nuls.db.model.CacheStats;
+import io.nuls.db.model.Entry;
+import io.nuls.db.service.BatchOperation;
+import io.nuls.db.service.DBCursor;
+import io.nuls.db.service.DBService;
+import io.nuls.db.service.DBSnapshot;
+import io.nuls.db.service.MultiBatchOperation;
+import io.nuls.kernel.lite.annotation.Service;
+import io.nuls.kernel.model.Result;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.Snapshot;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/27
+ */
+@Service
+public class RocksDBServiceImpl implements DBService {
+
+    public RocksDBServiceImpl() {
+        try {
+            RocksDBManager.init();
+        } catch (Exception e) {
+            Log.error(e);
+        }
+    }
+
+    @Override
+    public Result createArea(String areaName) {
+        return RocksDBManager.createArea(areaName);
+    }
+
+    @Override
+    public Result createArea(String areaName, Long cacheSize) {
+        return RocksDBManager.createArea(areaName, cacheSize);
+    }
+
+    @Override
+    public Result createArea(String areaName, Comparator<byte[]> comparator) {
+        return RocksDBManager.createArea(areaName, comparator);
+    }
+
+    @Override
+    public Result createArea(String areaName, Long cacheSize, Comparator<byte[]> comparator) {
+        return RocksDBManager.createArea(areaName, cacheSize, comparator);
+    }
+
+    @Override
+    public String[] listArea() {
+        return RocksDBManager.listArea();
+    }
+
+    @Override
+    public Result put(String area, byte[] key, byte[] value) {
+        long start = System.nanoTime();
+        Result result = RocksDBManager.put(area, key, value);
+        if (result.isSuccess()) {
+            AreaMetrics metrics = RocksDBManager.getAreaMetrics(area);
+            if (metrics != null) {
+                metrics.recordPut(start, key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 先序列化再调用put，使统计中的耗时和字节数只包含存储本身
+     * Serialize first and then call put, so the recorded latency and bytes cover the storage only.
+     */
+    @Override
+    public <T> Result putModel(String area, byte[] key, T value) {
+        if (key == null || value == null) {
+            return RocksDBManager.putModel(area, key, value);
+        }
+        byte[] bytes;
+        try {
+            bytes = RocksDBManager.getModelSerialize(value);
+        } catch (Exception e) {
+            Log.error(e);
+            return Result.getFailed(e.getMessage());
+        }
+        return put(area, key, bytes);
+    }
+
+    @Override
+    public Result delete(String area, byte[] key) {
+        long start = System.nanoTime();
+        Result result = RocksDBManager.delete(area, key);
+        if (result.isSuccess()) {
+            AreaMetrics metrics = RocksDBManager.getAreaMetrics(area);
+            if (metrics != null) {
+                metrics.recordDelete(start, key);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public byte[] get(String area, byte[] key) {
+        long start = System.nanoTime();
+        byte[] value = RocksDBManager.get(area, key);
+        if (key != null) {
+            AreaMetrics metrics = RocksDBManager.getAreaMetrics(area);
+            if (metrics != null) {
+                metrics.recordGet(start, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T getModel(String area, byte[] key, Class<T> clazz) {
+        byte[] bytes = get(area, key);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return RocksDBManager.getModelDeserialize(bytes, clazz);
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    @Override
+    public Object getModel(String area, byte[] key) {
+        return getModel(area, key, null);
+    }
+
+    @Override
+    public Set<byte[]> keySet(String area) {
+        return RocksDBManager.keySet(area);
+    }
+
+    @Override
+    public List<byte[]> keyList(String area) {
+        return RocksDBManager.keyList(area);
+    }
+
+    @Override
+    public List<byte[]> valueList(String area) {
+        return RocksDBManager.valueList(area);
+    }
+
+    @Override
+    public Set<Entry<byte[], byte[]>> entrySet(String area) {
+        return RocksDBManager.entrySet(area);
+    }
+
+    @Override
+    public List<Entry<byte[], byte[]>> entryList(String area) {
+        return RocksDBManager.entryList(area);
+    }
+
+    @Override
+    public <T> List<Entry<byte[], T>> entryList(String area, Class<T> clazz) {
+        return RocksDBManager.entryList(area, clazz);
+    }
+
+    @Override
+    public <T> List<T> values(String area, Class<T> clazz) {
+        return RocksDBManager.values(area, clazz);
+    }
+
+    @Override
+    public DBCursor openCursor(String area) {
+        if (StringUtils.isBlank(area)) {
+            return null;
+        }
+        ColumnFamilyHandle handle = RocksDBManager.getArea(area);
+        if (handle == null) {
+            return null;
+        }
+        ReadOptions readOptions = RocksDBManager.createReadOptions(area, null, null);
+        return new RocksDBCursorImpl(RocksDBManager.getDB().newIterator(handle, readOptions), readOptions);
+    }
+
+    @Override
+    public List<Entry<byte[], byte[]>> prefixEntryList(String area, byte[] prefix, int limit) {
+        return RocksDBManager.prefixEntryList(area, prefix, null, limit);
+    }
+
+    @Override
+    public List<Entry<byte[], byte[]>> rangeEntryList(String area, byte[] startKey, byte[] endKey, boolean reverse, int limit) {
+        return RocksDBManager.rangeEntryList(area, startKey, endKey, reverse, limit);
+    }
+
+    @Override
+    public long approximateCount(String area) {
+        return RocksDBManager.approximateCount(area);
+    }
+
+    @Override
+    public long approximateSize(String area, byte[] startKey, byte[] endKey) {
+        return RocksDBManager.approximateSize(area, startKey, endKey);
+    }
+
+    @Override
+    public BatchOperation createWriteBatch(String area) {
+        if (StringUtils.isBlank(area)) {
+            return null;
+        }
+        RocksDBBatchOperationImpl batchOperation = new RocksDBBatchOperationImpl(area);
+        Result result = batchOperation.checkBatch();
+        if (result.isFailed()) {
+            Log.error("DB batch create error: " + result.getMsg());
+            return null;
+        }
+        return batchOperation;
+    }
+
+    @Override
+    public MultiBatchOperation createMultiWriteBatch() {
+        return new RocksDBMultiBatchOperationImpl();
+    }
+
+    @Override
+    public DBSnapshot openSnapshot(String... areas) {
+        if (areas == null || areas.length == 0) {
+            areas = RocksDBManager.listArea();
+        }
+        for (String area : areas) {
+            if (RocksDBManager.getArea(area) == null) {
+                Log.error("DB snapshot create error: area not exist");
+                return null;
+            }
+        }
+        Snapshot snapshot = RocksDBManager.createSnapshot();
+        if (snapshot == null) {
+            return null;
+        }
+        return new RocksDBSnapshotImpl(snapshot, new HashSet<>(Arrays.asList(areas)));
+    }
+
+    @Override
+    public List<CacheStats> getCacheStats() {
+        return RocksDBManager.getCacheStats();
+    }
+
+    @Override
+    public List<AreaStats> getAreaStats() {
+        return RocksDBManager.getAreaStats();
+    }
+
+    @Override
+    public String getEngineName() {
+        return DBConstant.ENGINE_ROCKSDB;
+    }
+}
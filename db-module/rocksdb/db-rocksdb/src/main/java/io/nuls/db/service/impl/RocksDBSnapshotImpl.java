@@ -0,0 +1,155 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.service.impl;
+
+import io.nuls.core.tools.log.Log;
+import io.nuls.db.manager.RocksDBManager;
+import io.nuls.db.model.Entry;
+import io.nuls.db.service.DBCursor;
+import io.nuls.db.service.DBSnapshot;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.Snapshot;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/27
+ */
+public class RocksDBSnapshotImpl implements DBSnapshot {
+
+    private final Snapshot snapshot;
+    /**
+     * 快照可以读取的区域
+     * The areas readable through this snapshot.
+     */
+    private final Set<String> areas;
+    private final long createTime;
+    /**
+     * 创建快照的线程和调用位置，用于泄漏检查
+     * The thread and the caller that created the snapshot, used for the leak check.
+     */
+    private final String creator;
+    private volatile boolean isClose = false;
+
+    RocksDBSnapshotImpl(Snapshot snapshot, Set<String> areas) {
+        this.snapshot = snapshot;
+        this.areas = areas;
+        this.createTime = System.currentTimeMillis();
+        this.creator = findCreator();
+        RocksDBManager.registerSnapshot(this);
+    }
+
+    private static String findCreator() {
+        Thread thread = Thread.currentThread();
+        for (StackTraceElement element : thread.getStackTrace()) {
+            String className = element.getClassName();
+            if (!className.startsWith("io.nuls.db.") && !className.startsWith("java.")) {
+                return thread.getName() + " at " + element;
+            }
+        }
+        return thread.getName();
+    }
+
+    private ColumnFamilyHandle getArea(String area) {
+        if (isClose || area == null || !areas.contains(area)) {
+            return null;
+        }
+        return RocksDBManager.getArea(area);
+    }
+
+    @Override
+    public byte[] get(String area, byte[] key) {
+        if (key == null) {
+            return null;
+        }
+        ColumnFamilyHandle handle = getArea(area);
+        if (handle == null) {
+            return null;
+        }
+        ReadOptions readOptions = RocksDBManager.createReadOptions(area, null, snapshot);
+        try {
+            return RocksDBManager.getDB().get(handle, readOptions, key);
+        } catch (Exception e) {
+            return null;
+        } finally {
+            readOptions.close();
+        }
+    }
+
+    @Override
+    public <T> T getModel(String area, byte[] key, Class<T> clazz) {
+        byte[] bytes = get(area, key);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return RocksDBManager.getModelDeserialize(bytes, clazz);
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    @Override
+    public DBCursor openCursor(String area) {
+        ColumnFamilyHandle handle = getArea(area);
+        if (handle == null) {
+            return null;
+        }
+        ReadOptions readOptions = RocksDBManager.createReadOptions(area, null, snapshot);
+        return new RocksDBCursorImpl(RocksDBManager.getDB().newIterator(handle, readOptions), readOptions);
+    }
+
+    @Override
+    public List<Entry<byte[], byte[]>> prefixEntryList(String area, byte[] prefix, int limit) {
+        if (getArea(area) == null) {
+            return null;
+        }
+        return RocksDBManager.prefixEntryList(area, prefix, snapshot, limit);
+    }
+
+    @Override
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    @Override
+    public void close() {
+        if (isClose) {
+            return;
+        }
+        isClose = true;
+        RocksDBManager.releaseSnapshot(snapshot);
+        RocksDBManager.unregisterSnapshot(this);
+    }
+
+    @Override
+    public String toString() {
+        return "DBSnapshot{areas=" + areas + ", createTime=" + createTime + ", creator=" + creator + "}";
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.db.service;
+
+import io.nuls.db.constant.DBConstant;
+import io.nuls.db.constant.DBErrorCode;
+import io.nuls.db.manager.RocksDBManager;
+import io.nuls.db.migration.LevelDBToRocksDBMigration;
+import io.nuls.db.model.Entry;
+import io.nuls.db.service.impl.RocksDBServiceImpl;
+import io.nuls.kernel.model.Result;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.Options;
+import org.iq80.leveldb.impl.Iq80DBFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.iq80.leveldb.impl.Iq80DBFactory.asString;
+import static org.iq80.leveldb.impl.Iq80DBFactory.bytes;
+
+/**
+ * @desription:
+ * @author: PierreLuo
+ * @date: 2018/6/28
+ */
+public class RocksDBServiceTest {
+
+    private DBService dbService;
+
+    private String area = "testRocks";
+
+    @Before
+    public void init() {
+        dbService = new RocksDBServiceImpl();
+        dbService.createArea(area);
+    }
+
+    @After
+    public void clear() {
+        RocksDBManager.destroyArea(area);
+    }
+
+    @Test
+    public void testPutGetDelete() {
+        Assert.assertEquals(DBConstant.ENGINE_ROCKSDB, dbService.getEngineName());
+        Assert.assertTrue(dbService.put(area, bytes("k1"), bytes("v1")).isSuccess());
+        Assert.assertEquals("v1", asString(dbService.get(area, bytes("k1"))));
+        Assert.assertTrue(dbService.putModel(area, bytes("k2"), 100L).isSuccess());
+        Assert.assertEquals(Long.valueOf(100L), dbService.getModel(area, bytes("k2"), Long.class));
+        Assert.assertEquals(2, dbService.keyList(area).size());
+        Assert.assertTrue(dbService.delete(area, bytes("k1")).isSuccess());
+        Assert.assertNull(dbService.get(area, bytes("k1")));
+        Assert.assertEquals(DBErrorCode.DB_AREA_NOT_EXIST.getCode(), dbService.put("notExistArea", bytes("k"), bytes("v")).getErrorCode().getCode());
+        Assert.assertEquals(DBErrorCode.DB_AREA_EXIST.getCode(), dbService.createArea(area).getErrorCode().getCode());
+    }
+
+    @Test
+    public void testComparator() {
+        String comparatorArea = "testRocksComparator";
+        dbService.createArea(comparatorArea, new Comparator<byte[]>() {
+            @Override
+            public int compare(byte[] o1, byte[] o2) {
+                return asString(o2).compareTo(asString(o1));
+            }
+        });
+        dbService.put(comparatorArea, bytes("a"), bytes("1"));
+        dbService.put(comparatorArea, bytes("b"), bytes("2"));
+        List<byte[]> keyList = dbService.keyList(comparatorArea);
+        Assert.assertEquals("b", asString(keyList.get(0)));
+        Assert.assertEquals("1", asString(dbService.valueList(comparatorArea).get(1)));
+        RocksDBManager.destroyArea(comparatorArea);
+    }
+
+    @Test
+    public void testPrefixAndRange() {
+        String prefixArea = "testPrefix";
+        dbService.createArea(prefixArea);
+        for (String key : new String[]{"aa1", "ab1", "ab2", "ab3", "ac1"}) {
+            dbService.put(prefixArea, bytes(key), bytes(key));
+        }
+        // 前缀长度等于配置的前缀提取器长度时使用前缀布隆过滤器，更短时使用全序遍历
+        Assert.assertEquals(3, dbService.prefixEntryList(prefixArea, bytes("ab"), 0).size());
+        Assert.assertEquals(2, dbService.prefixEntryList(prefixArea, bytes("ab"), 2).size());
+        Assert.assertEquals(5, dbService.prefixEntryList(prefixArea, bytes("a"), 0).size());
+
+        List<Entry<byte[], byte[]>> list = dbService.rangeEntryList(prefixArea, bytes("ab1"), bytes("ac1"), false, 0);
+        Assert.assertEquals(3, list.size());
+        Assert.assertEquals("ab1", asString(list.get(0).getKey()));
+        list = dbService.rangeEntryList(prefixArea, bytes("ab1"), bytes("ac1"), true, 2);
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals("ab3", asString(list.get(0).getKey()));
+        Assert.assertEquals("ab2", asString(list.get(1).getKey()));
+        list = dbService.rangeEntryList(prefixArea, null, null, true, 0);
+        Assert.assertEquals(5, list.size());
+        Assert.assertEquals("ac1", asString(list.get(0).getKey()));
+
+        DBCursor cursor = dbService.openCursor(prefixArea);
+        cursor.seek(bytes("ab"));
+        Assert.assertEquals("ab1", asString(cursor.peekNext().getKey()));
+        Assert.assertEquals("ab1", asString(cursor.next().getKey()));
+        Assert.assertEquals("ab2", asString(cursor.next().getKey()));
+        cursor.close();
+        Assert.assertFalse(cursor.hasNext());
+        RocksDBManager.destroyArea(prefixArea);
+    }
+
+    @Test
+    public void testBatch() {
+        BatchOperation batch = dbService.createWriteBatch(area);
+        batch.put(bytes("k1"), bytes("v1"));
+        batch.put(bytes("k2"), bytes("v2"));
+        batch.delete(bytes("k2"));
+        Assert.assertNull(dbService.get(area, bytes("k1")));
+        Assert.assertTrue(batch.executeBatch().isSuccess());
+        Assert.assertEquals("v1", asString(dbService.get(area, bytes("k1"))));
+        Assert.assertNull(dbService.get(area, bytes("k2")));
+        Assert.assertEquals(DBErrorCode.DB_BATCH_CLOSE.getCode(), batch.executeBatch().getErrorCode().getCode());
+        Assert.assertNull(dbService.createWriteBatch("notExistArea"));
+
+        String area2 = "testRocksMulti";
+        dbService.createArea(area2);
+        MultiBatchOperation multiBatch = dbService.createMultiWriteBatch();
+        multiBatch.put(area, bytes("m1"), bytes("v1"));
+        multiBatch.put(area2, bytes("m2"), bytes("v2"));
+        multiBatch.delete(area, bytes("k1"));
+        Assert.assertTrue(multiBatch.put("notExistArea", bytes("k"), bytes("v")).isFailed());
+        Assert.assertTrue(multiBatch.executeBatch().isSuccess());
+        Assert.assertEquals("v1", asString(dbService.get(area, bytes("m1"))));
+        Assert.assertEquals("v2", asString(dbService.get(area2, bytes("m2"))));
+        Assert.assertNull(dbService.get(area, bytes("k1")));
+        RocksDBManager.destroyArea(area2);
+    }
+
+    @Test
+    public void testSnapshot() {
+        dbService.put(area, bytes("k1"), bytes("v1"));
+        int openCount = RocksDBManager.getOpenSnapshotCount();
+        DBSnapshot snapshot = dbService.openSnapshot(area);
+        Assert.assertEquals(openCount + 1, RocksDBManager.getOpenSnapshotCount());
+
+        dbService.put(area, bytes("k1"), bytes("v1-new"));
+        dbService.put(area, bytes("k2"), bytes("v2"));
+        Assert.assertEquals("v1", asString(snapshot.get(area, bytes("k1"))));
+        Assert.assertNull(snapshot.get(area, bytes("k2")));
+        Assert.assertEquals(1, snapshot.prefixEntryList(area, bytes("k"), 0).size());
+        Assert.assertNull(snapshot.get(RocksDBManager.getBaseAreaName(), bytes("k1")));
+
+        snapshot.close();
+        Assert.assertEquals(openCount, RocksDBManager.getOpenSnapshotCount());
+        Assert.assertNull(snapshot.get(area, bytes("k1")));
+        Assert.assertNull(dbService.openSnapshot("notExistArea"));
+    }
+
+    @Test
+    public void testMigration() throws Exception {
+        File levelDBPath = Files.createTempDirectory("leveldb").toFile();
+        File rocksDBPath = Files.createTempDirectory("rocksdb").toFile();
+        DB base = Iq80DBFactory.factory.open(new File(levelDBPath, DBConstant.BASE_AREA_NAME + File.separator + "leveldb"), new Options());
+        base.put(bytes("baseKey"), bytes("baseValue"));
+        base.close();
+        DB db = Iq80DBFactory.factory.open(new File(levelDBPath, "migrateArea" + File.separator + "leveldb"), new Options());
+        for (int i = 0; i < 100; i++) {
+            db.put(bytes("key" + i), bytes("value" + i));
+        }
+        db.close();
+
+        RocksDBManager.close();
+        Result<Long> result = LevelDBToRocksDBMigration.migrate(levelDBPath.getPath(), rocksDBPath.getPath());
+        Assert.assertTrue(result.isSuccess());
+        Assert.assertEquals(Long.valueOf(101L), result.getData());
+
+        RocksDBManager.init(rocksDBPath.getPath());
+        Assert.assertEquals("baseValue", asString(RocksDBManager.get(DBConstant.BASE_AREA_NAME, bytes("baseKey"))));
+        Assert.assertEquals(100, RocksDBManager.keyList("migrateArea").size());
+        Assert.assertEquals("value7", asString(RocksDBManager.get("migrateArea", bytes("key7"))));
+        RocksDBManager.close();
+        // 目标目录不为空时拒绝迁移
+        Assert.assertTrue(LevelDBToRocksDBMigration.migrate(levelDBPath.getPath(), rocksDBPath.getPath()).isFailed());
+        dbService = new RocksDBServiceImpl();
+        dbService.createArea(area);
+    }
+}
@@ -25,9 +25,10 @@ package io.nuls.ledger.service.impl;
 
 import io.nuls.core.tools.calc.LongUtils;
 import io.nuls.core.tools.log.Log;
-import io.nuls.core.tools.map.MapUtil;
-import io.nuls.core.tools.param.AssertUtil;
+import io.nuls.core.tools.map.OpenHashMap;
+import io.nuls.core.tools.map.OpenHashSet;
 import io.nuls.db.service.BatchOperation;
+import io.nuls.db.service.DBCursor;
 import io.nuls.kernel.exception.NulsException;
 import io.nuls.kernel.lite.annotation.Autowired;
 import io.nuls.kernel.lite.annotation.Service;
@@ -267,11 +268,11 @@ public class UtxoLedgerServiceImpl implements LedgerService {
                     initialFromUtxoCapacity = 0;
 
             // 与txList相关的校验准备数据
-            Map<String, Coin> validateToUtxoMap = null;
-            Set<String> validateFromUtxoSet = null;
+            OpenHashMap<OutPointKey, Coin> validateToUtxoMap = null;
+            OpenHashSet<OutPointKey> validateFromUtxoSet = null;
             if (!isEmptyTxList) {
                 CoinData validateCoinData;
-                // 计算HashMap容量
+                // 计算OpenHashMap容量
                 for (Transaction tx : txList) {
                     validateCoinData = tx.getCoinData();
                     if (validateCoinData == null) {
@@ -282,12 +283,10 @@ public class UtxoLedgerServiceImpl implements LedgerService {
                     // fromUtxoSet用于校验是否双花，既是待校验交易的fromUtxo是否和txList中的fromUtxo重复，有重复则是双花
                     initialFromUtxoCapacity += validateCoinData.getFrom().size();
                 }
-                initialToUtxoCapacity = MapUtil.tableSizeFor(initialToUtxoCapacity) << 1;
-                initialFromUtxoCapacity = MapUtil.tableSizeFor(initialFromUtxoCapacity) << 1;
-                // txList中所有的to存放于HashMap中
-                validateToUtxoMap = new HashMap<>(initialToUtxoCapacity);
-                // txList中所有的from.owner存放于HashSet中
-                validateFromUtxoSet = new HashSet<>(initialFromUtxoCapacity);
+                // txList中所有的to存放于OpenHashMap中
+                validateToUtxoMap = new OpenHashMap<>(initialToUtxoCapacity);
+                // txList中所有的from.owner存放于OpenHashSet中
+                validateFromUtxoSet = new OpenHashSet<>(initialFromUtxoCapacity);
                 Transaction tx;
                 byte[] txHashBytes;
                 Coin toOfValidate;
@@ -304,12 +303,12 @@ public class UtxoLedgerServiceImpl implements LedgerService {
                     validateToList = validateCoinData.getTo();
                     for (int k = 0, toLength = validateToList.size(); k < toLength; k++) {
                         toOfValidate = validateToList.get(k);
-                        validateToUtxoMap.put(asString(Arrays.concatenate(txHashBytes, new VarInt(k).encode())), toOfValidate);
+                        validateToUtxoMap.put(OutPointKey.of(txHashBytes, k), toOfValidate);
                     }
                     // fromUtxoSet用于校验是否双花，既是待校验交易的fromUtxo是否和txList中的fromUtxo重复，有重复则是双花
                     validateFromList = validateCoinData.getFrom();
                     for (int j = 0, fromLength = validateFromList.size(); j < fromLength; j++) {
-                        validateFromUtxoSet.add(asString(validateFromList.get(j).getOwner()));
+                        validateFromUtxoSet.add(new OutPointKey(validateFromList.get(j).getOwner()));
                     }
                 }
             }
@@ -333,21 +332,22 @@ public class UtxoLedgerServiceImpl implements LedgerService {
                 }
             }
             // 保存Set用于验证自身双花
-            int initialSetCapacity = MapUtil.tableSizeFor(fromSize) << 1;
-            HashSet<String> set = new HashSet<>(initialSetCapacity);
-            Na fromTotal = Na.ZERO;
+            OpenHashSet<OutPointKey> set = new OpenHashSet<>(fromSize);
+            long fromTotal = 0;
             byte[] fromBytes;
+            OutPointKey fromKey;
             // 保存在数据库中或者txList中的utxo数据
             Coin fromOfFromCoin = null;
             byte[] fromAdressBytes = null;
             for (Coin from : froms) {
                 fromBytes = from.getOwner();
+                fromKey = new OutPointKey(fromBytes);
                 // 验证是否可花费, 校验的coinData的fromUTXO，检查数据库中是否存在此UTXO
                 //Log.info("getUTXO: hash-" + LedgerUtil.getTxHash(fromBytes) + ", index-" + LedgerUtil.getIndex(fromBytes));
                 fromOfFromCoin = utxoLedgerUtxoStorageService.getUtxo(fromBytes);
                 // 检查txList中是否存在此UTXO
                 if (!isEmptyTxList && fromOfFromCoin == null) {
-                    fromOfFromCoin = validateToUtxoMap.get(asString(fromBytes));
+                    fromOfFromCoin = validateToUtxoMap.get(fromKey);
                 }
                 if (null == fromOfFromCoin) {
                     // 如果既不存在于txList的to中(如果txList不为空)，又不存在于数据库中，那么这是一笔问题数据，进一步检查是否存在这笔交易，交易有就是双花，没有就是孤儿交易，则返回失败
@@ -378,23 +378,19 @@ public class UtxoLedgerServiceImpl implements LedgerService {
                 }
 
                 // 验证自身双花
-                if (!set.add(asString(fromBytes))) {
+                if (!set.add(fromKey)) {
                     return ValidateResult.getFailedResult(CLASS_NAME, LedgerErrorCode.LEDGER_DOUBLE_SPENT, "duplicate utxo in itself.");
                 }
                 // 验证与待确认交易列表中是否有双花，既是待校验交易的fromUtxo是否和txList中的fromUtxo重复，有重复则是双花
-                if (!isEmptyTxList && validateFromUtxoSet.contains(asString(fromBytes))) {
+                if (!isEmptyTxList && validateFromUtxoSet.contains(fromKey)) {
                     return ValidateResult.getFailedResult(CLASS_NAME, LedgerErrorCode.LEDGER_DOUBLE_SPENT, "duplicate utxo in tx and txList.");
                 }
-                fromTotal = fromTotal.add(fromOfFromCoin.getNa());
+                fromTotal = Na.safeAdd(fromTotal, fromOfFromCoin.getNa().getValue());
                 from.setFrom(fromOfFromCoin);
             }
-            List<Coin> tos = coinData.getTo();
-            Na toTotal = Na.ZERO;
-            for (Coin to : tos) {
-                toTotal = toTotal.add(to.getNa());
-            }
+            long toTotal = coinData.getTotalTo();
             // 验证输出不能大于输入
-            if (fromTotal.compareTo(toTotal) < 0) {
+            if (fromTotal < toTotal) {
                 return ValidateResult.getFailedResult(CLASS_NAME, LedgerErrorCode.INVALID_AMOUNT);
             }
 
@@ -428,7 +424,7 @@ public class UtxoLedgerServiceImpl implements LedgerService {
         if (txList == null) {
             return ValidateResult.getFailedResult(CLASS_NAME, LedgerErrorCode.NULL_PARAMETER);
         }
-        // 计算HashMap容量
+        // 计算OpenHashMap容量
         int initialCapacity = 0;
         CoinData coinData;
         for (Transaction tx : txList) {
@@ -438,8 +434,7 @@ public class UtxoLedgerServiceImpl implements LedgerService {
             }
             initialCapacity += tx.getCoinData().getFrom().size();
         }
-        initialCapacity = MapUtil.tableSizeFor(initialCapacity) << 1;
-        HashMap<String, Transaction> fromMap = new HashMap<>(initialCapacity);
+        OpenHashMap<OutPointKey, Transaction> fromMap = new OpenHashMap<>(initialCapacity);
         List<Coin> froms;
         Transaction prePutTx;
         // 判断是否有重复的fromCoin存在，如果存在，则是双花
@@ -450,7 +445,7 @@ public class UtxoLedgerServiceImpl implements LedgerService {
             }
             froms = coinData.getFrom();
             for (Coin from : froms) {
-                prePutTx = fromMap.put(asString(from.getOwner()), tx);
+                prePutTx = fromMap.put(new OutPointKey(from.getOwner()), tx);
                 // 不为空则代表此coin在map中已存在，则是双花
                 if (prePutTx != null) {
                     List<Transaction> resultList = new ArrayList<>(2);
@@ -465,11 +460,6 @@ public class UtxoLedgerServiceImpl implements LedgerService {
         return ValidateResult.getSuccessResult();
     }
 
-    private String asString(byte[] bytes) {
-        AssertUtil.canNotEmpty(bytes);
-        return Base64.getEncoder().encodeToString(bytes);
-    }
-
     @Override
     public Result unlockTxCoinData(Transaction tx, long newockTime) throws NulsException {
         if (tx == null || tx.getCoinData() == null) {
@@ -550,13 +540,16 @@ public class UtxoLedgerServiceImpl implements LedgerService {
     @Override
     public long getWholeUTXO() {
         long result = 0L;
-        List<byte[]> list = utxoLedgerUtxoStorageService.getAllUtxoBytes();
-        if (list == null || list.size() == 0) {
+        // 流式读取，避免把整个UTXO区域加载到内存
+        DBCursor cursor = utxoLedgerUtxoStorageService.openUtxoCursor();
+        if (cursor == null) {
             return result;
         }
         Coin coin = null;
         try {
-            for (byte[] utxoBytes : list) {
+            byte[] utxoBytes;
+            while (cursor.hasNext()) {
+                utxoBytes = cursor.next().getValue();
                 if (utxoBytes != null) {
                     coin = new Coin();
                     coin.parse(utxoBytes);
@@ -567,6 +560,8 @@ public class UtxoLedgerServiceImpl implements LedgerService {
         } catch (NulsException e) {
             Log.error(e);
             return 0L;
+        } finally {
+            cursor.close();
         }
     }
 
@@ -24,6 +24,7 @@
 package io.nuls.ledger.storage.service;
 
 import io.nuls.db.service.BatchOperation;
+import io.nuls.db.service.DBCursor;
 import io.nuls.kernel.model.Coin;
 import io.nuls.kernel.model.NulsDigestData;
 import io.nuls.kernel.model.Result;
@@ -50,4 +51,10 @@ public interface UtxoLedgerUtxoStorageService {
 
     List<byte[]> getAllUtxoBytes();
 
+    /**
+     * 打开UTXO区域的流式游标，调用方负责关闭
+     * Open a streaming cursor on the UTXO area, the caller is responsible for closing it.
+     */
+    DBCursor openUtxoCursor();
+
 }
@@ -24,6 +24,8 @@
 package io.nuls.ledger.storage.service.impl;
 
 import io.nuls.core.tools.log.Log;
+import io.nuls.db.codec.ModelCodecRegistry;
+import io.nuls.db.codec.TransactionCodec;
 import io.nuls.db.constant.DBErrorCode;
 import io.nuls.db.service.DBService;
 import io.nuls.kernel.constant.KernelErrorCode;
@@ -53,6 +55,10 @@ public class UtxoLedgerTransactionStorageServiceImpl implements UtxoLedgerTransa
     @Autowired
     private DBService dbService;
 
+    static {
+        ModelCodecRegistry.register(Transaction.class, new TransactionCodec());
+    }
+
     /**
      * 该方法在所有属性被设置之后调用，用于辅助对象初始化
      * This method is invoked after all properties are set, and is used to assist object initialization.
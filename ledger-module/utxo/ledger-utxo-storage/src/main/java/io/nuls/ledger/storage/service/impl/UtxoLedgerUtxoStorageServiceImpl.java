@@ -26,6 +26,7 @@ package io.nuls.ledger.storage.service.impl;
 import io.nuls.core.tools.log.Log;
 import io.nuls.db.constant.DBErrorCode;
 import io.nuls.db.service.BatchOperation;
+import io.nuls.db.service.DBCursor;
 import io.nuls.db.service.DBService;
 import io.nuls.kernel.exception.NulsException;
 import io.nuls.kernel.exception.NulsRuntimeException;
@@ -115,5 +116,10 @@ public class UtxoLedgerUtxoStorageServiceImpl implements UtxoLedgerUtxoStorageSe
         return dbService.valueList(LedgerStorageConstant.DB_NAME_LEDGER_UTXO);
     }
 
+    @Override
+    public DBCursor openUtxoCursor() {
+        return dbService.openCursor(LedgerStorageConstant.DB_NAME_LEDGER_UTXO);
+    }
+
 
 }
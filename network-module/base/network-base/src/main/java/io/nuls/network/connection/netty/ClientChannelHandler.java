@@ -104,11 +104,12 @@ public class ClientChannelHandler extends ChannelInboundHandlerAdapter {
             Node node = nodeManager.getNode(nodeId);
             if (node != null && node.isAlive()) {
                 ByteBuf buf = (ByteBuf) msg;
+                // 消息是异步处理的，帧数据只从池化的ByteBuf复制一次，之后在该数组上直接解析
+                // Messages are handled asynchronously, so the frame is copied once out of the pooled ByteBuf and parsed in place afterwards.
                 byte[] bytes = new byte[buf.readableBytes()];
                 buf.readBytes(bytes);
                 buf.release();
-                ByteBuffer buffer = ByteBuffer.allocate(bytes.length);
-                buffer.put(bytes);
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
 
                 connectionManager.receiveMessage(buffer, node);
             }
@@ -1,10 +1,13 @@
 package io.nuls.network.manager;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.socket.SocketChannel;
 import io.nuls.core.tools.log.Log;
 import io.nuls.kernel.constant.KernelErrorCode;
+import io.nuls.kernel.exception.NulsRuntimeException;
 import io.nuls.network.connection.netty.NioChannelMap;
 import io.nuls.network.constant.NetworkErrorCode;
 import io.nuls.network.constant.NetworkParam;
@@ -64,12 +67,16 @@ public class BroadcastHandler {
     private BroadcastResult broadcastToList(Collection<Node> nodeList, BaseMessage message, Node excludeNode, boolean asyn) {
         BroadcastResult result = new BroadcastResult();
         try {
+            // 只序列化一次，发送给所有节点的是同一份字节
+            // Serialize only once, the same bytes are sent to all nodes.
+            message.getHeader().setMagicNumber(networkParam.getPacketMagic());
+            byte[] bytes = message.serialize();
             int successCount = 0;
             for (Node node : nodeList) {
                 if (excludeNode != null && node.getId().equals(excludeNode.getId())) {
                     continue;
                 }
-                BroadcastResult br = broadcastToNode(message, node, asyn);
+                BroadcastResult br = broadcastToANode(bytes, node, asyn);
                 if (br.isSuccess()) {
                     successCount++;
                     result.getBroadcastNodes().add(node);
@@ -89,16 +96,51 @@ public class BroadcastHandler {
     }
 
     public BroadcastResult broadcastToANode(BaseMessage message, Node node, boolean asyn) {
-        if (!node.isAlive() && node.getChannelId() == null) {
+        SocketChannel channel = getChannel(node);
+        if (channel == null) {
             return new BroadcastResult(false, NetworkErrorCode.NET_NODE_NOT_FOUND);
         }
-        SocketChannel channel = NioChannelMap.get(node.getChannelId());
+        ByteBuf buf;
+        try {
+            message.getHeader().setMagicNumber(networkParam.getPacketMagic());
+            // 直接编码到Netty的池化缓冲区，不再经过中间数组
+            // Encode straight into a pooled Netty buffer without an intermediate array.
+            int size = message.size();
+            buf = channel.alloc().buffer(size);
+            try {
+                message.serializeTo(new ByteBufOutputStream(buf));
+                if (buf.writerIndex() != size) {
+                    throw new NulsRuntimeException(KernelErrorCode.FAILED, "data serialize error：" + message.getClass());
+                }
+            } catch (Exception e) {
+                buf.release();
+                throw e;
+            }
+        } catch (Exception e) {
+            Log.error(e);
+            return new BroadcastResult(false, NetworkErrorCode.NET_MESSAGE_ERROR);
+        }
+        return write(channel, buf, asyn);
+    }
+
+    private BroadcastResult broadcastToANode(byte[] bytes, Node node, boolean asyn) {
+        SocketChannel channel = getChannel(node);
         if (channel == null) {
             return new BroadcastResult(false, NetworkErrorCode.NET_NODE_NOT_FOUND);
         }
+        return write(channel, Unpooled.wrappedBuffer(bytes), asyn);
+    }
+
+    private SocketChannel getChannel(Node node) {
+        if (!node.isAlive() && node.getChannelId() == null) {
+            return null;
+        }
+        return NioChannelMap.get(node.getChannelId());
+    }
+
+    private BroadcastResult write(SocketChannel channel, ByteBuf buf, boolean asyn) {
         try {
-            message.getHeader().setMagicNumber(networkParam.getPacketMagic());
-            ChannelFuture future = channel.writeAndFlush(Unpooled.wrappedBuffer(message.serialize()));
+            ChannelFuture future = channel.writeAndFlush(buf);
             if (!asyn) {
                 future.await();
                 boolean success = future.isSuccess();
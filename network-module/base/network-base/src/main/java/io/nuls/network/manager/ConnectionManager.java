@@ -6,6 +6,7 @@ import io.nuls.kernel.constant.KernelErrorCode;
 import io.nuls.kernel.context.NulsContext;
 import io.nuls.kernel.exception.NulsException;
 import io.nuls.kernel.thread.manager.TaskManager;
+import io.nuls.kernel.utils.NulsByteBuffer;
 import io.nuls.message.bus.service.MessageBusService;
 import io.nuls.network.connection.netty.NettyClient;
 import io.nuls.network.connection.netty.NettyServer;
@@ -80,31 +81,29 @@ public class ConnectionManager {
         }, true);
     }
 
+    /**
+     * 解析一帧中的所有消息，buffer中position到limit之间为可读数据
+     * 所有消息直接在同一个数组上解析，按每条消息的长度前移，不再为剩余数据复制数组
+     * Parse all messages of a frame, the readable data is between position and limit of the buffer.
+     * Every message is parsed in place on the same array and the cursor moves by the size of each message,
+     * the remaining data is no longer copied.
+     */
     public void receiveMessage(ByteBuffer buffer, Node node) throws NulsException {
         List<BaseMessage> list;
         try {
-            buffer.flip();
             if (!node.isAlive()) {
                 buffer.clear();
                 return;
             }
             list = new ArrayList<>();
-            byte[] bytes = buffer.array();
-            int offset = 0;
-            while (offset < bytes.length - 1) {
+            NulsByteBuffer byteBuffer = new NulsByteBuffer(buffer);
+            while (byteBuffer.remaining() > 1) {
                 MessageHeader header = new MessageHeader();
-                header.parse(bytes);
+                header.parse(byteBuffer.getPayload(), byteBuffer.getCursor(), byteBuffer.remaining());
                 BaseMessage message = getMessageBusService().getMessageInstance(header.getModuleId(), header.getMsgType()).getData();
-                message.parse(bytes);
+                byteBuffer.readNulsData(message);
 
                 list.add(message);
-                offset = message.serialize().length;
-                if (bytes.length > offset) {
-                    byte[] subBytes = new byte[bytes.length - offset];
-                    System.arraycopy(bytes, offset, subBytes, 0, subBytes.length);
-                    bytes = subBytes;
-                    offset = 0;
-                }
             }
             for (BaseMessage message : list) {
                 if (MessageFilterChain.getInstance().doFilter(message)) {
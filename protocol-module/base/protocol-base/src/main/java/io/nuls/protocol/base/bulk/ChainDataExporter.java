@@ -0,0 +1,116 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.protocol.base.bulk;
+
+import io.nuls.core.tools.log.Log;
+import io.nuls.kernel.constant.KernelErrorCode;
+import io.nuls.kernel.context.NulsContext;
+import io.nuls.kernel.model.Block;
+import io.nuls.kernel.model.BlockHeader;
+import io.nuls.kernel.model.Result;
+import io.nuls.protocol.service.BlockService;
+import io.nuls.protocol.storage.service.BlockBodyStorageService;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * 离线导出本地存储的区块，按高度顺序流式写入链数据文件，用于快速搭建新节点
+ * 区块优先从区块文件存储中按原始字节读取，没有时再从交易存储中组装
+ * Exports the locally stored blocks offline, streamed into a chain data file in height order, used to bootstrap new nodes quickly.
+ * The raw bytes are read from the block file store first, the block is assembled from the transaction storage when they are not there.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/2
+ */
+public class ChainDataExporter {
+
+    private static final int LOG_INTERVAL = 10000;
+
+    private final BlockService blockService = NulsContext.getServiceBean(BlockService.class);
+
+    private final BlockBodyStorageService blockBodyStorageService = NulsContext.getServiceBean(BlockBodyStorageService.class);
+
+    /**
+     * 导出[startHeight, endHeight]范围内的区块
+     * Export the blocks in the range [startHeight, endHeight].
+     *
+     * @param file        导出文件，以.gz结尾时压缩/The export file, compressed when it ends with .gz.
+     * @param startHeight 起始高度/start height
+     * @param endHeight   结束高度，小于0时导出到本地最新高度/The end height, to the local best height when less than 0.
+     * @return 导出的区块数/the number of exported blocks
+     */
+    public Result<Long> export(File file, long startHeight, long endHeight) {
+        if (null == file || startHeight < 0L) {
+            return Result.getFailed(KernelErrorCode.PARAMETER_ERROR);
+        }
+        Result<BlockHeader> bestResult = blockService.getBestBlockHeader();
+        if (bestResult.isFailed() || null == bestResult.getData()) {
+            return Result.getFailed(KernelErrorCode.DATA_NOT_FOUND);
+        }
+        long bestHeight = bestResult.getData().getHeight();
+        if (endHeight < 0L || endHeight > bestHeight) {
+            endHeight = bestHeight;
+        }
+        if (startHeight > endHeight) {
+            return Result.getFailed(KernelErrorCode.PARAMETER_ERROR);
+        }
+        long count = 0L;
+        long begin = System.currentTimeMillis();
+        try (ChainDataFile.Writer writer = new ChainDataFile.Writer(file)) {
+            for (long height = startHeight; height <= endHeight; height++) {
+                byte[] bytes = getBlockBytes(height);
+                if (null == bytes) {
+                    return Result.getFailed(KernelErrorCode.DATA_NOT_FOUND, "block not found, height: " + height);
+                }
+                writer.write(height, bytes);
+                count++;
+                if (count % LOG_INTERVAL == 0) {
+                    Log.info("exported blocks to height: " + height);
+                }
+            }
+        } catch (IOException e) {
+            Log.error(e);
+            return Result.getFailed(KernelErrorCode.IO_ERROR, e.getMessage());
+        }
+        Log.info("exported " + count + " blocks [" + startHeight + ", " + endHeight + "] to " + file.getPath()
+                + " in " + (System.currentTimeMillis() - begin) + "ms");
+        return Result.getSuccess().setData(count);
+    }
+
+    private byte[] getBlockBytes(long height) throws IOException {
+        if (blockBodyStorageService.isEnabled()) {
+            byte[] bytes = blockBodyStorageService.getBlockBytes(height);
+            if (null != bytes) {
+                return bytes;
+            }
+        }
+        Result<Block> result = blockService.getBlock(height);
+        if (result.isFailed() || null == result.getData()) {
+            return null;
+        }
+        return result.getData().serialize();
+    }
+}
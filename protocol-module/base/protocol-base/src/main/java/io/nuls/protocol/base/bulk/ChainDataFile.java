@@ -0,0 +1,184 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.protocol.base.bulk;
+
+import io.nuls.kernel.utils.SerializeUtils;
+
+import java.io.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 链数据导出文件的格式：文件头(魔数 + 版本号) + 按高度顺序排列的区块记录
+ * 每条记录为：区块高度(int64) + 数据长度(uint32) + 序列化的区块，均为小端序，与区块文件存储的记录格式相同
+ * 文件名以.gz结尾时使用gzip压缩
+ * The format of the exported chain data file: a file header (magic + version) followed by the block records in height order.
+ * Each record is: block height (int64) + data length (uint32) + the serialized block, all little endian, the same as the records of the block file store.
+ * The file is gzip compressed when its name ends with .gz.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/2
+ */
+public final class ChainDataFile {
+
+    public static final byte[] MAGIC = {'N', 'U', 'L', 'S', 'C', 'H', 'N', 0};
+
+    public static final int VERSION = 1;
+
+    public static final int RECORD_HEADER_LENGTH = 12;
+
+    /**
+     * 单个区块记录允许的最大长度，用于识别损坏的文件
+     * The maximum length of a single block record, used to detect a broken file.
+     */
+    public static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private ChainDataFile() {
+    }
+
+    public static boolean isCompressed(File file) {
+        return file.getName().endsWith(GZIP_SUFFIX);
+    }
+
+    /**
+     * 顺序写入区块记录
+     * Writes block records sequentially.
+     */
+    public static class Writer implements Closeable {
+
+        private final OutputStream out;
+
+        private final byte[] header = new byte[RECORD_HEADER_LENGTH];
+
+        public Writer(File file) throws IOException {
+            OutputStream stream = new FileOutputStream(file);
+            if (isCompressed(file)) {
+                stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+            }
+            this.out = new BufferedOutputStream(stream, BUFFER_SIZE);
+            byte[] version = new byte[4];
+            SerializeUtils.int32ToByteArrayLE(VERSION, version, 0);
+            out.write(MAGIC);
+            out.write(version);
+        }
+
+        public void write(long height, byte[] data) throws IOException {
+            SerializeUtils.uint64ToByteArrayLE(height, header, 0);
+            SerializeUtils.uint32ToByteArrayLE(data.length, header, 8);
+            out.write(header);
+            out.write(data);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * 顺序读取区块记录
+     * Reads block records sequentially.
+     */
+    public static class Reader implements Closeable {
+
+        private final DataInputStream in;
+
+        private final byte[] header = new byte[RECORD_HEADER_LENGTH];
+
+        private long height;
+
+        private byte[] data;
+
+        public Reader(File file) throws IOException {
+            InputStream stream = new FileInputStream(file);
+            if (isCompressed(file)) {
+                stream = new GZIPInputStream(stream, BUFFER_SIZE);
+            }
+            this.in = new DataInputStream(new BufferedInputStream(stream, BUFFER_SIZE));
+            byte[] magic = new byte[MAGIC.length + 4];
+            in.readFully(magic);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (magic[i] != MAGIC[i]) {
+                    in.close();
+                    throw new IOException("not a chain data file: " + file.getPath());
+                }
+            }
+            int version = SerializeUtils.readInt32LE(magic, MAGIC.length);
+            if (version != VERSION) {
+                in.close();
+                throw new IOException("unsupported chain data file version: " + version);
+            }
+        }
+
+        /**
+         * 读取下一条记录，文件结束时返回false
+         * Reads the next record, returns false at the end of the file.
+         *
+         * @return
+         * @throws IOException 记录不完整或长度不合法/The record is incomplete or its length is illegal.
+         */
+        public boolean next() throws IOException {
+            int read = 0;
+            while (read < RECORD_HEADER_LENGTH) {
+                int count = in.read(header, read, RECORD_HEADER_LENGTH - read);
+                if (count < 0) {
+                    break;
+                }
+                read += count;
+            }
+            if (read == 0) {
+                return false;
+            }
+            if (read < RECORD_HEADER_LENGTH) {
+                throw new EOFException("incomplete record header");
+            }
+            height = SerializeUtils.readInt64LE(header, 0);
+            long length = SerializeUtils.readUint32LE(header, 8);
+            if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                throw new IOException("illegal record length " + length + " at height " + height);
+            }
+            data = new byte[(int) length];
+            in.readFully(data);
+            return true;
+        }
+
+        public long getHeight() {
+            return height;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
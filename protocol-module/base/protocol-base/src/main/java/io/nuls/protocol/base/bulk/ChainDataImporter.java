@@ -0,0 +1,259 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.nuls.protocol.base.bulk;
+
+import io.nuls.consensus.constant.ConsensusConstant;
+import io.nuls.core.tools.log.Log;
+import io.nuls.kernel.constant.KernelErrorCode;
+import io.nuls.kernel.context.NulsContext;
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.model.*;
+import io.nuls.kernel.thread.manager.NulsThreadFactory;
+import io.nuls.kernel.thread.manager.TaskManager;
+import io.nuls.kernel.validate.ValidateResult;
+import io.nuls.ledger.service.LedgerService;
+import io.nuls.protocol.constant.ProtocolConstant;
+import io.nuls.protocol.service.BlockService;
+import io.nuls.protocol.service.TransactionService;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 离线导入链数据文件，用于快速搭建新节点
+ * 读取线程顺序读取记录，反序列化和与账本状态无关的验证（区块头、签名、梅克尔根）在线程池中并行执行，
+ * 结果按高度顺序取出，检查前一区块摘要和账本状态后保存
+ * 不超过可信高度的区块只检查梅克尔根和区块链接，不验证签名
+ * Imports a chain data file offline, used to bootstrap new nodes quickly.
+ * The records are read sequentially, deserialization and the state-free verification (header, signatures, merkle root) run in parallel in a thread pool,
+ * the results are taken in height order, checked against the previous block hash and the ledger state, and then saved.
+ * Blocks not above the trusted height are only checked for the merkle root and the chain link, their signatures are not verified.
+ * <p>
+ * 区块仍逐个通过BlockService.saveBlock保存，没有合并成跨多个区块的批量写入：
+ * 交易提交、账本、区块头和本地账户账本分别由各自的存储服务写入，目前没有可以贯穿这些服务的写批次；
+ * 并且下一个区块的coinData校验要从UTXO存储中读取上一个区块的输出，推迟写入会使校验读到旧状态
+ * Blocks are still saved one by one through BlockService.saveBlock instead of one write batch spanning several blocks:
+ * the tx commit, the ledger, the block header and the local account ledger are written by their own storage services,
+ * and there is no write batch that can be passed through all of them yet;
+ * the coinData verification of the next block also reads the outputs of the previous block from the UTXO storage,
+ * so deferring the writes would make it read a stale state.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/2
+ */
+public class ChainDataImporter {
+
+    private static final int LOG_INTERVAL = 10000;
+
+    /**
+     * 每个线程最多预先解析的区块数
+     * The maximum number of blocks parsed ahead per thread.
+     */
+    private static final int WINDOW_PER_THREAD = 16;
+
+    private final BlockService blockService = NulsContext.getServiceBean(BlockService.class);
+
+    private final LedgerService ledgerService = NulsContext.getServiceBean(LedgerService.class);
+
+    private final TransactionService transactionService = NulsContext.getServiceBean(TransactionService.class);
+
+    private final int threadCount;
+
+    public ChainDataImporter(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    /**
+     * 导入链数据文件，本地已有的高度会被跳过
+     * Import a chain data file, the heights that already exist locally are skipped.
+     *
+     * @param file          链数据文件/the chain data file
+     * @param trustedHeight 可信高度，不超过该高度的区块不验证签名，小于0时验证所有区块
+     *                      The trusted height, the signatures of the blocks not above it are not verified, all blocks are verified when less than 0.
+     * @return 导入的区块数/the number of imported blocks
+     */
+    public Result<Long> importFile(File file, long trustedHeight) {
+        if (null == file || !file.exists()) {
+            return Result.getFailed(KernelErrorCode.FILE_NOT_FOUND);
+        }
+        Result<BlockHeader> bestResult;
+        try {
+            bestResult = initGenesisBlock();
+        } catch (NulsException e) {
+            Log.error(e);
+            return Result.getFailed(e.getErrorCode());
+        }
+        if (bestResult.isFailed()) {
+            return Result.getFailed(bestResult.getErrorCode());
+        }
+        BlockHeader best = bestResult.getData();
+        long localHeight = best.getHeight();
+        NulsDigestData preHash = best.getHash();
+        long count = 0L;
+        long begin = System.currentTimeMillis();
+
+        ThreadPoolExecutor executor = TaskManager.createThreadPool(threadCount, threadCount * WINDOW_PER_THREAD,
+                new NulsThreadFactory(ProtocolConstant.MODULE_ID_PROTOCOL, "chain-data-import"));
+        Deque<Future<Block>> window = new ArrayDeque<>();
+        Block lastBlock = null;
+        try (ChainDataFile.Reader reader = new ChainDataFile.Reader(file)) {
+            boolean end = false;
+            while (true) {
+                while (!end && window.size() < threadCount * WINDOW_PER_THREAD) {
+                    if (!reader.next()) {
+                        end = true;
+                        break;
+                    }
+                    long height = reader.getHeight();
+                    if (height <= localHeight) {
+                        continue;
+                    }
+                    byte[] data = reader.getData();
+                    boolean verifySign = height > trustedHeight;
+                    window.add(executor.submit(() -> parseAndVerify(height, data, verifySign)));
+                }
+                Future<Block> future = window.poll();
+                if (null == future) {
+                    break;
+                }
+                Block block = future.get();
+                BlockHeader header = block.getHeader();
+                if (header.getHeight() != localHeight + 1 || !preHash.equals(header.getPreHash())) {
+                    return Result.getFailed(KernelErrorCode.DATA_ERROR, "the block does not link to the local chain, height: " + header.getHeight());
+                }
+                Result result = saveBlock(block, header.getHeight() > trustedHeight);
+                if (result.isFailed()) {
+                    return Result.getFailed(result.getErrorCode(), "import block failed, height: " + header.getHeight() + ", " + result.getMsg());
+                }
+                localHeight = header.getHeight();
+                preHash = header.getHash();
+                lastBlock = block;
+                count++;
+                if (count % LOG_INTERVAL == 0) {
+                    Log.info("imported blocks to height: " + localHeight);
+                }
+            }
+        } catch (ExecutionException e) {
+            Log.error(e.getCause());
+            return Result.getFailed(KernelErrorCode.DATA_ERROR, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.getFailed(KernelErrorCode.FAILED, "import interrupted");
+        } catch (IOException e) {
+            Log.error(e);
+            return Result.getFailed(KernelErrorCode.IO_ERROR, e.getMessage());
+        } catch (NulsException e) {
+            Log.error(e);
+            return Result.getFailed(e.getErrorCode());
+        } finally {
+            for (Future<Block> future : window) {
+                future.cancel(true);
+            }
+            executor.shutdownNow();
+            if (null != lastBlock) {
+                NulsContext.getInstance().setBestBlock(lastBlock);
+            }
+        }
+        Log.info("imported " + count + " blocks from " + file.getPath() + " to height " + localHeight
+                + " in " + (System.currentTimeMillis() - begin) + "ms");
+        return Result.getSuccess().setData(count);
+    }
+
+    /**
+     * 本地没有创世块时先保存创世块，返回本地最新区块头
+     * Save the genesis block first when there is none locally, return the local best block header.
+     */
+    private Result<BlockHeader> initGenesisBlock() throws NulsException {
+        Block genesisBlock = NulsContext.getInstance().getGenesisBlock();
+        Block localGenesis = blockService.getGengsisBlock().getData();
+        if (null == localGenesis) {
+            Result result = blockService.saveBlock(genesisBlock);
+            if (result.isFailed()) {
+                return result;
+            }
+        } else if (!localGenesis.getHeader().getHash().equals(genesisBlock.getHeader().getHash())) {
+            return Result.getFailed(KernelErrorCode.DATA_ERROR, "the local genesis block is wrong!");
+        }
+        return blockService.getBestBlockHeader();
+    }
+
+    /**
+     * 在线程池中执行：反序列化区块并完成与账本状态无关的验证
+     * Runs in the thread pool: deserialize the block and do the verification that does not depend on the ledger state.
+     */
+    private Block parseAndVerify(long height, byte[] data, boolean verifySign) throws NulsException {
+        Block block = new Block();
+        block.parse(data);
+        if (block.getHeader().getHeight() != height) {
+            throw new NulsException(KernelErrorCode.DATA_ERROR, "the record height does not match the block: " + height);
+        }
+        if (block.getTxs().size() != block.getHeader().getTxCount()
+                || !block.getHeader().getMerkleHash().equals(NulsDigestData.calcMerkleDigestData(block.getTxHashList()))) {
+            throw new NulsException(KernelErrorCode.DATA_ERROR, "merkle hash is wrong, height: " + height);
+        }
+        if (verifySign) {
+            block.verifyWithException();
+            for (Transaction tx : block.getTxs()) {
+                ValidateResult result = tx.verify();
+                if (result.isFailed()) {
+                    throw new NulsException(result.getErrorCode(), "verify tx failed, height: " + height + ", " + result.getMsg());
+                }
+            }
+        }
+        return block;
+    }
+
+    /**
+     * 按高度顺序执行：验证交易的账本状态后保存区块
+     * Runs in height order: verify the transactions against the ledger state and save the block.
+     */
+    private Result saveBlock(Block block, boolean verify) throws NulsException {
+        if (verify) {
+            List<Transaction> verifiedList = new ArrayList<>();
+            for (Transaction tx : block.getTxs()) {
+                if (tx.getType() == ConsensusConstant.TX_TYPE_YELLOW_PUNISH || tx.getType() == ProtocolConstant.TX_TYPE_COINBASE || tx.getType() == ConsensusConstant.TX_TYPE_RED_PUNISH) {
+                    continue;
+                }
+                ValidateResult result = ledgerService.verifyCoinData(tx, verifiedList);
+                if (result.isFailed()) {
+                    return result;
+                }
+                verifiedList.add(tx);
+            }
+            ValidateResult result = transactionService.conflictDetect(block.getTxs());
+            if (result.isFailed()) {
+                return result;
+            }
+        }
+        return blockService.saveBlock(block);
+    }
+}
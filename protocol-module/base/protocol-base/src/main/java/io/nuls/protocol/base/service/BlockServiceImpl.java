@@ -41,6 +41,7 @@ import io.nuls.protocol.model.SmallBlock;
 import io.nuls.protocol.service.BlockService;
 import io.nuls.protocol.service.TransactionService;
 import io.nuls.protocol.storage.po.BlockHeaderPo;
+import io.nuls.protocol.storage.service.BlockBodyStorageService;
 import io.nuls.protocol.storage.service.BlockHeaderStorageService;
 
 import java.util.ArrayList;
@@ -63,6 +64,13 @@ public class BlockServiceImpl implements BlockService {
     @Autowired
     private BlockHeaderStorageService blockHeaderStorageService;
 
+    /**
+     * 完整区块存储
+     * Whole block storage
+     */
+    @Autowired
+    private BlockBodyStorageService blockBodyStorageService;
+
     @Autowired
     private LedgerService ledgerService;
 
@@ -103,13 +111,18 @@ public class BlockServiceImpl implements BlockService {
     }
 
     /**
-     * 根据区块头po组装完整区块
-     * Assemble the complete block according to block head Po.
+     * 根据区块头po组装完整区块，优先从区块文件中一次读出，读不到时按交易hash逐个查询
+     * Assemble the complete block according to block head Po, read it at once from the block files first,
+     * and look up the transactions one by one by hash if it is not there.
      *
      * @param headerPo 区块头对象/block header po
      * @return 完整的区块/the complete block
      */
     private Block getBlock(BlockHeaderPo headerPo) {
+        Block stored = blockBodyStorageService.getBlock(headerPo.getHeight());
+        if (null != stored && stored.getHeader().getHash().equals(headerPo.getHash())) {
+            return stored;
+        }
         List<Transaction> txList = new ArrayList<>();
         for (NulsDigestData hash : headerPo.getTxHashList()) {
             Transaction tx = ledgerService.getTx(hash);
@@ -232,6 +245,13 @@ public class BlockServiceImpl implements BlockService {
             this.rollbackTxList(savedList, block.getHeader());
             return result;
         }
+        if (blockBodyStorageService.isEnabled()) {
+            // 区块文件只用于加速读取，写入失败时仍可以从交易存储中组装区块
+            Result bodyResult = blockBodyStorageService.saveBlock(block);
+            if (bodyResult.isFailed()) {
+                Log.warn("save block to block file failed: " + bodyResult.getMsg());
+            }
+        }
         try {
             accountLedgerService.saveConfirmedTransactionList(block.getTxs());
         } catch (Exception e) {
@@ -274,6 +294,10 @@ public class BlockServiceImpl implements BlockService {
         if (result.isFailed()) {
             return result;
         }
+        Result bodyResult = blockBodyStorageService.removeBlock(po.getHeight());
+        if (bodyResult.isFailed()) {
+            Log.warn("remove block from block file failed: " + bodyResult.getMsg());
+        }
         try {
             accountLedgerService.rollbackTransaction(block.getTxs());
         } catch (Exception e) {
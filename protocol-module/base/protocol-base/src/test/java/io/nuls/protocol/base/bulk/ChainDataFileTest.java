@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.protocol.base.bulk;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/7/2
+ */
+public class ChainDataFileTest {
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        testWriteAndRead(File.createTempFile("chain-data", ".dat"));
+        testWriteAndRead(File.createTempFile("chain-data", ".dat.gz"));
+    }
+
+    private void testWriteAndRead(File file) throws IOException {
+        try (ChainDataFile.Writer writer = new ChainDataFile.Writer(file)) {
+            for (long height = 1; height <= 100; height++) {
+                writer.write(height, ("block-" + height).getBytes());
+            }
+        }
+        try (ChainDataFile.Reader reader = new ChainDataFile.Reader(file)) {
+            for (long height = 1; height <= 100; height++) {
+                assertTrue(reader.next());
+                assertEquals(height, reader.getHeight());
+                assertArrayEquals(("block-" + height).getBytes(), reader.getData());
+            }
+            assertFalse(reader.next());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testBrokenFile() throws IOException {
+        File file = File.createTempFile("chain-data", ".dat");
+        try {
+            try (ChainDataFile.Writer writer = new ChainDataFile.Writer(file)) {
+                writer.write(1, new byte[32]);
+            }
+            // 截掉最后一条记录的部分数据
+            try (FileOutputStream out = new FileOutputStream(file, true)) {
+                out.getChannel().truncate(file.length() - 8);
+            }
+            try (ChainDataFile.Reader reader = new ChainDataFile.Reader(file)) {
+                reader.next();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+}
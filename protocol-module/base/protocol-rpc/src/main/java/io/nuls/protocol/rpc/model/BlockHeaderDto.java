@@ -131,7 +131,7 @@ public class BlockHeaderDto {
         this.scriptSign = Hex.encode(header.getScriptSig().serialize());
         this.confirmCount = bestBlockHeight - this.height;
         try {
-            BlockRoundData roundData = new BlockRoundData(header.getExtend());
+            BlockRoundData roundData = header.getExtendData(BlockRoundData.class);
             this.roundIndex = roundData.getRoundIndex();
             this.roundStartTime = roundData.getRoundStartTime();
             this.consensusMemberCount = roundData.getConsensusMemberCount();
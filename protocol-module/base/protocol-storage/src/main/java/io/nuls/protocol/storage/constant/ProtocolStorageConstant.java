@@ -50,4 +50,44 @@ public interface ProtocolStorageConstant {
      * The index value of the latest block hash stored in the database.
      */
     String BEST_BLOCK_HASH_INDEX = "best_block_hash_index";
+
+    /**
+     * 区块文件位置索引表名称
+     * Block file position index table name.
+     */
+    String DB_NAME_BLOCK_FILE_INDEX = "block_file_index";
+
+    /**
+     * 区块文件索引中保存文件尾部位置的索引值
+     * The index value of the tail position stored in the block file index.
+     */
+    String BLOCK_FILE_TAIL_INDEX = "block_file_tail_index";
+
+    /**
+     * 区块文件相关配置所在的配置段
+     * The configuration section of the block file settings.
+     */
+    String CFG_PROTOCOL_SECTION = "protocol";
+
+    /**
+     * 是否把完整区块保存到区块文件中
+     * Whether to store whole blocks in the block files.
+     */
+    String CFG_BLOCK_FILE_ENABLE = "block.file.enable";
+
+    /**
+     * 区块文件目录
+     * The block file directory.
+     */
+    String CFG_BLOCK_FILE_PATH = "block.file.path";
+
+    String DEFAULT_BLOCK_FILE_PATH = "./data/blocks";
+
+    /**
+     * 单个区块文件的大小上限(MB)
+     * The size limit of a single block file (MB).
+     */
+    String CFG_BLOCK_FILE_SEGMENT_MB = "block.file.segment.mb";
+
+    int DEFAULT_BLOCK_FILE_SEGMENT_MB = 128;
 }
@@ -0,0 +1,329 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.protocol.storage.file;
+
+import io.nuls.core.tools.log.Log;
+import io.nuls.protocol.storage.po.BlockFilePositionPo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 只追加的区块文件存储，完整区块按顺序写入滚动的分段文件(blk00000.dat, blk00001.dat ...)
+ * 每条记录为：区块高度(int64) + 数据长度(uint32) + 序列化的区块，均为小端序
+ * 已写满的分段以只读方式内存映射，读取时不需要系统调用；正在写入的分段使用按位置读取
+ * 索引(高度到文件位置)由调用方保存，本类只负责文件，回滚只允许截断到最后写入的位置
+ * Append-only block file store, whole blocks are written in order into rolling segment files (blk00000.dat, blk00001.dat ...).
+ * Each record is: block height (int64) + data length (uint32) + the serialized block, all little endian.
+ * Full segments are memory-mapped read-only so reading needs no system call; the segment being written is read by position.
+ * The index (height to file position) is kept by the caller, this class only handles the files, rollback can only truncate back to the last written positions.
+ *
+ * @author: PierreLuo
+ * @date: 2018/6/28
+ */
+public class BlockFileStore {
+
+    public static final int RECORD_HEADER_LENGTH = 12;
+
+    private static final String FILE_PREFIX = "blk";
+
+    private static final String FILE_SUFFIX = ".dat";
+
+    private final File dir;
+
+    private final long segmentBytes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 已写满的分段文件的只读映射
+     * Read-only mappings of the full segment files.
+     */
+    private final Map<Integer, MappedByteBuffer> mappedSegments = new ConcurrentHashMap<>();
+
+    private FileChannel activeChannel;
+
+    private int activeFileNo;
+
+    private long activePosition;
+
+    public BlockFileStore(File dir, long segmentBytes) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * 打开存储，丢弃尾部位置之后的所有数据（上次写入了文件但没有写入索引的区块）
+     * Open the store and discard everything after the tail position (blocks written to the files but not to the index last time).
+     *
+     * @param tail 索引中保存的尾部位置，为null时从头开始/The tail position saved in the index, from the beginning if null.
+     * @throws IOException
+     */
+    public void open(BlockFilePositionPo tail) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!dir.exists() && !dir.mkdirs()) {
+                throw new IOException("can not create block file dir: " + dir.getPath());
+            }
+            int fileNo = tail == null ? 0 : tail.getFileNo();
+            long position = tail == null ? 0L : tail.getOffset();
+            deleteSegmentsAfter(fileNo);
+            openActive(fileNo);
+            if (activeChannel.size() > position) {
+                activeChannel.truncate(position);
+            }
+            activePosition = activeChannel.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 在尾部追加一个区块，当前分段放不下时滚动到新的分段
+     * Append a block at the tail, roll to a new segment when the current one can not hold it.
+     *
+     * @param height 区块高度/block height
+     * @param data   序列化的区块/the serialized block
+     * @return 区块的位置/the position of the block
+     * @throws IOException
+     */
+    public BlockFilePositionPo append(long height, byte[] data) throws IOException {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            long recordLength = RECORD_HEADER_LENGTH + data.length;
+            if (activePosition > 0 && activePosition + recordLength > segmentBytes) {
+                activeChannel.close();
+                openActive(activeFileNo + 1);
+                activeChannel.truncate(0);
+                activePosition = 0;
+            }
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(height);
+            header.putInt(data.length);
+            header.flip();
+            ByteBuffer[] buffers = {header, ByteBuffer.wrap(data)};
+            activeChannel.position(activePosition);
+            long written = 0;
+            while (written < recordLength) {
+                written += activeChannel.write(buffers);
+            }
+            BlockFilePositionPo position = new BlockFilePositionPo(activeFileNo, activePosition, data.length);
+            activePosition += recordLength;
+            return position;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 读取指定位置的区块数据，记录头中的高度或长度不一致时（文件被截断或损坏）返回null
+     * Read the block data at the position, null when the height or length in the record header does not match (the file was truncated or damaged).
+     *
+     * @param position 区块的位置/the position of the block
+     * @param height   期望的区块高度/the expected block height
+     * @return
+     * @throws IOException
+     */
+    public byte[] read(BlockFilePositionPo position, long height) throws IOException {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            int fileNo = position.getFileNo();
+            long end = position.getOffset() + RECORD_HEADER_LENGTH + position.getLength();
+            if (fileNo > activeFileNo || (fileNo == activeFileNo && end > activePosition)) {
+                return null;
+            }
+            ByteBuffer buffer;
+            if (fileNo < activeFileNo) {
+                MappedByteBuffer mapped = getMappedSegment(fileNo);
+                if (mapped == null || end > mapped.capacity()) {
+                    return null;
+                }
+                buffer = mapped.duplicate();
+                buffer.position((int) position.getOffset());
+            } else {
+                buffer = ByteBuffer.allocate(RECORD_HEADER_LENGTH + position.getLength());
+                long offset = position.getOffset();
+                while (buffer.hasRemaining()) {
+                    int read = activeChannel.read(buffer, offset);
+                    if (read < 0) {
+                        return null;
+                    }
+                    offset += read;
+                }
+                buffer.flip();
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getLong() != height || buffer.getInt() != position.getLength()) {
+                return null;
+            }
+            byte[] data = new byte[position.getLength()];
+            buffer.get(data);
+            return data;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 判断该位置是否为最后写入的记录
+     * Whether the position is the last record written.
+     */
+    public boolean isLast(BlockFilePositionPo position) {
+        lock.readLock().lock();
+        try {
+            return position.getFileNo() == activeFileNo
+                    && position.getOffset() + RECORD_HEADER_LENGTH + position.getLength() == activePosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 把尾部截断到指定位置，该位置之后的所有记录被丢弃
+     * Truncate the tail back to the position, all records after it are discarded.
+     *
+     * @param position
+     * @throws IOException
+     */
+    public void truncate(BlockFilePositionPo position) throws IOException {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            int fileNo = position.getFileNo();
+            if (fileNo > activeFileNo) {
+                return;
+            }
+            if (fileNo < activeFileNo) {
+                activeChannel.close();
+                deleteSegmentsAfter(fileNo);
+                mappedSegments.remove(fileNo);
+                openActive(fileNo);
+            }
+            if (activeChannel.size() > position.getOffset()) {
+                activeChannel.truncate(position.getOffset());
+            }
+            activePosition = activeChannel.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 当前的尾部位置，下一个区块将写在这里
+     * The current tail position, the next block is written here.
+     */
+    public BlockFilePositionPo getTail() {
+        lock.readLock().lock();
+        try {
+            return new BlockFilePositionPo(activeFileNo, activePosition, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            mappedSegments.clear();
+            if (activeChannel != null) {
+                activeChannel.close();
+                activeChannel = null;
+            }
+        } catch (IOException e) {
+            Log.warn("close block file error", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (activeChannel == null) {
+            throw new IOException("block file store is not open");
+        }
+    }
+
+    private void openActive(int fileNo) throws IOException {
+        activeChannel = new RandomAccessFile(getSegmentFile(fileNo), "rw").getChannel();
+        activeFileNo = fileNo;
+    }
+
+    private MappedByteBuffer getMappedSegment(int fileNo) throws IOException {
+        MappedByteBuffer mapped = mappedSegments.get(fileNo);
+        if (mapped != null) {
+            return mapped;
+        }
+        File file = getSegmentFile(fileNo);
+        if (!file.exists()) {
+            return null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mappedSegments.put(fileNo, mapped);
+        return mapped;
+    }
+
+    private void deleteSegmentsAfter(int fileNo) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            int no = parseFileNo(file.getName());
+            if (no > fileNo) {
+                mappedSegments.remove(no);
+                if (!file.delete()) {
+                    Log.warn("delete block file failed: " + file.getPath());
+                }
+            }
+        }
+    }
+
+    private File getSegmentFile(int fileNo) {
+        return new File(dir, String.format("%s%05d%s", FILE_PREFIX, fileNo, FILE_SUFFIX));
+    }
+
+    private static int parseFileNo(String name) {
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.protocol.storage.po;
+
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.model.BaseNulsData;
+import io.nuls.kernel.utils.NulsByteBuffer;
+import io.nuls.kernel.utils.NulsOutputStreamBuffer;
+
+import java.io.IOException;
+
+/**
+ * 区块在区块文件中的位置：文件序号、记录的起始偏移和区块数据长度
+ * The position of a block in the block files: the file number, the offset of the record and the length of the block data.
+ *
+ * @author: PierreLuo
+ * @date: 2018/6/28
+ */
+public class BlockFilePositionPo extends BaseNulsData {
+
+    private int fileNo;
+
+    private long offset;
+
+    private int length;
+
+    public BlockFilePositionPo() {
+    }
+
+    public BlockFilePositionPo(int fileNo, long offset, int length) {
+        this.fileNo = fileNo;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int size() {
+        return 16;
+    }
+
+    @Override
+    protected void serializeToStream(NulsOutputStreamBuffer stream) throws IOException {
+        stream.writeUint32(fileNo);
+        stream.writeInt64(offset);
+        stream.writeUint32(length);
+    }
+
+    @Override
+    protected void parse(NulsByteBuffer byteBuffer) throws NulsException {
+        this.fileNo = (int) byteBuffer.readUint32();
+        this.offset = byteBuffer.readInt64();
+        this.length = (int) byteBuffer.readUint32();
+    }
+
+    public int getFileNo() {
+        return fileNo;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "BlockFilePositionPo{fileNo=" + fileNo + ", offset=" + offset + ", length=" + length + "}";
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.protocol.storage.service;
+
+import io.nuls.kernel.model.Block;
+import io.nuls.kernel.model.Result;
+
+/**
+ * 完整区块存储服务接口，区块序列化后按顺序追加到区块文件中，按高度建立索引
+ * 读取一个区块只需要一次顺序读，不需要按交易hash逐个查询
+ * Whole block storage service interface, serialized blocks are appended in order to the block files and indexed by height.
+ * Reading a block is one sequential read instead of one lookup per transaction hash.
+ *
+ * @author: PierreLuo
+ * @date: 2018/6/28
+ */
+public interface BlockBodyStorageService {
+
+    /**
+     * 区块文件存储是否可用，配置关闭或打开失败时不可用
+     * Whether the block file store is available, not available when disabled by configuration or failed to open.
+     */
+    boolean isEnabled();
+
+    /**
+     * 把完整区块追加到区块文件中
+     * Append the whole block to the block files.
+     *
+     * @param block 完整区块/whole block
+     * @return 操作结果/operating result
+     */
+    Result saveBlock(Block block);
+
+    /**
+     * 根据高度读取序列化的区块
+     * Read the serialized block by height.
+     *
+     * @param height 区块高度/block height
+     * @return 不存在时返回null/null if not found
+     */
+    byte[] getBlockBytes(long height);
+
+    /**
+     * 根据高度读取完整区块
+     * Read the whole block by height.
+     *
+     * @param height 区块高度/block height
+     * @return 不存在时返回null/null if not found
+     */
+    Block getBlock(long height);
+
+    /**
+     * 回滚区块时删除该高度的区块，最新的区块会从文件尾部截断
+     * Remove the block of the height when rolling back, the latest block is truncated from the end of the files.
+     *
+     * @param height 区块高度/block height
+     * @return 操作结果/operating result
+     */
+    Result removeBlock(long height);
+}
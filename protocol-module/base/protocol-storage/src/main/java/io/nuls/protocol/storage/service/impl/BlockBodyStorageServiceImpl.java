@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.protocol.storage.service.impl;
+
+import io.nuls.core.tools.log.Log;
+import io.nuls.db.constant.DBErrorCode;
+import io.nuls.db.service.BatchOperation;
+import io.nuls.db.service.DBService;
+import io.nuls.kernel.cfg.NulsConfig;
+import io.nuls.kernel.constant.KernelErrorCode;
+import io.nuls.kernel.exception.NulsException;
+import io.nuls.kernel.exception.NulsRuntimeException;
+import io.nuls.kernel.lite.annotation.Autowired;
+import io.nuls.kernel.lite.annotation.Service;
+import io.nuls.kernel.lite.core.bean.InitializingBean;
+import io.nuls.kernel.model.Block;
+import io.nuls.kernel.model.NulsDigestData;
+import io.nuls.kernel.model.Result;
+import io.nuls.kernel.utils.VarInt;
+import io.nuls.protocol.storage.constant.ProtocolStorageConstant;
+import io.nuls.protocol.storage.file.BlockFileStore;
+import io.nuls.protocol.storage.po.BlockFilePositionPo;
+import io.nuls.protocol.storage.service.BlockBodyStorageService;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * 完整区块存储服务实现类，区块数据保存在BlockFileStore的分段文件中，位置索引保存在数据库中
+ * 先写文件再提交索引，重启时丢弃索引中尾部位置之后的文件数据，所以索引总是指向完整写入的区块
+ * Whole block storage service implementation class, the block data is kept in the segment files of BlockFileStore and the position index in the database.
+ * The file is written before the index is committed, and data after the tail position in the index is discarded on restart, so the index always points to completely written blocks.
+ *
+ * @author: PierreLuo
+ * @date: 2018/6/28
+ */
+@Service
+public class BlockBodyStorageServiceImpl implements BlockBodyStorageService, InitializingBean {
+
+    private byte[] TAIL_KEY;
+
+    /**
+     * 通用数据存储服务
+     * Universal data storage services.
+     */
+    @Autowired
+    private DBService dbService;
+
+    private BlockFileStore store;
+
+    @Override
+    public void afterPropertiesSet() {
+        Result result = this.dbService.createArea(ProtocolStorageConstant.DB_NAME_BLOCK_FILE_INDEX);
+        if (result.isFailed() && !DBErrorCode.DB_AREA_EXIST.equals(result.getErrorCode())) {
+            throw new NulsRuntimeException(result.getErrorCode());
+        }
+        try {
+            TAIL_KEY = NulsDigestData.calcDigestData(ProtocolStorageConstant.BLOCK_FILE_TAIL_INDEX.getBytes()).serialize();
+        } catch (IOException e) {
+            throw new NulsRuntimeException(e.getCause());
+        }
+        boolean enable = true;
+        String path = ProtocolStorageConstant.DEFAULT_BLOCK_FILE_PATH;
+        int segmentMb = ProtocolStorageConstant.DEFAULT_BLOCK_FILE_SEGMENT_MB;
+        if (NulsConfig.MODULES_CONFIG != null) {
+            enable = NulsConfig.MODULES_CONFIG.getCfgValue(ProtocolStorageConstant.CFG_PROTOCOL_SECTION, ProtocolStorageConstant.CFG_BLOCK_FILE_ENABLE, true);
+            path = NulsConfig.MODULES_CONFIG.getCfgValue(ProtocolStorageConstant.CFG_PROTOCOL_SECTION, ProtocolStorageConstant.CFG_BLOCK_FILE_PATH, path);
+            segmentMb = NulsConfig.MODULES_CONFIG.getCfgValue(ProtocolStorageConstant.CFG_PROTOCOL_SECTION, ProtocolStorageConstant.CFG_BLOCK_FILE_SEGMENT_MB, segmentMb);
+        }
+        if (!enable) {
+            return;
+        }
+        // 分段文件整体映射到内存，不能超过2GB
+        segmentMb = Math.max(1, Math.min(segmentMb, 1024));
+        BlockFileStore fileStore = new BlockFileStore(new File(path), segmentMb * 1024L * 1024L);
+        try {
+            fileStore.open(getPosition(TAIL_KEY));
+            store = fileStore;
+        } catch (IOException e) {
+            Log.error("open block files failed, whole blocks will not be stored: " + path, e);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    /**
+     * 把完整区块追加到区块文件中，索引提交失败时截断刚写入的数据
+     * Append the whole block to the block files, the data just written is truncated if the index commit fails.
+     *
+     * @param block 完整区块/whole block
+     * @return 操作结果/operating result
+     */
+    @Override
+    public synchronized Result saveBlock(Block block) {
+        if (null == block || block.getHeader() == null) {
+            return Result.getFailed(KernelErrorCode.NULL_PARAMETER);
+        }
+        if (store == null) {
+            return Result.getFailed(KernelErrorCode.FAILED, "block file store is disabled");
+        }
+        long height = block.getHeader().getHeight();
+        BlockFilePositionPo position;
+        try {
+            position = store.append(height, block.serialize());
+        } catch (IOException e) {
+            Log.error(e);
+            return Result.getFailed(e.getMessage());
+        }
+        Result result;
+        try {
+            BatchOperation batch = dbService.createWriteBatch(ProtocolStorageConstant.DB_NAME_BLOCK_FILE_INDEX);
+            batch.put(new VarInt(height).encode(), position.serialize());
+            batch.put(TAIL_KEY, store.getTail().serialize());
+            result = batch.executeBatch();
+        } catch (IOException e) {
+            Log.error(e);
+            result = Result.getFailed(e.getMessage());
+        }
+        if (result.isFailed()) {
+            truncate(position);
+        }
+        return result;
+    }
+
+    @Override
+    public byte[] getBlockBytes(long height) {
+        if (store == null || height < 0L) {
+            return null;
+        }
+        BlockFilePositionPo position = getPosition(new VarInt(height).encode());
+        if (null == position) {
+            return null;
+        }
+        try {
+            return store.read(position, height);
+        } catch (IOException e) {
+            Log.error(e);
+            return null;
+        }
+    }
+
+    @Override
+    public Block getBlock(long height) {
+        byte[] bytes = getBlockBytes(height);
+        if (null == bytes) {
+            return null;
+        }
+        Block block = new Block();
+        try {
+            block.parse(bytes);
+        } catch (Exception e) {
+            Log.error(e);
+            return null;
+        }
+        return block;
+    }
+
+    /**
+     * 先提交索引再截断文件，截断前中断时重启会按索引中的尾部位置截断
+     * The index is committed before the file is truncated, if interrupted before the truncation it is done on restart by the tail position in the index.
+     *
+     * @param height 区块高度/block height
+     * @return 操作结果/operating result
+     */
+    @Override
+    public synchronized Result removeBlock(long height) {
+        if (store == null) {
+            return Result.getSuccess();
+        }
+        byte[] key = new VarInt(height).encode();
+        BlockFilePositionPo position = getPosition(key);
+        if (null == position) {
+            return Result.getSuccess();
+        }
+        if (!store.isLast(position)) {
+            // 不是最后写入的区块，只删除索引，文件中的数据不再被引用
+            return dbService.delete(ProtocolStorageConstant.DB_NAME_BLOCK_FILE_INDEX, key);
+        }
+        Result result;
+        try {
+            BatchOperation batch = dbService.createWriteBatch(ProtocolStorageConstant.DB_NAME_BLOCK_FILE_INDEX);
+            batch.delete(key);
+            batch.put(TAIL_KEY, new BlockFilePositionPo(position.getFileNo(), position.getOffset(), 0).serialize());
+            result = batch.executeBatch();
+        } catch (IOException e) {
+            Log.error(e);
+            return Result.getFailed(e.getMessage());
+        }
+        if (result.isSuccess()) {
+            truncate(position);
+        }
+        return result;
+    }
+
+    private void truncate(BlockFilePositionPo position) {
+        try {
+            store.truncate(position);
+        } catch (IOException e) {
+            Log.error(e);
+        }
+    }
+
+    private BlockFilePositionPo getPosition(byte[] key) {
+        byte[] bytes = dbService.get(ProtocolStorageConstant.DB_NAME_BLOCK_FILE_INDEX, key);
+        if (null == bytes) {
+            return null;
+        }
+        BlockFilePositionPo position = new BlockFilePositionPo();
+        try {
+            position.parse(bytes);
+        } catch (NulsException e) {
+            Log.error(e);
+            return null;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2017-2018 nuls.io
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.nuls.protocol.storage.file;
+
+import io.nuls.protocol.storage.po.BlockFilePositionPo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/6/28
+ */
+public class BlockFileStoreTest {
+
+    private File dir;
+
+    private BlockFileStore store;
+
+    @Before
+    public void init() throws IOException {
+        dir = Files.createTempDirectory("block-file-test").toFile();
+        store = new BlockFileStore(dir, 100);
+        store.open(null);
+    }
+
+    @After
+    public void clear() {
+        store.close();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void testAppendAndRead() throws IOException {
+        BlockFilePositionPo p0 = store.append(0, new byte[60]);
+        BlockFilePositionPo p1 = store.append(1, "block-1".getBytes());
+        // 超过分段大小后滚动到新文件，旧文件通过内存映射读取
+        BlockFilePositionPo p2 = store.append(2, new byte[50]);
+        assertEquals(0, p0.getFileNo());
+        assertEquals(0, p1.getFileNo());
+        assertEquals(1, p2.getFileNo());
+        assertEquals(0, p2.getOffset());
+
+        assertArrayEquals(new byte[60], store.read(p0, 0));
+        assertArrayEquals("block-1".getBytes(), store.read(p1, 1));
+        assertArrayEquals(new byte[50], store.read(p2, 2));
+        // 高度不一致时返回null
+        assertNull(store.read(p1, 2));
+        assertTrue(store.isLast(p2));
+        assertFalse(store.isLast(p1));
+    }
+
+    @Test
+    public void testTruncateAndReopen() throws IOException {
+        BlockFilePositionPo p0 = store.append(0, "block-0".getBytes());
+        BlockFilePositionPo tail = store.getTail();
+        BlockFilePositionPo p1 = store.append(1, "block-1".getBytes());
+
+        store.truncate(p1);
+        assertNull(store.read(p1, 1));
+        assertEquals(tail.getOffset(), store.getTail().getOffset());
+
+        // 重新打开时丢弃尾部位置之后的数据
+        store.append(1, "block-1-new".getBytes());
+        store.close();
+        store = new BlockFileStore(dir, 100);
+        store.open(tail);
+        assertArrayEquals("block-0".getBytes(), store.read(p0, 0));
+        assertEquals(tail.getOffset(), store.getTail().getOffset());
+    }
+}
@@ -47,7 +47,9 @@ public class TransactionMessage extends BaseProtocolMessage<Transaction> {
     @Override
     protected Transaction parseMessageBody(NulsByteBuffer byteBuffer) throws NulsException {
         try {
-            return TransactionManager.getInstance(byteBuffer);
+            // 转发和缓存的交易延迟解码coinData和scriptSig
+            // Relayed and cached transactions decode coinData and scriptSig lazily.
+            return TransactionManager.getInstance(byteBuffer, true);
         } catch (Exception e) {
             Log.error(e);
             return null;
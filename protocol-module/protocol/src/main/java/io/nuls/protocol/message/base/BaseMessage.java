@@ -64,8 +64,8 @@ public abstract class BaseMessage<T extends BaseNulsData> extends BaseNulsData {
      */
     @Override
     protected void serializeToStream(NulsOutputStreamBuffer stream) throws IOException {
-        stream.write(header.serialize());
-        stream.write(msgBody.serialize());
+        header.serializeTo(stream);
+        msgBody.serializeTo(stream);
     }
 
     @Override
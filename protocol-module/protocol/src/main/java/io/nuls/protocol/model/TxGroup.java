@@ -88,7 +88,7 @@ public class TxGroup extends BaseNulsData {
         this.txList = new ArrayList<>();
         for (int i = 0; i < txCount; i++) {
             try {
-                this.txList.add(byteBuffer.readTransaction());
+                this.txList.add(byteBuffer.readTransaction(true));
             } catch (Exception e) {
                 throw new NulsException(e);
             }
@@ -60,7 +60,7 @@ public class CoinBaseTransaction extends Transaction {
     public String getInfo(byte[] address) {
         Na to = Na.ZERO;
         byte[] addressOwner = new byte[AddressTool.HASH_LENGTH];
-        for (Coin coin : coinData.getTo()) {
+        for (Coin coin : getCoinData().getTo()) {
             System.arraycopy(coin.getOwner(), 0, addressOwner, 0, AddressTool.HASH_LENGTH);
             if (Arrays.equals(address, addressOwner)) {
                 to = to.add(coin.getNa());
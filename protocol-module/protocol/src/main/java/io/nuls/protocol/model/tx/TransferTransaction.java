@@ -52,7 +52,7 @@ public class TransferTransaction extends Transaction {
     public String getInfo(byte[] address) {
         boolean isTransfer = false;
         byte[] addressOwner = new byte[AddressTool.HASH_LENGTH];
-        Coin to = coinData.getTo().get(0);
+        Coin to = getCoinData().getTo().get(0);
         System.arraycopy(to.getOwner(), 0, addressOwner, 0, AddressTool.HASH_LENGTH);
         if (!Arrays.equals(address, addressOwner)) {
             isTransfer = true;
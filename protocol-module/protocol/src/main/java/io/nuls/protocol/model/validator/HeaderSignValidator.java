@@ -26,6 +26,7 @@ package io.nuls.protocol.model.validator;
 
 import io.nuls.kernel.lite.annotation.Component;
 import io.nuls.kernel.model.BlockHeader;
+import io.nuls.kernel.validate.BatchSignatureVerifier;
 import io.nuls.kernel.validate.NulsDataValidator;
 import io.nuls.kernel.validate.ValidateResult;
 
@@ -42,6 +43,6 @@ public class HeaderSignValidator implements NulsDataValidator<BlockHeader> {
         if (data.getScriptSig() == null) {
             return ValidateResult.getFailedResult(this.getClass().getName(), ERROR_MESSAGE);
         }
-        return data.getScriptSig().verifySign(data.getHash());
+        return BatchSignatureVerifier.verify(data.getScriptSig(), data.getHash());
     }
 }
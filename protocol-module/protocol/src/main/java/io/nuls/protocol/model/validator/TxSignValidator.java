@@ -23,11 +23,9 @@
  */
 package io.nuls.protocol.model.validator;
 
-import io.nuls.kernel.constant.KernelErrorCode;
 import io.nuls.kernel.lite.annotation.Component;
 import io.nuls.kernel.model.Transaction;
-import io.nuls.kernel.script.P2PKHScriptSig;
-import io.nuls.kernel.utils.NulsByteBuffer;
+import io.nuls.kernel.validate.BatchSignatureVerifier;
 import io.nuls.kernel.validate.NulsDataValidator;
 import io.nuls.kernel.validate.ValidateResult;
 
@@ -39,16 +37,8 @@ import io.nuls.kernel.validate.ValidateResult;
 public class TxSignValidator implements NulsDataValidator<Transaction> {
     @Override
     public ValidateResult validate(Transaction tx) {
-        if (!tx.needVerifySignature()) {
-            return ValidateResult.getSuccessResult();
-        }
-        byte[] scriptSig = tx.getScriptSig();
-        P2PKHScriptSig p2PKHScriptSig = null;
-        try {
-            p2PKHScriptSig = new NulsByteBuffer(scriptSig).readNulsData(new P2PKHScriptSig());
-        } catch (Exception e) {
-            return ValidateResult.getFailedResult(this.getClass().getName(), KernelErrorCode.SIGNATURE_ERROR);
-        }
-        return p2PKHScriptSig.verifySign(tx.getHash());
+        // 区块验证中已经批量验证过的交易会直接返回成功
+        // Transactions already verified in a batch during block verification return success directly
+        return BatchSignatureVerifier.verify(tx);
     }
 }
@@ -71,12 +71,30 @@ public class CacheMap<K, V> {
         this.cacheManager.createCache(cacheName, params);
     }
 
+    /**
+     * 遍历计数，不再把所有key复制到集合中
+     * Counts by iterating, without copying all keys into a set.
+     */
     public int size() {
-        return this.keySet().size();
+        Cache cache = this.cacheManager.getCache(cacheName);
+        if (null == cache) {
+            return 0;
+        }
+        int size = 0;
+        Iterator it = cache.iterator();
+        while (it.hasNext()) {
+            it.next();
+            size++;
+        }
+        return size;
     }
 
     public boolean isEmpty() {
-        return this.keySet().isEmpty();
+        Cache cache = this.cacheManager.getCache(cacheName);
+        if (null == cache) {
+            return true;
+        }
+        return !cache.iterator().hasNext();
     }
 
     public boolean containsKey(K key) {
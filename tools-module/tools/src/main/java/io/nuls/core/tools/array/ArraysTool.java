@@ -54,4 +54,38 @@ public class ArraysTool {
     public static final boolean isEmptyOrNull(byte[] bytes) {
         return (bytes == null || bytes.length == 0);
     }
+
+    /**
+     * 按无符号字节逐位比较两个数组，与LevelDB默认的key排序一致
+     * Compares two arrays byte by byte as unsigned values, consistent with LevelDB's default key order.
+     *
+     * @return 负数、0、正数分别表示小于、等于、大于 / a negative integer, zero, or a positive integer
+     */
+    public static final int compareUnsigned(byte[] left, byte[] right) {
+        int minLength = Math.min(left.length, right.length);
+        for (int i = 0; i < minLength; i++) {
+            int a = left[i] & 0xff;
+            int b = right[i] & 0xff;
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return left.length - right.length;
+    }
+
+    /**
+     * 判断数组是否以指定前缀开头
+     * Determines whether the array begins with the specified prefix.
+     */
+    public static final boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes == null || prefix == null || bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -46,11 +46,15 @@ import org.spongycastle.crypto.signers.HMacDSAKCalculator;
 import org.spongycastle.math.ec.ECPoint;
 import org.spongycastle.math.ec.FixedPointCombMultiplier;
 import org.spongycastle.math.ec.FixedPointUtil;
+import org.spongycastle.math.ec.WNafUtil;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 椭圆曲线加密
@@ -72,13 +76,33 @@ public class ECKey {
             new LinuxSecureRandom();
         }
 
+        // 生成元的梳状预计算表用于签名和根据私钥计算公钥，窗口NAF预计算表用于验证签名，两者都只在这里计算一次
+        // The comb table of the generator is used for signing and deriving public keys, the window NAF table for verifying, both are computed only here
         FixedPointUtil.precompute(CURVE_PARAMS.getG(), 12);
+        WNafUtil.precompute(CURVE_PARAMS.getG(), WNafUtil.getWindowSize(CURVE_PARAMS.getN().bitLength() / 2), true);
         CURVE = new ECDomainParameters(CURVE_PARAMS.getCurve(), CURVE_PARAMS.getG(), CURVE_PARAMS.getN(),
                 CURVE_PARAMS.getH());
         HALF_CURVE_ORDER = CURVE_PARAMS.getN().shiftRight(1);
         SECURE_RANDOM = new SecureRandom();
     }
 
+    /**
+     * 解码后的公钥点的缓存，出块节点和委托节点的公钥会被反复验证
+     * 缓存的点上还保存了第一次验证时计算的窗口NAF预计算表，之后的验证不再重新计算
+     * 并行验签的线程会同时读取，所以缓存分新旧两代ConcurrentHashMap：新一代写满容量的一半后成为旧一代，旧一代整体丢弃，
+     * 命中旧一代的公钥会被移到新一代，近似LRU且读写都不加锁
+     * Cache of decoded public key points, the keys of packers and agents are verified over and over.
+     * The cached points also keep the window NAF tables computed on their first verification, which later verifications reuse.
+     * The parallel verifier threads read it concurrently, so it has two ConcurrentHashMap generations: when the new one is filled
+     * to half of the capacity it becomes the old one and the previous old one is dropped as a whole, keys hit in the old generation
+     * are moved to the new one, which approximates LRU without locking reads or writes.
+     */
+    private static final int PUBLIC_POINT_CACHE_SIZE = 4096;
+
+    private static volatile Map<ByteBuffer, ECPoint> publicPoints = new ConcurrentHashMap<>();
+
+    private static volatile Map<ByteBuffer, ECPoint> previousPublicPoints = new ConcurrentHashMap<>();
+
     protected final BigInteger priv;    // 私匙
     private final ECPoint pub;            //公匙
 
@@ -142,7 +166,38 @@ public class ECKey {
      * @return ECKey
      */
     public static ECKey fromPublicOnly(byte[] pubKey) {
-        return new ECKey(null, CURVE.getCurve().decodePoint(pubKey));
+        return new ECKey(null, decodePublicPoint(pubKey));
+    }
+
+    /**
+     * 解码公钥，相同的公钥返回缓存中的同一个点
+     *
+     * @return ECPoint
+     */
+    public static ECPoint decodePublicPoint(byte[] pubKey) {
+        ByteBuffer key = ByteBuffer.wrap(pubKey);
+        ECPoint point = publicPoints.get(key);
+        if (null != point) {
+            return point;
+        }
+        point = previousPublicPoints.get(key);
+        if (null == point) {
+            point = CURVE.getCurve().decodePoint(pubKey);
+        }
+        Map<ByteBuffer, ECPoint> map = publicPoints;
+        map.put(ByteBuffer.wrap(pubKey.clone()), point);
+        if (map.size() >= PUBLIC_POINT_CACHE_SIZE / 2) {
+            rotatePublicPoints(map);
+        }
+        return point;
+    }
+
+    private static synchronized void rotatePublicPoints(Map<ByteBuffer, ECPoint> full) {
+        if (publicPoints != full) {
+            return;
+        }
+        previousPublicPoints = full;
+        publicPoints = new ConcurrentHashMap<>();
     }
 
     /**
@@ -263,7 +318,7 @@ public class ECKey {
      */
     public static boolean verify(byte[] data, ECDSASignature signature, byte[] pub) {
         ECDSASigner signer = new ECDSASigner();
-        ECPublicKeyParameters params = new ECPublicKeyParameters(CURVE.getCurve().decodePoint(pub), CURVE);
+        ECPublicKeyParameters params = new ECPublicKeyParameters(decodePublicPoint(pub), CURVE);
         signer.init(false, params);
         try {
             return signer.verifySignature(data, signature.r, signature.s);
@@ -391,7 +446,19 @@ public class ECKey {
     }
 
     protected byte[] doSign(byte[] input, BigInteger privateKeyForSigning) {
+        return signWithPrivKey(input, privateKeyForSigning);
+    }
+
+    /**
+     * 直接用私钥签名，不需要像fromPrivate那样先计算公钥
+     *
+     * @return byte[]
+     */
+    public static byte[] signWithPrivKey(byte[] input, BigInteger privateKeyForSigning) {
         Util.checkNotNull(privateKeyForSigning);
+        //私匙不应该是0和1
+        Util.checkState(!privateKeyForSigning.equals(BigInteger.ZERO));
+        Util.checkState(!privateKeyForSigning.equals(BigInteger.ONE));
         ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
         ECPrivateKeyParameters privKey = new ECPrivateKeyParameters(privateKeyForSigning, CURVE);
         signer.init(true, privKey);
@@ -0,0 +1,213 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.core.tools.map;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * 开放寻址(线性探测)的HashMap，key和value放在平铺的数组中，并保存每个key的hash值，探测时先比较int类型的hash再调用equals
+ * 没有Entry对象，适合在单个线程内频繁创建、以缓存了hash值的不可变key(如AddressKey、OutPointKey)做查询的场景
+ * 非线程安全，不支持null key和null value
+ * HashMap with open addressing (linear probing), keys and values live in flat arrays together with the hash of each key,
+ * probing compares the int hash before calling equals.
+ * There are no entry objects, which suits maps created and queried frequently within a single thread with immutable keys
+ * caching their hash codes (such as AddressKey and OutPointKey).
+ * Not thread safe, null keys and null values are not supported.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/23
+ */
+public class OpenHashMap<K, V> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private Object[] keys;
+
+    private Object[] values;
+
+    private int[] hashes;
+
+    private int mask;
+
+    private int size;
+
+    public OpenHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 预计的元素数量，数组容量为其两倍，保持负载因子不超过0.5
+     *                     The expected number of entries, the table is twice as large to keep the load factor at most 0.5.
+     */
+    public OpenHashMap(int expectedSize) {
+        allocate(MapUtil.tableSizeFor(Math.max(expectedSize, MIN_CAPACITY / 2) << 1));
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * 打散低位，避免hash值低位相同的key聚集在一起
+     * Spread the bits so that keys sharing the low bits of their hash do not cluster.
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 找到key所在的下标，不存在时返回-(可插入的下标 + 1)
+     * Find the index of the key, or -(insertion index + 1) if absent.
+     */
+    private int indexOf(Object key, int h) {
+        int i = h & mask;
+        Object k;
+        while ((k = keys[i]) != null) {
+            if (hashes[i] == h && (k == key || k.equals(key))) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -(i + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int i = indexOf(key, hash(key));
+        return i < 0 ? null : (V) values[i];
+    }
+
+    public boolean containsKey(Object key) {
+        return indexOf(key, hash(key)) >= 0;
+    }
+
+    /**
+     * 存入key-value，返回之前的value，不存在时返回null
+     * Put the key-value and return the previous value, null if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        if (null == value) {
+            throw new NullPointerException("value");
+        }
+        int h = hash(key);
+        int i = indexOf(key, h);
+        if (i >= 0) {
+            V old = (V) values[i];
+            values[i] = value;
+            return old;
+        }
+        i = -i - 1;
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = h;
+        if (++size << 1 > keys.length) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * 删除key，返回被删除的value；删除后把后续同一探测链上的元素前移，不使用删除标记
+     * Remove the key and return its value; the following entries of the probe chain are shifted back instead of leaving tombstones.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int i = indexOf(key, hash(key));
+        if (i < 0) {
+            return null;
+        }
+        V old = (V) values[i];
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == null) {
+                break;
+            }
+            // j处的元素理想位置不在(i, j]区间内时，移到空出来的i处
+            // Move the entry at j to the hole at i unless its ideal slot lies in (i, j]
+            int ideal = hashes[j] & mask;
+            if (((j - ideal) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                hashes[i] = hashes[j];
+                i = j;
+            }
+        }
+        keys[i] = null;
+        values[i] = null;
+        size--;
+        return old;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept((K) keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+            int j = oldHashes[i] & mask;
+            while (keys[j] != null) {
+                j = (j + 1) & mask;
+            }
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+            hashes[j] = oldHashes[i];
+        }
+    }
+}
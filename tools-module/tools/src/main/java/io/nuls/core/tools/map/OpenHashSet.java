@@ -0,0 +1,80 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.core.tools.map;
+
+import java.util.function.Consumer;
+
+/**
+ * 开放寻址(线性探测)的HashSet，基于OpenHashMap实现，非线程安全，不支持null
+ * HashSet with open addressing (linear probing) backed by OpenHashMap, not thread safe, null is not supported.
+ *
+ * @author: PierreLuo
+ * @date: 2018/7/23
+ */
+public class OpenHashSet<E> {
+
+    private final OpenHashMap<E, Boolean> map;
+
+    public OpenHashSet() {
+        map = new OpenHashMap<>();
+    }
+
+    /**
+     * @param expectedSize 预计的元素数量/The expected number of elements.
+     */
+    public OpenHashSet(int expectedSize) {
+        map = new OpenHashMap<>(expectedSize);
+    }
+
+    /**
+     * @return 元素不存在并已加入时返回true/true if the element was absent and has been added.
+     */
+    public boolean add(E e) {
+        return map.put(e, Boolean.TRUE) == null;
+    }
+
+    public boolean contains(Object e) {
+        return map.containsKey(e);
+    }
+
+    public boolean remove(Object e) {
+        return map.remove(e) != null;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    public void forEach(Consumer<? super E> action) {
+        map.forEach((e, v) -> action.accept(e));
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.core.tools.map;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/7/24
+ */
+public class OpenHashMapTest {
+
+    /**
+     * hash值可控的key，用于制造冲突
+     * Key with a controlled hash code, used to create collisions.
+     */
+    private static final class Key {
+
+        private final int id;
+
+        private final int hash;
+
+        private Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        OpenHashMap<String, Integer> map = new OpenHashMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put("a", 1));
+        assertEquals(Integer.valueOf(1), map.put("a", 2));
+        assertNull(map.put("b", 3));
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(2), map.get("a"));
+        assertTrue(map.containsKey("b"));
+        assertFalse(map.containsKey("c"));
+        assertNull(map.get("c"));
+        assertEquals(Integer.valueOf(2), map.remove("a"));
+        assertNull(map.remove("a"));
+        assertEquals(1, map.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("b"));
+    }
+
+    @Test
+    public void testResize() {
+        OpenHashMap<Integer, Integer> map = new OpenHashMap<>(1);
+        for (int i = 0; i < 100000; i++) {
+            assertNull(map.put(i, i * 2));
+        }
+        assertEquals(100000, map.size());
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(Integer.valueOf(i * 2), map.get(i));
+        }
+        long[] sum = new long[1];
+        map.forEach((k, v) -> sum[0] += v - 2 * k);
+        assertEquals(0L, sum[0]);
+    }
+
+    @Test
+    public void testCollisionAndBackwardShift() {
+        // 所有key的hash相同，形成一条会绕过数组末尾的探测链
+        OpenHashMap<Key, Integer> map = new OpenHashMap<>(8);
+        Key[] keys = new Key[8];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new Key(i, 42);
+            map.put(keys[i], i);
+        }
+        // 删除链中间的元素后，后面的元素必须前移，仍然能被找到
+        assertEquals(Integer.valueOf(3), map.remove(keys[3]));
+        assertEquals(Integer.valueOf(0), map.remove(keys[0]));
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || i == 3) {
+                assertFalse(map.containsKey(keys[i]));
+            } else {
+                assertEquals(Integer.valueOf(i), map.get(keys[i]));
+            }
+        }
+        map.put(keys[3], 30);
+        assertEquals(Integer.valueOf(30), map.get(keys[3]));
+        assertEquals(7, map.size());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        // 少量hash值制造大量冲突和跨越数组末尾的探测链，随机增删并与HashMap对比
+        Random random = new Random(7);
+        for (int hashCount = 1; hashCount <= 64; hashCount <<= 1) {
+            OpenHashMap<Key, Integer> map = new OpenHashMap<>(4);
+            Map<Key, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 5000; i++) {
+                int id = random.nextInt(200);
+                Key key = new Key(id, id % hashCount);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                }
+                assertEquals(expected.size(), map.size());
+            }
+            for (int id = 0; id < 200; id++) {
+                Key key = new Key(id, id % hashCount);
+                assertEquals(expected.get(key), map.get(key));
+            }
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullValue() {
+        new OpenHashMap<String, String>().put("a", null);
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2017-2018 nuls.io
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.nuls.core.tools.map;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author: PierreLuo
+ * @date: 2018/7/24
+ */
+public class OpenHashSetTest {
+
+    @Test
+    public void testAddContainsRemove() {
+        // i << 16的低位全为0，打散前会落在同一个位置
+        OpenHashSet<Integer> set = new OpenHashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.add(i << 16));
+            assertFalse(set.add(i << 16));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(set.remove(i << 16));
+            assertFalse(set.remove(i << 16));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, set.contains(i << 16));
+        }
+        assertEquals(500, set.size());
+
+        Set<Integer> visited = new HashSet<>();
+        set.forEach(visited::add);
+        assertEquals(500, visited.size());
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1 << 16));
+    }
+}